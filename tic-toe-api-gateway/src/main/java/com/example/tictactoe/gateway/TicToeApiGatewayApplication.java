@@ -1,9 +1,12 @@
 package com.example.tictactoe.gateway;
 
+import com.example.tictactoe.gateway.lb.GameOwnerLoadBalancerConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
 
 @SpringBootApplication
+@LoadBalancerClient(name = "tic-toe-engine-service", configuration = GameOwnerLoadBalancerConfiguration.class)
 public class TicToeApiGatewayApplication {
 
     public static void main(String[] args) {
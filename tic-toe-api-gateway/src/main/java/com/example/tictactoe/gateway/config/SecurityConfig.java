@@ -15,6 +15,8 @@ public class SecurityConfig {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeExchange(exchanges -> exchanges
+                // Used only between engine instances
+                .pathMatchers("/engine/cluster/**").denyAll()
                 .anyExchange().permitAll()
             );
         return http.build();
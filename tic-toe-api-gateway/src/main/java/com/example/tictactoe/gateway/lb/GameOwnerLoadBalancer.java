@@ -0,0 +1,119 @@
+package com.example.tictactoe.gateway.lb;
+
+import com.example.tictactoe.core.cluster.ConsistentHashRing;
+import com.example.tictactoe.core.model.GameId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load balancer for the engine service that sends every request for a game to the engine
+ * instance owning it, using the same {@link ConsistentHashRing} over {@code host:port} as the
+ * engine instances. Requests that name no game, such as batches, go round-robin.
+ */
+public class GameOwnerLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private static final Pattern GAME_PATH = Pattern.compile("(?:^|/)games/([^/]+)");
+    private static final String BATCH_SEGMENT = "moves:batch";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplier;
+    private final AtomicInteger position = new AtomicInteger(ThreadLocalRandom.current().nextInt(1000));
+    private volatile Owners owners = new Owners(Map.of());
+
+    public GameOwnerLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplier) {
+        this.serviceInstanceListSupplier = serviceInstanceListSupplier;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplier
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        GameId gameId = gameIdOf(request);
+        return supplier.get(request).next().map(instances -> choose(instances, gameId));
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances, GameId gameId) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (gameId != null) {
+            ServiceInstance owner = owners(instances).ownerOf(gameId);
+            if (owner != null) {
+                return new DefaultResponse(owner);
+            }
+        }
+        int index = Math.floorMod(position.incrementAndGet(), instances.size());
+        return new DefaultResponse(instances.get(index));
+    }
+
+    /**
+     * Returns the ring for the instances, rebuilding it only when they changed.
+     */
+    private Owners owners(List<ServiceInstance> instances) {
+        Owners current = owners;
+        Set<String> keys = new HashSet<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            keys.add(key(instance));
+        }
+        if (!keys.equals(current.ring.getMembers())) {
+            Map<String, ServiceInstance> byKey = new HashMap<>();
+            for (ServiceInstance instance : instances) {
+                byKey.put(key(instance), instance);
+            }
+            current = new Owners(byKey);
+            owners = current;
+        }
+        return current;
+    }
+
+    static GameId gameIdOf(Request request) {
+        if (!(request.getContext() instanceof RequestDataContext context)
+                || context.getClientRequest() == null || context.getClientRequest().getUrl() == null) {
+            return null;
+        }
+        String path = context.getClientRequest().getUrl().getRawPath();
+        Matcher matcher = GAME_PATH.matcher(path != null ? path : "");
+        if (!matcher.find() || matcher.group(1).equals(BATCH_SEGMENT)) {
+            return null;
+        }
+        return GameId.of(UriUtils.decode(matcher.group(1), StandardCharsets.UTF_8));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static final class Owners {
+        final Map<String, ServiceInstance> instances;
+        final ConsistentHashRing ring;
+
+        Owners(Map<String, ServiceInstance> instances) {
+            this.instances = instances;
+            this.ring = new ConsistentHashRing(instances.keySet());
+        }
+
+        ServiceInstance ownerOf(GameId gameId) {
+            String owner = ring.ownerOf(gameId);
+            return owner != null ? instances.get(owner) : null;
+        }
+    }
+}
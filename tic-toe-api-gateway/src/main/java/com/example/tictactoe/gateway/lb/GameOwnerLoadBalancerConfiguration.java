@@ -0,0 +1,22 @@
+package com.example.tictactoe.gateway.lb;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer configuration of the engine service client. Deliberately not a
+ * {@code @Configuration}: it is registered per client through {@code @LoadBalancerClient}.
+ */
+public class GameOwnerLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> gameOwnerLoadBalancer(Environment environment,
+                                                                      LoadBalancerClientFactory clientFactory) {
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new GameOwnerLoadBalancer(clientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class));
+    }
+}
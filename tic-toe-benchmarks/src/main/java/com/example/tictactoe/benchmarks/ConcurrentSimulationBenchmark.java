@@ -0,0 +1,134 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.TicToeEngineServiceApplication;
+import com.example.tictactoe.session.TicToeSessionServiceApplication;
+import com.example.tictactoe.session.service.SessionService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole stepwise simulations run {@code concurrency} at a time against a real engine over loopback,
+ * with the blocking Feign client (one thread per simulation in flight) and with the reactive
+ * WebClient (no thread held while the engine answers). The score is simulations per second;
+ * {@code simulationsPerCore} divides it by the available processors.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentSimulationBenchmark {
+    private static final int BATCH = 1024;
+    private static final String[] COMMON_PROPERTIES = {
+            "server.port=0",
+            "server.http2.enabled=true",
+            "eureka.client.enabled=false",
+            "management.tracing.enabled=false",
+            "spring.main.banner-mode=off",
+            "logging.level.root=WARN",
+            "logging.level.com.example.tictactoe=WARN"
+    };
+
+    @Param({"blocking", "reactive"})
+    public String client;
+
+    @Param({"64", "512"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext engineContext;
+    private ConfigurableApplicationContext sessionContext;
+    private SessionService sessionService;
+    private ExecutorService workers;
+    private final List<GameId> sessionIds = new ArrayList<>(BATCH);
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PerCore {
+        public double simulationsPerCore;
+    }
+
+    @Setup
+    public void setUp() {
+        engineContext = new SpringApplicationBuilder(TicToeEngineServiceApplication.class)
+                .properties(COMMON_PROPERTIES)
+                .run();
+        int port = ((WebServerApplicationContext) engineContext).getWebServer().getPort();
+        sessionContext = new SpringApplicationBuilder(TicToeSessionServiceApplication.class)
+                .properties(COMMON_PROPERTIES)
+                .properties("session.engine.client=" + client,
+                        "session.engine.reactive.max-connections=" + concurrency,
+                        "engine.base-url=http://localhost:" + port)
+                .run();
+        sessionService = sessionContext.getBean(SessionService.class);
+        if ("blocking".equals(client)) {
+            workers = Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    /**
+     * Sessions are created outside the measurement; creating one is a blocking engine call in both modes.
+     */
+    @Setup(Level.Invocation)
+    public void createSessions() {
+        sessionIds.clear();
+        for (int i = 0; i < BATCH; i++) {
+            sessionIds.add(GameId.of(sessionService.createSession().getSessionId()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+        sessionContext.close();
+        engineContext.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void simulate(PerCore perCore) throws InterruptedException, ExecutionException {
+        if (workers != null) {
+            List<Callable<Object>> tasks = new ArrayList<>(BATCH);
+            for (GameId sessionId : sessionIds) {
+                tasks.add(() -> sessionService.simulateSession(sessionId));
+            }
+            for (Future<Object> result : workers.invokeAll(tasks)) {
+                result.get();
+            }
+        } else {
+            Flux.fromIterable(sessionIds)
+                    .flatMap(sessionService::simulateSessionAsync, concurrency)
+                    .blockLast();
+        }
+        perCore.simulationsPerCore += (double) BATCH / Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.TicToeEngineServiceApplication;
+import com.example.tictactoe.session.TicToeSessionServiceApplication;
+import com.example.tictactoe.session.client.EngineClient;
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.model.Session;
+import com.example.tictactoe.session.service.SessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The session service talking to the engine over HTTP ({@code remote}) against the engine
+ * running in the same JVM ({@code colocated}). Both modes boot the real applications, so the
+ * remote mode pays for Feign, Jackson and Tomcat on loopback. Reports throughput and the
+ * latency distribution of one engine read and of a whole stepwise simulation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EngineClientModeBenchmark {
+    private static final String[] COMMON_PROPERTIES = {
+            "server.port=0",
+            "eureka.client.enabled=false",
+            "management.tracing.enabled=false",
+            "spring.main.banner-mode=off",
+            "logging.level.root=WARN",
+            "logging.level.com.example.tictactoe=WARN"
+    };
+
+    @Param({"remote", "colocated"})
+    public String mode;
+
+    private ConfigurableApplicationContext engineContext;
+    private ConfigurableApplicationContext sessionContext;
+    private SessionService sessionService;
+    private EngineClient engineClient;
+    private String gameId;
+
+    @Setup
+    public void setUp() {
+        String engineUrl = "http://localhost";
+        if ("remote".equals(mode)) {
+            engineContext = new SpringApplicationBuilder(TicToeEngineServiceApplication.class)
+                    .properties(COMMON_PROPERTIES)
+                    .run();
+            int port = ((WebServerApplicationContext) engineContext).getWebServer().getPort();
+            engineUrl = "http://localhost:" + port;
+        }
+        sessionContext = new SpringApplicationBuilder(TicToeSessionServiceApplication.class)
+                .properties(COMMON_PROPERTIES)
+                .properties("session.engine.mode=" + mode, "engine.base-url=" + engineUrl)
+                .run();
+        sessionService = sessionContext.getBean(SessionService.class);
+        engineClient = sessionContext.getBean(EngineClient.class);
+        gameId = sessionService.createSession().getGameId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionContext.close();
+        if (engineContext != null) {
+            engineContext.close();
+        }
+    }
+
+    @Benchmark
+    public EngineGameResponse getGame() {
+        return engineClient.getGame(gameId);
+    }
+
+    @Benchmark
+    public Session simulateGame() {
+        Session session = sessionService.createSession();
+        return sessionService.simulateSession(GameId.of(session.getSessionId()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.util.RandomMoves;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random move selection used by the stepwise session simulator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FindNextMoveBenchmark {
+    private char[][] emptyBoard;
+    private char[][] midGameBoard;
+
+    @Setup
+    public void setUp() {
+        emptyBoard = new char[][]{
+                {' ', ' ', ' '},
+                {' ', ' ', ' '},
+                {' ', ' ', ' '}
+        };
+        midGameBoard = new char[][]{
+                {'X', ' ', 'O'},
+                {' ', 'X', ' '},
+                {'O', ' ', ' '}
+        };
+    }
+
+    @Benchmark
+    public int[] emptyBoard() {
+        return RandomMoves.pickEmptyCell(emptyBoard);
+    }
+
+    @Benchmark
+    public int[] midGameBoard() {
+        return RandomMoves.pickEmptyCell(midGameBoard);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.core.util.Bitboard;
+import com.example.tictactoe.engine.GameEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule checks of {@link GameEngine} on a mid-game position.
+ * The classic board exercises the bitmask paths, larger boards the incremental line scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+
+    @Param({"3", "15"})
+    private int boardSize;
+
+    private GameEngine gameEngine;
+    private Game game;
+    private char[][] board;
+    private int emptyRow;
+    private int emptyColumn;
+    private int occupiedRow;
+    private int occupiedColumn;
+
+    @Setup
+    public void setUp() {
+        gameEngine = new GameEngine();
+        int[][] moves;
+        if (boardSize == Bitboard.SIZE) {
+            game = new Game("bench");
+            moves = new int[][]{{0, 0}, {0, 1}, {1, 1}, {1, 2}};
+        } else {
+            game = new Game("bench", boardSize, 5);
+            moves = openPosition();
+        }
+        for (int[] move : moves) {
+            gameEngine.applyMove(game, move[0], move[1], game.getCurrentPlayer());
+        }
+        board = game.getBoard();
+        occupiedRow = moves[0][0];
+        occupiedColumn = moves[0][1];
+        emptyRow = boardSize - 1;
+        emptyColumn = 0;
+    }
+
+    /**
+     * Fills the central 7x7 area with alternating X and O moves. A player's cells share the same
+     * {@code (row + 2 * col) % 5} residue, which never repeats five times along any line, so nobody wins.
+     */
+    private int[][] openPosition() {
+        int from = boardSize / 2 - 3;
+        int[][] xCells = new int[49][];
+        int[][] oCells = new int[49][];
+        int xCount = 0;
+        int oCount = 0;
+        for (int row = from; row < from + 7; row++) {
+            for (int col = from; col < from + 7; col++) {
+                int residue = Math.floorMod(row - from + 2 * (col - from), 5);
+                if (residue == 0) {
+                    xCells[xCount++] = new int[]{row, col};
+                } else if (residue == 1) {
+                    oCells[oCount++] = new int[]{row, col};
+                }
+            }
+        }
+        int pairs = Math.min(xCount, oCount);
+        int[][] moves = new int[pairs * 2][];
+        for (int i = 0; i < pairs; i++) {
+            moves[2 * i] = xCells[i];
+            moves[2 * i + 1] = oCells[i];
+        }
+        return moves;
+    }
+
+    @Benchmark
+    public MoveError validateMoveAccepted() {
+        return gameEngine.validateMove(game, emptyRow, emptyColumn, game.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public MoveError validateMoveRejected() {
+        return gameEngine.validateMove(game, occupiedRow, occupiedColumn, game.getCurrentPlayer());
+    }
+
+    @Benchmark
+    public Game.GameStatus checkWinConditionBoard() {
+        return gameEngine.checkWinCondition(board, 'X');
+    }
+
+    @Benchmark
+    public Game.GameStatus checkWinConditionIncremental() {
+        return gameEngine.checkWinCondition(game, game.getLastMoveRow(), game.getLastMoveColumn(), 'O');
+    }
+
+    @Benchmark
+    public Game.GameStatus determineGameStatus() {
+        return gameEngine.determineGameStatus(game, 'O');
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameSessionServiceImpl#processMove} with several threads either fighting over one game
+ * or each playing its own game in the shared store. Finished games are recreated in place.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class GameSessionServiceBenchmark {
+    private static final String CONTENDED_GAME_ID = "contended";
+
+    private GameSessionServiceImpl gameSessionService;
+
+    @State(Scope.Thread)
+    public static class PlayerState {
+        String ownGameId;
+        int nextCell;
+
+        @Setup
+        public void setUp() {
+            ownGameId = UUID.randomUUID().toString();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        gameSessionService = new GameSessionServiceImpl(new GameEngine());
+        gameSessionService.createGameSession(CONTENDED_GAME_ID);
+    }
+
+    @Benchmark
+    public GameResult processMoveContended(PlayerState player) {
+        return play(CONTENDED_GAME_ID, player);
+    }
+
+    @Benchmark
+    public GameResult processMoveUncontended(PlayerState player) {
+        return play(player.ownGameId, player);
+    }
+
+    private GameResult play(String gameId, PlayerState player) {
+        Game game = gameSessionService.getGameSession(gameId);
+        if (game == null || game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+            game = gameSessionService.createGameSession(gameId);
+        }
+        int cell = player.nextCell;
+        player.nextCell = (cell + 4) % 9;
+        return gameSessionService.processMove(gameId, cell / 3, cell % 3, game.getCurrentPlayer());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import com.example.tictactoe.engine.session.impl.OffHeapGameSessionService;
+import com.example.tictactoe.engine.session.store.CaffeineGameStore;
+import com.example.tictactoe.engine.session.store.InMemoryGameStore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the game stores: memory per stored game and move throughput over a large population.
+ * {@code heap} is the plain map, {@code caffeine} the bounded default and {@code off-heap} the
+ * direct-memory records. Memory per game is reported as the {@code heapBytesPerGame} and
+ * {@code offHeapBytesPerGame} secondary results of {@code populate}.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=2g"})
+@State(Scope.Benchmark)
+public class GameStoreBenchmark {
+
+    @Param({"heap", "caffeine", "off-heap"})
+    private String store;
+
+    @Param({"1000000"})
+    private int games;
+
+    private GameSessionService gameSessionService;
+    private GameId[] gameIds;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long heapBytesPerGame;
+        public long offHeapBytesPerGame;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Ids are parsed once at the API boundary, so the benchmark stores parsed ids
+        gameIds = new GameId[games];
+        for (int i = 0; i < games; i++) {
+            gameIds[i] = GameId.ofUuid(0, i);
+        }
+    }
+
+    /**
+     * Fills a fresh store with one game per id, each with one move, and measures what it retained.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public GameSessionService populate(Footprint footprint) {
+        System.gc();
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+
+        GameSessionService populated = newService();
+        for (int i = 0; i < games; i++) {
+            populated.processMove(gameIds[i], 1, 1, 'X');
+        }
+
+        System.gc();
+        footprint.heapBytesPerGame = Math.max(0, usedHeap() - heapBefore) / games;
+        footprint.offHeapBytesPerGame = Math.max(0, usedDirect() - directBefore) / games;
+        return populated;
+    }
+
+    @Setup(Level.Iteration)
+    public void populateForMoves() {
+        gameSessionService = newService();
+        for (int i = 0; i < games; i++) {
+            gameSessionService.processMove(gameIds[i], 1, 1, 'X');
+        }
+    }
+
+    /**
+     * Moves on random games of the population; most are rejected once a cell fills up,
+     * which keeps the population stable across iterations.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    @Threads(4)
+    public GameResult processMove() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int cell = random.nextInt(9);
+        char player = random.nextBoolean() ? 'X' : 'O';
+        return gameSessionService.processMove(gameIds[random.nextInt(games)], cell / 3, cell % 3, player);
+    }
+
+    private GameSessionService newService() {
+        GameEngine gameEngine = new GameEngine();
+        switch (store) {
+            case "caffeine":
+                return new GameSessionServiceImpl(gameEngine,
+                        new CaffeineGameStore(games, Duration.ofHours(1), Duration.ofHours(1)));
+            case "off-heap":
+                return new OffHeapGameSessionService(gameEngine, 64, games);
+            default:
+                return new GameSessionServiceImpl(gameEngine, new InMemoryGameStore());
+        }
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.engine.solver.ParallelSearchEngine;
+import com.example.tictactoe.engine.solver.SearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-node-budget search on a 15x15 board, so the score shows how wall time scales with parallelism.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSearchBenchmark {
+    private static final long NODE_LIMIT = 200_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ParallelSearchEngine searchEngine;
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        searchEngine = new ParallelSearchEngine(parallelism, 20, Long.MAX_VALUE, NODE_LIMIT);
+        game = new Game("bench", 15, 5);
+        int[][] moves = {{7, 7}, {7, 8}, {8, 8}, {6, 6}, {8, 6}, {6, 8}};
+        for (int[] move : moves) {
+            game.makeMove(move[0], move[1], game.getCurrentPlayer());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        searchEngine.shutdown();
+    }
+
+    @Benchmark
+    public SearchResult search() {
+        return searchEngine.search(game, Long.MAX_VALUE, NODE_LIMIT);
+    }
+}
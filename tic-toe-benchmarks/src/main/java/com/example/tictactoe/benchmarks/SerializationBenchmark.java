@@ -0,0 +1,76 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.engine.api.dto.GameResponse;
+import com.example.tictactoe.session.api.dto.SessionResponse;
+import com.example.tictactoe.session.model.MoveRecord;
+import com.example.tictactoe.session.model.Session;
+import com.example.tictactoe.session.model.SessionStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the engine and session API responses, as written by Spring MVC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+    private ObjectWriter gameResponseWriter;
+    private ObjectWriter sessionResponseWriter;
+    private GameResponse gameResponse;
+    private SessionResponse sessionResponse;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        gameResponseWriter = objectMapper.writerFor(GameResponse.class);
+        sessionResponseWriter = objectMapper.writerFor(SessionResponse.class);
+
+        Game game = new Game("bench-game");
+        int[][] moves = {{1, 1}, {0, 0}, {0, 2}, {2, 0}, {1, 0}};
+        List<MoveRecord> records = new ArrayList<>();
+        for (int[] move : moves) {
+            char player = game.getCurrentPlayer();
+            game.makeMove(move[0], move[1], player);
+            records.add(new MoveRecord(String.valueOf(player), move[0], move[1]));
+        }
+        gameResponse = new GameResponse(game, "Move successful");
+
+        Session session = new Session("bench-session", game.getGameId());
+        session.setStatus(SessionStatus.IN_PROGRESS);
+        session.setBoard(game.getBoard());
+        session.setGameStatus(game.getStatus().name());
+        session.setMoves(records);
+        sessionResponse = new SessionResponse(session);
+    }
+
+    @Benchmark
+    public byte[] serializeGameResponse() throws JsonProcessingException {
+        return gameResponseWriter.writeValueAsBytes(gameResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeSessionResponse() throws JsonProcessingException {
+        return sessionResponseWriter.writeValueAsBytes(sessionResponse);
+    }
+}
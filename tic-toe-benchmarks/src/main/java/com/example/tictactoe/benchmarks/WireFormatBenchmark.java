@@ -0,0 +1,100 @@
+package com.example.tictactoe.benchmarks;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.engine.api.GameWireMessageConverter;
+import com.example.tictactoe.engine.api.dto.GameResponse;
+import com.example.tictactoe.session.client.EngineWireMessageConverter;
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One engine response encoded on the engine side and decoded on the session side, as JSON through
+ * Jackson and in the compact binary wire format, for a 3x3 game two moves in and a half-filled
+ * 19x19 game. The body size of one call in each format is printed when the trial starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    @Param({"3", "19"})
+    public int boardSize;
+
+    private ObjectWriter gameResponseWriter;
+    private ObjectReader engineGameResponseReader;
+    private GameResponse gameResponse;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Configured like Spring Boot's mapper, which ignores unknown properties
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        gameResponseWriter = objectMapper.writerFor(GameResponse.class);
+        engineGameResponseReader = objectMapper.readerFor(EngineGameResponse.class);
+
+        Game game = new Game(UUID.randomUUID().toString(), boardSize, Math.min(boardSize, 5));
+        int moves = boardSize == 3 ? 2 : boardSize * boardSize / 2;
+        for (int cell = 0; cell < boardSize * boardSize && game.getMoveCount() < moves; cell += 3) {
+            game.makeMove(cell / boardSize, cell % boardSize, game.getCurrentPlayer());
+        }
+        gameResponse = new GameResponse(game, "Move successful");
+        json = gameResponseWriter.writeValueAsBytes(gameResponse);
+        binary = encodeBinary();
+        System.out.printf("%nBytes per call, %dx%d board: JSON %d, binary %d%n",
+                boardSize, boardSize, json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return gameResponseWriter.writeValueAsBytes(gameResponse);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        GameWireMessageConverter.writeGame(out, gameResponse);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public EngineGameResponse decodeJson() throws IOException {
+        return engineGameResponseReader.readValue(json);
+    }
+
+    @Benchmark
+    public EngineGameResponse decodeBinary() throws IOException {
+        return EngineWireMessageConverter.readGame(new DataInputStream(new ByteArrayInputStream(binary)), false);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.tictactoe.core.cluster;
+
+import com.example.tictactoe.core.model.GameId;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring that assigns games to cluster members by their {@link GameId}.
+ * Every member is placed on the ring at {@link #VIRTUAL_NODES} points, so load is spread evenly
+ * and a joining or leaving member only moves the games next to its own points.
+ * The hash is fixed and independent of the JVM, so the gateway and every engine instance
+ * that see the same members agree on the owner of every game.
+ */
+public final class ConsistentHashRing {
+    public static final int VIRTUAL_NODES = 128;
+
+    private final Set<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> members) {
+        this.members = Collections.unmodifiableSet(new TreeSet<>(members));
+        int count = this.members.size() * VIRTUAL_NODES;
+        long[] hashes = new long[count];
+        String[] pointOwners = new String[count];
+        int i = 0;
+        for (String member : this.members) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                hashes[i] = hash(member + "#" + node);
+                pointOwners[i] = member;
+                i++;
+            }
+        }
+        // Sort the points, keeping each owner next to its point
+        Integer[] order = new Integer[count];
+        for (int j = 0; j < count; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[count];
+        this.owners = new String[count];
+        for (int j = 0; j < count; j++) {
+            points[j] = hashes[order[j]];
+            owners[j] = pointOwners[order[j]];
+        }
+    }
+
+    /**
+     * Returns the member owning the game, or null if the ring has no members.
+     */
+    public String ownerOf(GameId gameId) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, gameId.spread());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer.
+     */
+    static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
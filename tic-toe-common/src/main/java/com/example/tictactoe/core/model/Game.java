@@ -1,16 +1,31 @@
 package com.example.tictactoe.core.model;
 
+import com.example.tictactoe.core.util.Bitboard;
 import com.example.tictactoe.core.util.TicToeConstants;
 
 /**
- * Domain model representing a Tic Tac Toe game.
+ * Domain model representing an N x N, K-in-a-row Tic Tac Toe game.
+ * The board is stored as one bitboard per player; the char[][] view is derived on demand.
+ * Cell (row, col) maps to bit {@code row * size + col}. Cells 0-63 live in a primitive word,
+ * larger boards spill the remaining cells into overflow words. Every move is also appended to
+ * a packed {@link MoveLog}, from which earlier positions are rebuilt by replay.
+ * Instances are not thread-safe; the engine mutates a shared game only while holding its monitor,
+ * and readers that need a consistent view synchronize on it as well.
  */
 public class Game {
-    private String gameId;
-    private char[][] board;
+    private GameId id;
+    private int size;
+    private int winLength;
+    private long xBits;
+    private long oBits;
+    private long[] xOverflow;
+    private long[] oOverflow;
     private GameStatus status;
     private char currentPlayer;
     private int moveCount;
+    private int lastMoveIndex;
+    private MoveLog moveLog;
+    private volatile long version;
 
     public enum GameStatus {
         IN_PROGRESS,
@@ -20,40 +35,287 @@ public class Game {
     }
 
     public Game() {
-        this.board = new char[3][3];
+        this((GameId) null, TicToeConstants.DEFAULT_BOARD_SIZE, TicToeConstants.DEFAULT_WIN_LENGTH);
+    }
+
+    public Game(String gameId) {
+        this(gameId, TicToeConstants.DEFAULT_BOARD_SIZE, TicToeConstants.DEFAULT_WIN_LENGTH);
+    }
+
+    public Game(String gameId, int size, int winLength) {
+        this(gameId != null ? GameId.of(gameId) : null, size, winLength);
+    }
+
+    public Game(GameId id) {
+        this(id, TicToeConstants.DEFAULT_BOARD_SIZE, TicToeConstants.DEFAULT_WIN_LENGTH);
+    }
+
+    public Game(GameId id, int size, int winLength) {
+        if (size < TicToeConstants.MIN_BOARD_SIZE || size > TicToeConstants.MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between "
+                    + TicToeConstants.MIN_BOARD_SIZE + " and " + TicToeConstants.MAX_BOARD_SIZE);
+        }
+        if (winLength < TicToeConstants.MIN_BOARD_SIZE || winLength > size) {
+            throw new IllegalArgumentException("Win length must be between "
+                    + TicToeConstants.MIN_BOARD_SIZE + " and the board size");
+        }
+        this.id = id;
+        this.size = size;
+        this.winLength = winLength;
         initializeBoard();
         this.status = GameStatus.IN_PROGRESS;
         this.currentPlayer = TicToeConstants.PLAYER_X;
         this.moveCount = 0;
     }
 
-    public Game(String gameId) {
-        this();
-        this.gameId = gameId;
-    }
-
     private void initializeBoard() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                board[i][j] = ' ';
-            }
-        }
+        int overflowWords = (size * size + 63) / 64 - 1;
+        this.xBits = 0L;
+        this.oBits = 0L;
+        this.xOverflow = overflowWords > 0 ? new long[overflowWords] : null;
+        this.oOverflow = overflowWords > 0 ? new long[overflowWords] : null;
+        this.lastMoveIndex = -1;
+        this.moveLog = new MoveLog(size * size);
     }
 
     public String getGameId() {
-        return gameId;
+        return id != null ? id.toString() : null;
     }
 
     public void setGameId(String gameId) {
-        this.gameId = gameId;
+        this.id = gameId != null ? GameId.of(gameId) : null;
+    }
+
+    /**
+     * Returns the parsed id that stores key the game by.
+     */
+    public GameId getId() {
+        return id;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinLength() {
+        return winLength;
     }
 
+    /**
+     * Returns true for the classic 3x3 board, where the whole position fits in {@link Bitboard} masks.
+     */
+    public boolean isClassic() {
+        return size == Bitboard.SIZE && winLength == Bitboard.SIZE;
+    }
+
+    /**
+     * Builds a char[][] view of the board. Empty cells are ' '.
+     * Allocates a new array on every call, so keep it off the move path.
+     */
     public char[][] getBoard() {
+        char[][] board = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                board[row][col] = getCell(row, col);
+            }
+        }
         return board;
     }
 
+    /**
+     * Replaces the board contents. The board size follows the array; the win length is
+     * clamped to it. Move count and current player are left for the caller to set.
+     */
     public void setBoard(char[][] board) {
-        this.board = board;
+        this.size = board.length;
+        this.winLength = Math.min(winLength, size);
+        initializeBoard();
+        version++;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                char cell = board[row][col];
+                if (cell == TicToeConstants.PLAYER_X || cell == TicToeConstants.PLAYER_O) {
+                    setBit(cell, row * size + col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the symbol at the given cell, or ' ' if it is empty.
+     */
+    public char getCell(int row, int col) {
+        int index = row * size + col;
+        if (isSet(xBits, xOverflow, index)) {
+            return TicToeConstants.PLAYER_X;
+        }
+        if (isSet(oBits, oOverflow, index)) {
+            return TicToeConstants.PLAYER_O;
+        }
+        return ' ';
+    }
+
+    /**
+     * Checks whether the given player occupies the cell. Out-of-board cells are never occupied.
+     */
+    public boolean isOccupiedBy(int row, int col, char player) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            return false;
+        }
+        int index = row * size + col;
+        if (player == TicToeConstants.PLAYER_X) {
+            return isSet(xBits, xOverflow, index);
+        }
+        if (player == TicToeConstants.PLAYER_O) {
+            return isSet(oBits, oOverflow, index);
+        }
+        return false;
+    }
+
+    /**
+     * Returns cells 0-63 occupied by X. This is the complete position for boards up to 8x8.
+     */
+    public long getXMask() {
+        return xBits;
+    }
+
+    /**
+     * Returns cells 0-63 occupied by O. This is the complete position for boards up to 8x8.
+     */
+    public long getOMask() {
+        return oBits;
+    }
+
+    /**
+     * Returns the cells 0-63 occupied by the given player, or 0 for an unknown symbol.
+     */
+    public long getPlayerMask(char player) {
+        if (player == TicToeConstants.PLAYER_X) {
+            return xBits;
+        }
+        if (player == TicToeConstants.PLAYER_O) {
+            return oBits;
+        }
+        return 0L;
+    }
+
+    /**
+     * Returns the cell index ({@code row * size + col}) of the last move, or -1 if no move has been made.
+     */
+    public int getLastMoveIndex() {
+        return lastMoveIndex;
+    }
+
+    /**
+     * Restores the complete state of a board with at most 64 cells, e.g. from a compact record.
+     * The move count follows from the masks; the version is taken as given. The move log is
+     * cleared; restore it with {@link #restoreMoves}.
+     */
+    public void restoreState(long xMask, long oMask, GameStatus status, char currentPlayer,
+                             int lastMoveIndex, long version) {
+        if (size * size > 64) {
+            throw new IllegalStateException("Only boards up to 8x8 can be restored from masks");
+        }
+        this.xBits = xMask;
+        this.oBits = oMask;
+        this.status = status;
+        this.currentPlayer = currentPlayer;
+        this.lastMoveIndex = lastMoveIndex;
+        this.moveCount = Long.bitCount(xMask) + Long.bitCount(oMask);
+        this.version = version;
+        moveLog.clear();
+    }
+
+    /**
+     * Returns the number of 64-bit words that hold one player's cells.
+     */
+    public int getBoardWords() {
+        return (size * size + 63) / 64;
+    }
+
+    /**
+     * Returns one word of the cells occupied by the given player: word 0 holds cells 0-63,
+     * word i cells {@code 64 * i} to {@code 64 * i + 63}. Returns 0 for an unknown symbol.
+     */
+    public long getBoardWord(char player, int word) {
+        if (player == TicToeConstants.PLAYER_X) {
+            return word == 0 ? xBits : xOverflow[word - 1];
+        }
+        if (player == TicToeConstants.PLAYER_O) {
+            return word == 0 ? oBits : oOverflow[word - 1];
+        }
+        return 0L;
+    }
+
+    /**
+     * Restores the complete state of a board of any size from the words of {@link #getBoardWord}.
+     * The move count follows from the words; the version is taken as given. The move log is
+     * cleared; restore it with {@link #restoreMoves}.
+     */
+    public void restoreState(long[] xWords, long[] oWords, GameStatus status, char currentPlayer,
+                             int lastMoveIndex, long version) {
+        if (xWords.length != getBoardWords() || oWords.length != getBoardWords()) {
+            throw new IllegalArgumentException("Expected " + getBoardWords() + " words per player");
+        }
+        int moves = 0;
+        for (int word = 0; word < xWords.length; word++) {
+            if (word == 0) {
+                xBits = xWords[0];
+                oBits = oWords[0];
+            } else {
+                xOverflow[word - 1] = xWords[word];
+                oOverflow[word - 1] = oWords[word];
+            }
+            moves += Long.bitCount(xWords[word]) + Long.bitCount(oWords[word]);
+        }
+        this.status = status;
+        this.currentPlayer = currentPlayer;
+        this.lastMoveIndex = lastMoveIndex;
+        this.moveCount = moves;
+        this.version = version;
+        moveLog.clear();
+    }
+
+    /**
+     * Returns the moves played so far. Read it while holding the game's monitor.
+     */
+    public MoveLog getMoveLog() {
+        return moveLog;
+    }
+
+    /**
+     * Returns true if the move log holds every move on the board. Games restored from a board
+     * without their moves, e.g. from an older journal, have no history to undo or replay.
+     */
+    public boolean hasCompleteHistory() {
+        return moveLog.size() == moveCount;
+    }
+
+    /**
+     * Restores the move log after {@link #restoreState}, from the words of {@link MoveLog#getWord}.
+     *
+     * @param words the packed moves
+     * @param moves the number of moves in them; either 0 or the number of moves on the board
+     */
+    public void restoreMoves(long[] words, int moves) {
+        if (moves != 0 && moves != moveCount) {
+            throw new IllegalArgumentException("Move log holds " + moves + " moves, the board " + moveCount);
+        }
+        moveLog.restore(words, moves);
+    }
+
+    /**
+     * Returns the row of the last move, or -1 if no move has been made.
+     */
+    public int getLastMoveRow() {
+        return lastMoveIndex < 0 ? -1 : lastMoveIndex / size;
+    }
+
+    /**
+     * Returns the column of the last move, or -1 if no move has been made.
+     */
+    public int getLastMoveColumn() {
+        return lastMoveIndex < 0 ? -1 : lastMoveIndex % size;
     }
 
     public GameStatus getStatus() {
@@ -61,7 +323,10 @@ public class Game {
     }
 
     public void setStatus(GameStatus status) {
-        this.status = status;
+        if (this.status != status) {
+            this.status = status;
+            version++;
+        }
     }
 
     public char getCurrentPlayer() {
@@ -69,7 +334,10 @@ public class Game {
     }
 
     public void setCurrentPlayer(char currentPlayer) {
-        this.currentPlayer = currentPlayer;
+        if (this.currentPlayer != currentPlayer) {
+            this.currentPlayer = currentPlayer;
+            version++;
+        }
     }
 
     public int getMoveCount() {
@@ -77,13 +345,93 @@ public class Game {
     }
 
     public void setMoveCount(int moveCount) {
-        this.moveCount = moveCount;
+        if (this.moveCount != moveCount) {
+            this.moveCount = moveCount;
+            version++;
+        }
+    }
+
+    /**
+     * Returns the state version. It starts at 0 and grows with every change to the game,
+     * so equal versions of the same game mean equal state. Volatile, so pollers can
+     * compare it without taking the game's monitor.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version, e.g. to continue the sequence of a game this one replaces.
+     */
+    public void setVersion(long version) {
+        this.version = version;
     }
 
     public void makeMove(int row, int col, char player) {
-        board[row][col] = player;
+        int index = row * size + col;
+        setBit(player, index);
+        lastMoveIndex = index;
+        moveLog.append(index);
         moveCount++;
         togglePlayer();
+        version++;
+    }
+
+    /**
+     * Takes back the last move: its cell is emptied, its player is on turn again and the game is
+     * back in progress. The version moves forward, so ETags of the undone state never match.
+     * Requires {@link #hasCompleteHistory()} and at least one move.
+     *
+     * @return the cell index of the undone move
+     */
+    public int undoLastMove() {
+        if (!hasCompleteHistory() || moveCount == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        int index = moveLog.removeLast();
+        char player = isSet(xBits, xOverflow, index) ? TicToeConstants.PLAYER_X : TicToeConstants.PLAYER_O;
+        clearBit(player, index);
+        moveCount--;
+        currentPlayer = player;
+        lastMoveIndex = moveLog.size() > 0 ? moveLog.getCell(moveLog.size() - 1) : -1;
+        status = GameStatus.IN_PROGRESS;
+        version++;
+        return index;
+    }
+
+    private void setBit(char player, int index) {
+        boolean x = player == TicToeConstants.PLAYER_X;
+        if (index < 64) {
+            if (x) {
+                xBits |= 1L << index;
+            } else {
+                oBits |= 1L << index;
+            }
+            return;
+        }
+        long[] overflow = x ? xOverflow : oOverflow;
+        overflow[(index >>> 6) - 1] |= 1L << index;
+    }
+
+    private void clearBit(char player, int index) {
+        boolean x = player == TicToeConstants.PLAYER_X;
+        if (index < 64) {
+            if (x) {
+                xBits &= ~(1L << index);
+            } else {
+                oBits &= ~(1L << index);
+            }
+            return;
+        }
+        long[] overflow = x ? xOverflow : oOverflow;
+        overflow[(index >>> 6) - 1] &= ~(1L << index);
+    }
+
+    private static boolean isSet(long bits, long[] overflow, int index) {
+        if (index < 64) {
+            return (bits & (1L << index)) != 0;
+        }
+        return (overflow[(index >>> 6) - 1] & (1L << index)) != 0;
     }
 
     private void togglePlayer() {
@@ -93,20 +441,24 @@ public class Game {
     }
 
     public boolean isCellEmpty(int row, int col) {
-        return board[row][col] == ' ';
+        int index = row * size + col;
+        return !isSet(xBits, xOverflow, index) && !isSet(oBits, oOverflow, index);
     }
 
     public boolean isBoardFull() {
-        return moveCount >= 9;
+        return moveCount >= size * size;
     }
 
     @Override
     public String toString() {
         return "Game{" +
-                "gameId='" + gameId + '\'' +
+                "gameId='" + id + '\'' +
+                ", size=" + size +
+                ", winLength=" + winLength +
                 ", status=" + status +
                 ", currentPlayer=" + currentPlayer +
                 ", moveCount=" + moveCount +
+                ", version=" + version +
                 '}';
     }
 
@@ -115,11 +467,11 @@ public class Game {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Game game = (Game) o;
-        return gameId != null && gameId.equals(game.gameId);
+        return id != null && id.equals(game.id);
     }
 
     @Override
     public int hashCode() {
-        return gameId != null ? gameId.hashCode() : 0;
+        return id != null ? id.hashCode() : 0;
     }
 }
@@ -0,0 +1,146 @@
+package com.example.tictactoe.core.model;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Compact 128-bit id of a game or session, stored as two longs.
+ * Ids are parsed once where they enter the service; maps then hash and compare two longs
+ * instead of a 36-character string. Canonical lower-case UUIDs map to their own bits and keep
+ * no text; any other id is hashed with two independently seeded 64-bit hashes and keeps its
+ * text, so it can be given back. Two different texts colliding in all 128 bits is not handled.
+ */
+public final class GameId {
+    private static final long SEED_HIGH = 0x9E3779B97F4A7C15L;
+    private static final long SEED_LOW = 0xC2B2AE3D27D4EB4FL;
+
+    private final long high;
+    private final long low;
+    private final String text;
+
+    private GameId(long high, long low, String text) {
+        this.high = high;
+        this.low = low;
+        this.text = text;
+    }
+
+    /**
+     * Parses an id as received in a path or request body.
+     */
+    public static GameId of(String value) {
+        Objects.requireNonNull(value, "Game id is required");
+        if (isUuid(value)) {
+            return new GameId(parseHex(value, 0, 18), parseHex(value, 19, 36), null);
+        }
+        return new GameId(hash(value, SEED_HIGH), hash(value, SEED_LOW), value);
+    }
+
+    /**
+     * Returns the id of the UUID with these bits.
+     */
+    public static GameId ofUuid(long high, long low) {
+        return new GameId(high, low, null);
+    }
+
+    public static GameId random() {
+        UUID uuid = UUID.randomUUID();
+        return ofUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Whether the id is a canonical UUID, so its two longs are all there is to it.
+     */
+    public boolean isUuid() {
+        return text == null;
+    }
+
+    /**
+     * Spreads the id's bits over a 64-bit hash for tables.
+     */
+    public long spread() {
+        return mix(high ^ mix(low));
+    }
+
+    /**
+     * MurmurHash3 finalizer; spreads a value over all 64 bits.
+     */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameId)) return false;
+        GameId other = (GameId) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) spread();
+    }
+
+    /**
+     * Returns the id as a client sent it; UUIDs are formatted from their bits.
+     */
+    @Override
+    public String toString() {
+        return text != null ? text : new UUID(high, low).toString();
+    }
+
+    private static long hash(String value, long seed) {
+        long h = seed ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+            h = Long.rotateLeft(h, 29) + seed;
+        }
+        return mix(h);
+    }
+
+    /**
+     * Checks whether the id is a canonical lower-case UUID, whose bits are lossless:
+     * {@code new UUID(high, low).toString()} gives the id back.
+     */
+    private static boolean isUuid(String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                // Lower case only, so two distinct ids never share bits
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c != '-') {
+                result = (result << 4) | Character.digit(c, 16);
+            }
+        }
+        return result;
+    }
+}
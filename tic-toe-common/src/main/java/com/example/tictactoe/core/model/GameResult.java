@@ -2,11 +2,22 @@ package com.example.tictactoe.core.model;
 
 /**
  * Result of a game move operation.
+ * Rejected moves carry a {@link MoveError} and the game's status and version at the rejection;
+ * their message is only rendered when it is read.
  */
 public class GameResult {
+    public static final String SUCCESS_MESSAGE = "Move successful";
+    public static final String UNDONE_MESSAGE = "Move undone";
+
     private Game game;
     private boolean valid;
     private String message;
+    private MoveError error;
+    private int row;
+    private int column;
+    private char player;
+    private Game.GameStatus status;
+    private long version;
 
     public GameResult(Game game, boolean valid, String message) {
         this.game = game;
@@ -14,14 +25,36 @@ public class GameResult {
         this.message = message;
     }
 
+    private GameResult(Game game, MoveError error, int row, int column, char player) {
+        this.game = game;
+        this.error = error;
+        this.row = row;
+        this.column = column;
+        this.player = player;
+        this.status = game.getStatus();
+        this.version = game.getVersion();
+    }
+
     public static GameResult success(Game game) {
-        return new GameResult(game, true, "Move successful");
+        return new GameResult(game, true, SUCCESS_MESSAGE);
+    }
+
+    public static GameResult undone(Game game) {
+        return new GameResult(game, true, UNDONE_MESSAGE);
     }
 
     public static GameResult failure(Game game, String message) {
         return new GameResult(game, false, message);
     }
 
+    /**
+     * A rejected move. Call it while holding the game's lock: the status and version the
+     * message reports are captured here.
+     */
+    public static GameResult failure(Game game, MoveError error, int row, int column, char player) {
+        return new GameResult(game, error, row, column, player);
+    }
+
     public Game getGame() {
         return game;
     }
@@ -38,7 +71,17 @@ public class GameResult {
         this.valid = valid;
     }
 
+    /**
+     * Returns the rejection reason, or null for successful moves and plain-message failures.
+     */
+    public MoveError getError() {
+        return error;
+    }
+
     public String getMessage() {
+        if (message == null && error != null) {
+            message = error.render(game.getSize(), status, version, row, column, player);
+        }
         return message;
     }
 
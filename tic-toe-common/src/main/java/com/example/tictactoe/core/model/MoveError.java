@@ -0,0 +1,69 @@
+package com.example.tictactoe.core.model;
+
+import com.example.tictactoe.core.util.TicToeConstants;
+
+/**
+ * Reasons a move or an undo can be rejected.
+ * Validation only returns the constant; the human-readable message is rendered on demand.
+ */
+public enum MoveError {
+    GAME_FINISHED,
+    INVALID_PLAYER,
+    NOT_PLAYERS_TURN,
+    OUT_OF_BOUNDS,
+    CELL_OCCUPIED,
+    VERSION_MISMATCH,
+    NO_MOVES_TO_UNDO,
+    HISTORY_UNAVAILABLE;
+
+    /**
+     * Renders the message for a rejected move from the game's current state.
+     *
+     * @param game the game the move was made in
+     * @param row the requested row
+     * @param col the requested column
+     * @param player the requested player symbol
+     * @return the error message
+     */
+    public String render(Game game, int row, int col, char player) {
+        return render(game.getSize(), game.getStatus(), game.getVersion(), row, col, player);
+    }
+
+    /**
+     * Renders the message for a rejected move from the status and version the game had when it
+     * was rejected, so later moves on the game cannot make the message contradict the rejection.
+     *
+     * @param size the board size
+     * @param status the game status at the rejection
+     * @param version the game version at the rejection
+     * @param row the requested row
+     * @param col the requested column
+     * @param player the requested player symbol
+     * @return the error message
+     */
+    public String render(int size, Game.GameStatus status, long version, int row, int col, char player) {
+        switch (this) {
+            case GAME_FINISHED:
+                return "Game is already finished. Status: " + status;
+            case INVALID_PLAYER:
+                return "Invalid player symbol. Must be '" + TicToeConstants.PLAYER_X +
+                        "' or '" + TicToeConstants.PLAYER_O + "'";
+            case NOT_PLAYERS_TURN:
+                // Only two players exist, so the one on turn is always the other one
+                char current = player == TicToeConstants.PLAYER_X ? TicToeConstants.PLAYER_O : TicToeConstants.PLAYER_X;
+                return "It's not " + player + "'s turn. Current player: " + current;
+            case OUT_OF_BOUNDS:
+                return "Invalid position. Row and column must be between 0 and " + (size - 1);
+            case CELL_OCCUPIED:
+                return "Cell at position (" + row + ", " + col + ") is already occupied";
+            case VERSION_MISMATCH:
+                return "Game has changed. Current version: " + version;
+            case NO_MOVES_TO_UNDO:
+                return "There is no move to undo";
+            case HISTORY_UNAVAILABLE:
+                return "Move history is not available for this game";
+            default:
+                throw new IllegalStateException("Unknown move error: " + this);
+        }
+    }
+}
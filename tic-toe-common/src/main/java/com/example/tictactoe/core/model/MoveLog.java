@@ -0,0 +1,122 @@
+package com.example.tictactoe.core.model;
+
+import java.util.Arrays;
+
+/**
+ * The moves of a game in play order, packed as cell indexes ({@code row * size + col}) of just
+ * enough bits for the board: 4 bits on 3x3, 9 bits on 19x19. Moves never straddle two words, so
+ * a 3x3 game fits in the first word and the rest are only allocated for long games on large
+ * boards. Only cells are logged; a move's player is the one occupying its cell.
+ * Mutated only by {@link Game}, under the game's monitor.
+ */
+public final class MoveLog {
+    private final int bitsPerMove;
+    private final int movesPerWord;
+    private final long cellMask;
+    private long first;
+    private long[] rest;
+    private int size;
+
+    MoveLog(int cells) {
+        this.bitsPerMove = bitsPerMove(cells);
+        this.movesPerWord = Long.SIZE / bitsPerMove;
+        this.cellMask = (1L << bitsPerMove) - 1;
+    }
+
+    /**
+     * Returns the bits one move takes on a board with this many cells.
+     */
+    public static int bitsPerMove(int cells) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(cells - 1));
+    }
+
+    /**
+     * Returns the number of logged moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getBitsPerMove() {
+        return bitsPerMove;
+    }
+
+    /**
+     * Returns the cell index of a move, counting from 0.
+     */
+    public int getCell(int move) {
+        if (move < 0 || move >= size) {
+            throw new IndexOutOfBoundsException("Move " + move + " of " + size);
+        }
+        return (int) ((getWord(move / movesPerWord) >>> shift(move)) & cellMask);
+    }
+
+    /**
+     * Returns the number of words {@link #getWord} holds moves in.
+     */
+    public int getWords() {
+        return (size + movesPerWord - 1) / movesPerWord;
+    }
+
+    /**
+     * Returns one packed word: move {@code i} of the word sits at bit {@code i * bitsPerMove}.
+     */
+    public long getWord(int word) {
+        return word == 0 ? first : rest[word - 1];
+    }
+
+    void append(int cell) {
+        int word = size / movesPerWord;
+        long bits = (cell & cellMask) << shift(size);
+        if (word == 0) {
+            first |= bits;
+        } else {
+            if (rest == null) {
+                rest = new long[1];
+            } else if (rest.length < word) {
+                rest = Arrays.copyOf(rest, rest.length * 2);
+            }
+            rest[word - 1] |= bits;
+        }
+        size++;
+    }
+
+    /**
+     * Removes the last move and returns its cell index.
+     */
+    int removeLast() {
+        int cell = getCell(size - 1);
+        size--;
+        long keep = ~(cellMask << shift(size));
+        int word = size / movesPerWord;
+        if (word == 0) {
+            first &= keep;
+        } else {
+            rest[word - 1] &= keep;
+        }
+        return cell;
+    }
+
+    void clear() {
+        first = 0L;
+        rest = null;
+        size = 0;
+    }
+
+    /**
+     * Replaces the log with packed words as returned by {@link #getWord}.
+     */
+    void restore(long[] words, int moves) {
+        if (moves < 0 || words.length * movesPerWord < moves) {
+            throw new IllegalArgumentException("Move log of " + words.length + " words cannot hold " + moves + " moves");
+        }
+        clear();
+        for (int move = 0; move < moves; move++) {
+            append((int) ((words[move / movesPerWord] >>> shift(move)) & cellMask));
+        }
+    }
+
+    private int shift(int move) {
+        return (move % movesPerWord) * bitsPerMove;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.tictactoe.core.util;
+
+/**
+ * Bit-level helpers for a packed 3x3 board.
+ * Each player occupies a 9-bit mask where cell (row, col) maps to bit {@code row * 3 + col}.
+ */
+public final class Bitboard {
+    private Bitboard() {
+    }
+
+    public static final int SIZE = 3;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int FULL_MASK = (1 << CELLS) - 1;
+
+    /**
+     * All eight winning lines: three rows, three columns and both diagonals.
+     */
+    public static final int[] WIN_MASKS = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    public static int cellIndex(int row, int col) {
+        return row * SIZE + col;
+    }
+
+    public static int cellBit(int row, int col) {
+        return 1 << cellIndex(row, col);
+    }
+
+    /**
+     * Checks whether the given player mask contains a complete winning line.
+     *
+     * @param mask the cells occupied by one player
+     * @return true if any winning line is fully covered
+     */
+    public static boolean hasWin(int mask) {
+        for (int winMask : WIN_MASKS) {
+            if ((mask & winMask) == winMask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Packs the cells of a char board occupied by the given player into a mask.
+     */
+    public static int pack(char[][] board, char player) {
+        int mask = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (board[row][col] == player) {
+                    mask |= cellBit(row, col);
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.tictactoe.core.util;
+
+import com.example.tictactoe.core.model.GameId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Concurrent map from {@link GameId} to values, on open-addressing tables of primitive keys.
+ * <p>
+ * An entry costs two longs and one reference in the table, with no node, boxed key or key string.
+ * The map is split into segments, each a linear-probing table guarded by a {@link StampedLock}:
+ * lookups are optimistic and lock-free unless they race with a write to the same segment,
+ * updates lock one segment. Removal shifts later entries back instead of leaving tombstones.
+ * As with {@code ConcurrentHashMap.compute}, functions passed to the update methods run while
+ * the segment is locked, so they must be short and must not update this map. Null values are
+ * not supported.
+ */
+public final class ConcurrentIdMap<V> {
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 16;
+
+    private final Segment<V>[] segments;
+
+    public ConcurrentIdMap() {
+        this(DEFAULT_SEGMENTS, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * @param segments number of segments, rounded up to a power of two
+     * @param segmentCapacity initial slots per segment, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentIdMap(int segments, int segmentCapacity) {
+        int count = powerOfTwo(Math.max(1, segments));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment<>(powerOfTwo(Math.max(4, segmentCapacity)));
+        }
+    }
+
+    public V get(GameId id) {
+        long hash = id.spread();
+        return segmentFor(hash).get(id.getHigh(), id.getLow(), hash);
+    }
+
+    /**
+     * Stores the value, returning the one it replaced or null.
+     */
+    public V put(GameId id, V value) {
+        requireValue(value);
+        return compute(id, (key, current) -> value, true);
+    }
+
+    public V computeIfAbsent(GameId id, Function<GameId, V> factory) {
+        V current = get(id);
+        if (current != null) {
+            return current;
+        }
+        return compute(id, (key, existing) -> existing != null ? existing : factory.apply(key), false);
+    }
+
+    /**
+     * Replaces the value with the function's result for the current value, or null if absent.
+     * A null result removes the entry.
+     *
+     * @return the new value, or null if there is none
+     */
+    public V compute(GameId id, BiFunction<GameId, V, V> remapping) {
+        return compute(id, remapping, false);
+    }
+
+    /**
+     * Removes the entry, returning its value or null.
+     */
+    public V remove(GameId id) {
+        return compute(id, (key, current) -> null, true);
+    }
+
+    /**
+     * Removes the entry only if it maps to this exact instance.
+     */
+    public boolean remove(GameId id, V value) {
+        long hash = id.spread();
+        return segmentFor(hash).removeInstance(id.getHigh(), id.getLow(), hash, value);
+    }
+
+    /**
+     * Visits every value. Weakly consistent: each segment is copied under its lock and the
+     * action runs after releasing it, so the action may lock other objects safely.
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        for (Segment<V> segment : segments) {
+            for (V value : segment.values()) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Visits every entry, weakly consistent like {@link #forEachValue}. The ids are rebuilt from
+     * the stored bits: they equal the ids the entries were stored under, but hashed ids come
+     * without their text.
+     */
+    public void forEach(BiConsumer<GameId, ? super V> action) {
+        for (Segment<V> segment : segments) {
+            for (Map.Entry<GameId, V> entry : segment.entries()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private V compute(GameId id, BiFunction<GameId, V, V> remapping, boolean returnPrevious) {
+        long hash = id.spread();
+        return segmentFor(hash).compute(id, hash, remapping, returnPrevious);
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        // High bits pick the segment, low bits the slot within it
+        return segments[(int) (hash >>> 40) & (segments.length - 1)];
+    }
+
+    private static void requireValue(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not supported");
+        }
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * One table; replaced as a whole when it grows, so an optimistic reader sees matching arrays.
+     * keys[2 * slot] and keys[2 * slot + 1] hold the id; a null value marks a free slot.
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            this.keys = new long[2 * capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    private static final class Segment<V> {
+        private final StampedLock lock = new StampedLock();
+        private Table table;
+        private volatile int size;
+
+        Segment(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        V get(long high, long low, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(table, high, low, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, high, low, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Probes a table that may change meanwhile; the result only counts if the stamp validates.
+         * The probe is bounded, so a torn view cannot loop forever.
+         */
+        @SuppressWarnings("unchecked")
+        private static <V> V find(Table table, long high, long low, long hash) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = values.length - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = values[slot];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[2 * slot] == high && keys[2 * slot + 1] == low) {
+                    return (V) value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V compute(GameId id, long hash, BiFunction<GameId, V, V> remapping, boolean returnPrevious) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slotOf(id.getHigh(), id.getLow(), hash);
+                V current = slot >= 0 ? (V) table.values[slot] : null;
+                V next = remapping.apply(id, current);
+                if (next == current) {
+                    return returnPrevious ? current : next;
+                }
+                if (next == null) {
+                    delete(slot);
+                } else if (slot >= 0) {
+                    table.values[slot] = next;
+                } else {
+                    insert(id.getHigh(), id.getLow(), hash, next);
+                }
+                return returnPrevious ? current : next;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        boolean removeInstance(long high, long low, long hash, Object expected) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slotOf(high, low, hash);
+                if (slot < 0 || table.values[slot] != expected) {
+                    return false;
+                }
+                delete(slot);
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<V> values() {
+            long stamp = lock.readLock();
+            try {
+                List<V> copy = new ArrayList<>(size);
+                for (Object value : table.values) {
+                    if (value != null) {
+                        copy.add((V) value);
+                    }
+                }
+                return copy;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Map.Entry<GameId, V>> entries() {
+            long stamp = lock.readLock();
+            try {
+                List<Map.Entry<GameId, V>> copy = new ArrayList<>(size);
+                for (int slot = 0; slot < table.values.length; slot++) {
+                    if (table.values[slot] != null) {
+                        GameId id = GameId.ofUuid(table.keys[2 * slot], table.keys[2 * slot + 1]);
+                        copy.add(Map.entry(id, (V) table.values[slot]));
+                    }
+                }
+                return copy;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // The methods below run under the write lock
+
+        private int slotOf(long high, long low, long hash) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = values.length - 1;
+            int slot = (int) hash & mask;
+            while (values[slot] != null) {
+                if (keys[2 * slot] == high && keys[2 * slot + 1] == low) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long high, long low, long hash, Object value) {
+            // Grow at 3/4 full, so probes stay short and a free slot always ends them
+            if ((size + 1) * 4 > table.values.length * 3) {
+                table = grow(table);
+            }
+            place(table, high, low, hash, value);
+            size++;
+        }
+
+        /**
+         * Backward-shift deletion: moves later entries of the probe run into the hole
+         * when their home slot allows it, so lookups never need tombstones.
+         */
+        private void delete(int hole) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = values.length - 1;
+            int next = (hole + 1) & mask;
+            while (values[next] != null) {
+                int home = (int) hashOf(keys[2 * next], keys[2 * next + 1]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[2 * hole] = keys[2 * next];
+                    keys[2 * hole + 1] = keys[2 * next + 1];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            values[hole] = null;
+            size--;
+        }
+
+        private static Table grow(Table old) {
+            Table grown = new Table(old.values.length * 2);
+            for (int from = 0; from < old.values.length; from++) {
+                if (old.values[from] != null) {
+                    long high = old.keys[2 * from];
+                    long low = old.keys[2 * from + 1];
+                    place(grown, high, low, hashOf(high, low), old.values[from]);
+                }
+            }
+            return grown;
+        }
+
+        private static void place(Table table, long high, long low, long hash, Object value) {
+            int mask = table.values.length - 1;
+            int slot = (int) hash & mask;
+            while (table.values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table.keys[2 * slot] = high;
+            table.keys[2 * slot + 1] = low;
+            table.values[slot] = value;
+        }
+
+        /**
+         * Same as {@link GameId#spread()}, from the stored longs.
+         */
+        private static long hashOf(long high, long low) {
+            return GameId.mix(high ^ GameId.mix(low));
+        }
+    }
+}
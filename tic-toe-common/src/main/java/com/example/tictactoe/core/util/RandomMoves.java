@@ -0,0 +1,38 @@
+package com.example.tictactoe.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Random move selection for simulated players.
+ */
+public final class RandomMoves {
+    private RandomMoves() {
+    }
+
+    /**
+     * Picks a random empty cell of the board.
+     *
+     * @param board the board, with ' ' for empty cells
+     * @return the {row, column} of the cell, or null if the board is null or full
+     */
+    public static int[] pickEmptyCell(char[][] board) {
+        List<int[]> available = new ArrayList<>();
+        if (board == null) {
+            return null;
+        }
+        for (int row = 0; row < board.length; row++) {
+            for (int col = 0; col < board[row].length; col++) {
+                if (board[row][col] == ' ') {
+                    available.add(new int[]{row, col});
+                }
+            }
+        }
+        if (available.isEmpty()) {
+            return null;
+        }
+        Collections.shuffle(available);
+        return available.get(0);
+    }
+}
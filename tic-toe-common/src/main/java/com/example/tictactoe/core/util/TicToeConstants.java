@@ -7,6 +7,11 @@ public final class TicToeConstants {
     public static final char PLAYER_X = 'X';
     public static final char PLAYER_O = 'O';
 
+    public static final int DEFAULT_BOARD_SIZE = 3;
+    public static final int DEFAULT_WIN_LENGTH = 3;
+    public static final int MIN_BOARD_SIZE = 3;
+    public static final int MAX_BOARD_SIZE = 19;
+
     public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
     public static final String STATUS_X_WINS = "X_WINS";
     public static final String STATUS_O_WINS = "O_WINS";
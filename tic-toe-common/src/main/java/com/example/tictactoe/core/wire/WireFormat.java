@@ -0,0 +1,174 @@
+package com.example.tictactoe.core.wire;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.TicToeConstants;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of the session-to-engine messages, negotiated with the
+ * {@value #MEDIA_TYPE} content type. Both services build their messages from these pieces in
+ * the same order; JSON stays the default and the fallback for every other body.
+ * <p>
+ * A game is: format version, id, board size, win length, status ordinal, current player,
+ * version, board, message. A simulation appends the policy and the moves, each as move number,
+ * player, row, column and status ordinal. A move request is player, row, column and an optional
+ * expected version.
+ * <ul>
+ *   <li>ids: a UUID as 16 bytes, anything else as its UTF-8 text</li>
+ *   <li>players: 0 for X, 1 for O</li>
+ *   <li>boards: one bit plane per player, {@code ceil(size * size / 8)} bytes each, row-major</li>
+ *   <li>text: unsigned short length and UTF-8 bytes; null is length 0xFFFF</li>
+ * </ul>
+ */
+public final class WireFormat {
+    public static final String MEDIA_TYPE = "application/x-tictactoe";
+    public static final byte VERSION = 1;
+
+    private static final byte UUID_ID = 0;
+    private static final byte TEXT_ID = 1;
+    private static final int NULL_TEXT = 0xFFFF;
+    private static final Game.GameStatus[] STATUSES = Game.GameStatus.values();
+
+    private WireFormat() {
+    }
+
+    public static void writeVersion(DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+    }
+
+    public static void readVersion(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported wire format version " + version);
+        }
+    }
+
+    public static void writeId(DataOutput out, String id) throws IOException {
+        GameId gameId = GameId.of(id);
+        if (gameId.isUuid()) {
+            out.writeByte(UUID_ID);
+            out.writeLong(gameId.getHigh());
+            out.writeLong(gameId.getLow());
+        } else {
+            out.writeByte(TEXT_ID);
+            writeText(out, id);
+        }
+    }
+
+    public static String readId(DataInput in) throws IOException {
+        if (in.readByte() == UUID_ID) {
+            return GameId.ofUuid(in.readLong(), in.readLong()).toString();
+        }
+        return readText(in);
+    }
+
+    public static void writePlayer(DataOutput out, String player) throws IOException {
+        out.writeByte(playerCode(player));
+    }
+
+    public static String readPlayer(DataInput in) throws IOException {
+        return in.readByte() == 0 ? "X" : "O";
+    }
+
+    public static void writeStatus(DataOutput out, String status) throws IOException {
+        out.writeByte(Game.GameStatus.valueOf(status).ordinal());
+    }
+
+    public static String readStatus(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= STATUSES.length) {
+            throw new IOException("Unknown game status " + ordinal);
+        }
+        return STATUSES[ordinal].name();
+    }
+
+    /**
+     * Writes the board as two bit planes, X first. The size is written separately by the caller.
+     */
+    public static void writeBoard(DataOutput out, char[][] board) throws IOException {
+        int size = board.length;
+        byte[] planes = new byte[2 * planeBytes(size)];
+        int oPlane = planeBytes(size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                char symbol = board[row][col];
+                if (symbol == TicToeConstants.PLAYER_X) {
+                    planes[cell >>> 3] |= (byte) (1 << (cell & 7));
+                } else if (symbol == TicToeConstants.PLAYER_O) {
+                    planes[oPlane + (cell >>> 3)] |= (byte) (1 << (cell & 7));
+                }
+            }
+        }
+        out.write(planes);
+    }
+
+    public static char[][] readBoard(DataInput in, int size) throws IOException {
+        if (size < 0 || size > TicToeConstants.MAX_BOARD_SIZE) {
+            throw new IOException("Invalid board size " + size);
+        }
+        byte[] planes = new byte[2 * planeBytes(size)];
+        in.readFully(planes);
+        int oPlane = planeBytes(size);
+        char[][] board = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                int bit = 1 << (cell & 7);
+                if ((planes[cell >>> 3] & bit) != 0) {
+                    board[row][col] = TicToeConstants.PLAYER_X;
+                } else if ((planes[oPlane + (cell >>> 3)] & bit) != 0) {
+                    board[row][col] = TicToeConstants.PLAYER_O;
+                } else {
+                    board[row][col] = ' ';
+                }
+            }
+        }
+        return board;
+    }
+
+    public static void writeText(DataOutput out, String text) throws IOException {
+        if (text == null) {
+            out.writeShort(NULL_TEXT);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_TEXT) {
+            throw new IOException("Text is too long for the wire format");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readText(DataInput in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length == NULL_TEXT) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int playerCode(String player) throws IOException {
+        if (player != null && player.length() == 1) {
+            char symbol = Character.toUpperCase(player.charAt(0));
+            if (symbol == TicToeConstants.PLAYER_X) {
+                return 0;
+            }
+            if (symbol == TicToeConstants.PLAYER_O) {
+                return 1;
+            }
+        }
+        throw new IOException("Player " + player + " has no wire encoding");
+    }
+
+    private static int planeBytes(int size) {
+        return (size * size + 7) >>> 3;
+    }
+}
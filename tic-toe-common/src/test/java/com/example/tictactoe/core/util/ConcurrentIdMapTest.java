@@ -0,0 +1,109 @@
+package com.example.tictactoe.core.util;
+
+import com.example.tictactoe.core.model.GameId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentIdMapTest {
+
+    @Test
+    void gameId_keepsUuidsAndOtherIdsApart() {
+        GameId uuid = GameId.of("123e4567-e89b-12d3-a456-426614174000");
+        assertTrue(uuid.isUuid());
+        assertEquals("123e4567-e89b-12d3-a456-426614174000", uuid.toString());
+        assertEquals(uuid, GameId.ofUuid(uuid.getHigh(), uuid.getLow()));
+
+        GameId upper = GameId.of("123E4567-E89B-12D3-A456-426614174000");
+        assertFalse(upper.isUuid());
+        assertFalse(upper.equals(uuid));
+        assertEquals("123E4567-E89B-12D3-A456-426614174000", upper.toString());
+        assertEquals(GameId.of("game-1"), GameId.of("game-1"));
+    }
+
+    @Test
+    void matchesAHashMapThroughGrowthAndRemoval() {
+        // Two small segments, so tables grow and removals shift long probe runs
+        ConcurrentIdMap<Integer> map = new ConcurrentIdMap<>(2, 4);
+        Map<GameId, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            GameId id = GameId.of("game-" + i);
+            map.put(id, i);
+            expected.put(id, i);
+        }
+        for (int i = 0; i < 5_000; i += 3) {
+            GameId id = GameId.of("game-" + i);
+            assertEquals(Integer.valueOf(i), map.remove(id));
+            expected.remove(id);
+        }
+        assertNull(map.remove(GameId.of("game-0")));
+
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < 5_000; i++) {
+            GameId id = GameId.of("game-" + i);
+            assertEquals(expected.get(id), map.get(id));
+        }
+        List<Integer> visited = new ArrayList<>();
+        map.forEachValue(visited::add);
+        assertEquals(expected.size(), visited.size());
+        Map<GameId, Integer> entries = new HashMap<>();
+        map.forEach(entries::put);
+        assertEquals(expected, entries);
+    }
+
+    @Test
+    void removeInstance_onlyRemovesThatInstance() {
+        ConcurrentIdMap<Object> map = new ConcurrentIdMap<>();
+        GameId id = GameId.random();
+        Object stored = map.computeIfAbsent(id, key -> new Object());
+
+        assertSame(stored, map.computeIfAbsent(id, key -> new Object()));
+        assertFalse(map.remove(id, new Object()));
+        assertTrue(map.remove(id, stored));
+        assertNull(map.get(id));
+    }
+
+    @Test
+    void concurrentComputesAreAtomic() throws Exception {
+        ConcurrentIdMap<Integer> map = new ConcurrentIdMap<>(4, 4);
+        int threads = 8;
+        int ids = 200;
+        int rounds = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        for (int i = 0; i < ids; i++) {
+                            map.compute(GameId.of("game-" + i), (key, count) -> count == null ? 1 : count + 1);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(ids, map.size());
+        for (int i = 0; i < ids; i++) {
+            assertEquals(Integer.valueOf(threads * rounds), map.get(GameId.of("game-" + i)));
+        }
+    }
+}
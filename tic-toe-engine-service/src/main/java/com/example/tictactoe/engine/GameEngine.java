@@ -1,7 +1,13 @@
 package com.example.tictactoe.engine;
 
 import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.core.model.MoveLog;
+import com.example.tictactoe.core.util.Bitboard;
 import com.example.tictactoe.core.util.TicToeConstants;
+import com.example.tictactoe.engine.solver.OutcomeTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
@@ -11,40 +17,60 @@ import org.springframework.stereotype.Service;
 @Service
 public class GameEngine {
 
+    /**
+     * Line directions through a cell: horizontal, vertical, diagonal and anti-diagonal.
+     */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final OutcomeTable outcomeTable;
+    private final boolean earlyDrawDetection;
+
+    public GameEngine() {
+        this(null, false);
+    }
+
+    @Autowired
+    public GameEngine(OutcomeTable outcomeTable,
+                      @Value("${engine.early-draw-detection:false}") boolean earlyDrawDetection) {
+        this.outcomeTable = outcomeTable;
+        this.earlyDrawDetection = earlyDrawDetection;
+    }
+
     /**
      * Validates if a move is valid according to game rules.
+     * Returns a shared constant and never allocates; callers render the message only when needed.
      *
      * @param game the game state
-     * @param row the row position (0-2)
-     * @param col the column position (0-2)
+     * @param row the row position (0 to size - 1)
+     * @param col the column position (0 to size - 1)
      * @param player the player symbol (X or O)
-     * @return validation result message, null if valid
+     * @return the reason the move is rejected, null if valid
      */
-    public String validateMove(Game game, int row, int col, char player) {
+    public MoveError validateMove(Game game, int row, int col, char player) {
         // Validate game status
         if (game.getStatus() != Game.GameStatus.IN_PROGRESS) {
-            return "Game is already finished. Status: " + game.getStatus();
+            return MoveError.GAME_FINISHED;
         }
 
         // Validate player symbol
         if (player != TicToeConstants.PLAYER_X && player != TicToeConstants.PLAYER_O) {
-            return "Invalid player symbol. Must be '" + TicToeConstants.PLAYER_X +
-                    "' or '" + TicToeConstants.PLAYER_O + "'";
+            return MoveError.INVALID_PLAYER;
         }
 
         // Validate it's the player's turn
         if (game.getCurrentPlayer() != player) {
-            return "It's not " + player + "'s turn. Current player: " + game.getCurrentPlayer();
+            return MoveError.NOT_PLAYERS_TURN;
         }
 
         // Validate position bounds
-        if (row < 0 || row > 2 || col < 0 || col > 2) {
-            return "Invalid position. Row and column must be between 0 and 2";
+        int size = game.getSize();
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            return MoveError.OUT_OF_BOUNDS;
         }
 
         // Validate cell is empty
         if (!game.isCellEmpty(row, col)) {
-            return "Cell at position (" + row + ", " + col + ") is already occupied";
+            return MoveError.CELL_OCCUPIED;
         }
 
         return null; // Move is valid
@@ -54,8 +80,8 @@ public class GameEngine {
      * Applies a move to the game board and updates game state.
      *
      * @param game the game state
-     * @param row the row position (0-2)
-     * @param col the column position (0-2)
+     * @param row the row position (0 to size - 1)
+     * @param col the column position (0 to size - 1)
      * @param player the player symbol (X or O)
      */
     public void applyMove(Game game, int row, int col, char player) {
@@ -63,59 +89,151 @@ public class GameEngine {
     }
 
     /**
-     * Checks if a player has won the game after a move.
+     * Validates if the last move can be taken back. Finished games can be undone as well.
+     *
+     * @param game the game state
+     * @return the reason the undo is rejected, null if valid
+     */
+    public MoveError validateUndo(Game game) {
+        if (!game.hasCompleteHistory()) {
+            return MoveError.HISTORY_UNAVAILABLE;
+        }
+        if (game.getMoveCount() == 0) {
+            return MoveError.NO_MOVES_TO_UNDO;
+        }
+        return null;
+    }
+
+    /**
+     * Takes back the last move. Every move was made on a game in progress, so the game is
+     * in progress again afterwards and its status needs no re-evaluation.
+     *
+     * @param game the game state
+     */
+    public void undoMove(Game game) {
+        game.undoLastMove();
+    }
+
+    /**
+     * Rebuilds the position after the first moves of a game by replaying its move log on an
+     * empty board. Only the final position is evaluated: an earlier position cannot be finished,
+     * or no later move would have been accepted. The caller holds the game's monitor.
+     *
+     * @param game the game with a complete history
+     * @param moves the number of moves to replay, from 0 to the game's move count
+     * @return a new, detached game at that position, carrying the game's current version
+     */
+    public Game replay(Game game, int moves) {
+        if (!game.hasCompleteHistory()) {
+            throw new IllegalStateException(MoveError.HISTORY_UNAVAILABLE.render(game, -1, -1, ' '));
+        }
+        if (moves < 0 || moves > game.getMoveCount()) {
+            throw new IllegalArgumentException("Move number must be between 0 and " + game.getMoveCount());
+        }
+        MoveLog log = game.getMoveLog();
+        int size = game.getSize();
+        Game replayed = new Game(game.getId(), size, game.getWinLength());
+        char player = 0;
+        for (int move = 0; move < moves; move++) {
+            int cell = log.getCell(move);
+            player = game.isOccupiedBy(cell / size, cell % size, TicToeConstants.PLAYER_X)
+                    ? TicToeConstants.PLAYER_X
+                    : TicToeConstants.PLAYER_O;
+            replayed.makeMove(cell / size, cell % size, player);
+        }
+        if (moves > 0) {
+            replayed.setStatus(determineGameStatus(replayed, player));
+        }
+        replayed.setVersion(game.getVersion());
+        return replayed;
+    }
+
+    /**
+     * Checks if a player has won on a classic 3x3 board.
      *
      * @param board the game board
      * @param player the player to check
      * @return the win status if player won, null otherwise
      */
     public Game.GameStatus checkWinCondition(char[][] board, char player) {
-        // Check rows
-        for (int i = 0; i < 3; i++) {
-            if (board[i][0] == player && board[i][1] == player && board[i][2] == player) {
-                return player == TicToeConstants.PLAYER_X
-                        ? Game.GameStatus.X_WINS
-                        : Game.GameStatus.O_WINS;
-            }
-        }
+        return checkWinCondition(Bitboard.pack(board, player), player);
+    }
 
-        // Check columns
-        for (int j = 0; j < 3; j++) {
-            if (board[0][j] == player && board[1][j] == player && board[2][j] == player) {
+    /**
+     * Checks if the move at (row, col) completed a line of the game's win length.
+     * Only the four lines through that cell are inspected, so the cost is O(K)
+     * regardless of the board size.
+     *
+     * @param game the game state after the move
+     * @param row the row of the last move
+     * @param col the column of the last move
+     * @param player the player who made the move
+     * @return the win status if player won, null otherwise
+     */
+    public Game.GameStatus checkWinCondition(Game game, int row, int col, char player) {
+        int winLength = game.getWinLength();
+        for (int[] direction : DIRECTIONS) {
+            int dr = direction[0];
+            int dc = direction[1];
+            int count = 1
+                    + countInDirection(game, row, col, dr, dc, player, winLength - 1)
+                    + countInDirection(game, row, col, -dr, -dc, player, winLength - 1);
+            if (count >= winLength) {
                 return player == TicToeConstants.PLAYER_X
                         ? Game.GameStatus.X_WINS
                         : Game.GameStatus.O_WINS;
             }
         }
+        return null;
+    }
 
-        // Check main diagonal
-        if (board[0][0] == player && board[1][1] == player && board[2][2] == player) {
-            return player == TicToeConstants.PLAYER_X
-                    ? Game.GameStatus.X_WINS
-                    : Game.GameStatus.O_WINS;
+    private int countInDirection(Game game, int row, int col, int dr, int dc, char player, int limit) {
+        int count = 0;
+        int r = row + dr;
+        int c = col + dc;
+        while (count < limit && game.isOccupiedBy(r, c, player)) {
+            count++;
+            r += dr;
+            c += dc;
         }
+        return count;
+    }
 
-        // Check anti-diagonal
-        if (board[0][2] == player && board[1][1] == player && board[2][0] == player) {
-            return player == TicToeConstants.PLAYER_X
-                    ? Game.GameStatus.X_WINS
-                    : Game.GameStatus.O_WINS;
+    /**
+     * Checks if a player's occupancy mask covers any winning line of the classic 3x3 board.
+     *
+     * @param playerMask the cells occupied by the player
+     * @param player the player to check
+     * @return the win status if player won, null otherwise
+     */
+    public Game.GameStatus checkWinCondition(int playerMask, char player) {
+        if (!Bitboard.hasWin(playerMask)) {
+            return null;
         }
-
-        return null;
+        return player == TicToeConstants.PLAYER_X
+                ? Game.GameStatus.X_WINS
+                : Game.GameStatus.O_WINS;
     }
 
     /**
      * Determines the game status after a move.
-     * Checks for win condition first, then draw condition.
+     * Checks for win condition first, then draw condition. With early draw detection enabled,
+     * a 3x3 game is also ended as a draw once no line of play can produce a winner.
      *
      * @param game the game state
      * @param player the player who made the move
      * @return the updated game status
      */
     public Game.GameStatus determineGameStatus(Game game, char player) {
-        // Check for win condition
-        Game.GameStatus winStatus = checkWinCondition(game.getBoard(), player);
+        // Check for win condition: whole-board masks on 3x3, lines through the last move otherwise
+        Game.GameStatus winStatus;
+        if (game.isClassic()) {
+            winStatus = checkWinCondition((int) game.getPlayerMask(player), player);
+        } else if (game.getLastMoveRow() >= 0) {
+            winStatus = checkWinCondition(game, game.getLastMoveRow(), game.getLastMoveColumn(), player);
+        } else {
+            winStatus = null;
+        }
         if (winStatus != null) {
             return winStatus;
         }
@@ -125,6 +243,12 @@ public class GameEngine {
             return Game.GameStatus.DRAW;
         }
 
+        // Check for a decided draw before the board fills up
+        if (earlyDrawDetection && outcomeTable != null && game.isClassic()
+                && outcomeTable.decidedOutcome(game) == Game.GameStatus.DRAW) {
+            return Game.GameStatus.DRAW;
+        }
+
         // Game continues
         return Game.GameStatus.IN_PROGRESS;
     }
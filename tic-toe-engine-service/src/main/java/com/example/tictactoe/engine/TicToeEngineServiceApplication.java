@@ -4,7 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
-@SpringBootApplication(scanBasePackages = "com.example.tictactoe")
+@SpringBootApplication(scanBasePackages = "com.example.tictactoe.engine")
 @EnableFeignClients(basePackages = "com.example.tictactoe.engine.client")
 public class TicToeEngineServiceApplication {
 
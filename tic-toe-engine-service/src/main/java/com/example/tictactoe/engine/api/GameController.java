@@ -1,18 +1,47 @@
 package com.example.tictactoe.engine.api;
 
 import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
 import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.api.dto.BatchMoveRequest;
+import com.example.tictactoe.engine.api.dto.BatchMoveResponse;
+import com.example.tictactoe.engine.api.dto.BatchMoveResult;
+import com.example.tictactoe.engine.api.dto.BestMoveResponse;
+import com.example.tictactoe.engine.api.dto.CreateGameRequest;
 import com.example.tictactoe.engine.api.dto.GameResponse;
+import com.example.tictactoe.engine.api.dto.MoveHistoryResponse;
 import com.example.tictactoe.engine.api.dto.MoveRequest;
+import com.example.tictactoe.engine.api.dto.SimulatedMove;
+import com.example.tictactoe.engine.api.dto.SimulationResponse;
 import com.example.tictactoe.engine.client.SessionClient;
+import com.example.tictactoe.engine.cluster.EngineCluster;
 import com.example.tictactoe.engine.client.dto.SessionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
+import com.example.tictactoe.engine.session.BatchMoveService;
 import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.simulation.MovePolicy;
+import com.example.tictactoe.engine.simulation.SimulationService;
+import com.example.tictactoe.engine.solver.GameSolver;
+import com.example.tictactoe.engine.solver.OutcomeTable;
+import com.example.tictactoe.engine.solver.ParallelSearchEngine;
+import com.example.tictactoe.engine.solver.SearchResult;
+import com.example.tictactoe.engine.solver.SolverResult;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * REST controller for game operations.
@@ -23,36 +52,203 @@ import org.springframework.web.bind.annotation.*;
 public class GameController {
 
     private final GameSessionService gameSessionService;
+    private final GameEngine gameEngine;
+    private final BatchMoveService batchMoveService;
+    private final SimulationService simulationService;
+    private final ObjectMapper objectMapper;
     private final SessionClient sessionClient;
+    private final GameSolver gameSolver;
+    private final OutcomeTable outcomeTable;
+    private final ParallelSearchEngine parallelSearchEngine;
+    private final boolean createOnRead;
 
     public GameController(GameSessionService gameSessionService,
-                          SessionClient sessionClient) {
+                          GameEngine gameEngine,
+                          BatchMoveService batchMoveService,
+                          SimulationService simulationService,
+                          ObjectMapper objectMapper,
+                          SessionClient sessionClient,
+                          GameSolver gameSolver,
+                          OutcomeTable outcomeTable,
+                          ParallelSearchEngine parallelSearchEngine,
+                          @Value("${engine.store.create-on-read:true}") boolean createOnRead) {
         this.gameSessionService = gameSessionService;
+        this.gameEngine = gameEngine;
+        this.batchMoveService = batchMoveService;
+        this.simulationService = simulationService;
+        this.objectMapper = objectMapper;
         this.sessionClient = sessionClient;
+        this.gameSolver = gameSolver;
+        this.outcomeTable = outcomeTable;
+        this.parallelSearchEngine = parallelSearchEngine;
+        this.createOnRead = createOnRead;
+    }
+
+    /**
+     * Create a game with a chosen board size and win length.
+     * POST /games/{gameId}
+     */
+    @PostMapping("/{gameId}")
+    public ResponseEntity<GameResponse> createGame(
+            @PathVariable GameId gameId,
+            @Valid @RequestBody(required = false) CreateGameRequest createRequest) {
+        CreateGameRequest request = createRequest != null ? createRequest : new CreateGameRequest();
+        Game game = gameSessionService.createGameSessionIfAbsent(
+                gameId, request.resolveBoardSize(), request.resolveWinLength());
+        if (game == null) {
+            Game existing = gameSessionService.getGameSession(gameId);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(existing != null ? new GameResponse(existing, "Game already exists") : null);
+        }
+        GameResponse response = new GameResponse(game);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(GameETags.of(response.getVersion())).body(response);
     }
 
     /**
      * Make a move in the game.
+     * Optimistic concurrency: with {@code If-Match} a stale version is answered with 412,
+     * with {@code expectedVersion} in the body with 409. The response carries the new ETag.
      * POST /games/{gameId}/move
      */
     @PostMapping("/{gameId}/move")
     public ResponseEntity<GameResponse> makeMove(
-            @PathVariable String gameId,
+            @PathVariable GameId gameId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MoveRequest moveRequest) {
 
         char playerSymbol = moveRequest.getPlayerSymbol();
         int row = moveRequest.getRow();
         int col = moveRequest.getColumn();
 
-        GameResult result = gameSessionService.processMove(gameId, row, col, playerSymbol);
+        long expectedVersion = GameSessionService.ANY_VERSION;
+        HttpStatus staleStatus = HttpStatus.CONFLICT;
+        if (ifMatch != null) {
+            expectedVersion = GameETags.parseIfMatch(ifMatch);
+            staleStatus = HttpStatus.PRECONDITION_FAILED;
+        } else if (moveRequest.getExpectedVersion() != null) {
+            expectedVersion = moveRequest.getExpectedVersion();
+        }
+
+        GameResult result = gameSessionService.processMove(gameId, row, col, playerSymbol, expectedVersion);
 
+        GameResponse response = new GameResponse(result.getGame(), result.getMessage());
+        String eTag = GameETags.of(response.getVersion());
         if (!result.isValid()) {
-            GameResponse response = new GameResponse(result.getGame(), result.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            HttpStatus status = result.getError() == MoveError.VERSION_MISMATCH ? staleStatus : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).eTag(eTag).body(response);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    /**
+     * Take back the last move; a finished game is in progress again. With {@code If-Match}
+     * a stale version is answered with 412. The response carries the new ETag.
+     * POST /games/{gameId}/undo
+     */
+    @PostMapping("/{gameId}/undo")
+    public ResponseEntity<GameResponse> undoMove(
+            @PathVariable GameId gameId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long expectedVersion = ifMatch != null ? GameETags.parseIfMatch(ifMatch) : GameSessionService.ANY_VERSION;
+        GameResult result = gameSessionService.undoMove(gameId, expectedVersion);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
         GameResponse response = new GameResponse(result.getGame(), result.getMessage());
-        return ResponseEntity.ok(response);
+        String eTag = GameETags.of(response.getVersion());
+        if (!result.isValid()) {
+            HttpStatus status = result.getError() == MoveError.VERSION_MISMATCH
+                    ? HttpStatus.PRECONDITION_FAILED
+                    : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).eTag(eTag).body(response);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    /**
+     * Get the moves of the game in play order.
+     * GET /games/{gameId}/moves
+     */
+    @GetMapping("/{gameId}/moves")
+    public ResponseEntity<MoveHistoryResponse> getMoves(@PathVariable GameId gameId) {
+        Game game = gameSessionService.getGameSession(gameId);
+        if (game == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        synchronized (game) {
+            if (!game.hasCompleteHistory()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            MoveHistoryResponse response = new MoveHistoryResponse(game);
+            return ResponseEntity.ok().eTag(GameETags.of(response.getVersion())).body(response);
+        }
+    }
+
+    /**
+     * Get the game as it was after its first {@code moveNumber} moves, rebuilt by replaying
+     * the move log. The response carries the version of the current game it was rebuilt from.
+     * GET /games/{gameId}/moves/{moveNumber}
+     */
+    @GetMapping("/{gameId}/moves/{moveNumber}")
+    public ResponseEntity<GameResponse> getGameAtMove(@PathVariable GameId gameId, @PathVariable int moveNumber) {
+        Game game = gameSessionService.getGameSession(gameId);
+        if (game == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Game replayed;
+        synchronized (game) {
+            if (!game.hasCompleteHistory()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            replayed = gameEngine.replay(game, moveNumber);
+        }
+        return ResponseEntity.ok(new GameResponse(replayed));
+    }
+
+    /**
+     * Make moves in many games with one request.
+     * POST /games/moves:batch
+     */
+    @PostMapping("/moves:batch")
+    public ResponseEntity<BatchMoveResponse> makeMoves(
+            @Valid @RequestBody BatchMoveRequest batchRequest,
+            @RequestHeader(value = EngineCluster.FORWARDED_HEADER, required = false) String forwardedBy) {
+        List<BatchMoveResult> results = batchMoveService.processMoves(batchRequest.getMoves(), forwardedBy != null);
+        return ResponseEntity.ok(new BatchMoveResponse(results));
+    }
+
+    /**
+     * Play the game to completion inside the engine.
+     * POST /games/{gameId}/simulate?policy=RANDOM|OPTIMAL|SEARCH
+     */
+    @PostMapping("/{gameId}/simulate")
+    public ResponseEntity<SimulationResponse> simulate(
+            @PathVariable GameId gameId,
+            @RequestParam(defaultValue = "RANDOM") MovePolicy policy) {
+        List<SimulatedMove> moves = simulationService.simulate(gameId, policy);
+        Game game = gameSessionService.getGameSession(gameId);
+        return ResponseEntity.ok(new SimulationResponse(game, policy.name(), moves));
+    }
+
+    /**
+     * Play the game to completion, streaming each move as a JSON line as soon as it is applied.
+     * POST /games/{gameId}/simulate?stream=true
+     */
+    @PostMapping(value = "/{gameId}/simulate", params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> simulateStream(
+            @PathVariable GameId gameId,
+            @RequestParam(defaultValue = "RANDOM") MovePolicy policy) {
+        StreamingResponseBody body = outputStream -> simulationService.simulate(gameId, policy, move -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(move));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -60,18 +256,97 @@ public class GameController {
      * GET /games/{gameId}
      */
     @GetMapping("/{gameId}")
-    public ResponseEntity<GameResponse> getGame(@PathVariable String gameId) {
-        Game game = gameSessionService.getGameSession(gameId);
-
+    public ResponseEntity<GameResponse> getGame(
+            @PathVariable GameId gameId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Auto-create game session if it doesn't exist
+        Game game = createOnRead
+                ? gameSessionService.getOrCreateGameSession(gameId)
+                : gameSessionService.getGameSession(gameId);
         if (game == null) {
-            // Auto-create game session if it doesn't exist
-            game = gameSessionService.createGameSession(gameId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        // Pollers that already hold this version skip building and serializing the response
+        long version = game.getVersion();
+        if (ifNoneMatch != null && GameETags.matchesIfNoneMatch(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(GameETags.of(version)).build();
         }
 
         GameResponse response = new GameResponse(game);
+        return ResponseEntity.ok().eTag(GameETags.of(response.getVersion())).body(response);
+    }
+
+    /**
+     * Get the best move for the player to move.
+     * Reachable 3x3 positions are answered from the precomputed outcome table and perfect-play
+     * search; larger boards use the parallel iterative-deepening search within a time and node budget.
+     * GET /games/{gameId}/best-move
+     */
+    @GetMapping("/{gameId}/best-move")
+    public ResponseEntity<BestMoveResponse> getBestMove(
+            @PathVariable GameId gameId,
+            @RequestParam(required = false) Long timeLimitMs,
+            @RequestParam(required = false) Long nodeLimit) {
+        Game game = gameSessionService.getGameSession(gameId);
+        if (game == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        BestMoveResponse response = new BestMoveResponse();
+        response.setGameId(gameId.toString());
+        response.setPlayer(String.valueOf(game.getCurrentPlayer()));
+
+        if (game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+            response.setMessage("Game is already finished. Status: " + game.getStatus());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+
+        if (!game.isClassic()) {
+            SearchResult result = parallelSearchEngine.search(game,
+                    parallelSearchEngine.resolveTimeLimitMillis(timeLimitMs),
+                    parallelSearchEngine.resolveNodeLimit(nodeLimit));
+            if (result == null) {
+                return boardFilled(response);
+            }
+            response.setRow(result.getRow());
+            response.setColumn(result.getColumn());
+            response.setOutcome(result.getOutcome());
+            response.setScore(result.getScore());
+            response.setSearchDepth(result.getDepth());
+            response.setNodes(result.getNodes());
+            response.setNodesPerSecond(result.getNodesPerSecond());
+            response.setElapsedMillis(result.getElapsedNanos() / 1_000_000L);
+            response.setParallelism(result.getParallelism());
+            return ResponseEntity.ok(response);
+        }
+
+        SolverResult result = outcomeTable.bestMove(game);
+        if (result == null) {
+            result = gameSolver.bestMove(game);
+        }
+        if (result == null) {
+            return boardFilled(response);
+        }
+        response.setPredictedStatus(outcomeTable.predictOutcome(game));
+        response.setDecided(outcomeTable.decidedOutcome(game) != null);
+        response.setRow(result.getRow());
+        response.setColumn(result.getColumn());
+        response.setOutcome(result.getOutcome());
+        response.setScore(result.getScore());
+        response.setCacheHits(gameSolver.getCacheHits());
+        response.setCacheMisses(gameSolver.getCacheMisses());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * The status was read before the search copied the board, so a move made meanwhile may have filled it.
+     */
+    private static ResponseEntity<BestMoveResponse> boardFilled(BestMoveResponse response) {
+        response.setMessage("Game is already finished. The board is full");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * Get session details for a game.
      * GET /games/{gameId}/session
@@ -0,0 +1,62 @@
+package com.example.tictactoe.engine.api;
+
+import com.example.tictactoe.engine.session.GameSessionService;
+
+/**
+ * Maps game versions to entity tags and back. A game's ETag is its version in quotes, e.g. {@code "7"}.
+ */
+final class GameETags {
+    /**
+     * Version returned for tags that cannot belong to any game; it never equals a real version.
+     */
+    static final long NO_VERSION = Long.MIN_VALUE;
+
+    private GameETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parses an {@code If-Match} value into the version it requires.
+     * {@code *} matches any version; a list or an unknown tag yields {@link #NO_VERSION}.
+     */
+    static long parseIfMatch(String header) {
+        String value = header.trim();
+        if (value.equals("*")) {
+            return GameSessionService.ANY_VERSION;
+        }
+        if (value.indexOf(',') >= 0) {
+            return NO_VERSION;
+        }
+        return parseTag(value);
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} value names the given version.
+     * Weak and strong tags compare equal, as RFC 9110 requires for this header.
+     */
+    static boolean matchesIfNoneMatch(String header, long version) {
+        for (String tag : header.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*") || parseTag(value) == version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long parseTag(String tag) {
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return NO_VERSION;
+        }
+        try {
+            long version = Long.parseLong(value.substring(1, value.length() - 1));
+            return version >= 0 ? version : NO_VERSION;
+        } catch (NumberFormatException ex) {
+            return NO_VERSION;
+        }
+    }
+}
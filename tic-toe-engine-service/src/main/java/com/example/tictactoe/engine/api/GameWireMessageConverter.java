@@ -0,0 +1,96 @@
+package com.example.tictactoe.engine.api;
+
+import com.example.tictactoe.core.wire.WireFormat;
+import com.example.tictactoe.engine.api.dto.GameResponse;
+import com.example.tictactoe.engine.api.dto.MoveRequest;
+import com.example.tictactoe.engine.api.dto.SimulatedMove;
+import com.example.tictactoe.engine.api.dto.SimulationResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads move requests and writes game and simulation responses in the compact
+ * {@link WireFormat}, for clients that ask for it with {@code Content-Type} and {@code Accept}.
+ * Registered after Jackson, so a request that accepts anything still gets JSON.
+ */
+public class GameWireMessageConverter extends AbstractHttpMessageConverter<Object> {
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(WireFormat.MEDIA_TYPE);
+
+    public GameWireMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == MoveRequest.class || GameResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == MoveRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return GameResponse.class.isAssignableFrom(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        DataInputStream in = new DataInputStream(inputMessage.getBody());
+        try {
+            WireFormat.readVersion(in);
+            MoveRequest request = new MoveRequest(WireFormat.readPlayer(in), in.readUnsignedByte(), in.readUnsignedByte());
+            if (in.readBoolean()) {
+                request.setExpectedVersion(in.readLong());
+            }
+            return request;
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Malformed move request: " + ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody(), 256));
+        writeGame(out, (GameResponse) body);
+        out.flush();
+    }
+
+    /**
+     * Writes a game response, and the policy and moves when it is a simulation.
+     */
+    public static void writeGame(DataOutput out, GameResponse game) throws IOException {
+        WireFormat.writeVersion(out);
+        WireFormat.writeId(out, game.getGameId());
+        out.writeByte(game.getBoardSize());
+        out.writeByte(game.getWinLength());
+        WireFormat.writeStatus(out, game.getStatus());
+        WireFormat.writePlayer(out, game.getCurrentPlayer());
+        out.writeLong(game.getVersion());
+        WireFormat.writeBoard(out, game.getBoard());
+        WireFormat.writeText(out, game.getMessage());
+        if (game instanceof SimulationResponse simulation) {
+            WireFormat.writeText(out, simulation.getPolicy());
+            List<SimulatedMove> moves = simulation.getMoves() != null ? simulation.getMoves() : List.of();
+            out.writeShort(moves.size());
+            for (SimulatedMove move : moves) {
+                out.writeShort(move.getMoveNumber());
+                WireFormat.writePlayer(out, move.getPlayer());
+                out.writeByte(move.getRow());
+                out.writeByte(move.getColumn());
+                WireFormat.writeStatus(out, move.getStatus());
+            }
+        }
+    }
+}
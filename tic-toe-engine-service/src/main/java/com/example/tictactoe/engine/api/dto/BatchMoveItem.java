@@ -0,0 +1,25 @@
+package com.example.tictactoe.engine.api.dto;
+
+/**
+ * One move of a batch request. Fields are checked per item by the batch processor,
+ * so a malformed item is reported in its own result instead of failing the batch.
+ */
+public class BatchMoveItem extends MoveRequest {
+    private String gameId;
+
+    public BatchMoveItem() {
+    }
+
+    public BatchMoveItem(String gameId, String player, Integer row, Integer column) {
+        super(player, row, column);
+        this.gameId = gameId;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.tictactoe.engine.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for a batch of moves across many games.
+ * Moves for the same game are applied in the order they appear.
+ */
+public class BatchMoveRequest {
+    @NotEmpty(message = "Moves are required")
+    private List<BatchMoveItem> moves;
+
+    public BatchMoveRequest() {
+    }
+
+    public BatchMoveRequest(List<BatchMoveItem> moves) {
+        this.moves = moves;
+    }
+
+    public List<BatchMoveItem> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<BatchMoveItem> moves) {
+        this.moves = moves;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.tictactoe.engine.api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for batch move response. Results are in request order.
+ */
+public class BatchMoveResponse {
+    private int applied;
+    private int rejected;
+    private List<BatchMoveResult> results;
+
+    public BatchMoveResponse() {
+    }
+
+    public BatchMoveResponse(List<BatchMoveResult> results) {
+        this.results = results;
+        for (BatchMoveResult result : results) {
+            if (result.isValid()) {
+                applied++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public void setApplied(int applied) {
+        this.applied = applied;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchMoveResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchMoveResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.tictactoe.engine.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Compact per-item result of a batch move. The board is left out; clients that need it
+ * can fetch the game.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchMoveResult {
+    private int index;
+    private String gameId;
+    private boolean valid;
+    private String status;
+    private String currentPlayer;
+    private Long version;
+    private String message;
+
+    public BatchMoveResult() {
+    }
+
+    public BatchMoveResult(int index, String gameId, boolean valid, String status,
+                           String currentPlayer, String message) {
+        this(index, gameId, valid, status, currentPlayer, null, message);
+    }
+
+    public BatchMoveResult(int index, String gameId, boolean valid, String status,
+                           String currentPlayer, Long version, String message) {
+        this.index = index;
+        this.gameId = gameId;
+        this.valid = valid;
+        this.status = status;
+        this.currentPlayer = currentPlayer;
+        this.version = version;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public void setCurrentPlayer(String currentPlayer) {
+        this.currentPlayer = currentPlayer;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
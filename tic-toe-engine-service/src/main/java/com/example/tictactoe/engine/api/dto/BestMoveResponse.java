@@ -0,0 +1,156 @@
+package com.example.tictactoe.engine.api.dto;
+
+import com.example.tictactoe.core.model.Game;
+
+/**
+ * DTO for best move response.
+ */
+public class BestMoveResponse {
+    private String gameId;
+    private String player;
+    private Integer row;
+    private Integer column;
+    private String outcome;
+    private Integer score;
+    private Game.GameStatus predictedStatus;
+    private boolean decided;
+    private long cacheHits;
+    private long cacheMisses;
+    private Integer searchDepth;
+    private Long nodes;
+    private Long nodesPerSecond;
+    private Long elapsedMillis;
+    private Integer parallelism;
+    private String message;
+
+    public BestMoveResponse() {
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(String player) {
+        this.player = player;
+    }
+
+    public Integer getRow() {
+        return row;
+    }
+
+    public void setRow(Integer row) {
+        this.row = row;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+    }
+
+    public Game.GameStatus getPredictedStatus() {
+        return predictedStatus;
+    }
+
+    public void setPredictedStatus(Game.GameStatus predictedStatus) {
+        this.predictedStatus = predictedStatus;
+    }
+
+    public boolean isDecided() {
+        return decided;
+    }
+
+    public void setDecided(boolean decided) {
+        this.decided = decided;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public void setCacheHits(long cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public void setCacheMisses(long cacheMisses) {
+        this.cacheMisses = cacheMisses;
+    }
+
+    public Integer getSearchDepth() {
+        return searchDepth;
+    }
+
+    public void setSearchDepth(Integer searchDepth) {
+        this.searchDepth = searchDepth;
+    }
+
+    public Long getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(Long nodes) {
+        this.nodes = nodes;
+    }
+
+    public Long getNodesPerSecond() {
+        return nodesPerSecond;
+    }
+
+    public void setNodesPerSecond(Long nodesPerSecond) {
+        this.nodesPerSecond = nodesPerSecond;
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.tictactoe.engine.api.dto;
+
+import com.example.tictactoe.core.util.TicToeConstants;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * DTO for game creation request.
+ * Both fields are optional and default to the classic 3x3, three-in-a-row game.
+ */
+public class CreateGameRequest {
+    @Min(value = TicToeConstants.MIN_BOARD_SIZE, message = "Board size must be between 3 and 19")
+    @Max(value = TicToeConstants.MAX_BOARD_SIZE, message = "Board size must be between 3 and 19")
+    private Integer boardSize;
+
+    @Min(value = TicToeConstants.MIN_BOARD_SIZE, message = "Win length must be at least 3")
+    private Integer winLength;
+
+    public CreateGameRequest() {
+    }
+
+    public CreateGameRequest(Integer boardSize, Integer winLength) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+    }
+
+    public Integer getBoardSize() {
+        return boardSize;
+    }
+
+    public void setBoardSize(Integer boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    public Integer getWinLength() {
+        return winLength;
+    }
+
+    public void setWinLength(Integer winLength) {
+        this.winLength = winLength;
+    }
+
+    public int resolveBoardSize() {
+        return boardSize != null ? boardSize : TicToeConstants.DEFAULT_BOARD_SIZE;
+    }
+
+    public int resolveWinLength() {
+        if (winLength != null) {
+            return winLength;
+        }
+        return Math.min(resolveBoardSize(), TicToeConstants.DEFAULT_WIN_LENGTH);
+    }
+}
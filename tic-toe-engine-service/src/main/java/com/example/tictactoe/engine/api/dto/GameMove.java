@@ -0,0 +1,53 @@
+package com.example.tictactoe.engine.api.dto;
+
+/**
+ * DTO for one move of a game's history.
+ */
+public class GameMove {
+    private int moveNumber;
+    private String player;
+    private int row;
+    private int column;
+
+    public GameMove() {
+    }
+
+    public GameMove(int moveNumber, String player, int row, int column) {
+        this.moveNumber = moveNumber;
+        this.player = player;
+        this.row = row;
+        this.column = column;
+    }
+
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    public void setMoveNumber(int moveNumber) {
+        this.moveNumber = moveNumber;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(String player) {
+        this.player = player;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public void setColumn(int column) {
+        this.column = column;
+    }
+}
@@ -7,19 +7,31 @@ import com.example.tictactoe.core.model.Game;
  */
 public class GameResponse {
     private String gameId;
+    private int boardSize;
+    private int winLength;
     private char[][] board;
     private String status;
     private String currentPlayer;
+    private long version;
     private String message;
 
     public GameResponse() {
     }
 
+    /**
+     * Copies the game under its monitor, so the response never mixes two states of a game
+     * that is being moved on concurrently.
+     */
     public GameResponse(Game game) {
-        this.gameId = game.getGameId();
-        this.board = game.getBoard();
-        this.status = game.getStatus().name();
-        this.currentPlayer = String.valueOf(game.getCurrentPlayer());
+        synchronized (game) {
+            this.gameId = game.getGameId();
+            this.boardSize = game.getSize();
+            this.winLength = game.getWinLength();
+            this.board = game.getBoard();
+            this.status = game.getStatus().name();
+            this.currentPlayer = String.valueOf(game.getCurrentPlayer());
+            this.version = game.getVersion();
+        }
     }
 
     public GameResponse(Game game, String message) {
@@ -35,6 +47,22 @@ public class GameResponse {
         this.gameId = gameId;
     }
 
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public void setBoardSize(int boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public void setWinLength(int winLength) {
+        this.winLength = winLength;
+    }
+
     public char[][] getBoard() {
         return board;
     }
@@ -59,6 +87,14 @@ public class GameResponse {
         this.currentPlayer = currentPlayer;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getMessage() {
         return message;
     }
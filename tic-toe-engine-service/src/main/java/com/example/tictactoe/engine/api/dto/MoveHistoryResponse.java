@@ -0,0 +1,75 @@
+package com.example.tictactoe.engine.api.dto;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.MoveLog;
+import com.example.tictactoe.core.util.TicToeConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the moves of a game in play order, decoded from its move log.
+ */
+public class MoveHistoryResponse {
+    private String gameId;
+    private String status;
+    private long version;
+    private List<GameMove> moves;
+
+    public MoveHistoryResponse() {
+    }
+
+    /**
+     * Decodes the log under the game's monitor. The game must have a complete history.
+     */
+    public MoveHistoryResponse(Game game) {
+        synchronized (game) {
+            this.gameId = game.getGameId();
+            this.status = game.getStatus().name();
+            this.version = game.getVersion();
+            MoveLog log = game.getMoveLog();
+            int size = game.getSize();
+            this.moves = new ArrayList<>(log.size());
+            for (int move = 0; move < log.size(); move++) {
+                int row = log.getCell(move) / size;
+                int col = log.getCell(move) % size;
+                char player = game.isOccupiedBy(row, col, TicToeConstants.PLAYER_X)
+                        ? TicToeConstants.PLAYER_X
+                        : TicToeConstants.PLAYER_O;
+                moves.add(new GameMove(move + 1, String.valueOf(player), row, col));
+            }
+        }
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<GameMove> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<GameMove> moves) {
+        this.moves = moves;
+    }
+}
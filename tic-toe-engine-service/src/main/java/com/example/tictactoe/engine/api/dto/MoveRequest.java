@@ -1,27 +1,28 @@
 package com.example.tictactoe.engine.api.dto;
 
-import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 /**
  * DTO for move request.
+ * The upper bound of row and column depends on the board size and is checked by the engine.
  */
 public class MoveRequest {
     @NotBlank(message = "Player symbol is required")
     private String player;
 
     @NotNull(message = "Row is required")
-    @Min(value = 0, message = "Row must be between 0 and 2")
-    @Max(value = 2, message = "Row must be between 0 and 2")
+    @Min(value = 0, message = "Row must not be negative")
     private Integer row;
 
     @NotNull(message = "Column is required")
-    @Min(value = 0, message = "Column must be between 0 and 2")
-    @Max(value = 2, message = "Column must be between 0 and 2")
+    @Min(value = 0, message = "Column must not be negative")
     private Integer column;
 
+    @Min(value = 0, message = "Expected version must not be negative")
+    private Long expectedVersion;
+
     public MoveRequest() {
     }
 
@@ -55,10 +56,21 @@ public class MoveRequest {
         this.column = column;
     }
 
+    /**
+     * Optional game version the move is based on; the move is rejected with 409 if the game has moved on.
+     */
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public void setExpectedVersion(Long expectedVersion) {
+        this.expectedVersion = expectedVersion;
+    }
+
     public char getPlayerSymbol() {
         if (player == null || player.isEmpty()) {
             return ' ';
         }
-        return player.toUpperCase().charAt(0);
+        return Character.toUpperCase(player.charAt(0));
     }
 }
@@ -0,0 +1,63 @@
+package com.example.tictactoe.engine.api.dto;
+
+/**
+ * DTO for one move played by a server-side simulation, with the game status after it.
+ */
+public class SimulatedMove {
+    private int moveNumber;
+    private String player;
+    private int row;
+    private int column;
+    private String status;
+
+    public SimulatedMove() {
+    }
+
+    public SimulatedMove(int moveNumber, String player, int row, int column, String status) {
+        this.moveNumber = moveNumber;
+        this.player = player;
+        this.row = row;
+        this.column = column;
+        this.status = status;
+    }
+
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    public void setMoveNumber(int moveNumber) {
+        this.moveNumber = moveNumber;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(String player) {
+        this.player = player;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public void setColumn(int column) {
+        this.column = column;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.tictactoe.engine.api.dto;
+
+import com.example.tictactoe.core.model.Game;
+
+import java.util.List;
+
+/**
+ * DTO for simulation response: the final game state plus every move the simulation played.
+ */
+public class SimulationResponse extends GameResponse {
+    private String policy;
+    private List<SimulatedMove> moves;
+
+    public SimulationResponse() {
+    }
+
+    public SimulationResponse(Game game, String policy, List<SimulatedMove> moves) {
+        super(game);
+        this.policy = policy;
+        this.moves = moves;
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(String policy) {
+        this.policy = policy;
+    }
+
+    public List<SimulatedMove> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<SimulatedMove> moves) {
+        this.moves = moves;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.tictactoe.engine.cluster;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.engine.session.GameSessionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Endpoints engine instances use among themselves. Every request must carry the cluster secret.
+ */
+@RestController
+@RequestMapping("/cluster")
+@ConditionalOnProperty(name = "engine.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final GameSessionService gameSessionService;
+    private final EngineCluster cluster;
+
+    public ClusterController(GameSessionService gameSessionService, EngineCluster cluster) {
+        this.gameSessionService = gameSessionService;
+        this.cluster = cluster;
+    }
+
+    /**
+     * Take over games handed over by another instance. A game is kept as it is here
+     * if this instance already has the same or a newer version of it.
+     * POST /cluster/games
+     */
+    @PostMapping("/games")
+    public ResponseEntity<Void> importGames(
+            @RequestHeader(value = EngineCluster.SECRET_HEADER, required = false) String secret,
+            @RequestBody List<GameTransfer> games) {
+        if (!cluster.isMemberRequest(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        for (GameTransfer transfer : games) {
+            gameSessionService.importGame(transfer.toGame());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Give a game to the member that took over its ownership and was asked for it before this
+     * instance handed it over. The game stays here until that member releases it.
+     * GET /cluster/games/{gameId}
+     */
+    @GetMapping("/games/{gameId}")
+    public ResponseEntity<GameTransfer> exportGame(
+            @RequestHeader(value = EngineCluster.SECRET_HEADER, required = false) String secret,
+            @PathVariable String gameId) {
+        if (!cluster.isMemberRequest(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Game game = gameSessionService.getGameSession(gameId);
+        if (game == null) {
+            return ResponseEntity.notFound().build();
+        }
+        synchronized (game) {
+            return ResponseEntity.ok(GameTransfer.of(game));
+        }
+    }
+
+    /**
+     * Drop a game its new owner took with {@link #exportGame}, unless it changed here since;
+     * a changed game is handed over again on the next refresh.
+     * DELETE /cluster/games/{gameId}?version={version}
+     */
+    @DeleteMapping("/games/{gameId}")
+    public ResponseEntity<Void> releaseGame(
+            @RequestHeader(value = EngineCluster.SECRET_HEADER, required = false) String secret,
+            @PathVariable String gameId,
+            @RequestParam long version) {
+        if (!cluster.isMemberRequest(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (!gameSessionService.removeGameSession(gameId, version)) {
+            cluster.servedForOwner();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.tictactoe.engine.cluster;
+
+import com.example.tictactoe.core.cluster.ConsistentHashRing;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.api.dto.BatchMoveItem;
+import com.example.tictactoe.engine.api.dto.BatchMoveRequest;
+import com.example.tictactoe.engine.api.dto.BatchMoveResponse;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Membership of this engine instance in the cluster of engine instances registered in Eureka.
+ * <p>
+ * Games are partitioned across the members with a {@link ConsistentHashRing} keyed by
+ * {@code host:port}. The gateway routes every game's requests to its owner, and
+ * {@link GameForwardingFilter} forwards the requests that reach another member anyway, e.g.
+ * while the gateway's view of the members is stale. Membership is refreshed every
+ * {@code engine.cluster.refresh-interval}; when it changes, the games this instance no longer owns
+ * are handed to their new owners, and on shutdown every game is handed to the remaining members.
+ * A handed-over game is removed here only if it did not change meanwhile, otherwise it is sent
+ * again on the next refresh. Until its old owner has handed it over, a game that changed owner is
+ * taken from the old owner when it is first asked for, see {@link #canServeHere}, so the new owner
+ * never starts a second copy of it. Members authenticate to each other with the shared
+ * {@code engine.cluster.secret}, which must be set. Enabled with {@code engine.cluster.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.cluster.enabled", havingValue = "true")
+public class EngineCluster implements SmartInitializingSingleton, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(EngineCluster.class);
+
+    /**
+     * Marks requests forwarded by another member, which are always served locally.
+     */
+    public static final String FORWARDED_HEADER = "X-Engine-Forwarded";
+
+    /**
+     * Carries {@code engine.cluster.secret} on every request one member sends another.
+     */
+    public static final String SECRET_HEADER = "X-Engine-Cluster-Secret";
+
+    static final String IMPORT_PATH = "/cluster/games";
+    private static final int TRANSFER_CHUNK = 1000;
+
+    private final GameSessionService gameSessionService;
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final Supplier<String> self;
+    private final Duration refreshInterval;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final String secret;
+    private final HttpClient httpClient;
+
+    private volatile Members members;
+    // The view before the last change, whose owners may still hold games that moved
+    private volatile Members previous;
+    private volatile boolean handOffPending;
+    private ScheduledExecutorService scheduler;
+
+    EngineCluster(GameSessionService gameSessionService, DiscoveryClient discoveryClient, String serviceId,
+                  Supplier<String> self, Duration refreshInterval, Duration timeout, ObjectMapper objectMapper,
+                  String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("engine.cluster.secret must be set when engine.cluster.enabled=true");
+        }
+        this.gameSessionService = gameSessionService;
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.self = self;
+        this.refreshInterval = refreshInterval;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.secret = secret;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.members = new Members(self.get(), Collections.emptyMap());
+    }
+
+    @Autowired
+    public EngineCluster(GameSessionService gameSessionService,
+                         DiscoveryClient discoveryClient,
+                         ObjectProvider<Registration> registration,
+                         ObjectMapper objectMapper,
+                         @Value("${spring.application.name}") String serviceId,
+                         @Value("${server.port:8080}") int port,
+                         @Value("${engine.cluster.refresh-interval:5s}") Duration refreshInterval,
+                         @Value("${engine.cluster.timeout:2s}") Duration timeout,
+                         @Value("${engine.cluster.secret:}") String secret) {
+        this(gameSessionService, discoveryClient, serviceId, () -> {
+            Registration instance = registration.getIfAvailable();
+            return instance != null ? key(instance) : "localhost:" + port;
+        }, refreshInterval, timeout, objectMapper, secret);
+    }
+
+    /**
+     * Returns whether this instance owns the game.
+     */
+    public boolean isLocal(GameId gameId) {
+        return ownerUri(gameId) == null;
+    }
+
+    /**
+     * Returns the base URI of the member owning the game, or null if this instance owns it.
+     */
+    public URI ownerUri(GameId gameId) {
+        Members current = members;
+        String owner = current.ring.ownerOf(gameId);
+        return owner == null || owner.equals(current.self) ? null : current.uris.get(owner);
+    }
+
+    /**
+     * Returns whether a request presented the cluster secret, i.e. came from another member.
+     */
+    public boolean isMemberRequest(String presentedSecret) {
+        return presentedSecret != null && MessageDigest.isEqual(
+                secret.getBytes(StandardCharsets.UTF_8), presentedSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the cluster secret, for requests forwarded to another member.
+     */
+    String getSecret() {
+        return secret;
+    }
+
+    public String getSelf() {
+        return members.self;
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns whether a game may be served here without creating a second copy of it.
+     * A game this instance owns can be served once it is here: if it is not, and another member
+     * owned it before the last membership change, it is first taken from that member. A game
+     * another member owns can only be served while this instance still holds it.
+     *
+     * @return false if the game may be held by a member that could not be asked for it
+     */
+    public boolean canServeHere(GameId gameId) {
+        Members current = members;
+        String owner = current.ring.ownerOf(gameId);
+        URI previousOwner = null;
+        if (owner == null || owner.equals(current.self)) {
+            Members before = previous;
+            String previousKey = before != null ? before.ring.ownerOf(gameId) : null;
+            if (previousKey != null && !previousKey.equals(current.self)) {
+                previousOwner = current.uris.get(previousKey);
+            }
+            // A member that left handed its games over on shutdown
+            if (previousOwner == null) {
+                return true;
+            }
+        }
+        if (gameSessionService.getGameSession(gameId) != null) {
+            return true;
+        }
+        return previousOwner != null && takeOver(previousOwner, gameId);
+    }
+
+    /**
+     * Called when a game was served here although another member owns it, because the owner
+     * was unreachable or the request was forwarded on a stale view. The game is handed over
+     * on the next refresh.
+     */
+    public void servedForOwner() {
+        handOffPending = true;
+    }
+
+    /**
+     * Sends moves to the member owning their games, as one batch.
+     */
+    public CompletableFuture<BatchMoveResponse> forwardMoves(URI owner, List<BatchMoveItem> moves) {
+        HttpRequest request;
+        try {
+            request = memberRequest(owner.resolve("/games/moves:batch"))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(new BatchMoveRequest(moves))))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Batch forwarded to " + owner
+                                + " failed with status " + response.statusCode());
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), BatchMoveResponse.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Reads the members from the discovery client and hands over the games this instance no
+     * longer owns.
+     */
+    public synchronized void refresh() {
+        String selfKey = self.get();
+        Map<String, URI> uris = new HashMap<>();
+        for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+            uris.put(key(instance), instance.getUri());
+        }
+        Members current = members;
+        Set<String> keys = new HashSet<>(uris.keySet());
+        keys.add(selfKey);
+        if (!keys.equals(current.ring.getMembers()) || !selfKey.equals(current.self)) {
+            if (current.uris.isEmpty()) {
+                // Joining: the games this instance now owns were spread over the others
+                Map<String, URI> others = new HashMap<>(uris);
+                others.remove(selfKey);
+                previous = others.isEmpty() ? null : new Members(null, others);
+            } else {
+                previous = current;
+            }
+            members = new Members(selfKey, uris);
+            log.info("Engine cluster members changed to {}", members.ring.getMembers());
+            handOffPending = true;
+        } else if (!uris.equals(current.uris)) {
+            members = new Members(selfKey, uris);
+        }
+        if (handOffPending) {
+            handOffPending = !handOff(members);
+        }
+    }
+
+    /**
+     * Hands every game this instance does not own in {@code target} to its owner.
+     *
+     * @return whether every such game was handed over
+     */
+    synchronized boolean handOff(Members target) {
+        Map<String, List<GameTransfer>> transfers = new HashMap<>();
+        gameSessionService.forEachGame(game -> {
+            String owner = target.ring.ownerOf(game.getId());
+            if (owner != null && !owner.equals(target.self)) {
+                GameTransfer transfer;
+                synchronized (game) {
+                    transfer = GameTransfer.of(game);
+                }
+                transfers.computeIfAbsent(owner, key -> new ArrayList<>()).add(transfer);
+            }
+        });
+        boolean complete = true;
+        for (Map.Entry<String, List<GameTransfer>> entry : transfers.entrySet()) {
+            URI owner = target.uris.get(entry.getKey());
+            List<GameTransfer> games = entry.getValue();
+            int sent = 0;
+            for (int from = 0; from < games.size(); from += TRANSFER_CHUNK) {
+                List<GameTransfer> chunk = games.subList(from, Math.min(games.size(), from + TRANSFER_CHUNK));
+                if (owner == null || !send(owner, chunk)) {
+                    complete = false;
+                    continue;
+                }
+                sent += chunk.size();
+                for (GameTransfer transfer : chunk) {
+                    // A game that changed meanwhile is sent again on the next refresh
+                    complete &= gameSessionService.removeGameSession(GameId.of(transfer.getGameId()), transfer.getVersion());
+                }
+            }
+            if (sent > 0) {
+                log.info("Handed {} of {} games to {}", sent, games.size(), entry.getKey());
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Takes one game from the member that owned it before the last membership change, then lets
+     * that member drop its copy. If the copy changed there meanwhile, it is kept there and handed
+     * over again, and the newer version wins.
+     *
+     * @return whether the game is here now, or the member did not have it
+     */
+    private boolean takeOver(URI previousOwner, GameId gameId) {
+        URI game = previousOwner.resolve(IMPORT_PATH + "/"
+                + UriUtils.encodePathSegment(gameId.toString(), StandardCharsets.UTF_8));
+        GameTransfer transfer;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(memberRequest(game).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 404) {
+                return true;
+            }
+            if (response.statusCode() != 200) {
+                log.warn("Taking game {} from {} failed with status {}", gameId, previousOwner, response.statusCode());
+                return false;
+            }
+            transfer = objectMapper.readValue(response.body(), GameTransfer.class);
+            gameSessionService.importGame(transfer.toGame());
+        } catch (IOException e) {
+            log.warn("Taking game {} from {} failed: {}", gameId, previousOwner, e.toString());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            httpClient.send(memberRequest(URI.create(game + "?version=" + transfer.getVersion())).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            // The previous owner hands its copy over later; the import keeps the game played here
+            log.debug("Releasing game {} on {} failed: {}", gameId, previousOwner, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    private HttpRequest.Builder memberRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, getSelf())
+                .header(SECRET_HEADER, secret);
+    }
+
+    private boolean send(URI owner, List<GameTransfer> games) {
+        try {
+            HttpRequest request = memberRequest(owner.resolve(IMPORT_PATH))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(games)))
+                    .build();
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status / 100 == 2) {
+                return true;
+            }
+            log.warn("Handing games to {} failed with status {}", owner, status);
+        } catch (IOException e) {
+            log.warn("Handing games to {} failed: {}", owner, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "engine-cluster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Engine cluster refresh failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leaves the cluster: hands every game to the owner it has once this instance is gone.
+     * Runs after the web server stopped taking requests.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        Members current = members;
+        Map<String, URI> remaining = new HashMap<>(current.uris);
+        remaining.remove(current.self);
+        if (remaining.isEmpty()) {
+            return;
+        }
+        if (!handOff(new Members(null, remaining))) {
+            log.warn("Some games could not be handed over before shutdown");
+        }
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * One view of the members; replaced as a whole when it changes.
+     */
+    static final class Members {
+        final String self;
+        final Map<String, URI> uris;
+        final ConsistentHashRing ring;
+
+        Members(String self, Map<String, URI> uris) {
+            this.self = self;
+            this.uris = uris;
+            Set<String> keys = new HashSet<>(uris.keySet());
+            if (self != null) {
+                keys.add(self);
+            }
+            this.ring = new ConsistentHashRing(keys);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.tictactoe.engine.cluster;
+
+import com.example.tictactoe.core.model.GameId;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Forwards requests for games owned by another engine instance to the owner and streams its
+ * response back, so clients get the same answer whichever instance they reach. Requests that
+ * were already forwarded are served locally, as are requests whose owner cannot be reached, but
+ * only for games this instance still holds; such games are handed to their owner by
+ * {@link EngineCluster} once it is back. Requests for any other game, and for games this instance
+ * owns but cannot take from their previous owner yet, get 503 with {@code Retry-After}: serving
+ * them would start a second copy of the game.
+ * <p>
+ * Requests marked as forwarded, and requests to {@code /cluster/**}, are rejected with 403 unless
+ * they carry the cluster secret, so clients can neither skip the forwarding nor hand over games.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.cluster.enabled", havingValue = "true")
+public class GameForwardingFilter extends OncePerRequestFilter {
+    private static final String GAMES_PATH = "/games/";
+    private static final String BATCH_SEGMENT = "moves:batch";
+    private static final String CLUSTER_PATH = "/cluster/";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    // Managed by the HTTP client, or describing the hop rather than the message
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "keep-alive", "proxy-connection",
+            "te", "trailer", "transfer-encoding", "upgrade", "http2-settings",
+            EngineCluster.FORWARDED_HEADER.toLowerCase(), EngineCluster.SECRET_HEADER.toLowerCase());
+
+    private final EngineCluster cluster;
+
+    public GameForwardingFilter(EngineCluster cluster) {
+        this.cluster = cluster;
+    }
+
+    /**
+     * Returns the game id of a {@code /games/{gameId}/...} path, or null for any other path.
+     */
+    static GameId gameIdOf(String path) {
+        if (!path.startsWith(GAMES_PATH)) {
+            return null;
+        }
+        int end = path.indexOf('/', GAMES_PATH.length());
+        String segment = path.substring(GAMES_PATH.length(), end < 0 ? path.length() : end);
+        if (segment.isEmpty() || segment.equals(BATCH_SEGMENT)) {
+            return null;
+        }
+        return GameId.of(UriUtils.decode(segment, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean memberOnly = request.getHeader(EngineCluster.FORWARDED_HEADER) != null
+                || path.startsWith(CLUSTER_PATH);
+        if (memberOnly && !cluster.isMemberRequest(request.getHeader(EngineCluster.SECRET_HEADER))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        GameId gameId = gameIdOf(path);
+        URI owner = gameId != null ? cluster.ownerUri(gameId) : null;
+        if (owner == null) {
+            if (gameId != null && !cluster.canServeHere(gameId)) {
+                unavailable(response);
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        if (request.getHeader(EngineCluster.FORWARDED_HEADER) != null) {
+            // The sender's view of the members differs from ours; serve rather than bounce
+            serveForOwner(gameId, request, response, chain);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = cluster.getHttpClient().send(forwardedRequest(request, owner, body),
+                    HttpResponse.BodyHandlers.ofInputStream());
+        } catch (ConnectException | HttpConnectTimeoutException e) {
+            serveForOwner(gameId, new BufferedBodyRequest(request, body), response, chain);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while forwarding to " + owner, e);
+        }
+
+        response.setStatus(forwarded.statusCode());
+        for (Map.Entry<String, List<String>> header : forwarded.headers().map().entrySet()) {
+            String name = header.getKey();
+            if (name.startsWith(":") || SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                response.addHeader(name, value);
+            }
+        }
+        // Flush every chunk, so streamed responses reach the client as they are produced
+        try (InputStream in = forwarded.body()) {
+            ServletOutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        }
+    }
+
+    private void serveForOwner(GameId gameId, HttpServletRequest request, HttpServletResponse response,
+                               FilterChain chain) throws ServletException, IOException {
+        if (!cluster.canServeHere(gameId)) {
+            unavailable(response);
+            return;
+        }
+        cluster.servedForOwner();
+        chain.doFilter(request, response);
+    }
+
+    private static void unavailable(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                "The game's engine instance is unavailable, or the game is moving between instances");
+    }
+
+    private HttpRequest forwardedRequest(HttpServletRequest request, URI owner, byte[] body) {
+        String target = request.getRequestURI();
+        if (request.getQueryString() != null) {
+            target += "?" + request.getQueryString();
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(owner.resolve(target))
+                .timeout(cluster.getTimeout())
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                builder.header(name, value);
+            }
+        }
+        return builder.header(EngineCluster.FORWARDED_HEADER, cluster.getSelf())
+                .header(EngineCluster.SECRET_HEADER, cluster.getSecret())
+                .build();
+    }
+
+    /**
+     * Replays a request body that was already read for forwarding.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+    }
+}
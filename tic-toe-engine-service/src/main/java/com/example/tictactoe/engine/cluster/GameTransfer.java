@@ -0,0 +1,153 @@
+package com.example.tictactoe.engine.cluster;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.MoveLog;
+import com.example.tictactoe.core.util.TicToeConstants;
+
+/**
+ * Complete state of a game handed from one engine instance to its new owner.
+ */
+public class GameTransfer {
+    private String gameId;
+    private int size;
+    private int winLength;
+    private long[] xWords;
+    private long[] oWords;
+    private Game.GameStatus status;
+    private char currentPlayer;
+    private int lastMoveIndex;
+    private long version;
+    private long[] moveLog;
+    private int moveLogSize;
+
+    public GameTransfer() {
+    }
+
+    /**
+     * Captures a game. The caller holds the game's monitor.
+     */
+    public static GameTransfer of(Game game) {
+        GameTransfer transfer = new GameTransfer();
+        transfer.gameId = game.getGameId();
+        transfer.size = game.getSize();
+        transfer.winLength = game.getWinLength();
+        transfer.xWords = new long[game.getBoardWords()];
+        transfer.oWords = new long[game.getBoardWords()];
+        for (int word = 0; word < game.getBoardWords(); word++) {
+            transfer.xWords[word] = game.getBoardWord(TicToeConstants.PLAYER_X, word);
+            transfer.oWords[word] = game.getBoardWord(TicToeConstants.PLAYER_O, word);
+        }
+        transfer.status = game.getStatus();
+        transfer.currentPlayer = game.getCurrentPlayer();
+        transfer.lastMoveIndex = game.getLastMoveIndex();
+        transfer.version = game.getVersion();
+        MoveLog log = game.getMoveLog();
+        transfer.moveLog = new long[log.getWords()];
+        for (int word = 0; word < transfer.moveLog.length; word++) {
+            transfer.moveLog[word] = log.getWord(word);
+        }
+        transfer.moveLogSize = log.size();
+        return transfer;
+    }
+
+    public Game toGame() {
+        Game game = new Game(gameId, size, winLength);
+        if (xWords == null || oWords == null
+                || xWords.length != game.getBoardWords() || oWords.length != game.getBoardWords()) {
+            throw new IllegalArgumentException("Board does not match the game size");
+        }
+        game.restoreState(xWords, oWords, status, currentPlayer, lastMoveIndex, version);
+        if (moveLog != null) {
+            game.restoreMoves(moveLog, moveLogSize);
+        }
+        return game;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public void setWinLength(int winLength) {
+        this.winLength = winLength;
+    }
+
+    public long[] getXWords() {
+        return xWords;
+    }
+
+    public void setXWords(long[] xWords) {
+        this.xWords = xWords;
+    }
+
+    public long[] getOWords() {
+        return oWords;
+    }
+
+    public void setOWords(long[] oWords) {
+        this.oWords = oWords;
+    }
+
+    public Game.GameStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Game.GameStatus status) {
+        this.status = status;
+    }
+
+    public char getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public void setCurrentPlayer(char currentPlayer) {
+        this.currentPlayer = currentPlayer;
+    }
+
+    public int getLastMoveIndex() {
+        return lastMoveIndex;
+    }
+
+    public void setLastMoveIndex(int lastMoveIndex) {
+        this.lastMoveIndex = lastMoveIndex;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long[] getMoveLog() {
+        return moveLog;
+    }
+
+    public void setMoveLog(long[] moveLog) {
+        this.moveLog = moveLog;
+    }
+
+    public int getMoveLogSize() {
+        return moveLogSize;
+    }
+
+    public void setMoveLogSize(int moveLogSize) {
+        this.moveLogSize = moveLogSize;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tictactoe.engine.config;
+
+import com.example.tictactoe.engine.api.GameWireMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Offers the compact binary wire format next to JSON. It is appended after the default
+ * converters, so it is only chosen when a client names it in {@code Accept} or {@code Content-Type}.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new GameWireMessageConverter());
+    }
+}
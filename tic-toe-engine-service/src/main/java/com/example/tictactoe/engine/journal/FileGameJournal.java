@@ -0,0 +1,582 @@
+package com.example.tictactoe.engine.journal;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.session.GameSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of game events in a local directory, with group commit and snapshots.
+ * <p>
+ * Events are encoded into an in-memory batch under a short lock. A writer thread appends whole
+ * batches to the current segment file and fsyncs them, so one fsync covers every event that
+ * arrived meanwhile. With {@code engine.journal.commit=sync} a change is acknowledged only once
+ * its batch is durable; with {@code async} (the default) it returns at once and is durable within
+ * {@code engine.journal.flush-interval}.
+ * <p>
+ * A snapshot rolls the journal to a new segment, writes every game in progress and deletes the
+ * files before it, so finished and evicted games are compacted away and recovery reads one
+ * snapshot plus the segments written since. An undo that reopens a finished game is journaled
+ * as the whole game, since the last snapshot may have dropped it. Recovery maps the files and replays them
+ * sequentially before the engine takes traffic. Enabled with {@code engine.journal.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.journal.enabled", havingValue = "true")
+public class FileGameJournal implements GameJournal, SmartInitializingSingleton, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(FileGameJournal.class);
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BATCH_BYTES = 4 * 1024 * 1024;
+
+    private final Path directory;
+    private final GameEngine gameEngine;
+    private final boolean syncCommit;
+    private final long flushIntervalNanos;
+    private final long segmentSize;
+    private final long snapshotBytes;
+    private final Duration snapshotInterval;
+    private final ObjectProvider<GameSessionService> gameSessionService;
+
+    // Batching, guarded by this
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer batch = ByteBuffer.allocate(BATCH_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(BATCH_BYTES);
+    private long batchStart;
+    private boolean open;
+    private volatile long appended;
+
+    // Durability, advanced by the writer thread
+    private final Object durableLock = new Object();
+    private volatile long durable;
+    private volatile IOException failure;
+
+    // Segment files, guarded by fileLock
+    private final Object fileLock = new Object();
+    private FileChannel segment;
+    private long segmentSequence;
+    private long segmentBytes;
+    private long bytesSinceSnapshot;
+
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private Thread writer;
+    private volatile ScheduledExecutorService snapshotExecutor;
+
+    public FileGameJournal(Path directory, GameEngine gameEngine, boolean syncCommit,
+                           Duration flushInterval, long segmentSize) {
+        this(directory, gameEngine, syncCommit, flushInterval, segmentSize, Long.MAX_VALUE, null, null);
+    }
+
+    @Autowired
+    public FileGameJournal(@Value("${engine.journal.dir:data/journal}") String directory,
+                           @Value("${engine.journal.commit:async}") String commit,
+                           @Value("${engine.journal.flush-interval:10ms}") Duration flushInterval,
+                           @Value("${engine.journal.segment-size:128MB}") DataSize segmentSize,
+                           @Value("${engine.journal.snapshot-after:512MB}") DataSize snapshotAfter,
+                           @Value("${engine.journal.snapshot-interval:5m}") Duration snapshotInterval,
+                           GameEngine gameEngine,
+                           ObjectProvider<GameSessionService> gameSessionService) {
+        this(Paths.get(directory), gameEngine, parseCommit(commit), flushInterval, segmentSize.toBytes(),
+                snapshotAfter.toBytes(), snapshotInterval, gameSessionService);
+    }
+
+    private FileGameJournal(Path directory, GameEngine gameEngine, boolean syncCommit, Duration flushInterval,
+                            long segmentSize, long snapshotBytes, Duration snapshotInterval,
+                            ObjectProvider<GameSessionService> gameSessionService) {
+        this.directory = directory;
+        this.gameEngine = gameEngine;
+        this.syncCommit = syncCommit;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.segmentSize = segmentSize;
+        this.snapshotBytes = snapshotBytes;
+        this.snapshotInterval = snapshotInterval;
+        this.gameSessionService = gameSessionService;
+    }
+
+    private static boolean parseCommit(String commit) {
+        if ("sync".equalsIgnoreCase(commit)) {
+            return true;
+        }
+        if ("async".equalsIgnoreCase(commit)) {
+            return false;
+        }
+        throw new IllegalArgumentException("engine.journal.commit must be sync or async");
+    }
+
+    @Override
+    public void gameCreated(Game game) {
+        synchronized (this) {
+            if (reserve()) {
+                JournalCodec.writeCreated(batch, crc, game);
+                appended = batchStart + batch.position();
+            }
+        }
+    }
+
+    @Override
+    public void moveApplied(Game game, int row, int col, char player, long previousVersion) {
+        synchronized (this) {
+            if (reserve()) {
+                JournalCodec.writeMoved(batch, crc, game.getId(), previousVersion, row, col, player);
+                appended = batchStart + batch.position();
+            }
+        }
+    }
+
+    @Override
+    public void moveUndone(Game game, Game.GameStatus previousStatus, long previousVersion) {
+        synchronized (this) {
+            if (reserve()) {
+                if (previousStatus != Game.GameStatus.IN_PROGRESS) {
+                    // Snapshots drop finished games, so a reopened game is journaled whole
+                    JournalCodec.writeSaved(batch, crc, game);
+                } else {
+                    JournalCodec.writeUndone(batch, crc, game.getId(), previousVersion);
+                }
+                appended = batchStart + batch.position();
+            }
+        }
+    }
+
+    @Override
+    public void gameSaved(Game game) {
+        synchronized (this) {
+            if (reserve()) {
+                JournalCodec.writeSaved(batch, crc, game);
+                appended = batchStart + batch.position();
+            }
+        }
+    }
+
+    @Override
+    public void gameRemoved(GameId gameId) {
+        synchronized (this) {
+            if (reserve()) {
+                JournalCodec.writeRemoved(batch, crc, gameId);
+                appended = batchStart + batch.position();
+            }
+        }
+    }
+
+    @Override
+    public void awaitDurable() {
+        if (!syncCommit) {
+            return;
+        }
+        long target = appended;
+        if (durable >= target) {
+            return;
+        }
+        synchronized (durableLock) {
+            while (durable < target) {
+                checkFailure();
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the game journal", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until the batch has room for any record. Returns false if the journal is not open,
+     * e.g. while recovered games are being stored. Caller holds this.
+     */
+    private boolean reserve() {
+        checkFailure();
+        if (!open) {
+            return false;
+        }
+        while (batch.remaining() < JournalCodec.MAX_RECORD_BYTES) {
+            notifyAll();
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the game journal", e);
+            }
+            checkFailure();
+            if (!open) {
+                return false;
+            }
+        }
+        if (batch.position() == 0) {
+            // The writer sleeps while there is nothing to write
+            notifyAll();
+        }
+        return true;
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new IllegalStateException("The game journal failed; changes can no longer be made durable", failure);
+        }
+    }
+
+    /**
+     * Replays the latest snapshot and every segment written after it into the given service,
+     * and truncates a record torn by a crash at the end of the journal. Call before {@link #open()}.
+     *
+     * @return the number of recovered games
+     */
+    public int recover(GameSessionService target) throws IOException {
+        Files.createDirectories(directory);
+        long snapshot = -1;
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // A snapshot that never completed
+                    Files.delete(file);
+                } else if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    snapshot = Math.max(snapshot, sequenceOf(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.add(sequenceOf(name, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+                }
+            }
+        }
+        Collections.sort(segments);
+
+        Map<GameId, Game> games = new HashMap<>();
+        JournalReplay replay = new JournalReplay(games, gameEngine);
+        if (snapshot >= 0) {
+            readComplete(snapshotPath(snapshot), replay);
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            long sequence = segments.get(i);
+            if (sequence < snapshot) {
+                continue;
+            }
+            Path file = segmentPath(sequence);
+            if (i < segments.size() - 1) {
+                readComplete(file, replay);
+            } else {
+                long valid = JournalReader.read(file, replay);
+                if (valid < Files.size(file)) {
+                    // The last batch before a crash was cut off; it was never acknowledged as durable
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        channel.truncate(valid);
+                        channel.force(true);
+                    }
+                }
+            }
+        }
+        games.values().forEach(target::saveGameSession);
+        return games.size();
+    }
+
+    private static void readComplete(Path file, JournalCodec.Visitor visitor) throws IOException {
+        if (JournalReader.read(file, visitor) < Files.size(file)) {
+            throw new IOException("Corrupt record in " + file);
+        }
+    }
+
+    /**
+     * Starts a new segment after the existing files and starts the writer thread.
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        synchronized (fileLock) {
+            segmentSequence = latestSequence();
+            rollSegment();
+        }
+        synchronized (this) {
+            open = true;
+        }
+        writer = new Thread(this::writeBatches, "game-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void writeBatches() {
+        try {
+            while (true) {
+                ByteBuffer full;
+                long end;
+                synchronized (this) {
+                    while (open && batch.position() == 0) {
+                        wait();
+                    }
+                    if (!syncCommit) {
+                        // Let events accumulate so one fsync covers the whole interval
+                        long deadline = System.nanoTime() + flushIntervalNanos;
+                        long remaining;
+                        while (open && batch.remaining() >= JournalCodec.MAX_RECORD_BYTES
+                                && (remaining = deadline - System.nanoTime()) > 0) {
+                            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                        }
+                    }
+                    if (batch.position() == 0) {
+                        return;
+                    }
+                    full = batch;
+                    batch = spare;
+                    batch.clear();
+                    spare = full;
+                    batchStart += full.position();
+                    end = batchStart;
+                    notifyAll();
+                }
+
+                full.flip();
+                synchronized (fileLock) {
+                    int bytes = full.remaining();
+                    while (full.hasRemaining()) {
+                        segment.write(full);
+                    }
+                    segment.force(false);
+                    segmentBytes += bytes;
+                    bytesSinceSnapshot += bytes;
+                    if (segmentBytes >= segmentSize) {
+                        rollSegment();
+                    }
+                    if (bytesSinceSnapshot >= snapshotBytes && snapshotExecutor != null
+                            && snapshotRunning.compareAndSet(false, true)) {
+                        snapshotExecutor.execute(this::takeSnapshot);
+                    }
+                }
+
+                durable = end;
+                synchronized (durableLock) {
+                    durableLock.notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            synchronized (this) {
+                notifyAll();
+            }
+            synchronized (durableLock) {
+                durableLock.notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the current segment and starts the next one. Caller holds fileLock.
+     */
+    private void rollSegment() throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        segmentSequence++;
+        segment = FileChannel.open(segmentPath(segmentSequence), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentBytes = 0;
+        syncDirectory();
+    }
+
+    /**
+     * Writes every game in progress to a new snapshot and deletes the journal files it replaces.
+     * Events that reach the new segment while the snapshot is written are replayed on top of it.
+     */
+    public void snapshot(GameSessionService source) throws IOException {
+        long sequence;
+        synchronized (fileLock) {
+            if (segment == null) {
+                throw new IllegalStateException("The game journal is not open");
+            }
+            rollSegment();
+            sequence = segmentSequence;
+            bytesSinceSnapshot = 0;
+        }
+
+        Path temp = directory.resolve(snapshotPath(sequence).getFileName() + TEMP_SUFFIX);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BATCH_BYTES);
+            CRC32C checksum = new CRC32C();
+            try {
+                source.forEachGame(game -> {
+                    if (game.getStatus() != Game.GameStatus.IN_PROGRESS) {
+                        return;
+                    }
+                    if (buffer.remaining() < JournalCodec.MAX_RECORD_BYTES) {
+                        drain(out, buffer);
+                    }
+                    JournalCodec.writeSaved(buffer, checksum, game);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            drain(out, buffer);
+            out.force(true);
+        }
+        Files.move(temp, snapshotPath(sequence), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if ((name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+                        && sequenceOf(name, SEGMENT_PREFIX, SEGMENT_SUFFIX) < sequence)
+                        || (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)
+                        && sequenceOf(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < sequence)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private void scheduledSnapshot() {
+        if (snapshotRunning.compareAndSet(false, true)) {
+            takeSnapshot();
+        }
+    }
+
+    /**
+     * Takes a snapshot for the caller that set snapshotRunning.
+     */
+    private void takeSnapshot() {
+        try {
+            snapshot(gameSessionService.getObject());
+        } catch (IOException | RuntimeException e) {
+            // The journal still holds every event; the next snapshot tries again
+            log.warn("Could not snapshot the game journal in {}", directory, e);
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Makes created, renamed and deleted files durable. Not every platform can sync a directory.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    /**
+     * Stops accepting events, writes what is batched and closes the segment.
+     */
+    public void close() throws IOException {
+        synchronized (this) {
+            open = false;
+            notifyAll();
+        }
+        try {
+            if (writer != null) {
+                writer.join();
+            }
+            // Only after the writer stopped, so it never requests a snapshot from a stopped executor
+            if (snapshotExecutor != null) {
+                snapshotExecutor.shutdown();
+                snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (fileLock) {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "game-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            int games = recover(gameSessionService.getObject());
+            open();
+            log.info("Recovered {} games from {} in {} ms", games, directory,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the game journal in " + directory, e);
+        }
+        long interval = snapshotInterval.toMillis();
+        snapshotExecutor.scheduleWithFixedDelay(this::scheduledSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        close();
+    }
+
+    private long latestSequence() throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    latest = Math.max(latest, sequenceOf(name, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+                } else if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)) {
+                    latest = Math.max(latest, sequenceOf(name, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+                }
+            }
+        }
+        return latest;
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private Path snapshotPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+    }
+
+    private static long sequenceOf(String name, String prefix, String suffix) {
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.tictactoe.engine.journal;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+
+/**
+ * Receives every change the session services make to games, so they can be made durable.
+ * Events are reported while the caller holds the lock that serializes changes to the game,
+ * so the events of one game arrive in the order the changes happened. Implementations must
+ * not block on other locks; waiting for durability happens in {@link #awaitDurable()}.
+ */
+public interface GameJournal {
+
+    /**
+     * Journal that records nothing.
+     */
+    GameJournal NONE = new GameJournal() {
+        @Override
+        public void gameCreated(Game game) {
+        }
+
+        @Override
+        public void moveApplied(Game game, int row, int col, char player, long previousVersion) {
+        }
+
+        @Override
+        public void moveUndone(Game game, Game.GameStatus previousStatus, long previousVersion) {
+        }
+
+        @Override
+        public void gameSaved(Game game) {
+        }
+
+        @Override
+        public void gameRemoved(GameId gameId) {
+        }
+
+        @Override
+        public void awaitDurable() {
+        }
+    };
+
+    /**
+     * A new game was stored, replacing any previous game with the same ID.
+     *
+     * @param game the new game, before it is visible to other threads
+     */
+    void gameCreated(Game game);
+
+    /**
+     * A valid move was applied and the game status updated.
+     *
+     * @param game the game after the move
+     * @param row the row position
+     * @param col the column position
+     * @param player the player symbol
+     * @param previousVersion the game version the move was applied to
+     */
+    void moveApplied(Game game, int row, int col, char player, long previousVersion);
+
+    /**
+     * The last move was taken back.
+     *
+     * @param game the game after the undo
+     * @param previousStatus the game status before the undo; a finished game is in progress again
+     * @param previousVersion the game version the undo was applied to
+     */
+    void moveUndone(Game game, Game.GameStatus previousStatus, long previousVersion);
+
+    /**
+     * A complete game was stored as is, replacing any previous game with the same ID.
+     *
+     * @param game the stored game
+     */
+    void gameSaved(Game game);
+
+    /**
+     * A game was removed, e.g. after it was handed over to another engine instance.
+     *
+     * @param gameId the removed game's ID
+     */
+    void gameRemoved(GameId gameId);
+
+    /**
+     * Blocks until every event reported so far is durable, if the journal commits synchronously.
+     * Called after the caller released the game's lock, so one flush covers many games.
+     */
+    void awaitDurable();
+}
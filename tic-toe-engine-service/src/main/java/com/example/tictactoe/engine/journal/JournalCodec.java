@@ -0,0 +1,144 @@
+package com.example.tictactoe.engine.journal;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.session.store.GameCodec;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary format shared by journal segments and snapshots.
+ * Every record is framed as {@code [int payload length][int CRC32C of payload][payload]}, so a torn
+ * or corrupt record is detected on replay. The payload starts with the record type and the game id;
+ * ids and game state are encoded by {@link GameCodec}. Writers need array-backed buffers.
+ */
+final class JournalCodec {
+    static final byte CREATED = 1;
+    static final byte MOVED = 2;
+    static final byte SAVED = 3;
+    static final byte REMOVED = 4;
+    static final byte UNDONE = 5;
+
+    static final int HEADER_BYTES = 8;
+
+    /**
+     * Upper bound of one framed record; a buffer with this much room takes any record.
+     */
+    static final int MAX_RECORD_BYTES = HEADER_BYTES + 1 + GameCodec.MAX_BYTES;
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Receives decoded records in file order.
+     */
+    interface Visitor {
+        void created(GameId gameId, long version, int size, int winLength);
+
+        void moved(GameId gameId, long previousVersion, int row, int col, char player);
+
+        void undone(GameId gameId, long previousVersion);
+
+        void saved(Game game);
+
+        void removed(GameId gameId);
+    }
+
+    static void writeCreated(ByteBuffer out, CRC32C crc, Game game) {
+        int start = begin(out, CREATED, game.getId());
+        out.putLong(game.getVersion());
+        out.put((byte) game.getSize());
+        out.put((byte) game.getWinLength());
+        end(out, crc, start);
+    }
+
+    static void writeMoved(ByteBuffer out, CRC32C crc, GameId gameId, long previousVersion,
+                           int row, int col, char player) {
+        int start = begin(out, MOVED, gameId);
+        out.putLong(previousVersion);
+        out.put((byte) row);
+        out.put((byte) col);
+        out.put((byte) player);
+        end(out, crc, start);
+    }
+
+    static void writeUndone(ByteBuffer out, CRC32C crc, GameId gameId, long previousVersion) {
+        int start = begin(out, UNDONE, gameId);
+        out.putLong(previousVersion);
+        end(out, crc, start);
+    }
+
+    /**
+     * Writes the complete state of a game, followed by its move log. Records written before
+     * games had a log end after the board; they are read as games without history.
+     * The caller holds the game's monitor.
+     */
+    static void writeSaved(ByteBuffer out, CRC32C crc, Game game) {
+        int start = begin(out, SAVED, game.getId());
+        GameCodec.writeState(out, game);
+        end(out, crc, start);
+    }
+
+    static void writeRemoved(ByteBuffer out, CRC32C crc, GameId gameId) {
+        int start = begin(out, REMOVED, gameId);
+        end(out, crc, start);
+    }
+
+    /**
+     * Decodes one payload, from the buffer's position to its limit.
+     */
+    static void read(ByteBuffer in, Visitor visitor) {
+        byte type = in.get();
+        GameId gameId = GameCodec.readId(in);
+        switch (type) {
+            case CREATED: {
+                long version = in.getLong();
+                int size = in.get();
+                int winLength = in.get();
+                visitor.created(gameId, version, size, winLength);
+                break;
+            }
+            case MOVED: {
+                long previousVersion = in.getLong();
+                int row = in.get();
+                int col = in.get();
+                char player = (char) in.get();
+                visitor.moved(gameId, previousVersion, row, col, player);
+                break;
+            }
+            case UNDONE:
+                visitor.undone(gameId, in.getLong());
+                break;
+            case SAVED:
+                visitor.saved(GameCodec.readState(in, gameId));
+                break;
+            case REMOVED:
+                visitor.removed(gameId);
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private static int begin(ByteBuffer out, byte type, GameId gameId) {
+        int start = out.position();
+        out.position(start + HEADER_BYTES);
+        out.put(type);
+        try {
+            GameCodec.writeId(out, gameId);
+        } catch (IllegalArgumentException e) {
+            out.position(start);
+            throw e;
+        }
+        return start;
+    }
+
+    private static void end(ByteBuffer out, CRC32C crc, int start) {
+        int length = out.position() - start - HEADER_BYTES;
+        crc.reset();
+        crc.update(out.array(), out.arrayOffset() + start + HEADER_BYTES, length);
+        out.putInt(start, length);
+        out.putInt(start + 4, (int) crc.getValue());
+    }
+}
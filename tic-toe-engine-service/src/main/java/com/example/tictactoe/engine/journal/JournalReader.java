@@ -0,0 +1,65 @@
+package com.example.tictactoe.engine.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Sequential reader for journal and snapshot files. Files are memory-mapped in large windows,
+ * so replay runs at the speed of the page cache without copying through read buffers.
+ */
+final class JournalReader {
+    private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private JournalReader() {
+    }
+
+    /**
+     * Replays every valid record of a file in order.
+     *
+     * @return the number of bytes holding valid records; less than the file size if the file
+     * ends with a torn or corrupt record
+     */
+    static long read(Path file, JournalCodec.Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            CRC32C crc = new CRC32C();
+            while (position < size) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(WINDOW_BYTES, size - position));
+                int offset = 0;
+                while (window.capacity() - offset >= JournalCodec.HEADER_BYTES) {
+                    int length = window.getInt(offset);
+                    int checksum = window.getInt(offset + 4);
+                    if (length <= 0 || length > JournalCodec.MAX_RECORD_BYTES - JournalCodec.HEADER_BYTES) {
+                        return position + offset;
+                    }
+                    int payload = offset + JournalCodec.HEADER_BYTES;
+                    if (window.capacity() - payload < length) {
+                        // Continue in the next window, or stop at a record cut off by the end of the file
+                        break;
+                    }
+                    window.limit(payload + length).position(payload);
+                    crc.reset();
+                    crc.update(window);
+                    if ((int) crc.getValue() != checksum) {
+                        return position + offset;
+                    }
+                    window.position(payload);
+                    JournalCodec.read(window, visitor);
+                    window.limit(window.capacity());
+                    offset = payload + length;
+                }
+                if (offset == 0) {
+                    return position;
+                }
+                position += offset;
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.tictactoe.engine.journal;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.GameEngine;
+
+import java.util.Map;
+
+/**
+ * Rebuilds games from journal records. Replay is idempotent: a move or undo is applied only to
+ * the exact version it was made on, and the engine bumps versions the same way it did live, so
+ * moves that a snapshot already contains are skipped and every later move lines up.
+ */
+final class JournalReplay implements JournalCodec.Visitor {
+    private final Map<GameId, Game> games;
+    private final GameEngine gameEngine;
+
+    JournalReplay(Map<GameId, Game> games, GameEngine gameEngine) {
+        this.games = games;
+        this.gameEngine = gameEngine;
+    }
+
+    @Override
+    public void created(GameId gameId, long version, int size, int winLength) {
+        Game game = new Game(gameId, size, winLength);
+        game.setVersion(version);
+        games.put(gameId, game);
+    }
+
+    @Override
+    public void moved(GameId gameId, long previousVersion, int row, int col, char player) {
+        Game game = games.get(gameId);
+        if (game == null || game.getVersion() != previousVersion
+                || gameEngine.validateMove(game, row, col, player) != null) {
+            // Dropped by a snapshot, or already contained in it
+            return;
+        }
+        gameEngine.applyMove(game, row, col, player);
+        game.setStatus(gameEngine.determineGameStatus(game, player));
+    }
+
+    @Override
+    public void undone(GameId gameId, long previousVersion) {
+        Game game = games.get(gameId);
+        if (game == null || game.getVersion() != previousVersion || gameEngine.validateUndo(game) != null) {
+            return;
+        }
+        gameEngine.undoMove(game);
+    }
+
+    @Override
+    public void saved(Game game) {
+        games.put(game.getId(), game);
+    }
+
+    @Override
+    public void removed(GameId gameId) {
+        games.remove(gameId);
+    }
+}
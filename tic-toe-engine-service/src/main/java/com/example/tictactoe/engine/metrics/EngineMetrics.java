@@ -0,0 +1,68 @@
+package com.example.tictactoe.engine.metrics;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.MoveError;
+
+/**
+ * Receives what the session services observe on the move path. Called with the game's lock
+ * held, so implementations must only update pre-registered meters: no lookups, no allocation.
+ * Times are {@link System#nanoTime()} readings taken by the caller.
+ */
+public interface EngineMetrics {
+
+    /**
+     * Metrics that record nothing.
+     */
+    EngineMetrics NONE = new EngineMetrics() {
+        @Override
+        public void moveRejected(MoveError error) {
+        }
+
+        @Override
+        public void moveApplied(Game.GameStatus status, long validating, long validated, long applied, long finished) {
+        }
+
+        @Override
+        public void moveProcessed(long started) {
+        }
+
+        @Override
+        public void gameStatusChanged(Game.GameStatus previous, Game.GameStatus current) {
+        }
+    };
+
+    /**
+     * A move was rejected, by the rules or for a stale version.
+     *
+     * @param error the reason
+     */
+    void moveRejected(MoveError error);
+
+    /**
+     * A valid move was applied. A move that ends the game also takes it from the games in
+     * progress to the finished ones.
+     *
+     * @param status the game status after the move
+     * @param validating when validation started
+     * @param validated when validation ended and the move was applied
+     * @param applied when the move was on the board and the status check started
+     * @param finished when the status was determined
+     */
+    void moveApplied(Game.GameStatus status, long validating, long validated, long applied, long finished);
+
+    /**
+     * A move request was answered, whatever its outcome, after waiting for the journal.
+     *
+     * @param started when the request reached the session service
+     */
+    void moveProcessed(long started);
+
+    /**
+     * A game was stored, replaced, removed, evicted or reopened by an undo; moves report their
+     * status changes through {@link #moveApplied}.
+     *
+     * @param previous the status of the game stored before, or null if there was none
+     * @param current the status of the game stored now, or null if there is none
+     */
+    void gameStatusChanged(Game.GameStatus previous, Game.GameStatus current);
+}
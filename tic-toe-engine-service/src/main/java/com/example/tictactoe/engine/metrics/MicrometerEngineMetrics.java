@@ -0,0 +1,122 @@
+package com.example.tictactoe.engine.metrics;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.MoveError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Publishes engine metrics to Micrometer. Every meter is registered up front and kept in an
+ * array indexed by enum ordinal, so recording is a counter increment or a timer update.
+ * <ul>
+ *   <li>{@code engine.move}: time to answer a move, journal wait included</li>
+ *   <li>{@code engine.move.phase}: validation, apply and status check of applied moves, tagged {@code phase}</li>
+ *   <li>{@code engine.move.rejected}: rejected moves, tagged {@code reason}</li>
+ *   <li>{@code engine.moves}: applied moves; the monitoring system derives the rate from it</li>
+ *   <li>{@code engine.games.finished}: games won or drawn, tagged {@code outcome}</li>
+ *   <li>{@code engine.games.live}: stored games, tagged {@code status}; kept up to date as games are
+ *       stored, finished, reopened and dropped, so reading it does not visit the games</li>
+ * </ul>
+ */
+@Component
+public class MicrometerEngineMetrics implements EngineMetrics {
+    private static final Game.GameStatus[] STATUSES = Game.GameStatus.values();
+
+    private final Timer move;
+    private final Timer validatePhase;
+    private final Timer applyPhase;
+    private final Timer statusPhase;
+    private final Counter moves;
+    private final Counter[] rejected;
+    private final Counter[] finished;
+    private final AtomicLongArray liveGames = new AtomicLongArray(STATUSES.length);
+
+    public MicrometerEngineMetrics(MeterRegistry registry) {
+        this.move = Timer.builder("engine.move")
+                .description("Time to answer a move, journal wait included")
+                .register(registry);
+        this.validatePhase = phase(registry, "validate");
+        this.applyPhase = phase(registry, "apply");
+        this.statusPhase = phase(registry, "status");
+        this.moves = Counter.builder("engine.moves")
+                .description("Moves applied")
+                .register(registry);
+
+        MoveError[] errors = MoveError.values();
+        this.rejected = new Counter[errors.length];
+        for (MoveError error : errors) {
+            rejected[error.ordinal()] = Counter.builder("engine.move.rejected")
+                    .description("Moves rejected")
+                    .tag("reason", tagValue(error))
+                    .register(registry);
+        }
+
+        this.finished = new Counter[STATUSES.length];
+        for (Game.GameStatus status : STATUSES) {
+            String value = tagValue(status);
+            if (status != Game.GameStatus.IN_PROGRESS) {
+                finished[status.ordinal()] = Counter.builder("engine.games.finished")
+                        .description("Games that ended with a win or a draw")
+                        .tag("outcome", value)
+                        .register(registry);
+            }
+            Gauge.builder("engine.games.live", liveGames, games -> games.get(status.ordinal()))
+                    .description("Stored games by status")
+                    .tag("status", value)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void moveRejected(MoveError error) {
+        rejected[error.ordinal()].increment();
+    }
+
+    @Override
+    public void moveApplied(Game.GameStatus status, long validating, long validated, long applied, long finished) {
+        validatePhase.record(validated - validating, TimeUnit.NANOSECONDS);
+        applyPhase.record(applied - validated, TimeUnit.NANOSECONDS);
+        statusPhase.record(finished - applied, TimeUnit.NANOSECONDS);
+        moves.increment();
+        if (status != Game.GameStatus.IN_PROGRESS) {
+            this.finished[status.ordinal()].increment();
+            gameStatusChanged(Game.GameStatus.IN_PROGRESS, status);
+        }
+    }
+
+    @Override
+    public void moveProcessed(long started) {
+        move.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void gameStatusChanged(Game.GameStatus previous, Game.GameStatus current) {
+        if (previous == current) {
+            return;
+        }
+        if (previous != null) {
+            liveGames.decrementAndGet(previous.ordinal());
+        }
+        if (current != null) {
+            liveGames.incrementAndGet(current.ordinal());
+        }
+    }
+
+    private static Timer phase(MeterRegistry registry, String phase) {
+        return Timer.builder("engine.move.phase")
+                .description("Time spent in one phase of an applied move")
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.tictactoe.engine.session;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.engine.api.dto.BatchMoveItem;
+import com.example.tictactoe.engine.api.dto.BatchMoveResult;
+import com.example.tictactoe.engine.cluster.EngineCluster;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies batches of moves across many games through {@link GameSessionService#processMove}.
+ * Moves are grouped by game so that each game's moves run in request order, while separate
+ * games are processed in parallel once the batch is large enough to pay for the fan-out.
+ * Parallel batches run on {@code engine.batch.threads} dedicated workers, never on the common
+ * fork-join pool, since moves block on game monitors and on the journal's fsync; the request
+ * thread works through the batch alongside them.
+ * Every item is validated and applied on its own; a failure only affects that item's result.
+ * In a cluster, the moves of games owned by other engine instances are sent to their owners,
+ * one sub-batch per owner, while the local games are processed. A local game that is still on
+ * the instance that owned it before fails its moves if it cannot be taken from there, see
+ * {@link EngineCluster#canServeHere}.
+ */
+@Service
+public class BatchMoveService implements DisposableBean {
+
+    private final GameSessionService gameSessionService;
+    private final EngineCluster cluster;
+    private final int maxBatchSize;
+    private final int parallelThreshold;
+    private final int threads;
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * A service outside any cluster, for tests and tools.
+     */
+    public BatchMoveService(GameSessionService gameSessionService, int maxBatchSize, int parallelThreshold,
+                            int threads) {
+        this(gameSessionService, (EngineCluster) null, maxBatchSize, parallelThreshold, threads);
+    }
+
+    public BatchMoveService(GameSessionService gameSessionService, EngineCluster cluster,
+                            int maxBatchSize, int parallelThreshold, int threads) {
+        this.gameSessionService = gameSessionService;
+        this.cluster = cluster;
+        this.maxBatchSize = maxBatchSize;
+        this.parallelThreshold = parallelThreshold;
+        this.threads = threads;
+        AtomicInteger workerCount = new AtomicInteger();
+        // A full queue leaves the work to the request thread, which takes part in every batch anyway
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), task -> {
+                    Thread thread = new Thread(task, "engine-batch-" + workerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Autowired
+    public BatchMoveService(GameSessionService gameSessionService,
+                            ObjectProvider<EngineCluster> cluster,
+                            @Value("${engine.batch.max-size:10000}") int maxBatchSize,
+                            @Value("${engine.batch.parallel-threshold:256}") int parallelThreshold,
+                            @Value("${engine.batch.threads:0}") int threads) {
+        this(gameSessionService, cluster.getIfAvailable(), maxBatchSize, parallelThreshold,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Process a batch of moves.
+     *
+     * @param moves the moves, possibly for many games
+     * @param forwarded whether another engine instance forwarded the batch; it is then processed locally
+     * @return one result per move, in request order
+     */
+    public List<BatchMoveResult> processMoves(List<BatchMoveItem> moves, boolean forwarded) {
+        if (moves.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must not exceed " + maxBatchSize);
+        }
+
+        BatchMoveResult[] results = new BatchMoveResult[moves.size()];
+        // Each game id is parsed once; its moves share the parsed id
+        GameId[] gameIds = new GameId[moves.size()];
+        Map<String, GameId> parsedIds = new HashMap<>();
+        Map<GameId, List<Integer>> movesByGame = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            BatchMoveItem item = moves.get(i);
+            String error = validateItem(item);
+            if (error != null) {
+                results[i] = new BatchMoveResult(i, item != null ? item.getGameId() : null,
+                        false, null, null, error);
+                continue;
+            }
+            GameId gameId = parsedIds.computeIfAbsent(item.getGameId(), GameId::of);
+            gameIds[i] = gameId;
+            movesByGame.computeIfAbsent(gameId, key -> new ArrayList<>()).add(i);
+        }
+
+        Map<URI, List<Integer>> remoteMoves = cluster != null && !forwarded
+                ? takeRemoteMoves(movesByGame)
+                : Collections.emptyMap();
+        List<CompletableFuture<Void>> forwardedBatches = new ArrayList<>();
+        remoteMoves.forEach((owner, indexes) -> forwardedBatches.add(forward(owner, moves, gameIds, indexes, results)));
+
+        if (moves.size() >= parallelThreshold && movesByGame.size() > 1) {
+            applyInParallel(moves, gameIds, new ArrayList<>(movesByGame.values()), results);
+        } else {
+            movesByGame.values().forEach(indexes -> applyGameMoves(moves, gameIds, indexes, results));
+        }
+        forwardedBatches.forEach(CompletableFuture::join);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Hands the games to the workers one at a time, with the calling thread taking games too,
+     * and returns once every game is done. Workers that start after the last game was taken
+     * find nothing left and return at once.
+     */
+    private void applyInParallel(List<BatchMoveItem> moves, GameId[] gameIds, List<List<Integer>> games,
+                                 BatchMoveResult[] results) {
+        AtomicInteger nextGame = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(games.size());
+        Runnable worker = () -> {
+            int game;
+            while ((game = nextGame.getAndIncrement()) < games.size()) {
+                try {
+                    applyGameMoves(moves, gameIds, games.get(game), results);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        for (int i = Math.min(threads, games.size() - 1); i > 0; i--) {
+            workers.execute(worker);
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the batch", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Removes the games owned by other instances from {@code movesByGame} and returns their
+     * moves by owner. Each game's moves stay in request order.
+     */
+    private Map<URI, List<Integer>> takeRemoteMoves(Map<GameId, List<Integer>> movesByGame) {
+        Map<URI, List<Integer>> remoteMoves = new LinkedHashMap<>();
+        Iterator<Map.Entry<GameId, List<Integer>>> games = movesByGame.entrySet().iterator();
+        while (games.hasNext()) {
+            Map.Entry<GameId, List<Integer>> game = games.next();
+            URI owner = cluster.ownerUri(game.getKey());
+            if (owner != null) {
+                remoteMoves.computeIfAbsent(owner, key -> new ArrayList<>()).addAll(game.getValue());
+                games.remove();
+            }
+        }
+        return remoteMoves;
+    }
+
+    /**
+     * Sends moves to their owner. They are applied here only if the owner could not be reached,
+     * since then none of them ran there, and only for games this instance still holds; any other
+     * failure may come after the owner applied some, so those moves fail instead of running twice.
+     */
+    private CompletableFuture<Void> forward(URI owner, List<BatchMoveItem> moves, GameId[] gameIds,
+                                            List<Integer> indexes, BatchMoveResult[] results) {
+        List<BatchMoveItem> items = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            items.add(moves.get(index));
+        }
+        return cluster.forwardMoves(owner, items).handle((response, failure) -> {
+            if (failure != null && isUnreachable(failure)) {
+                cluster.servedForOwner();
+                applyGameMoves(moves, gameIds, indexes, results);
+                return null;
+            }
+            if (failure == null && response.getResults() != null) {
+                for (BatchMoveResult result : response.getResults()) {
+                    if (result != null && result.getIndex() >= 0 && result.getIndex() < indexes.size()) {
+                        int index = indexes.get(result.getIndex());
+                        result.setIndex(index);
+                        results[index] = result;
+                    }
+                }
+            }
+            String message = failure != null
+                    ? "Engine instance " + owner + " failed to process the move"
+                    : "Engine instance " + owner + " returned no result for the move";
+            for (int index : indexes) {
+                if (results[index] == null) {
+                    results[index] = new BatchMoveResult(index, moves.get(index).getGameId(), false, null, null,
+                            message);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static boolean isUnreachable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void applyGameMoves(List<BatchMoveItem> moves, GameId[] gameIds, List<Integer> indexes,
+                                BatchMoveResult[] results) {
+        if (cluster != null && !cluster.canServeHere(gameIds[indexes.get(0)])) {
+            for (int index : indexes) {
+                results[index] = new BatchMoveResult(index, moves.get(index).getGameId(), false, null, null,
+                        "The game's engine instance is unavailable, or the game is moving between instances");
+            }
+            return;
+        }
+        for (int index : indexes) {
+            BatchMoveItem item = moves.get(index);
+            try {
+                long expectedVersion = item.getExpectedVersion() != null
+                        ? item.getExpectedVersion()
+                        : GameSessionService.ANY_VERSION;
+                GameResult result = gameSessionService.processMove(
+                        gameIds[index], item.getRow(), item.getColumn(), item.getPlayerSymbol(), expectedVersion);
+                Game game = result.getGame();
+                String status;
+                char currentPlayer;
+                long version;
+                synchronized (game) {
+                    status = game.getStatus().name();
+                    currentPlayer = game.getCurrentPlayer();
+                    version = game.getVersion();
+                }
+                results[index] = new BatchMoveResult(index, item.getGameId(), result.isValid(),
+                        status, String.valueOf(currentPlayer), version,
+                        result.isValid() ? null : result.getMessage());
+            } catch (RuntimeException ex) {
+                results[index] = new BatchMoveResult(index, item.getGameId(), false, null, null, ex.getMessage());
+            }
+        }
+    }
+
+    private String validateItem(BatchMoveItem item) {
+        if (item == null) {
+            return "Move is required";
+        }
+        if (item.getGameId() == null || item.getGameId().isBlank()) {
+            return "Game id is required";
+        }
+        if (item.getPlayer() == null || item.getPlayer().isBlank()) {
+            return "Player symbol is required";
+        }
+        if (item.getRow() == null || item.getRow() < 0) {
+            return "Row is required and must not be negative";
+        }
+        if (item.getColumn() == null || item.getColumn() < 0) {
+            return "Column is required and must not be negative";
+        }
+        if (item.getExpectedVersion() != null && item.getExpectedVersion() < 0) {
+            return "Expected version must not be negative";
+        }
+        return null;
+    }
+}
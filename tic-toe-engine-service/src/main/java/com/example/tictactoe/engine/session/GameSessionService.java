@@ -1,20 +1,52 @@
 package com.example.tictactoe.engine.session;
 
 import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
 import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.util.TicToeConstants;
+
+import java.util.function.Consumer;
 
 /**
  * Service interface for game session management.
  * Handles game state persistence and session lifecycle.
+ * Games are keyed by {@link GameId}; callers parse ids once where they enter the service.
+ * The String overloads parse on every call and are meant for tests and tools.
  */
 public interface GameSessionService {
+    /**
+     * Expected version that matches any state of the game.
+     */
+    long ANY_VERSION = -1L;
+
     /**
      * Create a new game session.
      *
      * @param gameId the game identifier
      * @return the created game
      */
-    Game createGameSession(String gameId);
+    Game createGameSession(GameId gameId);
+
+    /**
+     * Create a new game session with a custom board.
+     *
+     * @param gameId the game identifier
+     * @param size the board size (N for an N x N board)
+     * @param winLength the number of marks in a row needed to win (K)
+     * @return the created game
+     */
+    Game createGameSession(GameId gameId, int size, int winLength);
+
+    /**
+     * Create a new game session unless one with this id exists. The check and the creation
+     * are atomic, so of several concurrent creators exactly one gets the game.
+     *
+     * @param gameId the game identifier
+     * @param size the board size (N for an N x N board)
+     * @param winLength the number of marks in a row needed to win (K)
+     * @return the created game, or null if the game already exists
+     */
+    Game createGameSessionIfAbsent(GameId gameId, int size, int winLength);
 
     /**
      * Get a game session by its ID.
@@ -22,7 +54,7 @@ public interface GameSessionService {
      * @param gameId the game identifier
      * @return the game, or null if not found
      */
-    Game getGameSession(String gameId);
+    Game getGameSession(GameId gameId);
 
     /**
      * Save or update a game session.
@@ -37,10 +69,110 @@ public interface GameSessionService {
      * This method coordinates between the game engine and session management.
      *
      * @param gameId the game identifier
-     * @param row the row position (0-2)
-     * @param col the column position (0-2)
+     * @param row the row position (0 to size - 1)
+     * @param col the column position (0 to size - 1)
+     * @param player the player symbol (X or O)
+     * @return the result of the move operation
+     */
+    GameResult processMove(GameId gameId, int row, int col, char player);
+
+    /**
+     * Process a move only if the game is still at the expected version.
+     * The version check and the move are atomic, so of several writers holding the same
+     * version exactly one succeeds; the others get {@link com.example.tictactoe.core.model.MoveError#VERSION_MISMATCH}.
+     *
+     * @param gameId the game identifier
+     * @param row the row position (0 to size - 1)
+     * @param col the column position (0 to size - 1)
      * @param player the player symbol (X or O)
+     * @param expectedVersion the version the caller last saw, or {@link #ANY_VERSION}
      * @return the result of the move operation
      */
-    GameResult processMove(String gameId, int row, int col, char player);
+    GameResult processMove(GameId gameId, int row, int col, char player, long expectedVersion);
+
+    /**
+     * Take back the last move of a game, only if it is still at the expected version.
+     * Rejected with {@link com.example.tictactoe.core.model.MoveError#NO_MOVES_TO_UNDO} on an
+     * empty board and {@link com.example.tictactoe.core.model.MoveError#HISTORY_UNAVAILABLE} for
+     * games stored without their move log.
+     *
+     * @param gameId the game identifier
+     * @param expectedVersion the version the caller last saw, or {@link #ANY_VERSION}
+     * @return the result of the undo, or null if the game does not exist
+     */
+    GameResult undoMove(GameId gameId, long expectedVersion);
+
+    /**
+     * Store a game handed over by another engine instance, unless a newer version of it is
+     * already stored here.
+     *
+     * @param game the complete game
+     * @return true if the game was stored
+     */
+    boolean importGame(Game game);
+
+    /**
+     * Remove a game, but only while it is still at the expected version, e.g. after it was
+     * handed over to another instance and no move reached it since.
+     *
+     * @param gameId the game identifier
+     * @param expectedVersion the version that was handed over
+     * @return true if the game was removed
+     */
+    boolean removeGameSession(GameId gameId, long expectedVersion);
+
+    /**
+     * Visit every stored game, e.g. to snapshot them. Each game is passed in a consistent
+     * state and must not be kept or modified; games changed during the traversal may be
+     * seen before or after the change.
+     *
+     * @param action receives each game
+     */
+    void forEachGame(Consumer<Game> action);
+
+    default Game createGameSession(String gameId) {
+        return createGameSession(GameId.of(gameId));
+    }
+
+    default Game createGameSession(String gameId, int size, int winLength) {
+        return createGameSession(GameId.of(gameId), size, winLength);
+    }
+
+    /**
+     * Returns the game, creating a classic one if it does not exist. A game created
+     * concurrently, or moved meanwhile, is returned as it is rather than replaced.
+     */
+    default Game getOrCreateGameSession(GameId gameId) {
+        while (true) {
+            Game game = getGameSession(gameId);
+            if (game != null) {
+                return game;
+            }
+            game = createGameSessionIfAbsent(gameId,
+                    TicToeConstants.DEFAULT_BOARD_SIZE, TicToeConstants.DEFAULT_WIN_LENGTH);
+            if (game != null) {
+                return game;
+            }
+        }
+    }
+
+    default Game getGameSession(String gameId) {
+        return getGameSession(GameId.of(gameId));
+    }
+
+    default GameResult processMove(String gameId, int row, int col, char player) {
+        return processMove(GameId.of(gameId), row, col, player);
+    }
+
+    default GameResult processMove(String gameId, int row, int col, char player, long expectedVersion) {
+        return processMove(GameId.of(gameId), row, col, player, expectedVersion);
+    }
+
+    default GameResult undoMove(String gameId, long expectedVersion) {
+        return undoMove(GameId.of(gameId), expectedVersion);
+    }
+
+    default boolean removeGameSession(String gameId, long expectedVersion) {
+        return removeGameSession(GameId.of(gameId), expectedVersion);
+    }
 }
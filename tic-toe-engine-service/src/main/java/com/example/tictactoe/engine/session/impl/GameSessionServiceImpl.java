@@ -1,70 +1,279 @@
 package com.example.tictactoe.engine.session.impl;
 
 import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
 import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.model.MoveError;
 import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.journal.GameJournal;
+import com.example.tictactoe.engine.metrics.EngineMetrics;
 import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.session.store.GameStore;
+import com.example.tictactoe.engine.session.store.InMemoryGameStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
- * Implementation of GameSessionService using in-memory storage.
+ * Implementation of GameSessionService on top of a {@link GameStore}.
  * Manages game sessions and coordinates with the game engine.
+ * Every change is reported to the {@link GameJournal}, if one is configured, and every move and
+ * status change to the {@link EngineMetrics}.
  */
 @Service
+@ConditionalOnExpression("'${engine.store.type:caffeine}' != 'off-heap'")
 public class GameSessionServiceImpl implements GameSessionService {
 
     private final GameEngine gameEngine;
-    private final Map<String, Game> gameSessions = new ConcurrentHashMap<>();
+    private final GameStore gameStore;
+    private final GameJournal gameJournal;
+    private final EngineMetrics metrics;
 
     public GameSessionServiceImpl(GameEngine gameEngine) {
+        this(gameEngine, new InMemoryGameStore());
+    }
+
+    public GameSessionServiceImpl(GameEngine gameEngine, GameStore gameStore) {
+        this(gameEngine, gameStore, GameJournal.NONE);
+    }
+
+    public GameSessionServiceImpl(GameEngine gameEngine, GameStore gameStore, GameJournal gameJournal) {
+        this(gameEngine, gameStore, gameJournal, EngineMetrics.NONE);
+    }
+
+    public GameSessionServiceImpl(GameEngine gameEngine, GameStore gameStore, GameJournal gameJournal,
+                                  EngineMetrics metrics) {
         this.gameEngine = gameEngine;
+        this.gameStore = gameStore;
+        this.gameJournal = gameJournal;
+        this.metrics = metrics;
+    }
+
+    @Autowired
+    public GameSessionServiceImpl(GameEngine gameEngine, GameStore gameStore,
+                                  ObjectProvider<GameJournal> gameJournal,
+                                  ObjectProvider<EngineMetrics> metrics) {
+        this(gameEngine, gameStore, gameJournal.getIfAvailable(() -> GameJournal.NONE),
+                metrics.getIfAvailable(() -> EngineMetrics.NONE));
+    }
+
+    @Override
+    public Game createGameSession(GameId gameId) {
+        return replaceGame(new Game(gameId));
     }
 
     @Override
-    public Game createGameSession(String gameId) {
+    public Game createGameSession(GameId gameId, int size, int winLength) {
+        return replaceGame(new Game(gameId, size, winLength));
+    }
+
+    @Override
+    public Game createGameSessionIfAbsent(GameId gameId, int size, int winLength) {
+        Game game = new Game(gameId, size, winLength);
+        Game stored = gameStore.compute(gameId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            gameJournal.gameCreated(game);
+            metrics.gameStatusChanged(null, game.getStatus());
+            return game;
+        });
+        if (stored != game) {
+            return null;
+        }
+        gameJournal.awaitDurable();
+        return game;
+    }
+
+    /**
+     * Stores a new game, continuing the version sequence of the game it replaces
+     * so that an ETag of the old game never matches the new one.
+     */
+    private Game replaceGame(Game game) {
+        Game stored = gameStore.compute(game.getId(), (gameId, previous) -> {
+            if (previous != null) {
+                game.setVersion(previous.getVersion() + 1);
+            }
+            // Journaled before the game is visible, so its moves always follow it
+            gameJournal.gameCreated(game);
+            metrics.gameStatusChanged(statusOf(previous), game.getStatus());
+            return game;
+        });
+        gameJournal.awaitDurable();
+        return stored;
+    }
+
+    private Game newGame(GameId gameId) {
         Game game = new Game(gameId);
-        gameSessions.put(gameId, game);
+        gameJournal.gameCreated(game);
+        metrics.gameStatusChanged(null, game.getStatus());
         return game;
     }
 
+    private static Game.GameStatus statusOf(Game game) {
+        return game != null ? game.getStatus() : null;
+    }
+
     @Override
-    public Game getGameSession(String gameId) {
-        return gameSessions.get(gameId);
+    public Game getGameSession(GameId gameId) {
+        return gameStore.get(gameId);
     }
 
     @Override
     public Game saveGameSession(Game game) {
-        gameSessions.put(game.getGameId(), game);
+        synchronized (game) {
+            gameStore.compute(game.getId(), (gameId, previous) -> {
+                gameJournal.gameSaved(game);
+                metrics.gameStatusChanged(statusOf(previous), game.getStatus());
+                return game;
+            });
+        }
+        gameJournal.awaitDurable();
         return game;
     }
 
     @Override
-    public GameResult processMove(String gameId, int row, int col, char player) {
-        // Get or create game session
-        Game game = gameSessions.get(gameId);
+    public boolean importGame(Game game) {
+        boolean[] imported = new boolean[1];
+        gameStore.compute(game.getId(), (gameId, current) -> {
+            if (current != null && current.getVersion() >= game.getVersion()) {
+                return current;
+            }
+            imported[0] = true;
+            gameJournal.gameSaved(game);
+            metrics.gameStatusChanged(statusOf(current), game.getStatus());
+            return game;
+        });
+        gameJournal.awaitDurable();
+        return imported[0];
+    }
+
+    @Override
+    public boolean removeGameSession(GameId gameId, long expectedVersion) {
+        Game game = gameStore.get(gameId);
         if (game == null) {
-            game = createGameSession(gameId);
+            return false;
         }
-
-        // Use game engine to validate the move
-        String validationError = gameEngine.validateMove(game, row, col, player);
-        if (validationError != null) {
-            return GameResult.failure(game, validationError);
+        boolean removed;
+        synchronized (game) {
+            removed = game.getVersion() == expectedVersion && gameStore.remove(game);
+            if (removed) {
+                gameJournal.gameRemoved(gameId);
+                metrics.gameStatusChanged(game.getStatus(), null);
+            }
         }
+        gameJournal.awaitDurable();
+        return removed;
+    }
 
-        // Use game engine to apply the move
-        gameEngine.applyMove(game, row, col, player);
+    @Override
+    public GameResult processMove(GameId gameId, int row, int col, char player) {
+        return processMove(gameId, row, col, player, ANY_VERSION);
+    }
+
+    /**
+     * Moves on one game are serialized on that game's monitor, so they are linearizable,
+     * while moves on different games never share a lock. If the game is replaced or evicted
+     * while waiting for its monitor, the move is retried against the current instance.
+     * The expected version is checked under the same monitor, so it is atomic with the move.
+     * The move is journaled under the monitor too; waiting for the journal happens after
+     * releasing it, so moves on other games batch into the same flush.
+     */
+    @Override
+    public GameResult processMove(GameId gameId, int row, int col, char player, long expectedVersion) {
+        long started = System.nanoTime();
+        GameResult result = move(gameId, row, col, player, expectedVersion);
+        metrics.moveProcessed(started);
+        return result;
+    }
 
-        // Use game engine to determine game status
-        Game.GameStatus newStatus = gameEngine.determineGameStatus(game, player);
-        game.setStatus(newStatus);
+    private GameResult move(GameId gameId, int row, int col, char player, long expectedVersion) {
+        while (true) {
+            // Get or create game session
+            Game game = gameStore.computeIfAbsent(gameId, this::newGame);
+            synchronized (game) {
+                if (!gameStore.isCurrent(game)) {
+                    continue;
+                }
 
-        // Save the updated game session
-        saveGameSession(game);
+                // Reject writers that acted on a stale view of the game
+                if (expectedVersion != ANY_VERSION && game.getVersion() != expectedVersion) {
+                    metrics.moveRejected(MoveError.VERSION_MISMATCH);
+                    return GameResult.failure(game, MoveError.VERSION_MISMATCH, row, col, player);
+                }
 
-        return GameResult.success(game);
+                // Use game engine to validate the move
+                long validating = System.nanoTime();
+                MoveError validationError = gameEngine.validateMove(game, row, col, player);
+                long validated = System.nanoTime();
+                if (validationError != null) {
+                    metrics.moveRejected(validationError);
+                    return GameResult.failure(game, validationError, row, col, player);
+                }
+
+                // Use game engine to apply the move
+                long previousVersion = game.getVersion();
+                gameEngine.applyMove(game, row, col, player);
+                long applied = System.nanoTime();
+
+                // Use game engine to determine game status
+                Game.GameStatus newStatus = gameEngine.determineGameStatus(game, player);
+                game.setStatus(newStatus);
+                metrics.moveApplied(newStatus, validating, validated, applied, System.nanoTime());
+                if (newStatus != Game.GameStatus.IN_PROGRESS) {
+                    // Finished games may expire sooner
+                    gameStore.touch(game);
+                }
+                gameJournal.moveApplied(game, row, col, player, previousVersion);
+            }
+            gameJournal.awaitDurable();
+            return GameResult.success(game);
+        }
+    }
+
+    /**
+     * Serialized with moves on the game's monitor, and journaled the same way.
+     */
+    @Override
+    public GameResult undoMove(GameId gameId, long expectedVersion) {
+        while (true) {
+            Game game = gameStore.get(gameId);
+            if (game == null) {
+                return null;
+            }
+            synchronized (game) {
+                if (!gameStore.isCurrent(game)) {
+                    continue;
+                }
+                if (expectedVersion != ANY_VERSION && game.getVersion() != expectedVersion) {
+                    return GameResult.failure(game, MoveError.VERSION_MISMATCH, -1, -1, ' ');
+                }
+                MoveError undoError = gameEngine.validateUndo(game);
+                if (undoError != null) {
+                    return GameResult.failure(game, undoError, -1, -1, ' ');
+                }
+                long previousVersion = game.getVersion();
+                Game.GameStatus previousStatus = game.getStatus();
+                gameEngine.undoMove(game);
+                // A finished game is in progress again
+                gameStore.touch(game);
+                gameJournal.moveUndone(game, previousStatus, previousVersion);
+                metrics.gameStatusChanged(previousStatus, game.getStatus());
+            }
+            gameJournal.awaitDurable();
+            return GameResult.undone(game);
+        }
+    }
+
+    @Override
+    public void forEachGame(Consumer<Game> action) {
+        gameStore.forEach(game -> {
+            synchronized (game) {
+                action.accept(game);
+            }
+        });
     }
 }
@@ -0,0 +1,545 @@
+package com.example.tictactoe.engine.session.impl;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.core.model.MoveLog;
+import com.example.tictactoe.core.util.Bitboard;
+import com.example.tictactoe.core.util.TicToeConstants;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.journal.GameJournal;
+import com.example.tictactoe.engine.metrics.EngineMetrics;
+import com.example.tictactoe.engine.session.GameSessionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * GameSessionService that keeps classic 3x3 games as fixed 40-byte records in direct memory,
+ * including the packed move log.
+ * Records live in open-addressing tables keyed by the two longs of the {@link GameId},
+ * split into segments that each own a direct buffer and a lock. The heap holds no per-game
+ * objects, so tens of millions of games add nothing to the live set the GC has to trace.
+ * <p>
+ * Games handed out are detached snapshots decoded from the record; changes only reach the
+ * store through {@link #processMove} and {@link #saveGameSession}. Selected with
+ * {@code engine.store.type=off-heap}; size direct memory with {@code -XX:MaxDirectMemorySize}.
+ * Records key other ids by their hash, so each segment also keeps those ids on the heap for
+ * {@link #forEachGame}; UUID ids cost nothing there.
+ */
+@Service
+@ConditionalOnProperty(name = "engine.store.type", havingValue = "off-heap")
+public class OffHeapGameSessionService implements GameSessionService {
+    static final int RECORD_BYTES = 40;
+
+    // Record layout
+    private static final int KEY_HIGH = 0;
+    private static final int KEY_LOW = 8;
+    private static final int VERSION = 16;
+    private static final int X_MASK = 24;
+    private static final int O_MASK = 26;
+    private static final int USED = 28;
+    private static final int STATUS = 29;
+    private static final int LAST_MOVE = 30;
+    private static final int CURRENT_PLAYER = 31;
+    // Nine 4-bit cells of the move log, with the number of logged moves in the top byte
+    private static final int MOVE_LOG = 32;
+    private static final int MOVE_LOG_SIZE_SHIFT = 56;
+
+    // Values of the USED byte
+    private static final byte FREE = 0;
+    private static final byte HASHED_ID = 1;
+    private static final byte UUID_ID = 2;
+
+    private static final Game.GameStatus[] STATUSES = Game.GameStatus.values();
+
+    private final GameEngine gameEngine;
+    private final GameJournal gameJournal;
+    private final EngineMetrics metrics;
+    private final Segment[] segments;
+
+    public OffHeapGameSessionService(GameEngine gameEngine, int segmentCount, int initialCapacity) {
+        this(gameEngine, segmentCount, initialCapacity, GameJournal.NONE);
+    }
+
+    public OffHeapGameSessionService(GameEngine gameEngine, int segmentCount, int initialCapacity,
+                                     GameJournal gameJournal) {
+        this(gameEngine, segmentCount, initialCapacity, gameJournal, EngineMetrics.NONE);
+    }
+
+    public OffHeapGameSessionService(GameEngine gameEngine, int segmentCount, int initialCapacity,
+                                     GameJournal gameJournal, EngineMetrics metrics) {
+        this.gameEngine = gameEngine;
+        this.gameJournal = gameJournal;
+        this.metrics = metrics;
+        int count = Integer.highestOneBit(Math.max(1, segmentCount - 1) << 1);
+        int perSegment = Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity / count - 1) << 1));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Autowired
+    public OffHeapGameSessionService(GameEngine gameEngine,
+                                     @Value("${engine.store.off-heap.segments:64}") int segmentCount,
+                                     @Value("${engine.store.off-heap.initial-capacity:65536}") int initialCapacity,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     ObjectProvider<GameJournal> gameJournal,
+                                     ObjectProvider<EngineMetrics> metrics) {
+        this(gameEngine, segmentCount, initialCapacity, gameJournal.getIfAvailable(() -> GameJournal.NONE),
+                metrics.getIfAvailable(() -> EngineMetrics.NONE));
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("engine.store.games", this, OffHeapGameSessionService::size)
+                    .description("Games held in the off-heap store")
+                    .register(registry);
+            Gauge.builder("engine.store.off-heap.bytes", this, OffHeapGameSessionService::offHeapBytes)
+                    .description("Direct memory reserved by the off-heap store")
+                    .baseUnit("bytes")
+                    .register(registry);
+        });
+    }
+
+    @Override
+    public Game createGameSession(GameId gameId) {
+        return createGameSession(gameId, TicToeConstants.DEFAULT_BOARD_SIZE, TicToeConstants.DEFAULT_WIN_LENGTH);
+    }
+
+    @Override
+    public Game createGameSession(GameId gameId, int size, int winLength) {
+        Game game = new Game(gameId, size, winLength);
+        requireClassic(game);
+        long high = gameId.getHigh();
+        long low = gameId.getLow();
+        Segment segment = segmentFor(low);
+        synchronized (segment) {
+            int slot = segment.find(high, low);
+            Game.GameStatus previous = null;
+            if (slot >= 0) {
+                // Continue the version sequence of the game being replaced
+                game.setVersion(segment.records.getLong(slot * RECORD_BYTES + VERSION) + 1);
+                previous = segment.status(slot);
+            } else {
+                slot = segment.insert(gameId);
+            }
+            segment.encode(slot, game);
+            gameJournal.gameCreated(game);
+            metrics.gameStatusChanged(previous, game.getStatus());
+        }
+        gameJournal.awaitDurable();
+        return game;
+    }
+
+    @Override
+    public Game createGameSessionIfAbsent(GameId gameId, int size, int winLength) {
+        Game game = new Game(gameId, size, winLength);
+        requireClassic(game);
+        long high = gameId.getHigh();
+        long low = gameId.getLow();
+        Segment segment = segmentFor(low);
+        synchronized (segment) {
+            if (segment.find(high, low) >= 0) {
+                return null;
+            }
+            segment.encode(segment.insert(gameId), game);
+            gameJournal.gameCreated(game);
+            metrics.gameStatusChanged(null, game.getStatus());
+        }
+        gameJournal.awaitDurable();
+        return game;
+    }
+
+    @Override
+    public Game getGameSession(GameId gameId) {
+        long high = gameId.getHigh();
+        long low = gameId.getLow();
+        Segment segment = segmentFor(low);
+        synchronized (segment) {
+            int slot = segment.find(high, low);
+            return slot >= 0 ? segment.decode(slot, gameId) : null;
+        }
+    }
+
+    @Override
+    public Game saveGameSession(Game game) {
+        requireClassic(game);
+        long high = game.getId().getHigh();
+        long low = game.getId().getLow();
+        Segment segment = segmentFor(low);
+        synchronized (segment) {
+            int slot = segment.find(high, low);
+            Game.GameStatus previous = slot >= 0 ? segment.status(slot) : null;
+            if (slot < 0) {
+                slot = segment.insert(game.getId());
+            }
+            synchronized (game) {
+                segment.encode(slot, game);
+                gameJournal.gameSaved(game);
+                metrics.gameStatusChanged(previous, game.getStatus());
+            }
+        }
+        gameJournal.awaitDurable();
+        return game;
+    }
+
+    @Override
+    public boolean importGame(Game game) {
+        requireClassic(game);
+        long high = game.getId().getHigh();
+        long low = game.getId().getLow();
+        Segment segment = segmentFor(low);
+        boolean imported = false;
+        synchronized (segment) {
+            int slot = segment.find(high, low);
+            if (slot < 0 || segment.records.getLong(slot * RECORD_BYTES + VERSION) < game.getVersion()) {
+                Game.GameStatus previous = slot >= 0 ? segment.status(slot) : null;
+                if (slot < 0) {
+                    slot = segment.insert(game.getId());
+                }
+                synchronized (game) {
+                    segment.encode(slot, game);
+                    gameJournal.gameSaved(game);
+                    metrics.gameStatusChanged(previous, game.getStatus());
+                }
+                imported = true;
+            }
+        }
+        gameJournal.awaitDurable();
+        return imported;
+    }
+
+    @Override
+    public boolean removeGameSession(GameId gameId, long expectedVersion) {
+        long high = gameId.getHigh();
+        long low = gameId.getLow();
+        Segment segment = segmentFor(low);
+        boolean removed;
+        synchronized (segment) {
+            int slot = segment.find(high, low);
+            removed = slot >= 0 && segment.records.getLong(slot * RECORD_BYTES + VERSION) == expectedVersion;
+            if (removed) {
+                metrics.gameStatusChanged(segment.status(slot), null);
+                segment.remove(slot, gameId);
+                gameJournal.gameRemoved(gameId);
+            }
+        }
+        gameJournal.awaitDurable();
+        return removed;
+    }
+
+    @Override
+    public GameResult processMove(GameId gameId, int row, int col, char player) {
+        return processMove(gameId, row, col, player, ANY_VERSION);
+    }
+
+    /**
+     * Decodes the record under its segment lock, runs the engine rules on the snapshot and
+     * writes it back. The returned game is the post-move snapshot of this very move.
+     * The move is journaled under the segment lock and awaited after releasing it.
+     */
+    @Override
+    public GameResult processMove(GameId gameId, int row, int col, char player, long expectedVersion) {
+        long started = System.nanoTime();
+        GameResult result = move(gameId, row, col, player, expectedVersion);
+        metrics.moveProcessed(started);
+        return result;
+    }
+
+    private GameResult move(GameId gameId, int row, int col, char player, long expectedVersion) {
+        long high = gameId.getHigh();
+        long low = gameId.getLow();
+        Segment segment = segmentFor(low);
+        Game game;
+        synchronized (segment) {
+            int slot = segment.find(high, low);
+            if (slot < 0) {
+                Game created = new Game(gameId);
+                slot = segment.insert(gameId);
+                segment.encode(slot, created);
+                gameJournal.gameCreated(created);
+                metrics.gameStatusChanged(null, created.getStatus());
+            }
+            game = segment.decode(slot, gameId);
+
+            // Reject writers that acted on a stale view of the game
+            if (expectedVersion != ANY_VERSION && game.getVersion() != expectedVersion) {
+                metrics.moveRejected(MoveError.VERSION_MISMATCH);
+                return GameResult.failure(game, MoveError.VERSION_MISMATCH, row, col, player);
+            }
+
+            long validating = System.nanoTime();
+            MoveError validationError = gameEngine.validateMove(game, row, col, player);
+            long validated = System.nanoTime();
+            if (validationError != null) {
+                metrics.moveRejected(validationError);
+                return GameResult.failure(game, validationError, row, col, player);
+            }
+
+            long previousVersion = game.getVersion();
+            gameEngine.applyMove(game, row, col, player);
+            long applied = System.nanoTime();
+            game.setStatus(gameEngine.determineGameStatus(game, player));
+            metrics.moveApplied(game.getStatus(), validating, validated, applied, System.nanoTime());
+            segment.encode(slot, game);
+            gameJournal.moveApplied(game, row, col, player, previousVersion);
+        }
+        gameJournal.awaitDurable();
+        return GameResult.success(game);
+    }
+
+    @Override
+    public GameResult undoMove(GameId gameId, long expectedVersion) {
+        long high = gameId.getHigh();
+        long low = gameId.getLow();
+        Segment segment = segmentFor(low);
+        Game game;
+        synchronized (segment) {
+            int slot = segment.find(high, low);
+            if (slot < 0) {
+                return null;
+            }
+            game = segment.decode(slot, gameId);
+            if (expectedVersion != ANY_VERSION && game.getVersion() != expectedVersion) {
+                return GameResult.failure(game, MoveError.VERSION_MISMATCH, -1, -1, ' ');
+            }
+            MoveError undoError = gameEngine.validateUndo(game);
+            if (undoError != null) {
+                return GameResult.failure(game, undoError, -1, -1, ' ');
+            }
+            long previousVersion = game.getVersion();
+            Game.GameStatus previousStatus = game.getStatus();
+            gameEngine.undoMove(game);
+            segment.encode(slot, game);
+            gameJournal.moveUndone(game, previousStatus, previousVersion);
+            metrics.gameStatusChanged(previousStatus, game.getStatus());
+        }
+        gameJournal.awaitDurable();
+        return GameResult.undone(game);
+    }
+
+    /**
+     * Decodes one segment at a time under its lock and visits the snapshots after releasing it.
+     */
+    @Override
+    public void forEachGame(Consumer<Game> action) {
+        List<Game> games = new ArrayList<>();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.decodeAll(games);
+            }
+            games.forEach(action);
+            games.clear();
+        }
+    }
+
+    /**
+     * Returns the number of stored games.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the direct memory held by the record tables.
+     */
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += segment.records.capacity();
+            }
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(long low) {
+        // Slots are chosen from the high key, segments from the low key, so the two stay independent
+        return segments[(int) (GameId.mix(low) >>> 40) & (segments.length - 1)];
+    }
+
+    private static void requireClassic(Game game) {
+        if (!game.isClassic()) {
+            throw new IllegalArgumentException("The off-heap game store supports only 3x3 games");
+        }
+    }
+
+    /**
+     * One open-addressing table with linear probing. Grows by doubling at 3/4 load.
+     * All access happens while holding the segment's monitor.
+     */
+    private static final class Segment {
+        // The ids of HASHED_ID records, whose text the records cannot hold
+        final Map<GameId, GameId> hashedIds = new HashMap<>();
+        ByteBuffer records;
+        int mask;
+        int size;
+
+        Segment(int capacity) {
+            this.records = allocate(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Returns the slot holding the key, or -1.
+         */
+        int find(long high, long low) {
+            int slot = (int) GameId.mix(high) & mask;
+            while (true) {
+                int base = slot * RECORD_BYTES;
+                if (records.get(base + USED) == FREE) {
+                    return -1;
+                }
+                if (records.getLong(base + KEY_HIGH) == high && records.getLong(base + KEY_LOW) == low) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Claims a free slot for a key that is not present yet.
+         */
+        int insert(GameId gameId) {
+            long high = gameId.getHigh();
+            long low = gameId.getLow();
+            if ((size + 1) * 4L > (mask + 1) * 3L) {
+                grow();
+            }
+            int slot = (int) GameId.mix(high) & mask;
+            while (records.get(slot * RECORD_BYTES + USED) != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            int base = slot * RECORD_BYTES;
+            records.putLong(base + KEY_HIGH, high);
+            records.putLong(base + KEY_LOW, low);
+            if (gameId.isUuid()) {
+                records.put(base + USED, UUID_ID);
+            } else {
+                records.put(base + USED, HASHED_ID);
+                hashedIds.put(gameId, gameId);
+            }
+            size++;
+            return slot;
+        }
+
+        /**
+         * Frees a slot by shifting later records of the probe run back, so no tombstones are needed.
+         */
+        void remove(int slot, GameId gameId) {
+            if (records.get(slot * RECORD_BYTES + USED) == HASHED_ID) {
+                hashedIds.remove(gameId);
+            }
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (records.get(next * RECORD_BYTES + USED) != FREE) {
+                int home = (int) GameId.mix(records.getLong(next * RECORD_BYTES + KEY_HIGH)) & mask;
+                // A record may fill the hole unless its home slot lies between the hole and itself
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    copy(records, next, records, hole);
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            for (int offset = 0; offset < RECORD_BYTES; offset += Long.BYTES) {
+                records.putLong(hole * RECORD_BYTES + offset, 0L);
+            }
+            size--;
+        }
+
+        void encode(int slot, Game game) {
+            int base = slot * RECORD_BYTES;
+            records.putLong(base + VERSION, game.getVersion());
+            records.putShort(base + X_MASK, (short) game.getXMask());
+            records.putShort(base + O_MASK, (short) game.getOMask());
+            records.put(base + STATUS, (byte) game.getStatus().ordinal());
+            records.put(base + LAST_MOVE, (byte) game.getLastMoveIndex());
+            records.put(base + CURRENT_PLAYER, (byte) game.getCurrentPlayer());
+            MoveLog log = game.getMoveLog();
+            long moves = log.size() > 0 ? log.getWord(0) : 0L;
+            records.putLong(base + MOVE_LOG, moves | ((long) log.size() << MOVE_LOG_SIZE_SHIFT));
+        }
+
+        Game.GameStatus status(int slot) {
+            return STATUSES[records.get(slot * RECORD_BYTES + STATUS)];
+        }
+
+        Game decode(int slot, GameId gameId) {
+            int base = slot * RECORD_BYTES;
+            Game game = new Game(gameId);
+            game.restoreState(
+                    records.getShort(base + X_MASK) & Bitboard.FULL_MASK,
+                    records.getShort(base + O_MASK) & Bitboard.FULL_MASK,
+                    STATUSES[records.get(base + STATUS)],
+                    (char) records.get(base + CURRENT_PLAYER),
+                    records.get(base + LAST_MOVE),
+                    records.getLong(base + VERSION));
+            long moves = records.getLong(base + MOVE_LOG);
+            game.restoreMoves(new long[]{moves & ((1L << MOVE_LOG_SIZE_SHIFT) - 1)},
+                    (int) (moves >>> MOVE_LOG_SIZE_SHIFT));
+            return game;
+        }
+
+        void decodeAll(List<Game> games) {
+            for (int slot = 0; slot <= mask; slot++) {
+                int base = slot * RECORD_BYTES;
+                if (records.get(base + USED) == UUID_ID) {
+                    games.add(decode(slot, GameId.ofUuid(records.getLong(base + KEY_HIGH),
+                            records.getLong(base + KEY_LOW))));
+                }
+            }
+            for (GameId gameId : hashedIds.values()) {
+                games.add(decode(find(gameId.getHigh(), gameId.getLow()), gameId));
+            }
+        }
+
+        private void grow() {
+            ByteBuffer old = records;
+            int oldCapacity = mask + 1;
+            if (oldCapacity > Integer.MAX_VALUE / RECORD_BYTES / 2) {
+                throw new IllegalStateException("Off-heap segment is full; add segments");
+            }
+            records = allocate(oldCapacity * 2);
+            mask = oldCapacity * 2 - 1;
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                int from = slot * RECORD_BYTES;
+                if (old.get(from + USED) == FREE) {
+                    continue;
+                }
+                int target = (int) GameId.mix(old.getLong(from + KEY_HIGH)) & mask;
+                while (records.get(target * RECORD_BYTES + USED) != FREE) {
+                    target = (target + 1) & mask;
+                }
+                copy(old, slot, records, target);
+            }
+        }
+
+        private static void copy(ByteBuffer from, int fromSlot, ByteBuffer to, int toSlot) {
+            for (int offset = 0; offset < RECORD_BYTES; offset += Long.BYTES) {
+                to.putLong(toSlot * RECORD_BYTES + offset, from.getLong(fromSlot * RECORD_BYTES + offset));
+            }
+        }
+
+        private static ByteBuffer allocate(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.tictactoe.engine.session.store;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.metrics.EngineMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded store on a Caffeine cache, keyed by {@link GameId}. Size-based eviction uses W-TinyLFU, so games that are
+ * accessed often survive a burst of one-off ids. A game expires after it has not been touched
+ * for the idle timeout, or the shorter finished timeout once it is over.
+ * Hit, miss and eviction counts are published as {@code cache.*} meters with {@code cache=games},
+ * and evicted games are reported to the {@link EngineMetrics} once no move holds them.
+ * This is the default store; {@code engine.store.type=caffeine}.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.store.type", havingValue = "caffeine", matchIfMissing = true)
+public class CaffeineGameStore implements GameStore {
+    static final String CACHE_NAME = "games";
+
+    private final Cache<GameId, Game> cache;
+    private final Optional<Policy.VarExpiration<GameId, Game>> expiration;
+    private final long idleNanos;
+    private final long finishedNanos;
+
+    public CaffeineGameStore(long maximumSize, Duration idleTimeout, Duration finishedTimeout) {
+        this(maximumSize, idleTimeout, finishedTimeout, EngineMetrics.NONE);
+    }
+
+    public CaffeineGameStore(long maximumSize, Duration idleTimeout, Duration finishedTimeout,
+                             EngineMetrics metrics) {
+        this.idleNanos = idleTimeout.toNanos();
+        this.finishedNanos = Math.min(finishedTimeout.toNanos(), idleNanos);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new GameExpiry())
+                .removalListener((GameId gameId, Game game, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && game != null) {
+                        // Runs after the removal, so a move still holding the game finishes first
+                        synchronized (game) {
+                            metrics.gameStatusChanged(game.getStatus(), null);
+                        }
+                    }
+                })
+                .recordStats()
+                .build();
+        this.expiration = cache.policy().expireVariably();
+    }
+
+    @Autowired
+    public CaffeineGameStore(@Value("${engine.store.maximum-size:100000}") long maximumSize,
+                             @Value("${engine.store.idle-timeout:30m}") Duration idleTimeout,
+                             @Value("${engine.store.finished-timeout:2m}") Duration finishedTimeout,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             ObjectProvider<EngineMetrics> metrics) {
+        this(maximumSize, idleTimeout, finishedTimeout, metrics.getIfAvailable(() -> EngineMetrics.NONE));
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    @Override
+    public Game get(GameId gameId) {
+        return cache.getIfPresent(gameId);
+    }
+
+    @Override
+    public Game computeIfAbsent(GameId gameId, Function<GameId, Game> factory) {
+        return cache.get(gameId, factory);
+    }
+
+    @Override
+    public Game compute(GameId gameId, BiFunction<GameId, Game, Game> remapping) {
+        return cache.asMap().compute(gameId, remapping);
+    }
+
+    @Override
+    public void put(Game game) {
+        cache.put(game.getId(), game);
+    }
+
+    @Override
+    public boolean remove(Game game) {
+        // Game equality is by ID, so compare instances explicitly
+        boolean[] removed = new boolean[1];
+        cache.asMap().computeIfPresent(game.getId(), (gameId, current) -> {
+            if (current != game) {
+                return current;
+            }
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public boolean isCurrent(Game game) {
+        // The map view does not record statistics or count as an access
+        return cache.asMap().get(game.getId()) == game;
+    }
+
+    @Override
+    public void touch(Game game) {
+        if (expiration.isPresent() && isCurrent(game)) {
+            expiration.get().setExpiresAfter(game.getId(), Duration.ofNanos(timeToLive(game)));
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<Game> action) {
+        cache.asMap().values().forEach(action);
+    }
+
+    @Override
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Runs pending evictions and expirations now instead of on the next access.
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private long timeToLive(Game game) {
+        return game.getStatus() == Game.GameStatus.IN_PROGRESS ? idleNanos : finishedNanos;
+    }
+
+    private class GameExpiry implements Expiry<GameId, Game> {
+        @Override
+        public long expireAfterCreate(GameId gameId, Game game, long currentTime) {
+            return timeToLive(game);
+        }
+
+        @Override
+        public long expireAfterUpdate(GameId gameId, Game game, long currentTime, long currentDuration) {
+            return timeToLive(game);
+        }
+
+        @Override
+        public long expireAfterRead(GameId gameId, Game game, long currentTime, long currentDuration) {
+            return timeToLive(game);
+        }
+    }
+}
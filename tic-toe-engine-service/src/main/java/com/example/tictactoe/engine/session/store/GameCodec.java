@@ -0,0 +1,115 @@
+package com.example.tictactoe.engine.session.store;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.MoveLog;
+import com.example.tictactoe.core.util.TicToeConstants;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of game ids and complete game state, shared by the journal and the
+ * disk tier of {@link TieredGameStore}. Canonical UUID ids take 16 bytes, any other id its
+ * UTF-8 bytes. A game takes 16 bytes plus its board words and move log: 42 bytes on 3x3.
+ */
+public final class GameCodec {
+    public static final int MAX_ID_BYTES = 0xFFFF;
+
+    private static final byte UUID_ID = 0;
+    private static final byte TEXT_ID = 1;
+    private static final int MAX_CELLS = TicToeConstants.MAX_BOARD_SIZE * TicToeConstants.MAX_BOARD_SIZE;
+    private static final int MAX_WORDS = (MAX_CELLS + 63) / 64;
+    private static final int MAX_LOG_WORDS = MAX_CELLS / (Long.SIZE / MoveLog.bitsPerMove(MAX_CELLS)) + 1;
+
+    /**
+     * Upper bound of an id followed by a game's state.
+     */
+    public static final int MAX_BYTES = 3 + MAX_ID_BYTES + 16 + 2 * MAX_WORDS * Long.BYTES
+            + 2 + MAX_LOG_WORDS * Long.BYTES;
+
+    private static final Game.GameStatus[] STATUSES = Game.GameStatus.values();
+
+    private GameCodec() {
+    }
+
+    /**
+     * Writes an id; nothing is written if it is rejected as too long.
+     */
+    public static void writeId(ByteBuffer out, GameId gameId) {
+        if (gameId.isUuid()) {
+            out.put(UUID_ID);
+            out.putLong(gameId.getHigh());
+            out.putLong(gameId.getLow());
+            return;
+        }
+        byte[] bytes = gameId.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Game id is too long");
+        }
+        out.put(TEXT_ID);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    public static GameId readId(ByteBuffer in) {
+        if (in.get() == UUID_ID) {
+            return GameId.ofUuid(in.getLong(), in.getLong());
+        }
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return GameId.of(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the complete state of a game, followed by its move log. The caller holds the game's monitor.
+     */
+    public static void writeState(ByteBuffer out, Game game) {
+        out.putLong(game.getVersion());
+        out.put((byte) game.getSize());
+        out.put((byte) game.getWinLength());
+        out.put((byte) game.getStatus().ordinal());
+        out.put((byte) game.getCurrentPlayer());
+        out.putInt(game.getLastMoveIndex());
+        for (int word = 0; word < game.getBoardWords(); word++) {
+            out.putLong(game.getBoardWord(TicToeConstants.PLAYER_X, word));
+            out.putLong(game.getBoardWord(TicToeConstants.PLAYER_O, word));
+        }
+        MoveLog log = game.getMoveLog();
+        out.putShort((short) log.size());
+        for (int word = 0; word < log.getWords(); word++) {
+            out.putLong(log.getWord(word));
+        }
+    }
+
+    /**
+     * Reads a game written by {@link #writeState}; the move log runs to the buffer's limit.
+     * State that ends after the board, as written before games had a log, is read as a game
+     * without history.
+     */
+    public static Game readState(ByteBuffer in, GameId gameId) {
+        long version = in.getLong();
+        int size = in.get();
+        int winLength = in.get();
+        Game.GameStatus status = STATUSES[in.get()];
+        char currentPlayer = (char) in.get();
+        int lastMoveIndex = in.getInt();
+        Game game = new Game(gameId, size, winLength);
+        long[] xWords = new long[game.getBoardWords()];
+        long[] oWords = new long[game.getBoardWords()];
+        for (int word = 0; word < xWords.length; word++) {
+            xWords[word] = in.getLong();
+            oWords[word] = in.getLong();
+        }
+        game.restoreState(xWords, oWords, status, currentPlayer, lastMoveIndex, version);
+        if (in.hasRemaining()) {
+            int moves = in.getShort() & 0xFFFF;
+            long[] words = new long[in.remaining() / Long.BYTES];
+            for (int word = 0; word < words.length; word++) {
+                words[word] = in.getLong();
+            }
+            game.restoreMoves(words, moves);
+        }
+        return game;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.tictactoe.engine.session.store;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Storage for live games behind {@link com.example.tictactoe.engine.session.GameSessionService}.
+ * Implementations may evict games; callers that lock a game re-check {@link #isCurrent(Game)}
+ * before mutating it.
+ */
+public interface GameStore {
+
+    /**
+     * Get a game by its ID.
+     *
+     * @param gameId the game identifier
+     * @return the game, or null if it is not stored
+     */
+    Game get(GameId gameId);
+
+    /**
+     * Get a game, creating and storing it atomically if it is missing.
+     *
+     * @param gameId the game identifier
+     * @param factory creates the game when it is missing
+     * @return the stored game
+     */
+    Game computeIfAbsent(GameId gameId, Function<GameId, Game> factory);
+
+    /**
+     * Atomically replace the game stored under an ID.
+     *
+     * @param gameId the game identifier
+     * @param remapping receives the ID and the current game (or null) and returns the game to store
+     * @return the stored game
+     */
+    Game compute(GameId gameId, BiFunction<GameId, Game, Game> remapping);
+
+    /**
+     * Store a game under its own ID, replacing any previous one.
+     *
+     * @param game the game to store
+     */
+    void put(Game game);
+
+    /**
+     * Remove this exact instance, if it is still the one stored under its ID.
+     *
+     * @param game the game to remove
+     * @return true if it was removed
+     */
+    boolean remove(Game game);
+
+    /**
+     * Checks whether this exact instance is still the one stored under its ID.
+     * Does not count as an access for statistics or eviction.
+     */
+    boolean isCurrent(Game game);
+
+    /**
+     * Tell the store that a game's state changed in place, e.g. that it finished,
+     * so expiry can be re-evaluated. Called while holding the game's monitor.
+     */
+    void touch(Game game);
+
+    /**
+     * Visits every stored game. Weakly consistent: games stored or evicted during the
+     * traversal may or may not be visited. The caller locks each game it reads.
+     */
+    void forEach(Consumer<Game> action);
+
+    /**
+     * Returns the number of stored games; may be an estimate.
+     */
+    long size();
+}
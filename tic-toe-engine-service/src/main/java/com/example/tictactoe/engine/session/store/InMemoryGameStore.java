@@ -0,0 +1,67 @@
+package com.example.tictactoe.engine.session.store;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.ConcurrentIdMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Unbounded store on a {@link ConcurrentIdMap}, keyed by the two longs of the game id.
+ * Games are never evicted. Selected with {@code engine.store.type=in-memory}.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.store.type", havingValue = "in-memory")
+public class InMemoryGameStore implements GameStore {
+
+    private final ConcurrentIdMap<Game> games = new ConcurrentIdMap<>();
+
+    @Override
+    public Game get(GameId gameId) {
+        return games.get(gameId);
+    }
+
+    @Override
+    public Game computeIfAbsent(GameId gameId, Function<GameId, Game> factory) {
+        return games.computeIfAbsent(gameId, factory);
+    }
+
+    @Override
+    public Game compute(GameId gameId, BiFunction<GameId, Game, Game> remapping) {
+        return games.compute(gameId, remapping);
+    }
+
+    @Override
+    public void put(Game game) {
+        games.put(game.getId(), game);
+    }
+
+    @Override
+    public boolean remove(Game game) {
+        return games.remove(game.getId(), game);
+    }
+
+    @Override
+    public boolean isCurrent(Game game) {
+        return games.get(game.getId()) == game;
+    }
+
+    @Override
+    public void touch(Game game) {
+        // Nothing expires
+    }
+
+    @Override
+    public void forEach(Consumer<Game> action) {
+        games.forEachValue(action);
+    }
+
+    @Override
+    public long size() {
+        return games.size();
+    }
+}
@@ -0,0 +1,480 @@
+package com.example.tictactoe.engine.session.store;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.ConcurrentIdMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Two-tier store: recently used games stay on the heap, games idle past the idle timeout are
+ * hibernated to a local segment file and loaded back transparently on their next access.
+ * <p>
+ * A hibernated game costs one entry of a {@link ConcurrentIdMap} holding its record's location on
+ * the heap; its state, as encoded by {@link GameCodec}, lives in the segment file. A sweep every sweep interval
+ * writes idle games under their monitor and swaps them for their index entry, so a move waiting
+ * on the monitor finds its instance no longer current and retries against the reloaded game.
+ * Loading runs while the game's hot-tier segment is locked, so concurrent accesses load a game
+ * once. The segment file is append-only and rewritten by the sweep once most of it is dead.
+ * It is a spill area rather than a durable copy: it is discarded on startup, and games survive
+ * restarts through the journal. Load latency is published as the {@code engine.store.rehydration}
+ * timer. Selected with {@code engine.store.type=tiered}.
+ */
+@Component
+@ConditionalOnProperty(name = "engine.store.type", havingValue = "tiered")
+public class TieredGameStore implements GameStore, SmartInitializingSingleton, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(TieredGameStore.class);
+    private static final String FILE_SUFFIX = ".cold";
+    private static final int LENGTH_BITS = 24;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+    private static final long MIN_COMPACTION_BYTES = 16L << 20;
+
+    private final ConcurrentIdMap<Entry> hot = new ConcurrentIdMap<>();
+    private final ConcurrentIdMap<Long> cold = new ConcurrentIdMap<>();
+    private final Path directory;
+    private final long idleNanos;
+    private final Duration sweepInterval;
+    private final Timer rehydration;
+    private final Counter hibernations;
+    // Held by sweeps and traversals, so no game moves between tiers while forEach runs
+    private final ReentrantLock tieringLock = new ReentrantLock();
+    // Readers of the segment file share it; compaction swaps the file under the write lock
+    private final ReentrantReadWriteLock fileLock = new ReentrantReadWriteLock();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final ByteBuffer buffer = ByteBuffer.allocate(GameCodec.MAX_BYTES);
+
+    // Written by the sweep only, which is the single appender
+    private volatile FileChannel channel;
+    private Path file;
+    private long generation;
+    private volatile long end;
+    private ScheduledExecutorService sweeper;
+
+    public TieredGameStore(Path directory, Duration idleTimeout, Duration sweepInterval, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.idleNanos = idleTimeout.toNanos();
+        this.sweepInterval = sweepInterval;
+        this.rehydration = Timer.builder("engine.store.rehydration")
+                .description("Time to load a hibernated game back from disk")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.hibernations = Counter.builder("engine.store.hibernations")
+                .description("Idle games moved to disk")
+                .register(meterRegistry);
+        Gauge.builder("engine.store.games", hot, ConcurrentIdMap::size)
+                .description("Games held by the store")
+                .tag("tier", "memory")
+                .register(meterRegistry);
+        Gauge.builder("engine.store.games", cold, ConcurrentIdMap::size)
+                .description("Games held by the store")
+                .tag("tier", "disk")
+                .register(meterRegistry);
+        Gauge.builder("engine.store.disk.bytes", this, store -> store.end)
+                .description("Size of the segment file holding hibernated games")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+                for (Path path : stale) {
+                    Files.delete(path);
+                }
+            }
+            this.file = segmentPath(0);
+            this.channel = open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the game store segment in " + directory, e);
+        }
+    }
+
+    @Autowired
+    public TieredGameStore(@Value("${engine.store.tiered.dir:data/cold-store}") String directory,
+                           @Value("${engine.store.tiered.idle-timeout:5m}") Duration idleTimeout,
+                           @Value("${engine.store.tiered.sweep-interval:30s}") Duration sweepInterval,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this(Paths.get(directory), idleTimeout, sweepInterval, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Override
+    public Game get(GameId gameId) {
+        Entry entry = hot.get(gameId);
+        if (entry == null) {
+            entry = hot.compute(gameId, (key, current) -> current != null ? current : rehydrate(key));
+            if (entry == null) {
+                return null;
+            }
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.game;
+    }
+
+    @Override
+    public Game computeIfAbsent(GameId gameId, Function<GameId, Game> factory) {
+        Entry entry = hot.get(gameId);
+        if (entry == null) {
+            entry = hot.compute(gameId, (key, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                Entry rehydrated = rehydrate(key);
+                return rehydrated != null ? rehydrated : new Entry(factory.apply(key));
+            });
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.game;
+    }
+
+    @Override
+    public Game compute(GameId gameId, BiFunction<GameId, Game, Game> remapping) {
+        Entry entry = hot.compute(gameId, (key, current) -> {
+            Entry previous = current != null ? current : load(key);
+            Game game = previous != null ? previous.game : null;
+            Game next = remapping.apply(key, game);
+            if (current == null && previous != null) {
+                // Only dropped from the index once the remapping succeeded
+                forget(key);
+            }
+            if (next == null) {
+                return null;
+            }
+            return next == game ? previous : new Entry(next);
+        });
+        return entry != null ? entry.game : null;
+    }
+
+    @Override
+    public void put(Game game) {
+        hot.compute(game.getId(), (key, current) -> {
+            forget(key);
+            return new Entry(game);
+        });
+    }
+
+    @Override
+    public boolean remove(Game game) {
+        Entry entry = hot.get(game.getId());
+        return entry != null && entry.game == game && hot.remove(game.getId(), entry);
+    }
+
+    @Override
+    public boolean isCurrent(Game game) {
+        Entry entry = hot.get(game.getId());
+        return entry != null && entry.game == game;
+    }
+
+    @Override
+    public void touch(Game game) {
+        Entry entry = hot.get(game.getId());
+        if (entry != null && entry.game == game) {
+            entry.lastAccess = System.nanoTime();
+        }
+    }
+
+    /**
+     * Visits hibernated games first, as detached copies read from disk, then the games in memory.
+     * No game is hibernated during the traversal; one loaded meanwhile may be visited twice,
+     * its newer state last.
+     */
+    @Override
+    public void forEach(Consumer<Game> action) {
+        tieringLock.lock();
+        try {
+            cold.forEachValue(location -> {
+                Game game = read(location);
+                if (game != null) {
+                    action.accept(game);
+                }
+            });
+            hot.forEachValue(entry -> action.accept(entry.game));
+        } finally {
+            tieringLock.unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        return hot.size() + cold.size();
+    }
+
+    /**
+     * Returns the number of games currently hibernated on disk.
+     */
+    public int hibernatedCount() {
+        return cold.size();
+    }
+
+    /**
+     * Moves every game idle past the idle timeout to disk, then compacts the segment file if
+     * most of it is dead. Returns the number of games hibernated.
+     */
+    int sweep() throws IOException {
+        tieringLock.lock();
+        try {
+            long now = System.nanoTime();
+            int[] hibernated = new int[1];
+            IOException[] failure = new IOException[1];
+            hot.forEachValue(entry -> {
+                if (failure[0] == null && now - entry.lastAccess >= idleNanos) {
+                    try {
+                        if (hibernate(entry)) {
+                            hibernated[0]++;
+                        }
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            long dead = end - liveBytes.get();
+            if (dead > MIN_COMPACTION_BYTES && dead > liveBytes.get()) {
+                compact();
+            }
+            return hibernated[0];
+        } finally {
+            tieringLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the segment file with only the records of hibernated games.
+     */
+    void compact() throws IOException {
+        tieringLock.lock();
+        fileLock.writeLock().lock();
+        try {
+            Path target = segmentPath(generation + 1);
+            FileChannel compacted = open(target);
+            long[] position = new long[1];
+            IOException[] failure = new IOException[1];
+            cold.forEach((gameId, location) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                int length = (int) (location & LENGTH_MASK);
+                try {
+                    ByteBuffer record = readFully(channel, location >>> LENGTH_BITS, length);
+                    writeFully(compacted, record, position[0]);
+                } catch (IOException e) {
+                    failure[0] = e;
+                    return;
+                }
+                long moved = locationOf(position[0], length);
+                boolean[] replaced = new boolean[1];
+                // A game loaded meanwhile keeps its index entry dropped
+                cold.compute(gameId, (key, current) -> {
+                    if (current == null || current.longValue() != location.longValue()) {
+                        return current;
+                    }
+                    replaced[0] = true;
+                    return moved;
+                });
+                if (replaced[0]) {
+                    position[0] += length;
+                }
+            });
+            if (failure[0] != null) {
+                compacted.close();
+                Files.deleteIfExists(target);
+                throw failure[0];
+            }
+            channel.close();
+            Files.deleteIfExists(file);
+            channel = compacted;
+            file = target;
+            generation++;
+            end = position[0];
+        } finally {
+            fileLock.writeLock().unlock();
+            tieringLock.unlock();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "game-store-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::scheduledSweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws IOException, InterruptedException {
+        if (sweeper != null) {
+            sweeper.shutdown();
+            sweeper.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private void scheduledSweep() {
+        try {
+            int hibernated = sweep();
+            if (hibernated > 0) {
+                log.debug("Hibernated {} idle games, {} on disk", hibernated, cold.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Games that could not be written stay in memory; the next sweep retries
+            log.warn("Could not hibernate idle games to {}", directory, e);
+        }
+    }
+
+    /**
+     * Writes one idle game to the segment file and swaps its hot entry for an index entry.
+     * Runs on the sweep only.
+     */
+    private boolean hibernate(Entry entry) throws IOException {
+        Game game = entry.game;
+        synchronized (game) {
+            if (System.nanoTime() - entry.lastAccess < idleNanos || hot.get(game.getId()) != entry) {
+                return false;
+            }
+            buffer.clear();
+            GameCodec.writeId(buffer, game.getId());
+            GameCodec.writeState(buffer, game);
+            buffer.flip();
+            int length = buffer.remaining();
+            long location = locationOf(end, length);
+            writeFully(channel, buffer, end);
+            end += length;
+            boolean[] moved = new boolean[1];
+            hot.compute(game.getId(), (key, current) -> {
+                if (current != entry) {
+                    return current;
+                }
+                cold.put(key, location);
+                liveBytes.addAndGet(length);
+                moved[0] = true;
+                return null;
+            });
+            if (moved[0]) {
+                hibernations.increment();
+            }
+            return moved[0];
+        }
+    }
+
+    /**
+     * Loads a hibernated game and drops it from the index. Called while the id's hot segment is locked.
+     */
+    private Entry rehydrate(GameId gameId) {
+        Entry entry = load(gameId);
+        if (entry != null) {
+            forget(gameId);
+        }
+        return entry;
+    }
+
+    private Entry load(GameId gameId) {
+        long start = System.nanoTime();
+        Game game;
+        fileLock.readLock().lock();
+        try {
+            Long location = cold.get(gameId);
+            if (location == null) {
+                return null;
+            }
+            game = read(location);
+        } finally {
+            fileLock.readLock().unlock();
+        }
+        rehydration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new Entry(game);
+    }
+
+    private void forget(GameId gameId) {
+        Long location = cold.remove(gameId);
+        if (location != null) {
+            liveBytes.addAndGet(-(location & LENGTH_MASK));
+        }
+    }
+
+    private Game read(long location) {
+        try {
+            ByteBuffer record = readFully(channel, location >>> LENGTH_BITS, (int) (location & LENGTH_MASK));
+            return GameCodec.readState(record, GameCodec.readId(record));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read a hibernated game from " + file, e);
+        }
+    }
+
+    private Path segmentPath(long generation) {
+        return directory.resolve("games-" + generation + FILE_SUFFIX);
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static long locationOf(long offset, int length) {
+        return offset << LENGTH_BITS | length;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(length);
+        while (record.hasRemaining()) {
+            if (channel.read(record, position + record.position()) < 0) {
+                throw new IOException("Hibernated game record is truncated");
+            }
+        }
+        return record.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer record, long position) throws IOException {
+        int start = record.position();
+        while (record.hasRemaining()) {
+            channel.write(record, position + record.position() - start);
+        }
+    }
+
+    /**
+     * A game in memory and when it was last accessed.
+     */
+    private static final class Entry {
+        final Game game;
+        volatile long lastAccess;
+
+        Entry(Game game) {
+            this.game = game;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+}
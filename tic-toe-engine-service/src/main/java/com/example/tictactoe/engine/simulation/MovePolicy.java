@@ -0,0 +1,20 @@
+package com.example.tictactoe.engine.simulation;
+
+/**
+ * How the engine picks moves when it plays a game by itself.
+ */
+public enum MovePolicy {
+    /**
+     * Uniformly random empty cell.
+     */
+    RANDOM,
+    /**
+     * Random choice among the perfect-play moves from the outcome table on 3x3 boards;
+     * larger boards fall back to {@link #SEARCH}.
+     */
+    OPTIMAL,
+    /**
+     * Best move from the parallel search with the simulation's per-move budget.
+     */
+    SEARCH
+}
@@ -0,0 +1,130 @@
+package com.example.tictactoe.engine.simulation;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.util.Bitboard;
+import com.example.tictactoe.engine.api.dto.SimulatedMove;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.solver.OutcomeTable;
+import com.example.tictactoe.engine.solver.ParallelSearchEngine;
+import com.example.tictactoe.engine.solver.SearchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Plays a game to completion inside the engine.
+ * Every move goes through {@link GameSessionService#processMove}, so a simulated game is
+ * validated and stored exactly like one played over the API, without a network round trip per move.
+ */
+@Service
+public class SimulationService {
+
+    private final GameSessionService gameSessionService;
+    private final OutcomeTable outcomeTable;
+    private final ParallelSearchEngine parallelSearchEngine;
+    private final long searchTimeLimitMillis;
+
+    public SimulationService(GameSessionService gameSessionService,
+                             OutcomeTable outcomeTable,
+                             ParallelSearchEngine parallelSearchEngine,
+                             @Value("${engine.simulation.search-time-limit-ms:50}") long searchTimeLimitMillis) {
+        this.gameSessionService = gameSessionService;
+        this.outcomeTable = outcomeTable;
+        this.parallelSearchEngine = parallelSearchEngine;
+        this.searchTimeLimitMillis = searchTimeLimitMillis;
+    }
+
+    /**
+     * Play the game until it is finished.
+     *
+     * @param gameId the game identifier; a missing game is created
+     * @param policy how moves are chosen
+     * @param listener called after every applied move, e.g. to stream it
+     * @return the moves played, in order
+     */
+    public List<SimulatedMove> simulate(GameId gameId, MovePolicy policy, Consumer<SimulatedMove> listener) {
+        Game game = gameSessionService.getOrCreateGameSession(gameId);
+
+        List<SimulatedMove> moves = new ArrayList<>();
+        int retriesLeft = game.getSize() * game.getSize();
+        while (game.getStatus() == Game.GameStatus.IN_PROGRESS) {
+            int[] move = chooseMove(game, policy);
+            if (move == null) {
+                break;
+            }
+            char player = game.getCurrentPlayer();
+            GameResult result = gameSessionService.processMove(gameId, move[0], move[1], player);
+            game = result.getGame();
+            if (!result.isValid()) {
+                // Another writer moved in between; pick again from the new position
+                if (--retriesLeft < 0) {
+                    break;
+                }
+                continue;
+            }
+            SimulatedMove simulated = new SimulatedMove(game.getMoveCount(), String.valueOf(player),
+                    move[0], move[1], game.getStatus().name());
+            moves.add(simulated);
+            listener.accept(simulated);
+        }
+        return moves;
+    }
+
+    public List<SimulatedMove> simulate(GameId gameId, MovePolicy policy) {
+        return simulate(gameId, policy, move -> {
+        });
+    }
+
+    private int[] chooseMove(Game game, MovePolicy policy) {
+        if (game.isBoardFull()) {
+            return null;
+        }
+        if (policy == MovePolicy.OPTIMAL && game.isClassic()) {
+            int optimal = outcomeTable.optimalMoves((int) game.getXMask(), (int) game.getOMask());
+            if (optimal != 0) {
+                int cell = pickRandomBit(optimal);
+                return new int[]{cell / Bitboard.SIZE, cell % Bitboard.SIZE};
+            }
+        }
+        if (policy != MovePolicy.RANDOM) {
+            SearchResult result = parallelSearchEngine.search(game, searchTimeLimitMillis,
+                    parallelSearchEngine.getDefaultNodeLimit());
+            if (result != null) {
+                return new int[]{result.getRow(), result.getColumn()};
+            }
+        }
+        return randomEmptyCell(game);
+    }
+
+    private int[] randomEmptyCell(Game game) {
+        int size = game.getSize();
+        int cells = size * size;
+        int emptyCount = cells - game.getMoveCount();
+        if (emptyCount <= 0) {
+            return null;
+        }
+        int target = ThreadLocalRandom.current().nextInt(emptyCount);
+        for (int index = 0; index < cells; index++) {
+            int row = index / size;
+            int col = index % size;
+            if (game.isCellEmpty(row, col) && target-- == 0) {
+                return new int[]{row, col};
+            }
+        }
+        return null;
+    }
+
+    private static int pickRandomBit(int mask) {
+        int target = ThreadLocalRandom.current().nextInt(Integer.bitCount(mask));
+        for (int i = 0; i < target; i++) {
+            mask &= mask - 1;
+        }
+        return Integer.numberOfTrailingZeros(mask);
+    }
+}
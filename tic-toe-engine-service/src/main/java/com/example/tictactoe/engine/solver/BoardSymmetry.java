@@ -0,0 +1,74 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.util.Bitboard;
+
+/**
+ * The eight symmetries of the 3x3 board (four rotations, each optionally mirrored).
+ * Every symmetry is precomputed as a 512-entry lookup table from mask to transformed mask,
+ * so canonicalizing a position costs sixteen array reads.
+ */
+public final class BoardSymmetry {
+    private BoardSymmetry() {
+    }
+
+    public static final int COUNT = 8;
+
+    private static final int[][] TRANSFORMS = new int[COUNT][1 << Bitboard.CELLS];
+
+    static {
+        for (int symmetry = 0; symmetry < COUNT; symmetry++) {
+            for (int mask = 0; mask <= Bitboard.FULL_MASK; mask++) {
+                TRANSFORMS[symmetry][mask] = transformSlow(symmetry, mask);
+            }
+        }
+    }
+
+    /**
+     * Applies one of the eight symmetries to a player mask.
+     */
+    public static int transform(int symmetry, int mask) {
+        return TRANSFORMS[symmetry][mask];
+    }
+
+    /**
+     * Returns the smallest key of the position over all eight symmetries.
+     * The key packs the side-to-move mask in the low 9 bits and the opponent mask in the next 9.
+     *
+     * @param mover the cells of the player to move
+     * @param opponent the cells of the other player
+     * @return an 18-bit canonical key
+     */
+    public static int canonicalKey(int mover, int opponent) {
+        int best = Integer.MAX_VALUE;
+        for (int[] transform : TRANSFORMS) {
+            int key = transform[mover] | (transform[opponent] << Bitboard.CELLS);
+            if (key < best) {
+                best = key;
+            }
+        }
+        return best;
+    }
+
+    private static int transformSlow(int symmetry, int mask) {
+        int result = 0;
+        for (int row = 0; row < Bitboard.SIZE; row++) {
+            for (int col = 0; col < Bitboard.SIZE; col++) {
+                if ((mask & Bitboard.cellBit(row, col)) == 0) {
+                    continue;
+                }
+                int r = row;
+                int c = col;
+                for (int turn = 0; turn < (symmetry & 3); turn++) {
+                    int rotated = c;
+                    c = Bitboard.SIZE - 1 - r;
+                    r = rotated;
+                }
+                if (symmetry >= 4) {
+                    c = Bitboard.SIZE - 1 - c;
+                }
+                result |= Bitboard.cellBit(r, c);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.util.Bitboard;
+import com.example.tictactoe.core.util.TicToeConstants;
+import org.springframework.stereotype.Service;
+
+/**
+ * Perfect-play solver for the classic 3x3 board.
+ * Runs negamax with alpha-beta pruning over bitboards and memoizes positions in a shared
+ * {@link TranspositionTable} keyed by the canonical form under the eight board symmetries.
+ * Scores prefer faster wins and slower losses: a win is worth one more than the number of
+ * empty cells left after it.
+ */
+@Service
+public class GameSolver {
+
+    private static final int INFINITY = Bitboard.CELLS + 2;
+
+    private final TranspositionTable table = new TranspositionTable();
+
+    /**
+     * Finds the best move for the player to move in the given game.
+     *
+     * @param game a classic 3x3 game that is still in progress
+     * @return the best move, or null if the board has no empty cell
+     */
+    public SolverResult bestMove(Game game) {
+        if (!game.isClassic()) {
+            throw new IllegalArgumentException("Solver supports only the classic 3x3 board");
+        }
+        int moverMask;
+        int opponentMask;
+        synchronized (game) {
+            char mover = game.getCurrentPlayer();
+            char opponent = mover == TicToeConstants.PLAYER_X ? TicToeConstants.PLAYER_O : TicToeConstants.PLAYER_X;
+            moverMask = (int) game.getPlayerMask(mover);
+            opponentMask = (int) game.getPlayerMask(opponent);
+        }
+        return bestMove(moverMask, opponentMask);
+    }
+
+    /**
+     * Finds the best move for the side owning {@code mover}.
+     * Every child is searched with a full window, so the returned score is exact.
+     */
+    public SolverResult bestMove(int mover, int opponent) {
+        int empty = ~(mover | opponent) & Bitboard.FULL_MASK;
+        int bestCell = -1;
+        int bestScore = -INFINITY;
+        while (empty != 0) {
+            int bit = empty & -empty;
+            empty ^= bit;
+            int score = -negamax(opponent, mover | bit, -INFINITY, INFINITY);
+            if (score > bestScore) {
+                bestScore = score;
+                bestCell = Integer.numberOfTrailingZeros(bit);
+            }
+        }
+        if (bestCell < 0) {
+            return null;
+        }
+        return new SolverResult(bestCell / Bitboard.SIZE, bestCell % Bitboard.SIZE, bestScore);
+    }
+
+    /**
+     * Returns the game-theoretic score of the position for the side to move.
+     */
+    public int evaluate(int mover, int opponent) {
+        return negamax(mover, opponent, -INFINITY, INFINITY);
+    }
+
+    private int negamax(int mover, int opponent, int alpha, int beta) {
+        int occupied = mover | opponent;
+        int emptyCount = Bitboard.CELLS - Integer.bitCount(occupied);
+        if (Bitboard.hasWin(opponent)) {
+            return -(emptyCount + 1);
+        }
+        if (emptyCount == 0) {
+            return 0;
+        }
+
+        int originalAlpha = alpha;
+        int key = BoardSymmetry.canonicalKey(mover, opponent);
+        int entry = table.probe(key);
+        if (entry != 0) {
+            int cached = TranspositionTable.score(entry);
+            switch (TranspositionTable.bound(entry)) {
+                case TranspositionTable.EXACT:
+                    return cached;
+                case TranspositionTable.LOWER_BOUND:
+                    alpha = Math.max(alpha, cached);
+                    break;
+                default:
+                    beta = Math.min(beta, cached);
+                    break;
+            }
+            if (alpha >= beta) {
+                return cached;
+            }
+        }
+
+        int best = -INFINITY;
+        int empty = ~occupied & Bitboard.FULL_MASK;
+        while (empty != 0) {
+            int bit = empty & -empty;
+            empty ^= bit;
+            int score = -negamax(opponent, mover | bit, -beta, -alpha);
+            if (score > best) {
+                best = score;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound;
+        if (best <= originalAlpha) {
+            bound = TranspositionTable.UPPER_BOUND;
+        } else if (best >= beta) {
+            bound = TranspositionTable.LOWER_BOUND;
+        } else {
+            bound = TranspositionTable.EXACT;
+        }
+        table.store(key, bound, best);
+        return best;
+    }
+
+    public long getCacheHits() {
+        return table.getHits();
+    }
+
+    public long getCacheMisses() {
+        return table.getMisses();
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.util.Bitboard;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Complete outcome table for the classic 3x3 board, built once at startup.
+ * Every reachable position is indexed by its base-3 encoding (X = 1, O = 2 per cell) and maps
+ * to its perfect-play score, the set of optimal moves and the set of outcomes still reachable
+ * by any line of play. Lookups are O(1) array reads, so best moves and outcome predictions
+ * cost no search once the table is built.
+ */
+@Component
+public class OutcomeTable {
+
+    private static final int POSITIONS = 19683;
+    private static final byte UNREACHABLE = Byte.MIN_VALUE;
+
+    private static final int OUTCOME_X_WINS = 1;
+    private static final int OUTCOME_O_WINS = 2;
+    private static final int OUTCOME_DRAW = 4;
+
+    private static final int[] TERNARY = new int[1 << Bitboard.CELLS];
+
+    static {
+        for (int mask = 0; mask <= Bitboard.FULL_MASK; mask++) {
+            int value = 0;
+            int power = 1;
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                if ((mask & (1 << cell)) != 0) {
+                    value += power;
+                }
+                power *= 3;
+            }
+            TERNARY[mask] = value;
+        }
+    }
+
+    private final byte[] scores = new byte[POSITIONS];
+    private final short[] optimalMoves = new short[POSITIONS];
+    private final byte[] reachableOutcomes = new byte[POSITIONS];
+    private int positionCount;
+
+    public OutcomeTable(GameSolver solver) {
+        Arrays.fill(scores, UNREACHABLE);
+        build(solver, 0, 0);
+    }
+
+    private int build(GameSolver solver, int x, int o) {
+        int index = index(x, o);
+        if (scores[index] != UNREACHABLE) {
+            return reachableOutcomes[index];
+        }
+        positionCount++;
+
+        boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+        int mover = xToMove ? x : o;
+        int opponent = xToMove ? o : x;
+        int score = solver.evaluate(mover, opponent);
+        int outcomes;
+        int moves = 0;
+        if (Bitboard.hasWin(x)) {
+            outcomes = OUTCOME_X_WINS;
+        } else if (Bitboard.hasWin(o)) {
+            outcomes = OUTCOME_O_WINS;
+        } else if ((x | o) == Bitboard.FULL_MASK) {
+            outcomes = OUTCOME_DRAW;
+        } else {
+            outcomes = 0;
+            int empty = ~(x | o) & Bitboard.FULL_MASK;
+            while (empty != 0) {
+                int bit = empty & -empty;
+                empty ^= bit;
+                outcomes |= xToMove ? build(solver, x | bit, o) : build(solver, x, o | bit);
+                if (-solver.evaluate(opponent, mover | bit) == score) {
+                    moves |= bit;
+                }
+            }
+        }
+
+        scores[index] = (byte) score;
+        optimalMoves[index] = (short) moves;
+        reachableOutcomes[index] = (byte) outcomes;
+        return outcomes;
+    }
+
+    private static int index(int x, int o) {
+        return TERNARY[x] + 2 * TERNARY[o];
+    }
+
+    /**
+     * Returns the number of reachable positions in the table.
+     */
+    public int getPositionCount() {
+        return positionCount;
+    }
+
+    /**
+     * Checks whether the position can arise in a legal game.
+     */
+    public boolean contains(int x, int o) {
+        return (x & o) == 0 && scores[index(x, o)] != UNREACHABLE;
+    }
+
+    /**
+     * Returns the perfect-play score for the side to move: positive wins, zero draws, negative loses.
+     */
+    public int score(int x, int o) {
+        return scores[index(x, o)];
+    }
+
+    /**
+     * Returns a mask of every move that keeps the perfect-play score.
+     */
+    public int optimalMoves(int x, int o) {
+        return optimalMoves[index(x, o)];
+    }
+
+    /**
+     * Predicts the final status of the game when both sides play perfectly.
+     *
+     * @return the predicted status, or null if the position is unreachable
+     */
+    public Game.GameStatus predictOutcome(int x, int o) {
+        if (!contains(x, o)) {
+            return null;
+        }
+        int score = score(x, o);
+        if (score == 0) {
+            return Game.GameStatus.DRAW;
+        }
+        boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+        return (score > 0) == xToMove ? Game.GameStatus.X_WINS : Game.GameStatus.O_WINS;
+    }
+
+    /**
+     * Returns the outcome if every possible continuation ends the same way, regardless of
+     * how well either side plays. A position with no line left for either player is a decided draw.
+     *
+     * @return the decided status, or null if more than one outcome is still reachable
+     */
+    public Game.GameStatus decidedOutcome(int x, int o) {
+        if (!contains(x, o)) {
+            return null;
+        }
+        switch (reachableOutcomes[index(x, o)]) {
+            case OUTCOME_X_WINS:
+                return Game.GameStatus.X_WINS;
+            case OUTCOME_O_WINS:
+                return Game.GameStatus.O_WINS;
+            case OUTCOME_DRAW:
+                return Game.GameStatus.DRAW;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the first optimal move for the side to move.
+     *
+     * @return the best move, or null if the position is unreachable or terminal
+     */
+    public SolverResult bestMove(int x, int o) {
+        if (!contains(x, o)) {
+            return null;
+        }
+        int moves = optimalMoves(x, o);
+        if (moves == 0) {
+            return null;
+        }
+        int cell = Integer.numberOfTrailingZeros(moves);
+        return new SolverResult(cell / Bitboard.SIZE, cell % Bitboard.SIZE, score(x, o));
+    }
+
+    public SolverResult bestMove(Game game) {
+        int x;
+        int o;
+        synchronized (game) {
+            x = (int) game.getXMask();
+            o = (int) game.getOMask();
+        }
+        return bestMove(x, o);
+    }
+
+    public Game.GameStatus predictOutcome(Game game) {
+        int x;
+        int o;
+        synchronized (game) {
+            x = (int) game.getXMask();
+            o = (int) game.getOMask();
+        }
+        return predictOutcome(x, o);
+    }
+
+    public Game.GameStatus decidedOutcome(Game game) {
+        int x;
+        int o;
+        synchronized (game) {
+            x = (int) game.getXMask();
+            o = (int) game.getOMask();
+        }
+        return decidedOutcome(x, o);
+    }
+}
@@ -0,0 +1,440 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.util.TicToeConstants;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Best-move search for boards larger than 3x3, where perfect play is out of reach.
+ * Runs iterative-deepening negamax with alpha-beta pruning under a time and node budget.
+ * At every iteration the first (principal) root move is searched alone to establish a bound,
+ * then the remaining root moves are searched in parallel on a {@link ForkJoinPool}
+ * ("young brothers wait"). All threads share one lockless transposition table, so work done
+ * by one thread orders and cuts the search of the others.
+ * <p>
+ * Scores of forced wins and losses count plies from the root. The table outlives a search and
+ * is probed at any ply, so it keeps them counted from the node they were stored at instead.
+ */
+@Service
+public class ParallelSearchEngine {
+
+    static final int WIN_SCORE = 100_000_000;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int MAX_PLY = TicToeConstants.MAX_BOARD_SIZE * TicToeConstants.MAX_BOARD_SIZE;
+    private static final int MATE_THRESHOLD = WIN_SCORE - MAX_PLY;
+    private static final int NODE_CHECK_INTERVAL = 1024;
+
+    private final ForkJoinPool pool;
+    private final SharedTranspositionTable table;
+    private final long defaultTimeLimitMillis;
+    private final long defaultNodeLimit;
+    private final long maxTimeLimitMillis;
+    private final long maxNodeLimit;
+
+    /**
+     * An engine whose requested budgets are not capped, for tests and tools.
+     */
+    public ParallelSearchEngine(int parallelism, int tableSizeBits, long defaultTimeLimitMillis, long defaultNodeLimit) {
+        this(parallelism, tableSizeBits, defaultTimeLimitMillis, defaultNodeLimit, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    @Autowired
+    public ParallelSearchEngine(@Value("${engine.search.parallelism:0}") int parallelism,
+                                @Value("${engine.search.table-size-bits:20}") int tableSizeBits,
+                                @Value("${engine.search.time-limit-ms:200}") long defaultTimeLimitMillis,
+                                @Value("${engine.search.node-limit:10000000}") long defaultNodeLimit,
+                                @Value("${engine.search.max-time-limit-ms:2000}") long maxTimeLimitMillis,
+                                @Value("${engine.search.max-node-limit:100000000}") long maxNodeLimit) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+        this.table = new SharedTranspositionTable(tableSizeBits);
+        this.defaultTimeLimitMillis = defaultTimeLimitMillis;
+        this.defaultNodeLimit = defaultNodeLimit;
+        this.maxTimeLimitMillis = maxTimeLimitMillis;
+        this.maxNodeLimit = maxNodeLimit;
+    }
+
+    /**
+     * Searches with the configured default budget.
+     */
+    public SearchResult search(Game game) {
+        return search(game, defaultTimeLimitMillis, defaultNodeLimit);
+    }
+
+    /**
+     * Finds the best move for the player to move within the given budget.
+     *
+     * @param game the game to search; it is copied, so it can keep changing concurrently
+     * @param timeLimitMillis wall-clock budget for the whole search
+     * @param nodeLimit maximum number of nodes across all threads
+     * @return the best move of the deepest completed iteration, or null if the board is full
+     */
+    public SearchResult search(Game game, long timeLimitMillis, long nodeLimit) {
+        long start = System.nanoTime();
+        SearchBoard board;
+        byte player;
+        synchronized (game) {
+            board = SearchBoard.from(game);
+            player = game.getCurrentPlayer() == TicToeConstants.PLAYER_X ? SearchBoard.X : SearchBoard.O;
+        }
+        if (board.isFull()) {
+            return null;
+        }
+        SearchContext context = new SearchContext(start, TimeUnit.MILLISECONDS.toNanos(timeLimitMillis), nodeLimit);
+
+        int[] rootMoves = new int[board.cellCount];
+        int rootCount = board.generateMoves(rootMoves, new int[board.cellCount], -1);
+        int bestMove = rootMoves[0];
+        int bestScore = 0;
+        int completedDepth = 0;
+        int maxDepth = board.cellCount - board.stoneCount();
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            RootOutcome outcome = pool.invoke(new RootSearchTask(board, player, depth, rootMoves, rootCount, context));
+            if (context.stopped) {
+                break;
+            }
+            bestMove = outcome.move;
+            bestScore = outcome.score;
+            completedDepth = depth;
+            moveToFront(rootMoves, rootCount, bestMove);
+            if (isMate(bestScore)) {
+                break;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        return new SearchResult(bestMove / board.size, bestMove % board.size, bestScore, completedDepth,
+                context.nodes.get(), elapsed, pool.getParallelism(), isMate(bestScore));
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public long getDefaultTimeLimitMillis() {
+        return defaultTimeLimitMillis;
+    }
+
+    public long getDefaultNodeLimit() {
+        return defaultNodeLimit;
+    }
+
+    /**
+     * Resolves a requested time budget: null is the default, and a larger budget than
+     * {@code engine.search.max-time-limit-ms} is cut to it.
+     *
+     * @throws IllegalArgumentException if the budget is not positive
+     */
+    public long resolveTimeLimitMillis(Long requested) {
+        return resolve(requested, defaultTimeLimitMillis, maxTimeLimitMillis, "timeLimitMs");
+    }
+
+    /**
+     * Resolves a requested node budget like {@link #resolveTimeLimitMillis}, capped at
+     * {@code engine.search.max-node-limit}.
+     *
+     * @throws IllegalArgumentException if the budget is not positive
+     */
+    public long resolveNodeLimit(Long requested) {
+        return resolve(requested, defaultNodeLimit, maxNodeLimit, "nodeLimit");
+    }
+
+    private static long resolve(Long requested, long defaultValue, long maximum, String name) {
+        if (requested == null) {
+            return Math.min(defaultValue, maximum);
+        }
+        if (requested <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return Math.min(requested, maximum);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static boolean isMate(int score) {
+        return Math.abs(score) > MATE_THRESHOLD;
+    }
+
+    /**
+     * Converts a root-relative mate score to one counted from the node at {@code ply}.
+     */
+    private static int toTable(int score, int ply) {
+        if (score > MATE_THRESHOLD) {
+            return score + ply;
+        }
+        return score < -MATE_THRESHOLD ? score - ply : score;
+    }
+
+    /**
+     * Converts a node-relative mate score from the table back to one counted from the root.
+     */
+    private static int fromTable(int score, int ply) {
+        if (score > MATE_THRESHOLD) {
+            return score - ply;
+        }
+        return score < -MATE_THRESHOLD ? score + ply : score;
+    }
+
+    private static void moveToFront(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Budget and counters shared by all tasks of one search.
+     */
+    private static final class SearchContext {
+        final long start;
+        final long budgetNanos;
+        final long nodeLimit;
+        final AtomicLong nodes = new AtomicLong();
+        volatile boolean stopped;
+
+        SearchContext(long start, long budgetNanos, long nodeLimit) {
+            this.start = start;
+            this.budgetNanos = budgetNanos;
+            this.nodeLimit = nodeLimit;
+        }
+
+        void addNodes(long count) {
+            // Elapsed time is compared rather than a deadline, which would overflow for huge budgets
+            if (nodes.addAndGet(count) >= nodeLimit || System.nanoTime() - start >= budgetNanos) {
+                stopped = true;
+            }
+        }
+    }
+
+    private static final class RootOutcome {
+        final int move;
+        final int score;
+
+        RootOutcome(int move, int score) {
+            this.move = move;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Searches one iteration at the root: the eldest move first, then its younger brothers in parallel.
+     */
+    private final class RootSearchTask extends RecursiveTask<RootOutcome> {
+        private final SearchBoard board;
+        private final byte player;
+        private final int depth;
+        private final int[] moves;
+        private final int count;
+        private final SearchContext context;
+
+        RootSearchTask(SearchBoard board, byte player, int depth, int[] moves, int count, SearchContext context) {
+            this.board = board;
+            this.player = player;
+            this.depth = depth;
+            this.moves = moves;
+            this.count = count;
+            this.context = context;
+        }
+
+        @Override
+        protected RootOutcome compute() {
+            Searcher eldest = new Searcher(board.copy(), context);
+            int bestMove = moves[0];
+            int bestScore = eldest.searchMove(moves[0], player, depth, -INFINITY, INFINITY);
+            eldest.flush();
+            if (count == 1 || context.stopped) {
+                return new RootOutcome(bestMove, bestScore);
+            }
+
+            AtomicInteger alpha = new AtomicInteger(bestScore);
+            List<YoungBrotherTask> brothers = new ArrayList<>(count - 1);
+            for (int i = 1; i < count; i++) {
+                brothers.add(new YoungBrotherTask(board, moves[i], player, depth, alpha, context));
+            }
+            ForkJoinTask.invokeAll(brothers);
+
+            for (YoungBrotherTask brother : brothers) {
+                int score = brother.join();
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = brother.move;
+                }
+            }
+            return new RootOutcome(bestMove, bestScore);
+        }
+    }
+
+    private final class YoungBrotherTask extends RecursiveTask<Integer> {
+        private final SearchBoard board;
+        private final int move;
+        private final byte player;
+        private final int depth;
+        private final AtomicInteger alpha;
+        private final SearchContext context;
+
+        YoungBrotherTask(SearchBoard board, int move, byte player, int depth,
+                         AtomicInteger alpha, SearchContext context) {
+            this.board = board;
+            this.move = move;
+            this.player = player;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.context = context;
+        }
+
+        @Override
+        protected Integer compute() {
+            Searcher searcher = new Searcher(board.copy(), context);
+            int currentAlpha = alpha.get();
+            int score = searcher.searchMove(move, player, depth, currentAlpha, INFINITY);
+            searcher.flush();
+            alpha.accumulateAndGet(score, Math::max);
+            // A fail-low result is only an upper bound, which is all the root needs to reject it
+            return score;
+        }
+    }
+
+    /**
+     * Single-threaded negamax worker with its own board copy and move buffers.
+     */
+    private final class Searcher {
+        private final SearchBoard board;
+        private final SearchContext context;
+        private final int[][] moveBuffers;
+        private final int[][] weightBuffers;
+        private int pendingNodes;
+
+        Searcher(SearchBoard board, SearchContext context) {
+            this.board = board;
+            this.context = context;
+            this.moveBuffers = new int[board.cellCount + 1][];
+            this.weightBuffers = new int[board.cellCount + 1][];
+        }
+
+        int searchMove(int move, byte player, int depth, int alpha, int beta) {
+            board.play(move, player);
+            int score;
+            if (board.isWinningMove(move, player)) {
+                score = WIN_SCORE - 1;
+            } else {
+                score = -negamax(SearchBoard.opponent(player), depth - 1, -beta, -alpha, 1);
+            }
+            board.undo(move, player);
+            return score;
+        }
+
+        private int negamax(byte player, int depth, int alpha, int beta, int ply) {
+            if (++pendingNodes >= NODE_CHECK_INTERVAL) {
+                flush();
+            }
+            if (context.stopped) {
+                return 0;
+            }
+            if (board.isFull()) {
+                return 0;
+            }
+            if (depth <= 0) {
+                return board.evaluate(player);
+            }
+
+            int originalAlpha = alpha;
+            long hash = player == SearchBoard.X ? board.hash() : ~board.hash();
+            long entry = table.probe(hash);
+            int preferred = -1;
+            if (entry != 0) {
+                preferred = SharedTranspositionTable.bestMove(entry);
+                if (SharedTranspositionTable.depth(entry) >= depth) {
+                    int cached = fromTable(SharedTranspositionTable.score(entry), ply);
+                    int bound = SharedTranspositionTable.bound(entry);
+                    if (bound == SharedTranspositionTable.EXACT) {
+                        return cached;
+                    }
+                    if (bound == SharedTranspositionTable.LOWER_BOUND) {
+                        alpha = Math.max(alpha, cached);
+                    } else {
+                        beta = Math.min(beta, cached);
+                    }
+                    if (alpha >= beta) {
+                        return cached;
+                    }
+                }
+            }
+
+            int[] moves = buffer(moveBuffers, ply);
+            int count = board.generateMoves(moves, buffer(weightBuffers, ply), preferred);
+            int best = -INFINITY;
+            int bestMove = -1;
+            byte opponent = SearchBoard.opponent(player);
+            for (int i = 0; i < count; i++) {
+                int move = moves[i];
+                board.play(move, player);
+                int score;
+                if (board.isWinningMove(move, player)) {
+                    score = WIN_SCORE - ply - 1;
+                } else {
+                    score = -negamax(opponent, depth - 1, -beta, -alpha, ply + 1);
+                }
+                board.undo(move, player);
+                if (context.stopped) {
+                    return 0;
+                }
+                if (score > best) {
+                    best = score;
+                    bestMove = move;
+                }
+                if (best > alpha) {
+                    alpha = best;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+
+            int bound;
+            if (best <= originalAlpha) {
+                bound = SharedTranspositionTable.UPPER_BOUND;
+            } else if (best >= beta) {
+                bound = SharedTranspositionTable.LOWER_BOUND;
+            } else {
+                bound = SharedTranspositionTable.EXACT;
+            }
+            table.store(hash, Math.min(depth, 0xFF), bound, toTable(best, ply), bestMove);
+            return best;
+        }
+
+        private int[] buffer(int[][] buffers, int ply) {
+            int[] buffer = buffers[ply];
+            if (buffer == null) {
+                buffer = new int[board.cellCount];
+                buffers[ply] = buffer;
+            }
+            return buffer;
+        }
+
+        void flush() {
+            if (pendingNodes > 0) {
+                context.addNodes(pendingNodes);
+                pendingNodes = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.util.TicToeConstants;
+
+import java.util.SplittableRandom;
+
+/**
+ * Mutable, thread-confined board used by {@link ParallelSearchEngine}.
+ * Cells hold 0 (empty), 1 (X) or 2 (O) and the position carries an incrementally
+ * maintained Zobrist hash. Each search task works on its own copy.
+ */
+final class SearchBoard {
+
+    static final byte EMPTY = 0;
+    static final byte X = 1;
+    static final byte O = 2;
+
+    private static final int MAX_CELLS = TicToeConstants.MAX_BOARD_SIZE * TicToeConstants.MAX_BOARD_SIZE;
+    private static final long[][] ZOBRIST = new long[3][MAX_CELLS];
+    private static final long[] SHAPE_KEYS = new long[TicToeConstants.MAX_BOARD_SIZE + 1];
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    private static final int MAX_WINDOW_WEIGHT_SHIFT = 12;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_CAFEL);
+        for (int player = X; player <= O; player++) {
+            for (int cell = 0; cell < MAX_CELLS; cell++) {
+                ZOBRIST[player][cell] = random.nextLong();
+            }
+        }
+        for (int i = 0; i < SHAPE_KEYS.length; i++) {
+            SHAPE_KEYS[i] = random.nextLong();
+        }
+    }
+
+    final int size;
+    final int winLength;
+    final int cellCount;
+    private final byte[] cells;
+    private long hash;
+    private int stoneCount;
+
+    private SearchBoard(int size, int winLength, byte[] cells, long hash, int stoneCount) {
+        this.size = size;
+        this.winLength = winLength;
+        this.cellCount = size * size;
+        this.cells = cells;
+        this.hash = hash;
+        this.stoneCount = stoneCount;
+    }
+
+    static SearchBoard from(Game game) {
+        int size = game.getSize();
+        SearchBoard board = new SearchBoard(size, game.getWinLength(), new byte[size * size],
+                SHAPE_KEYS[size] ^ Long.rotateLeft(SHAPE_KEYS[game.getWinLength()], 17), 0);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                char cell = game.getCell(row, col);
+                if (cell == TicToeConstants.PLAYER_X) {
+                    board.play(row * size + col, X);
+                } else if (cell == TicToeConstants.PLAYER_O) {
+                    board.play(row * size + col, O);
+                }
+            }
+        }
+        return board;
+    }
+
+    SearchBoard copy() {
+        return new SearchBoard(size, winLength, cells.clone(), hash, stoneCount);
+    }
+
+    static byte opponent(byte player) {
+        return player == X ? O : X;
+    }
+
+    long hash() {
+        return hash;
+    }
+
+    boolean isFull() {
+        return stoneCount == cellCount;
+    }
+
+    int stoneCount() {
+        return stoneCount;
+    }
+
+    void play(int index, byte player) {
+        cells[index] = player;
+        hash ^= ZOBRIST[player][index];
+        stoneCount++;
+    }
+
+    void undo(int index, byte player) {
+        cells[index] = EMPTY;
+        hash ^= ZOBRIST[player][index];
+        stoneCount--;
+    }
+
+    /**
+     * Checks whether the stone just placed at {@code index} completes a line. O(K).
+     */
+    boolean isWinningMove(int index, byte player) {
+        int row = index / size;
+        int col = index % size;
+        for (int[] direction : DIRECTIONS) {
+            int count = 1
+                    + count(row, col, direction[0], direction[1], player)
+                    + count(row, col, -direction[0], -direction[1], player);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int count(int row, int col, int dr, int dc, byte player) {
+        int count = 0;
+        int r = row + dr;
+        int c = col + dc;
+        while (count < winLength - 1 && r >= 0 && r < size && c >= 0 && c < size
+                && cells[r * size + c] == player) {
+            count++;
+            r += dr;
+            c += dc;
+        }
+        return count;
+    }
+
+    /**
+     * Static evaluation from {@code player}'s point of view. Every window of K cells that holds
+     * stones of only one side scores exponentially in the number of those stones.
+     */
+    int evaluate(byte player) {
+        int score = 0;
+        for (int[] direction : DIRECTIONS) {
+            int dr = direction[0];
+            int dc = direction[1];
+            for (int row = 0; row < size; row++) {
+                int endRow = row + dr * (winLength - 1);
+                if (endRow < 0 || endRow >= size) {
+                    continue;
+                }
+                for (int col = 0; col < size; col++) {
+                    int endCol = col + dc * (winLength - 1);
+                    if (endCol < 0 || endCol >= size) {
+                        continue;
+                    }
+                    int xCount = 0;
+                    int oCount = 0;
+                    int index = row * size + col;
+                    int step = dr * size + dc;
+                    for (int i = 0; i < winLength; i++, index += step) {
+                        byte cell = cells[index];
+                        if (cell == X) {
+                            xCount++;
+                        } else if (cell == O) {
+                            oCount++;
+                        }
+                    }
+                    if (oCount == 0 && xCount > 0) {
+                        score += 1 << Math.min(2 * xCount, MAX_WINDOW_WEIGHT_SHIFT);
+                    } else if (xCount == 0 && oCount > 0) {
+                        score -= 1 << Math.min(2 * oCount, MAX_WINDOW_WEIGHT_SHIFT);
+                    }
+                }
+            }
+        }
+        return player == X ? score : -score;
+    }
+
+    /**
+     * Writes candidate moves into {@code buffer}: empty cells next to an existing stone, or the
+     * centre on an empty board. The preferred move, if legal, is placed first and the rest are
+     * ordered by the number of neighbouring stones.
+     *
+     * @return the number of moves written
+     */
+    int generateMoves(int[] buffer, int[] weights, int preferred) {
+        if (stoneCount == 0) {
+            buffer[0] = (size / 2) * size + size / 2;
+            return 1;
+        }
+        int count = 0;
+        for (int index = 0; index < cellCount; index++) {
+            if (cells[index] != EMPTY) {
+                continue;
+            }
+            int neighbours = neighbours(index);
+            if (neighbours == 0) {
+                continue;
+            }
+            int weight = index == preferred ? Integer.MAX_VALUE : neighbours;
+            int position = count++;
+            while (position > 0 && weights[position - 1] < weight) {
+                buffer[position] = buffer[position - 1];
+                weights[position] = weights[position - 1];
+                position--;
+            }
+            buffer[position] = index;
+            weights[position] = weight;
+        }
+        return count;
+    }
+
+    private int neighbours(int index) {
+        int row = index / size;
+        int col = index % size;
+        int count = 0;
+        for (int r = Math.max(0, row - 1); r <= Math.min(size - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(size - 1, col + 1); c++) {
+                if (cells[r * size + c] != EMPTY) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.tictactoe.engine.solver;
+
+/**
+ * Best move found by {@link ParallelSearchEngine} within its budget, with search statistics.
+ */
+public class SearchResult extends SolverResult {
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int parallelism;
+    private final boolean proven;
+
+    public SearchResult(int row, int column, int score, int depth, long nodes,
+                        long elapsedNanos, int parallelism, boolean proven) {
+        super(row, column, score);
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+        this.proven = proven;
+    }
+
+    /**
+     * Returns the deepest fully searched iteration.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos > 0 ? nodes * 1_000_000_000L / elapsedNanos : 0L;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns true if the score is a proven win or loss rather than a heuristic estimate.
+     */
+    public boolean isProven() {
+        return proven;
+    }
+
+    @Override
+    public String getOutcome() {
+        return proven ? super.getOutcome() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.tictactoe.engine.solver;
+
+/**
+ * Lockless transposition table shared by all search threads.
+ * Each slot stores {@code hash ^ data} next to {@code data}; a reader accepts the slot only if
+ * the two words still agree, so entries torn by concurrent writers are simply treated as misses.
+ * Data layout: score (32 bits) | depth (8) | bound (2) | best move + 1 (10).
+ */
+final class SharedTranspositionTable {
+
+    static final int EXACT = 1;
+    static final int LOWER_BOUND = 2;
+    static final int UPPER_BOUND = 3;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    SharedTranspositionTable(int sizeBits) {
+        int capacity = 1 << sizeBits;
+        this.keys = new long[capacity];
+        this.data = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the stored data for the hash, or 0 on a miss.
+     */
+    long probe(long hash) {
+        int slot = (int) hash & mask;
+        long entry = data[slot];
+        if (entry != 0 && (keys[slot] ^ entry) == hash) {
+            return entry;
+        }
+        return 0L;
+    }
+
+    void store(long hash, int depth, int bound, int score, int bestMove) {
+        int slot = (int) hash & mask;
+        long entry = (score & 0xFFFF_FFFFL)
+                | ((long) depth << 32)
+                | ((long) bound << 40)
+                | ((long) (bestMove + 1) << 42);
+        data[slot] = entry;
+        keys[slot] = hash ^ entry;
+    }
+
+    static int score(long entry) {
+        return (int) entry;
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    static int bestMove(long entry) {
+        return (int) (entry >>> 42) - 1;
+    }
+}
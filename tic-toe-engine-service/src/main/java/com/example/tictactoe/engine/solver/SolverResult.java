@@ -0,0 +1,36 @@
+package com.example.tictactoe.engine.solver;
+
+/**
+ * Best move found by a solver, with its score from the perspective of the player to move.
+ * A positive score is a forced win, zero a draw and a negative score a forced loss.
+ */
+public class SolverResult {
+    private final int row;
+    private final int column;
+    private final int score;
+
+    public SolverResult(int row, int column, int score) {
+        this.row = row;
+        this.column = column;
+        this.score = score;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public String getOutcome() {
+        if (score > 0) {
+            return "WIN";
+        }
+        return score < 0 ? "LOSS" : "DRAW";
+    }
+}
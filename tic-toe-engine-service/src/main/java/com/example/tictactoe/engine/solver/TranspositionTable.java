@@ -0,0 +1,56 @@
+package com.example.tictactoe.engine.solver;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free transposition table for the 3x3 solver, indexed directly by the 18-bit canonical key.
+ * Each entry is a single int holding the bound type and the score, so a reader always sees a
+ * complete entry and threads can share the table without locking.
+ */
+public class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int SCORE_OFFSET = 64;
+
+    private final AtomicIntegerArray entries = new AtomicIntegerArray(1 << 18);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the packed entry for the key, or 0 if nothing is stored.
+     * Use {@link #bound(int)} and {@link #score(int)} to unpack it.
+     */
+    public int probe(int key) {
+        int entry = entries.getAcquire(key);
+        if (entry == 0) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    public void store(int key, int bound, int score) {
+        entries.setRelease(key, (bound << 8) | (score + SCORE_OFFSET));
+    }
+
+    public static int bound(int entry) {
+        return entry >>> 8;
+    }
+
+    public static int score(int entry) {
+        return (entry & 0xFF) - SCORE_OFFSET;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.tictactoe.engine;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.engine.metrics.EngineMetrics;
+import com.example.tictactoe.engine.metrics.MicrometerEngineMetrics;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the validate/apply/status path of {@link GameEngine} does not allocate,
+ * including for rejected moves, and that recording it in the engine metrics does not either.
+ */
+class GameEngineAllocationTest {
+
+    private static final int GAMES = 2_000;
+
+    /**
+     * Moves of a full game including rejected attempts; the last one ends it with an X win.
+     * Each row is {row, col, player}.
+     */
+    private static final int[][] SCRIPT = {
+            {1, 1, 'X'}, {1, 1, 'O'}, {3, 0, 'O'}, {0, 0, 'X'}, {0, 0, 'O'},
+            {0, 1, 'O'}, {2, 2, '?'}, {2, 2, 'X'}, {0, 2, 'X'}, {2, 0, 'O'},
+            {1, 0, 'X'}, {0, 1, 'O'}, {1, 2, 'X'}, {2, 1, 'O'}
+    };
+
+    private final GameEngine gameEngine = new GameEngine();
+
+    @Test
+    void validateApplyAndStatus_doNotAllocate() {
+        assertPlayingDoesNotAllocate(EngineMetrics.NONE);
+    }
+
+    @Test
+    void recordingMetrics_doesNotAllocate() {
+        // A clock that never moves keeps the histogram windows from rotating, which allocates
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, new MockClock());
+        assertPlayingDoesNotAllocate(new MicrometerEngineMetrics(registry));
+    }
+
+    private void assertPlayingDoesNotAllocate(EngineMetrics metrics) {
+        com.sun.management.ThreadMXBean threadBean = allocationTrackingBean();
+
+        // Warm up so the measured round runs compiled code
+        for (int round = 0; round < 10; round++) {
+            playAll(newGames(), metrics);
+        }
+
+        Game[] games = newGames();
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        int rejected = playAll(games, metrics);
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(rejected > 0);
+        assertEquals(Game.GameStatus.X_WINS, games[GAMES - 1].getStatus());
+        assertEquals(0L, allocated, "bytes allocated while playing " + GAMES + " games");
+    }
+
+    @Test
+    void validateMove_returnsErrorCodes() {
+        Game game = new Game("codes");
+        assertEquals(MoveError.INVALID_PLAYER, gameEngine.validateMove(game, 0, 0, '?'));
+        assertEquals(MoveError.NOT_PLAYERS_TURN, gameEngine.validateMove(game, 0, 0, 'O'));
+        assertEquals(MoveError.OUT_OF_BOUNDS, gameEngine.validateMove(game, 3, 0, 'X'));
+
+        gameEngine.applyMove(game, 0, 0, 'X');
+        assertEquals(MoveError.CELL_OCCUPIED, gameEngine.validateMove(game, 0, 0, 'O'));
+        assertEquals("Cell at position (0, 0) is already occupied",
+                MoveError.CELL_OCCUPIED.render(game, 0, 0, 'O'));
+
+        game.setStatus(Game.GameStatus.DRAW);
+        assertEquals(MoveError.GAME_FINISHED, gameEngine.validateMove(game, 1, 1, 'O'));
+    }
+
+    private int playAll(Game[] games, EngineMetrics metrics) {
+        int rejected = 0;
+        for (Game game : games) {
+            for (int[] move : SCRIPT) {
+                int row = move[0];
+                int col = move[1];
+                char player = (char) move[2];
+                long validating = System.nanoTime();
+                MoveError error = gameEngine.validateMove(game, row, col, player);
+                long validated = System.nanoTime();
+                if (error != null) {
+                    metrics.moveRejected(error);
+                    rejected++;
+                    continue;
+                }
+                gameEngine.applyMove(game, row, col, player);
+                long applied = System.nanoTime();
+                game.setStatus(gameEngine.determineGameStatus(game, player));
+                metrics.moveApplied(game.getStatus(), validating, validated, applied, System.nanoTime());
+                metrics.moveProcessed(validating);
+            }
+        }
+        return rejected;
+    }
+
+    private static Game[] newGames() {
+        Game[] games = new Game[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = new Game("game-" + i);
+        }
+        return games;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationTrackingBean() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "thread allocation tracking is not available on this JVM");
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        return threadBean;
+    }
+}
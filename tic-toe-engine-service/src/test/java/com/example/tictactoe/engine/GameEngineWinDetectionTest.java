@@ -0,0 +1,119 @@
+package com.example.tictactoe.engine;
+
+import com.example.tictactoe.core.model.Game;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GameEngineWinDetectionTest {
+
+    private final GameEngine gameEngine = new GameEngine();
+
+    @Test
+    void horizontalLine_winsAtTheLastRowAndColumn() {
+        // 19x19 puts the bottom-right corner in the overflow words
+        Game game = new Game("h", 19, 5);
+        Game.GameStatus status = play(game, 'X', 18, 18, 18, 17, 18, 16, 18, 15, 18, 14);
+        assertEquals(Game.GameStatus.X_WINS, status);
+    }
+
+    @Test
+    void verticalLine_winsAtTheFirstColumn() {
+        Game game = new Game("v", 15, 5);
+        Game.GameStatus status = play(game, 'O', 4, 0, 3, 0, 2, 0, 1, 0, 0, 0);
+        assertEquals(Game.GameStatus.O_WINS, status);
+    }
+
+    @Test
+    void diagonalLine_winsFromTheCorner() {
+        Game game = new Game("d", 7, 4);
+        Game.GameStatus status = play(game, 'X', 3, 3, 2, 2, 1, 1, 0, 0);
+        assertEquals(Game.GameStatus.X_WINS, status);
+    }
+
+    @Test
+    void antiDiagonalLine_winsIntoTheBottomLeftCorner() {
+        Game game = new Game("a", 19, 5);
+        Game.GameStatus status = play(game, 'O', 14, 4, 15, 3, 16, 2, 17, 1, 18, 0);
+        assertEquals(Game.GameStatus.O_WINS, status);
+    }
+
+    @Test
+    void fillingTheGap_joinsBothSidesOfTheLine() {
+        Game game = new Game("gap", 9, 5);
+        assertNull(winner(game, 'X', 4, 2, 4, 3, 4, 5, 4, 6));
+        assertEquals(Game.GameStatus.X_WINS, play(game, 'X', 4, 4));
+    }
+
+    @Test
+    void lineOfWinLengthMinusOne_doesNotWin() {
+        Game game = new Game("short", 10, 5);
+        assertEquals(Game.GameStatus.IN_PROGRESS, play(game, 'X', 0, 9, 1, 9, 2, 9, 3, 9));
+        assertEquals(Game.GameStatus.IN_PROGRESS, play(game, 'O', 9, 0, 8, 1, 7, 2, 6, 3));
+        assertEquals(Game.GameStatus.IN_PROGRESS, play(game, 'X', 5, 5, 6, 6, 7, 7, 8, 8));
+    }
+
+    @Test
+    void lineAcrossTheRowEnd_doesNotWrapIntoTheNextRow() {
+        // Cells 6..10 of a 10x10 board are consecutive by index but span two rows
+        Game game = new Game("wrap", 10, 5);
+        assertNull(winner(game, 'X', 0, 6, 0, 7, 0, 8, 0, 9, 1, 0));
+    }
+
+    @Test
+    void opponentStone_breaksTheLine() {
+        Game game = new Game("blocked", 8, 4);
+        play(game, 'O', 2, 3);
+        assertNull(winner(game, 'X', 2, 0, 2, 1, 2, 2, 2, 4, 2, 5));
+    }
+
+    @Test
+    void winLengthEqualToSize_needsTheWholeRow() {
+        Game game = new Game("full", 4, 4);
+        assertEquals(Game.GameStatus.IN_PROGRESS, play(game, 'X', 1, 0, 1, 1, 1, 2));
+        assertEquals(Game.GameStatus.X_WINS, play(game, 'X', 1, 3));
+    }
+
+    @Test
+    void classicBoard_detectsEveryLine() {
+        int[][][] lines = {
+                {{0, 0}, {0, 1}, {0, 2}}, {{1, 0}, {1, 1}, {1, 2}}, {{2, 0}, {2, 1}, {2, 2}},
+                {{0, 0}, {1, 0}, {2, 0}}, {{0, 1}, {1, 1}, {2, 1}}, {{0, 2}, {1, 2}, {2, 2}},
+                {{0, 0}, {1, 1}, {2, 2}}, {{0, 2}, {1, 1}, {2, 0}}};
+        for (int[][] line : lines) {
+            Game game = new Game("classic");
+            Game.GameStatus status = null;
+            for (int[] cell : line) {
+                status = play(game, 'X', cell[0], cell[1]);
+            }
+            assertEquals(Game.GameStatus.X_WINS, status);
+        }
+    }
+
+    /**
+     * Places the player's stones at the given row/column pairs and returns the status after the last one.
+     */
+    private Game.GameStatus play(Game game, char player, int... cells) {
+        Game.GameStatus status = null;
+        for (int i = 0; i < cells.length; i += 2) {
+            game.makeMove(cells[i], cells[i + 1], player);
+            status = gameEngine.determineGameStatus(game, player);
+        }
+        return status;
+    }
+
+    /**
+     * Like {@link #play}, but checks every stone placed, so an early win is caught too.
+     */
+    private Game.GameStatus winner(Game game, char player, int... cells) {
+        for (int i = 0; i < cells.length; i += 2) {
+            game.makeMove(cells[i], cells[i + 1], player);
+            Game.GameStatus status = gameEngine.checkWinCondition(game, cells[i], cells[i + 1], player);
+            if (status != null) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
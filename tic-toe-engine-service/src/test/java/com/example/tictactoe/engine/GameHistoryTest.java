@@ -0,0 +1,100 @@
+package com.example.tictactoe.engine;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameHistoryTest {
+
+    private final GameEngine gameEngine = new GameEngine();
+    private final GameSessionService gameSessionService = new GameSessionServiceImpl(gameEngine);
+
+    @Test
+    void replay_rebuildsEveryEarlierPosition() {
+        // 19x19 takes 9 bits per move, so the log spans several words
+        gameSessionService.createGameSession("big", 19, 5);
+        List<char[][]> boards = new ArrayList<>();
+        Game game = gameSessionService.getGameSession("big");
+        boards.add(game.getBoard());
+        for (int move = 0; move < 60; move++) {
+            int cell = move * 7 % 361;
+            gameSessionService.processMove("big", cell / 19, cell % 19, move % 2 == 0 ? 'X' : 'O');
+            boards.add(game.getBoard());
+        }
+
+        assertEquals(60, game.getMoveLog().size());
+        assertEquals(9, game.getMoveLog().getBitsPerMove());
+        for (int moves = 0; moves <= 60; moves++) {
+            Game replayed = gameEngine.replay(game, moves);
+            assertArrayEquals(boards.get(moves), replayed.getBoard());
+            assertEquals(moves, replayed.getMoveCount());
+        }
+        assertThrows(IllegalArgumentException.class, () -> gameEngine.replay(game, 61));
+    }
+
+    @Test
+    void undoMove_reopensAFinishedGame() {
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        char[] players = {'X', 'O', 'X', 'O', 'X'};
+        for (int i = 0; i < moves.length; i++) {
+            gameSessionService.processMove("win", moves[i][0], moves[i][1], players[i]);
+        }
+        Game game = gameSessionService.getGameSession("win");
+        assertEquals(Game.GameStatus.X_WINS, game.getStatus());
+        assertEquals(Game.GameStatus.X_WINS, gameEngine.replay(game, 5).getStatus());
+
+        GameResult undone = gameSessionService.undoMove("win", game.getVersion());
+        assertTrue(undone.isValid());
+        assertEquals(Game.GameStatus.IN_PROGRESS, game.getStatus());
+        assertEquals('X', game.getCurrentPlayer());
+        assertTrue(gameSessionService.processMove("win", 2, 2, 'X').isValid());
+        assertEquals(' ', game.getCell(0, 2));
+    }
+
+    @Test
+    void rejectionMessage_keepsTheStateItWasRejectedIn() {
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        char[] players = {'X', 'O', 'X', 'O', 'X'};
+        for (int i = 0; i < moves.length; i++) {
+            gameSessionService.processMove("late", moves[i][0], moves[i][1], players[i]);
+        }
+        Game game = gameSessionService.getGameSession("late");
+        long finishedVersion = game.getVersion();
+        GameResult finished = gameSessionService.processMove("late", 2, 2, 'O');
+        GameResult stale = gameSessionService.processMove("late", 2, 2, 'O', finishedVersion - 1);
+
+        // The undo reopens the game and moves its version on before either message is read
+        gameSessionService.undoMove("late", GameSessionService.ANY_VERSION);
+
+        assertEquals("Game is already finished. Status: X_WINS", finished.getMessage());
+        assertEquals("Game has changed. Current version: " + finishedVersion, stale.getMessage());
+    }
+
+    @Test
+    void undoMove_needsMovesAndTheirHistory() {
+        gameSessionService.createGameSession("empty");
+        GameResult rejected = gameSessionService.undoMove("empty", GameSessionService.ANY_VERSION);
+        assertFalse(rejected.isValid());
+        assertEquals(MoveError.NO_MOVES_TO_UNDO, rejected.getError());
+
+        // A board restored without its moves has no history
+        Game restored = new Game("restored");
+        restored.restoreState(1L, 2L, Game.GameStatus.IN_PROGRESS, 'X', 1, 4);
+        gameSessionService.saveGameSession(restored);
+        assertFalse(restored.hasCompleteHistory());
+        assertEquals(MoveError.HISTORY_UNAVAILABLE,
+                gameSessionService.undoMove("restored", GameSessionService.ANY_VERSION).getError());
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.tictactoe.engine.cluster;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.api.dto.BatchMoveItem;
+import com.example.tictactoe.engine.api.dto.BatchMoveResult;
+import com.example.tictactoe.engine.session.BatchMoveService;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import com.example.tictactoe.engine.session.store.InMemoryGameStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EngineClusterTest {
+    private static final String SERVICE_ID = "tic-toe-engine-service";
+    private static final String SECRET = "test-secret";
+
+    private final List<ServiceInstance> instances = new ArrayList<>();
+    private final DiscoveryClient discoveryClient = new DiscoveryClient() {
+        @Override
+        public String description() {
+            return "test";
+        }
+
+        @Override
+        public List<ServiceInstance> getInstances(String serviceId) {
+            return new ArrayList<>(instances);
+        }
+
+        @Override
+        public List<String> getServices() {
+            return List.of(SERVICE_ID);
+        }
+    };
+
+    @Test
+    void membersAgreeOnTheOwnerOfEveryGame() {
+        List<EngineCluster> members = new ArrayList<>();
+        for (int port = 9001; port <= 9003; port++) {
+            instances.add(new DefaultServiceInstance("engine-" + port, SERVICE_ID, "localhost", port, false));
+        }
+        for (int port = 9001; port <= 9003; port++) {
+            EngineCluster member = cluster(service(), "localhost:" + port);
+            member.refresh();
+            members.add(member);
+        }
+
+        int[] owned = new int[members.size()];
+        for (int i = 0; i < 3000; i++) {
+            int owners = 0;
+            for (int m = 0; m < members.size(); m++) {
+                if (members.get(m).isLocal(GameId.of("game-" + i))) {
+                    owners++;
+                    owned[m]++;
+                }
+            }
+            assertEquals(1, owners, "game-" + i);
+        }
+        for (int count : owned) {
+            assertTrue(count > 500, "Games are spread over the members");
+        }
+    }
+
+    @Test
+    void refresh_keepsGamesUntilTheirOwnerTakesThem() {
+        GameSessionService service = service();
+        EngineCluster cluster = cluster(service, "localhost:9001");
+        for (int i = 0; i < 100; i++) {
+            service.processMove("game-" + i, 1, 1, 'X');
+        }
+        // Nothing listens on port 1, so no game can be handed over
+        instances.add(new DefaultServiceInstance("engine-1", SERVICE_ID, "localhost", 1, false));
+        cluster.refresh();
+
+        int remote = 0;
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(service.getGameSession("game-" + i));
+            if (!cluster.isLocal(GameId.of("game-" + i))) {
+                remote++;
+            }
+        }
+        assertTrue(remote > 0);
+
+        instances.clear();
+        cluster.refresh();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(cluster.isLocal(GameId.of("game-" + i)));
+            assertNotNull(service.getGameSession("game-" + i));
+        }
+    }
+
+    @Test
+    void memberRequests_needTheClusterSecret() {
+        EngineCluster cluster = cluster(service(), "localhost:9001");
+        assertTrue(cluster.isMemberRequest(SECRET));
+        assertFalse(cluster.isMemberRequest(null));
+        assertFalse(cluster.isMemberRequest("test-secreT"));
+        assertThrows(IllegalStateException.class, () -> new EngineCluster(service(), discoveryClient, SERVICE_ID,
+                () -> "localhost:9001", Duration.ofSeconds(5), Duration.ofSeconds(1), new ObjectMapper(), " "));
+    }
+
+    @Test
+    void forwardedBatch_runsLocallyOnlyWhenTheOwnerIsUnreachable() throws IOException {
+        GameSessionService service = service();
+        EngineCluster cluster = cluster(service, "localhost:9001");
+        for (int i = 0; i < 100; i++) {
+            service.processMove("game-" + i, 0, 0, 'X');
+        }
+        // Nothing listens on port 1
+        instances.add(new DefaultServiceInstance("engine-1", SERVICE_ID, "localhost", 1, false));
+        cluster.refresh();
+        String unreachable = remoteGame(cluster);
+        BatchMoveService batch = new BatchMoveService(service, cluster, 100, 1_000, 1);
+        try {
+            BatchMoveResult result = batch.processMoves(List.of(new BatchMoveItem(unreachable, "O", 1, 1)), false).get(0);
+            assertTrue(result.isValid(), result.getMessage());
+            assertEquals(2, service.getGameSession(unreachable).getMoveCount());
+
+            // A game that is not here may be on the unreachable owner, so it is not started here
+            String missing = "missing-" + unreachable;
+            while (cluster.isLocal(GameId.of(missing))) {
+                missing += "-";
+            }
+            result = batch.processMoves(List.of(new BatchMoveItem(missing, "X", 1, 1)), false).get(0);
+            assertFalse(result.isValid());
+            assertNull(service.getGameSession(missing));
+
+            // An owner that answers may have applied the moves, so they are not run again here
+            String[] answer = {"500", ""};
+            HttpServer owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            owner.createContext("/", exchange -> {
+                byte[] body = answer[1].getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(Integer.parseInt(answer[0]), body.length == 0 ? -1 : body.length);
+                exchange.close();
+            });
+            owner.start();
+            try {
+                instances.clear();
+                instances.add(new DefaultServiceInstance("engine-2", SERVICE_ID, "localhost",
+                        owner.getAddress().getPort(), false));
+                cluster.refresh();
+                String failing = "failing";
+                while (cluster.isLocal(GameId.of(failing))) {
+                    failing += "-";
+                }
+                result = batch.processMoves(List.of(new BatchMoveItem(failing, "X", 1, 1)), false).get(0);
+                assertFalse(result.isValid());
+                assertNull(service.getGameSession(failing));
+
+                // Results for indexes that were never sent are ignored
+                answer[0] = "200";
+                answer[1] = "{\"results\":[{\"index\":5,\"gameId\":\"x\",\"valid\":true}]}";
+                result = batch.processMoves(List.of(new BatchMoveItem(failing, "X", 1, 1)), false).get(0);
+                assertEquals(0, result.getIndex());
+                assertFalse(result.isValid());
+            } finally {
+                owner.stop(0);
+            }
+        } finally {
+            batch.destroy();
+        }
+    }
+
+    @Test
+    void movesDuringAHandOff_playOnTheGamesTheOldOwnerHad() throws Exception {
+        GameSessionService oldService = service();
+        GameSessionService newService = service();
+        HttpServer oldServer = memberServer();
+        HttpServer newServer = memberServer();
+        String oldKey = "localhost:" + oldServer.getAddress().getPort();
+        String newKey = "localhost:" + newServer.getAddress().getPort();
+        EngineCluster oldOwner = cluster(oldService, oldKey);
+        EngineCluster newOwner = cluster(newService, newKey);
+        serveCluster(oldServer, new ClusterController(oldService, oldOwner));
+        serveCluster(newServer, new ClusterController(newService, newOwner));
+        GameForwardingFilter filter = new GameForwardingFilter(newOwner);
+        try {
+            instances.add(new DefaultServiceInstance("old", SERVICE_ID, "localhost",
+                    oldServer.getAddress().getPort(), false));
+            oldOwner.refresh();
+            for (int i = 0; i < 200; i++) {
+                oldService.processMove("game-" + i, 0, 0, 'X');
+                oldService.processMove("game-" + i, 1, 1, 'O');
+            }
+
+            // The new member serves its games before the old owner saw it join
+            instances.add(new DefaultServiceInstance("new", SERVICE_ID, "localhost",
+                    newServer.getAddress().getPort(), false));
+            newOwner.refresh();
+            List<String> moved = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String gameId = "game-" + i;
+                if (newOwner.isLocal(GameId.of(gameId)) && i % 2 == 0) {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("POST", "/games/" + gameId + "/move"), response,
+                            (request, ignored) -> assertTrue(newService.processMove(gameId, 2, 2, 'X').isValid()));
+                    assertEquals(200, response.getStatus());
+                    moved.add(gameId);
+                }
+            }
+            assertFalse(moved.isEmpty());
+
+            oldOwner.refresh();
+            for (int i = 0; i < 200; i++) {
+                String gameId = "game-" + i;
+                boolean newOwns = newOwner.isLocal(GameId.of(gameId));
+                assertEquals(newOwns, oldService.getGameSession(gameId) == null, gameId);
+                GameSessionService holder = newOwns ? newService : oldService;
+                assertEquals(moved.contains(gameId) ? 3 : 2, holder.getGameSession(gameId).getMoveCount(), gameId);
+            }
+
+            // With the old owner gone, games that may still be there are not started afresh
+            String stranded = "stranded";
+            while (!newOwner.isLocal(GameId.of(stranded))) {
+                stranded += "-";
+            }
+            oldService.processMove(stranded, 0, 0, 'X');
+            String unreachable = remoteGame(newOwner);
+            oldServer.stop(0);
+            for (String gameId : List.of(stranded, unreachable)) {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(new MockHttpServletRequest("POST", "/games/" + gameId + "/move"), response,
+                        (request, ignored) -> newService.processMove(gameId, 1, 1, 'X'));
+                assertEquals(503, response.getStatus(), gameId);
+                assertNotNull(response.getHeader("Retry-After"));
+                assertNull(newService.getGameSession(gameId), gameId);
+            }
+        } finally {
+            oldServer.stop(0);
+            newServer.stop(0);
+        }
+    }
+
+    @Test
+    void gameIdOf_matchesGamePathsOnly() {
+        assertEquals(GameId.of("g-1"), GameForwardingFilter.gameIdOf("/games/g-1"));
+        assertEquals(GameId.of("g 1"), GameForwardingFilter.gameIdOf("/games/g%201/move"));
+        assertNull(GameForwardingFilter.gameIdOf("/games/moves:batch"));
+        assertNull(GameForwardingFilter.gameIdOf("/cluster/games"));
+    }
+
+    private static GameSessionService service() {
+        return new GameSessionServiceImpl(new GameEngine(), new InMemoryGameStore());
+    }
+
+    private static String remoteGame(EngineCluster cluster) {
+        for (int i = 0; ; i++) {
+            if (!cluster.isLocal(GameId.of("game-" + i))) {
+                return "game-" + i;
+            }
+        }
+    }
+
+    private static HttpServer memberServer() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.start();
+        return server;
+    }
+
+    /**
+     * Serves {@code /cluster/games} with the controller, as the web server does.
+     */
+    private static void serveCluster(HttpServer server, ClusterController controller) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        server.createContext("/cluster/games", exchange -> {
+            String secret = exchange.getRequestHeaders().getFirst(EngineCluster.SECRET_HEADER);
+            String path = exchange.getRequestURI().getPath();
+            String gameId = path.length() > "/cluster/games/".length()
+                    ? path.substring("/cluster/games/".length())
+                    : null;
+            ResponseEntity<?> answer = switch (exchange.getRequestMethod()) {
+                case "POST" -> controller.importGames(secret, objectMapper.readValue(
+                        exchange.getRequestBody(), new TypeReference<List<GameTransfer>>() { }));
+                case "GET" -> controller.exportGame(secret, gameId);
+                default -> controller.releaseGame(secret, gameId,
+                        Long.parseLong(exchange.getRequestURI().getQuery().substring("version=".length())));
+            };
+            byte[] body = answer.getBody() != null ? objectMapper.writeValueAsBytes(answer.getBody()) : new byte[0];
+            exchange.sendResponseHeaders(answer.getStatusCode().value(), body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+    }
+
+    private EngineCluster cluster(GameSessionService service, String self) {
+        return new EngineCluster(service, discoveryClient, SERVICE_ID, () -> self,
+                Duration.ofSeconds(5), Duration.ofSeconds(1), new ObjectMapper(), SECRET);
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.tictactoe.engine.journal;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import com.example.tictactoe.engine.session.store.InMemoryGameStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileGameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final GameEngine gameEngine = new GameEngine();
+    private final List<FileGameJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (FileGameJournal journal : journals) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void recover_restoresEveryGameAsItWas() throws IOException {
+        GameSessionService live = openService();
+        live.processMove("a", 1, 1, 'X');
+        live.processMove("a", 0, 0, 'O');
+        live.createGameSession("big", 15, 5);
+        live.processMove("big", 14, 14, 'X');
+        live.processMove("big", 7, 7, 'O');
+        // Replaced games continue their version
+        live.processMove("replaced", 0, 0, 'X');
+        live.createGameSession("replaced");
+        live.processMove("replaced", 2, 2, 'X');
+        String uuid = "3f2504e0-4f89-11d3-9a0c-0305e82c3301";
+        live.processMove(uuid, 0, 1, 'X');
+        closeAll();
+
+        GameSessionService recovered = recover();
+        for (String gameId : new String[]{"a", "big", "replaced", uuid}) {
+            assertSameGame(live.getGameSession(gameId), recovered.getGameSession(gameId));
+        }
+    }
+
+    @Test
+    void snapshot_dropsFinishedGamesAndReplacedFiles() throws IOException {
+        FileGameJournal journal = openJournal();
+        GameSessionService live = new GameSessionServiceImpl(gameEngine, new InMemoryGameStore(), journal);
+        int[][] win = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        char[] players = {'X', 'O', 'X', 'O', 'X'};
+        for (int i = 0; i < win.length; i++) {
+            live.processMove("finished", win[i][0], win[i][1], players[i]);
+        }
+        live.processMove("playing", 1, 1, 'X');
+
+        journal.snapshot(live);
+        live.processMove("playing", 0, 0, 'O');
+        closeAll();
+
+        assertEquals(1, countFiles(FileGameJournal.SNAPSHOT_PREFIX));
+        GameSessionService recovered = recover();
+        assertNull(recovered.getGameSession("finished"));
+        assertSameGame(live.getGameSession("playing"), recovered.getGameSession("playing"));
+    }
+
+    @Test
+    void snapshot_whileMovesContinue_recoversTheLatestState() throws Exception {
+        FileGameJournal journal = openJournal();
+        GameSessionService live = new GameSessionServiceImpl(gameEngine, new InMemoryGameStore(), journal);
+        int games = 200;
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> players = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            players.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    int cell = random.nextInt(9);
+                    live.processMove("game-" + random.nextInt(games), cell / 3, cell % 3,
+                            random.nextBoolean() ? 'X' : 'O');
+                }
+            }));
+        }
+        for (int i = 0; i < 5; i++) {
+            journal.snapshot(live);
+        }
+        running.set(false);
+        for (Future<?> player : players) {
+            player.get();
+        }
+        executor.shutdown();
+        closeAll();
+
+        GameSessionService recovered = recover();
+        for (int i = 0; i < games; i++) {
+            Game game = live.getGameSession("game-" + i);
+            if (game != null && game.getStatus() == Game.GameStatus.IN_PROGRESS) {
+                assertSameGame(game, recovered.getGameSession("game-" + i));
+            }
+        }
+    }
+
+    @Test
+    void recover_replaysUndoneMovesAndKeepsHistoryInSnapshots() throws IOException {
+        FileGameJournal journal = openJournal();
+        GameSessionService live = new GameSessionServiceImpl(gameEngine, new InMemoryGameStore(), journal);
+        live.processMove("u", 1, 1, 'X');
+        live.processMove("u", 0, 0, 'O');
+        live.processMove("u", 2, 2, 'X');
+        live.undoMove("u", GameSessionService.ANY_VERSION);
+        live.createGameSession("big", 19, 5);
+        for (int cell = 0; cell < 40; cell++) {
+            live.processMove("big", cell / 19, cell % 19, cell % 2 == 0 ? 'X' : 'O');
+        }
+        live.undoMove("big", GameSessionService.ANY_VERSION);
+
+        journal.snapshot(live);
+        live.processMove("u", 0, 2, 'X');
+        live.undoMove("u", GameSessionService.ANY_VERSION);
+        live.undoMove("big", GameSessionService.ANY_VERSION);
+        closeAll();
+
+        GameSessionService recovered = recover();
+        for (String gameId : new String[]{"u", "big"}) {
+            assertSameGame(live.getGameSession(gameId), recovered.getGameSession(gameId));
+        }
+        assertEquals(38, recovered.getGameSession("big").getMoveLog().size());
+    }
+
+    @Test
+    void snapshot_thenUndoOfAFinishedGame_recoversTheReopenedGame() throws IOException {
+        FileGameJournal journal = openJournal();
+        GameSessionService live = new GameSessionServiceImpl(gameEngine, new InMemoryGameStore(), journal);
+        int[][] win = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        char[] players = {'X', 'O', 'X', 'O', 'X'};
+        for (int i = 0; i < win.length; i++) {
+            live.processMove("reopened", win[i][0], win[i][1], players[i]);
+        }
+
+        journal.snapshot(live);
+        live.undoMove("reopened", GameSessionService.ANY_VERSION);
+        live.processMove("reopened", 2, 2, 'X');
+        closeAll();
+
+        GameSessionService recovered = recover();
+        assertNotNull(recovered.getGameSession("reopened"));
+        assertSameGame(live.getGameSession("reopened"), recovered.getGameSession("reopened"));
+        assertEquals(Game.GameStatus.IN_PROGRESS, recovered.getGameSession("reopened").getStatus());
+    }
+
+    @Test
+    void recover_truncatesRecordTornByACrash() throws IOException {
+        GameSessionService live = openService();
+        live.processMove("g", 1, 1, 'X');
+        closeAll();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().startsWith(FileGameJournal.SEGMENT_PREFIX))
+                    .max(Path::compareTo)
+                    .orElseThrow();
+        }
+        // Half of a record header
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1}, StandardOpenOption.APPEND);
+
+        GameSessionService recovered = recover();
+        assertSameGame(live.getGameSession("g"), recovered.getGameSession("g"));
+        recovered.processMove("g", 0, 0, 'O');
+        closeAll();
+
+        GameSessionService again = recover();
+        assertSameGame(recovered.getGameSession("g"), again.getGameSession("g"));
+    }
+
+    private FileGameJournal openJournal() throws IOException {
+        FileGameJournal journal = new FileGameJournal(directory, gameEngine, true, Duration.ofMillis(1), 4096);
+        journals.add(journal);
+        journal.open();
+        return journal;
+    }
+
+    private GameSessionService openService() throws IOException {
+        return new GameSessionServiceImpl(gameEngine, new InMemoryGameStore(), openJournal());
+    }
+
+    /**
+     * Recovers into a new service that journals to the same directory.
+     */
+    private GameSessionService recover() throws IOException {
+        FileGameJournal journal = new FileGameJournal(directory, gameEngine, true, Duration.ofMillis(1), 4096);
+        journals.add(journal);
+        GameSessionService service = new GameSessionServiceImpl(gameEngine, new InMemoryGameStore(), journal);
+        journal.recover(service);
+        journal.open();
+        return service;
+    }
+
+    private void closeAll() throws IOException {
+        for (FileGameJournal journal : journals) {
+            journal.close();
+        }
+        journals.clear();
+    }
+
+    private long countFiles(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    private static void assertSameGame(Game expected, Game actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getWinLength(), actual.getWinLength());
+        assertArrayEquals(expected.getBoard(), actual.getBoard());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        assertEquals(expected.getLastMoveIndex(), actual.getLastMoveIndex());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getMoveLog().size(), actual.getMoveLog().size());
+        for (int move = 0; move < expected.getMoveLog().size(); move++) {
+            assertEquals(expected.getMoveLog().getCell(move), actual.getMoveLog().getCell(move));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tictactoe.engine.metrics;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.journal.GameJournal;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import com.example.tictactoe.engine.session.impl.OffHeapGameSessionService;
+import com.example.tictactoe.engine.session.store.CaffeineGameStore;
+import com.example.tictactoe.engine.session.store.InMemoryGameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MicrometerEngineMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerEngineMetrics metrics = new MicrometerEngineMetrics(registry);
+
+    @Test
+    void liveGames_followTheStoreGameSessionService() {
+        assertLiveGamesFollowChanges(new GameSessionServiceImpl(new GameEngine(), new InMemoryGameStore(),
+                GameJournal.NONE, metrics));
+    }
+
+    @Test
+    void liveGames_followTheOffHeapGameSessionService() {
+        assertLiveGamesFollowChanges(new OffHeapGameSessionService(new GameEngine(), 4, 16, GameJournal.NONE, metrics));
+    }
+
+    @Test
+    void evictedGames_leaveTheLiveGames() throws InterruptedException {
+        CaffeineGameStore store = new CaffeineGameStore(100, Duration.ofMinutes(5), Duration.ofMinutes(1), metrics);
+        GameSessionService sessions = new GameSessionServiceImpl(new GameEngine(), store, GameJournal.NONE, metrics);
+        for (int i = 0; i < 1_000; i++) {
+            sessions.processMove("game-" + i, 1, 1, 'X');
+        }
+        store.cleanUp();
+
+        // Evictions are reported by the cache's maintenance executor
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (live(Game.GameStatus.IN_PROGRESS) != store.size() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(store.size(), live(Game.GameStatus.IN_PROGRESS));
+    }
+
+    private void assertLiveGamesFollowChanges(GameSessionService sessions) {
+        int[][] win = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        char[] players = {'X', 'O', 'X', 'O', 'X'};
+        for (int i = 0; i < win.length; i++) {
+            sessions.processMove("won", win[i][0], win[i][1], players[i]);
+        }
+        sessions.processMove("playing", 1, 1, 'X');
+        sessions.createGameSession("replaced");
+        sessions.createGameSession("replaced");
+        assertEquals(2, live(Game.GameStatus.IN_PROGRESS));
+        assertEquals(1, live(Game.GameStatus.X_WINS));
+
+        sessions.undoMove("won", GameSessionService.ANY_VERSION);
+        assertEquals(3, live(Game.GameStatus.IN_PROGRESS));
+        assertEquals(0, live(Game.GameStatus.X_WINS));
+
+        // A newer copy handed over by another instance replaces the game in progress
+        Game finished = new Game("playing");
+        finished.setStatus(Game.GameStatus.DRAW);
+        finished.setVersion(100);
+        sessions.importGame(finished);
+        assertEquals(2, live(Game.GameStatus.IN_PROGRESS));
+        assertEquals(1, live(Game.GameStatus.DRAW));
+
+        sessions.removeGameSession("playing", 100);
+        sessions.removeGameSession("replaced", sessions.getGameSession("replaced").getVersion());
+        assertEquals(1, live(Game.GameStatus.IN_PROGRESS));
+        assertEquals(0, live(Game.GameStatus.DRAW));
+    }
+
+    private long live(Game.GameStatus status) {
+        return (long) registry.get("engine.games.live")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .gauge()
+                .value();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.tictactoe.engine.session;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.api.dto.BatchMoveItem;
+import com.example.tictactoe.engine.api.dto.BatchMoveResult;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchMoveServiceTest {
+
+    private final GameSessionService gameSessionService = new GameSessionServiceImpl(new GameEngine());
+    private final BatchMoveService batchMoveService = new BatchMoveService(gameSessionService, 100, 4, 4);
+
+    @AfterEach
+    void shutDown() {
+        batchMoveService.destroy();
+    }
+
+    @Test
+    void movesOfOneGame_runInRequestOrder() {
+        // Only valid in this order: each move is the next player's
+        List<BatchMoveItem> moves = List.of(
+                new BatchMoveItem("g", "X", 0, 0),
+                new BatchMoveItem("g", "O", 1, 0),
+                new BatchMoveItem("g", "X", 0, 1),
+                new BatchMoveItem("g", "O", 1, 1),
+                new BatchMoveItem("g", "X", 0, 2));
+
+        List<BatchMoveResult> results = batchMoveService.processMoves(moves, false);
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertTrue(results.get(i).isValid(), results.get(i).getMessage());
+        }
+        assertEquals("X_WINS", results.get(4).getStatus());
+        assertEquals(5, gameSessionService.getGameSession("g").getMoveCount());
+    }
+
+    @Test
+    void failedItems_doNotFailTheBatch() {
+        List<BatchMoveItem> moves = Arrays.asList(
+                new BatchMoveItem("a", "X", 1, 1),
+                null,
+                new BatchMoveItem(" ", "X", 0, 0),
+                new BatchMoveItem("b", "X", -1, 0),
+                new BatchMoveItem("a", "O", 1, 1),
+                new BatchMoveItem("b", "X", 0, 0));
+
+        List<BatchMoveResult> results = batchMoveService.processMoves(moves, false);
+        assertEquals(moves.size(), results.size());
+        assertTrue(results.get(0).isValid());
+        assertEquals("Move is required", results.get(1).getMessage());
+        assertEquals("Game id is required", results.get(2).getMessage());
+        assertEquals("Row is required and must not be negative", results.get(3).getMessage());
+        // Rejected by the engine: the cell is taken
+        assertFalse(results.get(4).isValid());
+        assertNotNull(results.get(4).getMessage());
+        assertTrue(results.get(5).isValid());
+    }
+
+    @Test
+    void oversizedBatch_isRejected() {
+        List<BatchMoveItem> moves = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            moves.add(new BatchMoveItem("g-" + i, "X", 0, 0));
+        }
+        assertThrows(IllegalArgumentException.class, () -> batchMoveService.processMoves(moves, false));
+    }
+
+    @Test
+    void largeBatch_playsEveryGameInOrderAcrossWorkers() {
+        BatchMoveService parallel = new BatchMoveService(gameSessionService, 10_000, 2, 4);
+        try {
+            // The same X win in 50 games, with the games' moves interleaved
+            int[][] script = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+            List<BatchMoveItem> moves = new ArrayList<>();
+            for (int step = 0; step < script.length; step++) {
+                for (int game = 0; game < 50; game++) {
+                    String player = step % 2 == 0 ? "X" : "O";
+                    moves.add(new BatchMoveItem("p-" + game, player, script[step][0], script[step][1]));
+                }
+            }
+
+            List<BatchMoveResult> results = parallel.processMoves(moves, false);
+            for (BatchMoveResult result : results) {
+                assertTrue(result.isValid(), result.getGameId() + ": " + result.getMessage());
+            }
+            for (int game = 0; game < 50; game++) {
+                Game played = gameSessionService.getGameSession("p-" + game);
+                assertEquals(Game.GameStatus.X_WINS, played.getStatus());
+                assertEquals(5, played.getMoveCount());
+            }
+        } finally {
+            parallel.destroy();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.tictactoe.engine.session.impl;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.core.util.Bitboard;
+import com.example.tictactoe.core.util.TicToeConstants;
+import com.example.tictactoe.engine.GameEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test for concurrent moves: many threads on one game, and many threads across many games.
+ * After every run each game must look like a sequential game whose accepted moves all happened,
+ * and of writers sharing an expected version exactly one may succeed.
+ */
+class GameSessionServiceImplConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final char[] PLAYERS = {TicToeConstants.PLAYER_X, TicToeConstants.PLAYER_O};
+
+    private GameSessionServiceImpl gameSessionService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        gameSessionService = new GameSessionServiceImpl(new GameEngine());
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void processMove_singleGameHammeredByAllThreads() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            String gameId = "hot-" + round;
+            AtomicInteger accepted = new AtomicInteger();
+
+            runConcurrently(() -> {
+                while (!isFinished(gameId)) {
+                    for (int cell : shuffledCells()) {
+                        for (char player : PLAYERS) {
+                            if (gameSessionService.processMove(gameId, cell / 3, cell % 3, player).isValid()) {
+                                accepted.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+                return null;
+            });
+
+            Game game = gameSessionService.getGameSession(gameId);
+            assertConsistent(game);
+            assertEquals(accepted.get(), game.getMoveCount(), "accepted moves of " + gameId);
+            assertNotEquals(Game.GameStatus.IN_PROGRESS, game.getStatus());
+        }
+    }
+
+    @Test
+    void processMove_manyGamesSharedByAllThreads() throws Exception {
+        int gameCount = 64;
+        AtomicInteger accepted = new AtomicInteger();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int remaining = gameCount;
+            while (remaining > 0) {
+                remaining = 0;
+                for (int i = 0; i < gameCount; i++) {
+                    String gameId = "game-" + i;
+                    if (isFinished(gameId)) {
+                        continue;
+                    }
+                    remaining++;
+                    int cell = random.nextInt(Bitboard.CELLS);
+                    char player = PLAYERS[random.nextInt(2)];
+                    if (gameSessionService.processMove(gameId, cell / 3, cell % 3, player).isValid()) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            }
+            return null;
+        });
+
+        int totalMoves = 0;
+        for (int i = 0; i < gameCount; i++) {
+            Game game = gameSessionService.getGameSession("game-" + i);
+            assertConsistent(game);
+            totalMoves += game.getMoveCount();
+        }
+        assertEquals(accepted.get(), totalMoves);
+    }
+
+    @Test
+    void processMove_expectedVersionAdmitsOneWriterPerVersion() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            String gameId = "versioned-" + round;
+            long version = gameSessionService.createGameSession(gameId).getVersion();
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger stale = new AtomicInteger();
+
+            // Every thread tries a different cell, all based on the same version
+            AtomicInteger nextCell = new AtomicInteger();
+            runConcurrently(() -> {
+                int cell = nextCell.getAndIncrement();
+                GameResult result = gameSessionService.processMove(
+                        gameId, cell / 3, cell % 3, TicToeConstants.PLAYER_X, version);
+                if (result.isValid()) {
+                    accepted.incrementAndGet();
+                } else if (result.getError() == MoveError.VERSION_MISMATCH) {
+                    stale.incrementAndGet();
+                }
+                return null;
+            });
+
+            assertEquals(1, accepted.get(), "accepted moves of " + gameId);
+            assertEquals(THREADS - 1, stale.get(), "stale moves of " + gameId);
+            Game game = gameSessionService.getGameSession(gameId);
+            assertEquals(1, game.getMoveCount());
+            assertTrue(game.getVersion() > version);
+        }
+    }
+
+    @Test
+    void createGameSessionIfAbsent_createsOnceAndKeepsMovesOfRacingReaders() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            GameId gameId = GameId.of("created-" + round);
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger nextThread = new AtomicInteger();
+
+            // Half the threads create, the others read with create-on-read and move at once
+            runConcurrently(() -> {
+                if (nextThread.getAndIncrement() % 2 == 0) {
+                    if (gameSessionService.createGameSessionIfAbsent(gameId, 3, 3) != null) {
+                        created.incrementAndGet();
+                    }
+                } else {
+                    gameSessionService.getOrCreateGameSession(gameId);
+                    gameSessionService.processMove(gameId, 1, 1, TicToeConstants.PLAYER_X);
+                }
+                return null;
+            });
+
+            assertTrue(created.get() <= 1, "creations of " + gameId);
+            assertEquals(1, gameSessionService.getGameSession(gameId).getMoveCount());
+        }
+    }
+
+    private boolean isFinished(String gameId) {
+        Game game = gameSessionService.getGameSession(gameId);
+        if (game == null) {
+            return false;
+        }
+        synchronized (game) {
+            return game.getStatus() != Game.GameStatus.IN_PROGRESS;
+        }
+    }
+
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int[] shuffledCells() {
+        int[] cells = new int[Bitboard.CELLS];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = cells[i];
+            cells[i] = cells[j];
+            cells[j] = swap;
+        }
+        return cells;
+    }
+
+    /**
+     * Checks the invariants of a sequentially played game: disjoint marks, alternating turns,
+     * at most one winner, and a status that matches the board.
+     */
+    private static void assertConsistent(Game game) {
+        int x = (int) game.getXMask();
+        int o = (int) game.getOMask();
+        int xCount = Integer.bitCount(x);
+        int oCount = Integer.bitCount(o);
+
+        assertEquals(0, x & o, "cells taken by both players in " + game);
+        assertEquals(xCount + oCount, game.getMoveCount(), "move count of " + game);
+        assertTrue(xCount == oCount || xCount == oCount + 1, "turn order of " + game);
+        char expectedPlayer = xCount == oCount ? TicToeConstants.PLAYER_X : TicToeConstants.PLAYER_O;
+        assertEquals(expectedPlayer, game.getCurrentPlayer(), "current player of " + game);
+
+        boolean xWins = Bitboard.hasWin(x);
+        boolean oWins = Bitboard.hasWin(o);
+        assertTrue(!(xWins && oWins), "two winners in " + game);
+        Game.GameStatus expected;
+        if (xWins) {
+            expected = Game.GameStatus.X_WINS;
+        } else if (oWins) {
+            expected = Game.GameStatus.O_WINS;
+        } else if (xCount + oCount == Bitboard.CELLS) {
+            expected = Game.GameStatus.DRAW;
+        } else {
+            expected = Game.GameStatus.IN_PROGRESS;
+        }
+        assertEquals(expected, game.getStatus(), "status of " + game);
+    }
+}
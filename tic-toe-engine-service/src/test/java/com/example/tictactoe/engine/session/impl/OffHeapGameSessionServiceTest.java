@@ -0,0 +1,195 @@
+package com.example.tictactoe.engine.session.impl;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.core.model.MoveError;
+import com.example.tictactoe.engine.GameEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapGameSessionServiceTest {
+
+    private OffHeapGameSessionService gameSessionService;
+
+    @BeforeEach
+    void setUp() {
+        // Tiny segments, so the tests exercise growth
+        gameSessionService = new OffHeapGameSessionService(new GameEngine(), 4, 16);
+    }
+
+    @Test
+    void processMove_roundTripsThroughTheRecord() {
+        gameSessionService.processMove("g", 1, 1, 'X');
+        gameSessionService.processMove("g", 0, 0, 'O');
+        GameResult rejected = gameSessionService.processMove("g", 0, 0, 'X');
+
+        assertFalse(rejected.isValid());
+        assertEquals(MoveError.CELL_OCCUPIED, rejected.getError());
+
+        Game game = gameSessionService.getGameSession("g");
+        assertEquals(2, game.getMoveCount());
+        assertEquals('X', game.getCurrentPlayer());
+        assertEquals(0, game.getLastMoveRow());
+        assertEquals(0, game.getLastMoveColumn());
+        assertArrayEquals(new char[]{'O', ' ', ' '}, game.getBoard()[0]);
+        assertArrayEquals(new char[]{' ', 'X', ' '}, game.getBoard()[1]);
+        assertEquals(Game.GameStatus.IN_PROGRESS, game.getStatus());
+    }
+
+    @Test
+    void processMove_finishesGames() {
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        char[] players = {'X', 'O', 'X', 'O', 'X'};
+        GameResult result = null;
+        for (int i = 0; i < moves.length; i++) {
+            result = gameSessionService.processMove("win", moves[i][0], moves[i][1], players[i]);
+        }
+        assertTrue(result.isValid());
+        assertEquals(Game.GameStatus.X_WINS, gameSessionService.getGameSession("win").getStatus());
+    }
+
+    @Test
+    void undoMove_restoresThePositionKeptInTheRecord() {
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        char[] players = {'X', 'O', 'X', 'O', 'X'};
+        for (int i = 0; i < moves.length; i++) {
+            gameSessionService.processMove("win", moves[i][0], moves[i][1], players[i]);
+        }
+        long version = gameSessionService.getGameSession("win").getVersion();
+
+        GameResult undone = gameSessionService.undoMove("win", version);
+        assertTrue(undone.isValid());
+        Game game = gameSessionService.getGameSession("win");
+        assertEquals(Game.GameStatus.IN_PROGRESS, game.getStatus());
+        assertEquals(4, game.getMoveLog().size());
+        assertEquals('X', game.getCurrentPlayer());
+        assertEquals(' ', game.getCell(0, 2));
+        assertEquals(4, game.getLastMoveIndex());
+        assertTrue(game.getVersion() > version);
+
+        assertEquals(MoveError.VERSION_MISMATCH, gameSessionService.undoMove("win", version).getError());
+        assertNull(gameSessionService.undoMove("missing", -1));
+    }
+
+    @Test
+    void tablesGrowWithoutLosingGames() {
+        int games = 50_000;
+        for (int i = 0; i < games; i++) {
+            gameSessionService.processMove("game-" + i, i % 3, (i / 3) % 3, 'X');
+        }
+        assertEquals(games, gameSessionService.size());
+        assertTrue(gameSessionService.offHeapBytes() >= (long) games * OffHeapGameSessionService.RECORD_BYTES);
+        for (int i = 0; i < games; i++) {
+            Game game = gameSessionService.getGameSession("game-" + i);
+            assertNotNull(game, "game-" + i);
+            assertEquals('X', game.getCell(i % 3, (i / 3) % 3));
+        }
+        assertNull(gameSessionService.getGameSession("missing"));
+    }
+
+    @Test
+    void removeGameSession_keepsTheOtherGamesReachable() {
+        int games = 5_000;
+        for (int i = 0; i < games; i++) {
+            gameSessionService.processMove("game-" + i, 1, 1, 'X');
+        }
+        long version = gameSessionService.getGameSession("game-0").getVersion();
+        assertFalse(gameSessionService.removeGameSession("game-0", version - 1));
+        for (int i = 0; i < games; i += 2) {
+            assertTrue(gameSessionService.removeGameSession("game-" + i, version));
+        }
+
+        assertEquals(games / 2, gameSessionService.size());
+        for (int i = 0; i < games; i++) {
+            Game game = gameSessionService.getGameSession("game-" + i);
+            if (i % 2 == 0) {
+                assertNull(game, "game-" + i);
+            } else {
+                assertNotNull(game, "game-" + i);
+                assertEquals('X', game.getCell(1, 1));
+            }
+        }
+    }
+
+    @Test
+    void forEachGame_listsHashedIdsWithTheirText() {
+        GameId uuid = GameId.random();
+        gameSessionService.processMove(uuid, 1, 1, 'X');
+        for (int i = 0; i < 100; i++) {
+            gameSessionService.processMove(GameId.of("game-" + i), 1, 1, 'X');
+        }
+        long version = gameSessionService.getGameSession(uuid).getVersion();
+        for (int i = 0; i < 100; i += 2) {
+            assertTrue(gameSessionService.removeGameSession(GameId.of("game-" + i), version));
+        }
+
+        Set<String> listed = new HashSet<>();
+        gameSessionService.forEachGame(game -> {
+            assertEquals('X', game.getCell(1, 1));
+            listed.add(game.getId().toString());
+        });
+        Set<String> expected = new HashSet<>();
+        expected.add(uuid.toString());
+        for (int i = 1; i < 100; i += 2) {
+            expected.add("game-" + i);
+        }
+        assertEquals(expected, listed);
+    }
+
+    @Test
+    void importGame_keepsTheNewerVersion() {
+        Game handedOver = new Game("h");
+        handedOver.makeMove(1, 1, 'X');
+        handedOver.setVersion(10);
+        assertTrue(gameSessionService.importGame(handedOver));
+        assertEquals(10, gameSessionService.getGameSession("h").getVersion());
+        assertEquals('X', gameSessionService.getGameSession("h").getCell(1, 1));
+
+        Game stale = new Game("h");
+        stale.setVersion(10);
+        assertFalse(gameSessionService.importGame(stale));
+        assertEquals('X', gameSessionService.getGameSession("h").getCell(1, 1));
+    }
+
+    @Test
+    void createGameSession_continuesVersionAndRejectsLargeBoards() {
+        gameSessionService.processMove("g", 0, 0, 'X');
+        long version = gameSessionService.getGameSession("g").getVersion();
+
+        Game recreated = gameSessionService.createGameSession("g");
+        assertTrue(recreated.getVersion() > version);
+        assertEquals(0, gameSessionService.getGameSession("g").getMoveCount());
+        assertThrows(IllegalArgumentException.class, () -> gameSessionService.createGameSession("big", 15, 5));
+    }
+
+    @Test
+    void createGameSessionIfAbsent_keepsTheExistingGame() {
+        GameId gameId = GameId.of("once");
+        assertNotNull(gameSessionService.createGameSessionIfAbsent(gameId, 3, 3));
+        gameSessionService.processMove(gameId, 0, 0, 'X');
+
+        assertNull(gameSessionService.createGameSessionIfAbsent(gameId, 3, 3));
+        assertEquals(1, gameSessionService.getGameSession(gameId).getMoveCount());
+        assertEquals(1, gameSessionService.getOrCreateGameSession(gameId).getMoveCount());
+    }
+
+    @Test
+    void processMove_checksExpectedVersion() {
+        long version = gameSessionService.createGameSession("v").getVersion();
+        assertTrue(gameSessionService.processMove("v", 0, 0, 'X', version).isValid());
+        GameResult stale = gameSessionService.processMove("v", 1, 1, 'O', version);
+        assertEquals(MoveError.VERSION_MISMATCH, stale.getError());
+    }
+}
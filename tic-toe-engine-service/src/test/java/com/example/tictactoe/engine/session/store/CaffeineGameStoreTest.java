@@ -0,0 +1,56 @@
+package com.example.tictactoe.engine.session.store;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CaffeineGameStoreTest {
+
+    @Test
+    void finishedGamesExpireBeforeGamesInProgress() throws InterruptedException {
+        CaffeineGameStore store = new CaffeineGameStore(1_000, Duration.ofMinutes(5), Duration.ofMillis(50));
+        Game finished = store.computeIfAbsent(GameId.of("finished"), Game::new);
+        Game playing = store.computeIfAbsent(GameId.of("playing"), Game::new);
+
+        finished.setStatus(Game.GameStatus.X_WINS);
+        store.touch(finished);
+        Thread.sleep(200);
+
+        assertNull(store.get(GameId.of("finished")));
+        assertSame(playing, store.get(GameId.of("playing")));
+    }
+
+    @Test
+    void sizeIsBoundedAndEvictionsAreCounted() {
+        CaffeineGameStore store = new CaffeineGameStore(100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        for (int i = 0; i < 10_000; i++) {
+            store.computeIfAbsent(GameId.of("game-" + i), Game::new);
+        }
+        store.cleanUp();
+
+        assertTrue(store.size() <= 100, "size " + store.size());
+        assertTrue(store.stats().evictionCount() > 0);
+    }
+
+    @Test
+    void isCurrentDoesNotCountAsAccess() {
+        CaffeineGameStore store = new CaffeineGameStore(100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        Game game = store.computeIfAbsent(GameId.of("game"), Game::new);
+        long hits = store.stats().hitCount();
+
+        assertTrue(store.isCurrent(game));
+        assertFalse(store.isCurrent(new Game("game")));
+        assertEquals(hits, store.stats().hitCount());
+        assertNotNull(store.get(GameId.of("game")));
+        assertEquals(hits + 1, store.stats().hitCount());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.tictactoe.engine.session.store;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredGameStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private TieredGameStore store;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    void idleGamesAreHibernatedAndRehydratedOnAccess() throws IOException {
+        store = newStore(Duration.ZERO);
+        Game uuid = store.computeIfAbsent(GameId.random(), Game::new);
+        uuid.makeMove(1, 1, 'X');
+        uuid.makeMove(0, 0, 'O');
+        Game text = store.computeIfAbsent(GameId.of("game-1"), id -> new Game(id, 5, 4));
+        text.makeMove(4, 4, 'X');
+
+        assertEquals(2, store.sweep());
+        assertEquals(2, store.hibernatedCount());
+        assertEquals(2L, store.size());
+        assertFalse(store.isCurrent(uuid));
+
+        Game rehydrated = store.get(uuid.getId());
+        assertNotSame(uuid, rehydrated);
+        assertSameGame(uuid, rehydrated);
+        assertTrue(store.isCurrent(rehydrated));
+        assertSame(rehydrated, store.get(uuid.getId()));
+        assertEquals(1, store.hibernatedCount());
+
+        Game created = store.computeIfAbsent(GameId.of("game-1"), id -> {
+            throw new AssertionError("A hibernated game must be rehydrated, not created");
+        });
+        assertSameGame(text, created);
+        assertEquals("game-1", created.getGameId());
+        assertEquals(0, store.hibernatedCount());
+    }
+
+    @Test
+    void recentlyUsedGamesStayInMemory() throws IOException {
+        store = newStore(Duration.ofMinutes(5));
+        Game game = store.computeIfAbsent(GameId.random(), Game::new);
+
+        assertEquals(0, store.sweep());
+        assertTrue(store.isCurrent(game));
+    }
+
+    @Test
+    void computeAndForEachSeeHibernatedGames() throws IOException {
+        store = newStore(Duration.ZERO);
+        Map<GameId, Game> games = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            Game game = store.computeIfAbsent(GameId.random(), Game::new);
+            game.makeMove(i % 3, (i / 3) % 3, 'X');
+            games.put(game.getId(), game);
+        }
+        store.sweep();
+
+        // Remove some hibernated games and bring others back, leaving dead records behind
+        List<GameId> ids = new ArrayList<>(games.keySet());
+        for (int i = 0; i < ids.size(); i++) {
+            GameId id = ids.get(i);
+            if (i % 4 == 0) {
+                assertNull(store.compute(id, (key, game) -> {
+                    assertSameGame(games.get(key), game);
+                    return null;
+                }));
+                games.remove(id);
+            } else if (i % 4 == 1) {
+                assertSameGame(games.get(id), store.get(id));
+            }
+        }
+        store.sweep();
+        store.compact();
+
+        assertEquals(150, games.size());
+        assertEquals(150, store.hibernatedCount());
+        Map<GameId, Game> visited = new HashMap<>();
+        store.forEach(game -> visited.put(game.getId(), game));
+        assertEquals(games.keySet(), visited.keySet());
+        for (Game game : games.values()) {
+            assertSameGame(game, store.get(game.getId()));
+        }
+    }
+
+    private TieredGameStore newStore(Duration idleTimeout) {
+        return new TieredGameStore(directory, idleTimeout, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    private static void assertSameGame(Game expected, Game actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getWinLength(), actual.getWinLength());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCurrentPlayer(), actual.getCurrentPlayer());
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        for (int word = 0; word < expected.getBoardWords(); word++) {
+            assertEquals(expected.getBoardWord('X', word), actual.getBoardWord('X', word));
+            assertEquals(expected.getBoardWord('O', word), actual.getBoardWord('O', word));
+        }
+        assertEquals(expected.getMoveLog().size(), actual.getMoveLog().size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.util.Bitboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameSolverTest {
+
+    private final GameSolver solver = new GameSolver();
+
+    @Test
+    void emptyBoard_isADraw() {
+        assertEquals(0, solver.evaluate(0, 0));
+        SolverResult result = solver.bestMove(new Game("empty"));
+        assertEquals(0, result.getScore());
+        assertEquals("DRAW", result.getOutcome());
+    }
+
+    @Test
+    void immediateWin_isPlayed() {
+        // X: top-left, top-middle; O: middle-left, centre; X to move wins at top-right
+        Game game = new Game("win");
+        game.makeMove(0, 0, 'X');
+        game.makeMove(1, 0, 'O');
+        game.makeMove(0, 1, 'X');
+        game.makeMove(1, 1, 'O');
+
+        SolverResult result = solver.bestMove(game);
+        assertEquals(0, result.getRow());
+        assertEquals(2, result.getColumn());
+        // Four cells stay empty after the winning move
+        assertEquals(5, result.getScore());
+        assertEquals("WIN", result.getOutcome());
+    }
+
+    @Test
+    void immediateThreat_isBlocked() {
+        // O threatens the left column; X has no win of its own and must take bottom-left
+        Game game = new Game("block");
+        game.makeMove(1, 1, 'X');
+        game.makeMove(0, 0, 'O');
+        game.makeMove(2, 2, 'X');
+        game.makeMove(1, 0, 'O');
+
+        SolverResult result = solver.bestMove(game);
+        assertEquals(2, result.getRow());
+        assertEquals(0, result.getColumn());
+    }
+
+    @Test
+    void symmetricPositions_scoreTheSame() {
+        Random random = new Random(42);
+        for (int position = 0; position < 200; position++) {
+            int mover = 0;
+            int opponent = 0;
+            int moves = random.nextInt(Bitboard.CELLS);
+            for (int move = 0; move < moves && !Bitboard.hasWin(opponent); move++) {
+                int empty = ~(mover | opponent) & Bitboard.FULL_MASK;
+                int bit = nthBit(empty, random.nextInt(Integer.bitCount(empty)));
+                int placed = mover | bit;
+                mover = opponent;
+                opponent = placed;
+            }
+
+            // A cold solver has no table entries from the transformed positions to lean on
+            int expected = new GameSolver().evaluate(mover, opponent);
+            for (int symmetry = 0; symmetry < BoardSymmetry.COUNT; symmetry++) {
+                int transformedMover = BoardSymmetry.transform(symmetry, mover);
+                int transformedOpponent = BoardSymmetry.transform(symmetry, opponent);
+                assertEquals(expected, solver.evaluate(transformedMover, transformedOpponent),
+                        "symmetry " + symmetry + " of " + mover + "/" + opponent);
+                if (!Bitboard.hasWin(opponent) && (mover | opponent) != Bitboard.FULL_MASK) {
+                    assertEquals(expected, solver.bestMove(transformedMover, transformedOpponent).getScore());
+                }
+            }
+        }
+    }
+
+    private static int nthBit(int mask, int n) {
+        for (int i = 0; i < n; i++) {
+            mask &= mask - 1;
+        }
+        return mask & -mask;
+    }
+}
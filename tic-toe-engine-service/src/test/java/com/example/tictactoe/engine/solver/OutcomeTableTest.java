@@ -0,0 +1,103 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.util.Bitboard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutcomeTableTest {
+
+    private final GameSolver solver = new GameSolver();
+    private final OutcomeTable table = new OutcomeTable(solver);
+
+    @Test
+    void reachablePositions_areCountedOnce() {
+        assertEquals(5478, table.getPositionCount());
+        assertTrue(table.contains(0, 0));
+        // O cannot have moved first, and a cell cannot hold both marks
+        assertFalse(table.contains(0, cells(0)));
+        assertFalse(table.contains(cells(0), cells(0)));
+    }
+
+    @Test
+    void emptyBoard_isADrawWithEveryOutcomeOpen() {
+        assertEquals(0, table.score(0, 0));
+        assertEquals(Game.GameStatus.DRAW, table.predictOutcome(0, 0));
+        assertNull(table.decidedOutcome(0, 0));
+    }
+
+    @Test
+    void immediateWin_isPredictedAndPlayed() {
+        // X: top-left, top-middle; O: middle-left, centre; X to move
+        int x = cells(0, 1);
+        int o = cells(3, 4);
+
+        assertEquals(5, table.score(x, o));
+        assertEquals(Game.GameStatus.X_WINS, table.predictOutcome(x, o));
+        assertNull(table.decidedOutcome(x, o));
+        SolverResult best = table.bestMove(x, o);
+        assertEquals(0, best.getRow());
+        assertEquals(2, best.getColumn());
+    }
+
+    @Test
+    void positionWithNoLineLeft_isADecidedDraw() {
+        // X O X / X O O / O X _ with X to move: the last cell completes no line
+        int x = cells(0, 2, 3, 7);
+        int o = cells(1, 4, 5, 6);
+
+        assertNotEquals(Bitboard.FULL_MASK, x | o);
+        assertEquals(Game.GameStatus.DRAW, table.decidedOutcome(x, o));
+        assertEquals(Game.GameStatus.X_WINS, table.decidedOutcome(cells(0, 1, 2), cells(3, 4)));
+        assertNull(table.bestMove(cells(0, 1, 2), cells(3, 4)));
+    }
+
+    @Test
+    void optimalMoves_agreeWithTheSolver() {
+        int checked = 0;
+        for (int x = 0; x <= Bitboard.FULL_MASK; x++) {
+            for (int o = 0; o <= Bitboard.FULL_MASK; o++) {
+                if (!table.contains(x, o)) {
+                    continue;
+                }
+                boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+                int mover = xToMove ? x : o;
+                int opponent = xToMove ? o : x;
+                assertEquals(solver.evaluate(mover, opponent), table.score(x, o));
+                if (Bitboard.hasWin(x) || Bitboard.hasWin(o) || (x | o) == Bitboard.FULL_MASK) {
+                    assertEquals(0, table.optimalMoves(x, o));
+                    continue;
+                }
+
+                int expected = 0;
+                int empty = ~(x | o) & Bitboard.FULL_MASK;
+                while (empty != 0) {
+                    int bit = empty & -empty;
+                    empty ^= bit;
+                    if (-solver.evaluate(opponent, mover | bit) == table.score(x, o)) {
+                        expected |= bit;
+                    }
+                }
+                assertEquals(expected, table.optimalMoves(x, o), x + "/" + o);
+                SolverResult best = solver.bestMove(mover, opponent);
+                assertEquals(best.getScore(), table.score(x, o));
+                assertTrue((table.optimalMoves(x, o) & 1 << best.getRow() * Bitboard.SIZE + best.getColumn()) != 0);
+                checked++;
+            }
+        }
+        assertTrue(checked > 4000);
+    }
+
+    private static int cells(int... cells) {
+        int mask = 0;
+        for (int cell : cells) {
+            mask |= 1 << cell;
+        }
+        return mask;
+    }
+}
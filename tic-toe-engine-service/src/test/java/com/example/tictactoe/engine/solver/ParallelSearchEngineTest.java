@@ -0,0 +1,111 @@
+package com.example.tictactoe.engine.solver;
+
+import com.example.tictactoe.core.model.Game;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelSearchEngineTest {
+    private static final long TIME_LIMIT_MS = 10_000;
+    private static final long NODE_LIMIT = 50_000_000;
+
+    private final ParallelSearchEngine searchEngine = new ParallelSearchEngine(2, 16, TIME_LIMIT_MS, NODE_LIMIT);
+
+    @AfterEach
+    void shutDown() {
+        searchEngine.shutdown();
+    }
+
+    @Test
+    void openThree_isAForcedWin() {
+        Game game = openTwo();
+
+        SearchResult result = searchEngine.search(game, TIME_LIMIT_MS, NODE_LIMIT);
+        // Row 2 columns 1-3 leave both ends open, and O can block only one
+        assertEquals(2, result.getRow());
+        assertEquals(3, result.getColumn());
+        assertTrue(result.isProven());
+        assertEquals(ParallelSearchEngine.WIN_SCORE - 3, result.getScore());
+    }
+
+    @Test
+    void threeInARow_isBlocked() {
+        Game game = new Game("block", 5, 4);
+        game.makeMove(4, 0, 'X');
+        game.makeMove(0, 0, 'O');
+        game.makeMove(4, 4, 'X');
+        game.makeMove(0, 1, 'O');
+        game.makeMove(2, 2, 'X');
+        game.makeMove(0, 2, 'O');
+
+        // No forced result ends this search early; two plies already show every other move losing
+        SearchResult result = searchEngine.search(game, TIME_LIMIT_MS, 200_000);
+        assertTrue(result.getDepth() >= 2);
+        assertEquals(0, result.getRow());
+        assertEquals(3, result.getColumn());
+    }
+
+    @Test
+    void mateDistance_doesNotDependOnEarlierSearches() {
+        // The first search stores the positions after X's threat two plies below its root
+        searchEngine.search(openTwo(), TIME_LIMIT_MS, NODE_LIMIT);
+        Game threatened = openTwo();
+        threatened.makeMove(2, 3, 'X');
+
+        SearchResult result = searchEngine.search(threatened, TIME_LIMIT_MS, NODE_LIMIT);
+        assertEquals(-(ParallelSearchEngine.WIN_SCORE - 2), result.getScore());
+        ParallelSearchEngine fresh = new ParallelSearchEngine(2, 16, TIME_LIMIT_MS, NODE_LIMIT);
+        try {
+            assertEquals(fresh.search(threatened, TIME_LIMIT_MS, NODE_LIMIT).getScore(), result.getScore());
+        } finally {
+            fresh.shutdown();
+        }
+    }
+
+    @Test
+    void requestedBudgets_areCappedAndMustBePositive() {
+        ParallelSearchEngine capped = new ParallelSearchEngine(1, 10, 200, 1_000, 500, 5_000);
+        try {
+            assertEquals(200, capped.resolveTimeLimitMillis(null));
+            assertEquals(500, capped.resolveTimeLimitMillis(Long.MAX_VALUE));
+            assertEquals(5_000, capped.resolveNodeLimit(1_000_000L));
+            assertThrows(IllegalArgumentException.class, () -> capped.resolveTimeLimitMillis(0L));
+            assertThrows(IllegalArgumentException.class, () -> capped.resolveNodeLimit(-1L));
+        } finally {
+            capped.shutdown();
+        }
+    }
+
+    @Test
+    void unboundedTimeLimit_doesNotOverflow() {
+        SearchResult result = searchEngine.search(openTwo(), Long.MAX_VALUE, NODE_LIMIT);
+        assertTrue(result.isProven());
+    }
+
+    @Test
+    void fullBoard_hasNoMove() {
+        // X O X / X O O / O X X fills a 3x3 board without a line
+        Game game = new Game("full", 3, 3);
+        int[][] moves = {{0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}};
+        for (int i = 0; i < moves.length; i++) {
+            game.makeMove(moves[i][0], moves[i][1], i % 2 == 0 ? 'X' : 'O');
+        }
+        assertNull(searchEngine.search(game, TIME_LIMIT_MS, NODE_LIMIT));
+    }
+
+    /**
+     * X holds row 2 columns 1 and 2 on a 5x5, K=4 board, with O's stones in two corners; X to move.
+     */
+    private static Game openTwo() {
+        Game game = new Game("open", 5, 4);
+        game.makeMove(2, 1, 'X');
+        game.makeMove(0, 0, 'O');
+        game.makeMove(2, 2, 'X');
+        game.makeMove(4, 4, 'O');
+        return game;
+    }
+}
@@ -2,10 +2,8 @@ package com.example.tictactoe.session;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cloud.openfeign.EnableFeignClients;
 
-@SpringBootApplication(scanBasePackages = "com.example.tictactoe")
-@EnableFeignClients(basePackages = "com.example.tictactoe.session.client")
+@SpringBootApplication(scanBasePackages = "com.example.tictactoe.session")
 public class TicToeSessionServiceApplication {
 
     public static void main(String[] args) {
@@ -1,21 +1,29 @@
 package com.example.tictactoe.session.api;
 
+import com.example.tictactoe.core.model.GameId;
 import com.example.tictactoe.session.api.dto.SessionResponse;
+import com.example.tictactoe.session.api.dto.SimulationJobResponse;
 import com.example.tictactoe.session.client.dto.EngineGameResponse;
 import com.example.tictactoe.session.model.Session;
+import com.example.tictactoe.session.model.SimulationJob;
 import com.example.tictactoe.session.service.SessionService;
+import com.example.tictactoe.session.service.SimulationJobService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/sessions")
 public class SessionController {
 
     private final SessionService sessionService;
+    private final SimulationJobService simulationJobService;
 
-    public SessionController(SessionService sessionService) {
+    public SessionController(SessionService sessionService, SimulationJobService simulationJobService) {
         this.sessionService = sessionService;
+        this.simulationJobService = simulationJobService;
     }
 
     @PostMapping
@@ -24,17 +32,23 @@ public class SessionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(new SessionResponse(session));
     }
 
+    /**
+     * Queues a simulation and answers at once; moves arrive over the WebSocket channel.
+     * POST /sessions/{sessionId}/simulate
+     */
     @PostMapping("/{sessionId}/simulate")
-    public ResponseEntity<SessionResponse> simulateSession(@PathVariable String sessionId) {
-        Session session = sessionService.simulateSession(sessionId);
-        if (session == null) {
+    public ResponseEntity<SimulationJobResponse> simulateSession(@PathVariable GameId sessionId) {
+        SimulationJob job = simulationJobService.submit(sessionId);
+        if (job == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-        return ResponseEntity.ok(new SessionResponse(session));
+        return ResponseEntity.accepted()
+                .location(URI.create("/simulations/" + job.getJobId()))
+                .body(new SimulationJobResponse(job));
     }
 
     @GetMapping("/{sessionId}")
-    public ResponseEntity<SessionResponse> getSession(@PathVariable String sessionId) {
+    public ResponseEntity<SessionResponse> getSession(@PathVariable GameId sessionId) {
         Session session = sessionService.getSession(sessionId);
         if (session == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -47,7 +61,7 @@ public class SessionController {
      * GET /sessions/{sessionId}/game
      */
     @GetMapping("/{sessionId}/game")
-    public ResponseEntity<EngineGameResponse> getEngineGame(@PathVariable String sessionId) {
+    public ResponseEntity<EngineGameResponse> getEngineGame(@PathVariable GameId sessionId) {
         EngineGameResponse game = sessionService.getEngineGame(sessionId);
         if (game == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -0,0 +1,46 @@
+package com.example.tictactoe.session.api;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.session.api.dto.SimulationJobResponse;
+import com.example.tictactoe.session.model.SimulationJob;
+import com.example.tictactoe.session.service.SimulationJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/simulations")
+public class SimulationJobController {
+
+    private final SimulationJobService simulationJobService;
+
+    public SimulationJobController(SimulationJobService simulationJobService) {
+        this.simulationJobService = simulationJobService;
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<SimulationJobResponse> getJob(@PathVariable GameId jobId) {
+        SimulationJob job = simulationJobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(new SimulationJobResponse(job));
+    }
+
+    /**
+     * Cancels a job; 409 if it already finished.
+     * DELETE /simulations/{jobId}
+     */
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<SimulationJobResponse> cancelJob(@PathVariable GameId jobId) {
+        SimulationJob job = simulationJobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (job.getStatus().isFinished()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new SimulationJobResponse(job));
+        }
+        job = simulationJobService.cancel(jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new SimulationJobResponse(job));
+    }
+}
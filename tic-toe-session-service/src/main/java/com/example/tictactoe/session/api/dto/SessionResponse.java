@@ -6,6 +6,7 @@ import com.example.tictactoe.session.model.Session;
 import com.example.tictactoe.session.model.SessionStatus;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 public class SessionResponse {
@@ -22,16 +23,22 @@ public class SessionResponse {
     public SessionResponse() {
     }
 
+    /**
+     * Copies the session under its monitor, so the response is one consistent state that later
+     * changes do not reach.
+     */
     public SessionResponse(Session session) {
-        this.sessionId = session.getSessionId();
-        this.gameId = session.getGameId();
-        this.status = session.getStatus();
-        this.createdAt = session.getCreatedAt();
-        this.updatedAt = session.getUpdatedAt();
-        this.board = session.getBoard();
-        this.gameStatus = session.getGameStatus();
-        this.error = session.getError();
-        this.moves = session.getMoves();
+        synchronized (session) {
+            this.sessionId = session.getSessionId();
+            this.gameId = session.getGameId();
+            this.status = session.getStatus();
+            this.createdAt = session.getCreatedAt();
+            this.updatedAt = session.getUpdatedAt();
+            this.board = session.getBoard();
+            this.gameStatus = session.getGameStatus();
+            this.error = session.getError();
+            this.moves = new ArrayList<>(session.getMoves());
+        }
     }
 
     public String getSessionId() {
@@ -0,0 +1,105 @@
+package com.example.tictactoe.session.api.dto;
+
+import com.example.tictactoe.session.model.SimulationJob;
+import com.example.tictactoe.session.model.SimulationJobStatus;
+
+import java.time.Instant;
+
+public class SimulationJobResponse {
+    private String jobId;
+    private String sessionId;
+    private SimulationJobStatus status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long queuedMillis;
+    private long runMillis;
+    private String error;
+
+    public SimulationJobResponse() {
+    }
+
+    public SimulationJobResponse(SimulationJob job) {
+        this.jobId = job.getJobId();
+        this.sessionId = job.getSessionId();
+        this.status = job.getStatus();
+        this.submittedAt = job.getSubmittedAt();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.queuedMillis = job.getQueuedTime().toMillis();
+        this.runMillis = job.getRunTime().toMillis();
+        this.error = job.getError();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public SimulationJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SimulationJobStatus status) {
+        this.status = status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getQueuedMillis() {
+        return queuedMillis;
+    }
+
+    public void setQueuedMillis(long queuedMillis) {
+        this.queuedMillis = queuedMillis;
+    }
+
+    public long getRunMillis() {
+        return runMillis;
+    }
+
+    public void setRunMillis(long runMillis) {
+        this.runMillis = runMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.tictactoe.session.api.exception;
 
 import com.example.tictactoe.core.dto.ErrorResponse;
 import com.example.tictactoe.core.util.TicToeConstants;
+import com.example.tictactoe.session.service.SimulationRejectedException;
+import com.example.tictactoe.session.store.SessionStoreFullException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,6 +14,18 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(SimulationRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleSimulationRejected(SimulationRejectedException ex) {
+        ErrorResponse response = new ErrorResponse(TicToeConstants.ERROR_SESSION, ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+
+    @ExceptionHandler(SessionStoreFullException.class)
+    public ResponseEntity<ErrorResponse> handleSessionStoreFull(SessionStoreFullException ex) {
+        ErrorResponse response = new ErrorResponse(TicToeConstants.ERROR_SESSION, ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse response = new ErrorResponse(
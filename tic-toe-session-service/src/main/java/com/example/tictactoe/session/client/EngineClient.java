@@ -2,11 +2,15 @@ package com.example.tictactoe.session.client;
 
 import com.example.tictactoe.session.client.dto.EngineGameResponse;
 import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(name = "tic-toe-engine", url = "${engine.base-url:http://localhost:8080}")
 public interface EngineClient {
@@ -14,7 +18,20 @@ public interface EngineClient {
     @GetMapping("/games/{gameId}")
     EngineGameResponse getGame(@PathVariable("gameId") String gameId);
 
+    /**
+     * Reads the game unless it is still at the version named by the {@code If-None-Match} ETag.
+     * The engine then answers 304, which Feign throws as a {@code FeignException} with that status;
+     * the colocated client returns null instead.
+     */
+    @GetMapping("/games/{gameId}")
+    EngineGameResponse getGameIfNoneMatch(@PathVariable("gameId") String gameId,
+                                          @RequestHeader(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch);
+
     @PostMapping("/games/{gameId}/move")
     EngineGameResponse makeMove(@PathVariable("gameId") String gameId,
                                 @RequestBody EngineMoveRequest request);
+
+    @PostMapping("/games/{gameId}/simulate")
+    EngineSimulationResponse simulate(@PathVariable("gameId") String gameId,
+                                      @RequestParam("policy") String policy);
 }
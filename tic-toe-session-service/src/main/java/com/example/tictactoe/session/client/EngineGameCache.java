@@ -0,0 +1,257 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.ConcurrentIdMap;
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the engine's game state, for the session reads that UI clients poll.
+ * <p>
+ * A game read within {@code session.engine.cache.max-age} of the last fetch is answered from the
+ * cache. After that it is revalidated with {@code If-None-Match} on its version, so an unchanged
+ * game costs the engine a 304 instead of a full response. Concurrent reads of a game share one
+ * fetch. The states the session service gets back from its own moves and simulations are put in
+ * with {@link #update}, so polls after a move need no engine call at all; a cached state is only
+ * replaced by one with a newer version.
+ * <p>
+ * Publishes {@code session.engine.cache.reads} tagged {@code result=fresh|collapsed|not-modified|modified|miss},
+ * {@code session.engine.cache.engine-calls}, and {@code session.engine.cache.call-reduction}, the
+ * share of reads that did not reach the engine.
+ */
+@Component
+public class EngineGameCache {
+    private final EngineClient engineClient;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+    private final ConcurrentIdMap<Entry> entries = new ConcurrentIdMap<>();
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+    private final Counter fresh;
+    private final Counter collapsed;
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter misses;
+    private final Counter engineCalls;
+
+    public EngineGameCache(EngineClient engineClient, boolean enabled, Duration maxAge, MeterRegistry meterRegistry) {
+        this.engineClient = engineClient;
+        this.enabled = enabled;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.fresh = read(meterRegistry, "fresh");
+        this.collapsed = read(meterRegistry, "collapsed");
+        this.notModified = read(meterRegistry, "not-modified");
+        this.modified = read(meterRegistry, "modified");
+        this.misses = read(meterRegistry, "miss");
+        this.engineCalls = Counter.builder("session.engine.cache.engine-calls")
+                .description("Game reads the cache sent to the engine")
+                .register(meterRegistry);
+        Gauge.builder("session.engine.cache.call-reduction", this, EngineGameCache::callReduction)
+                .description("Share of game reads answered without an engine call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A cache with the default max age, for tests and tools.
+     */
+    public EngineGameCache(EngineClient engineClient) {
+        this(engineClient, true, Duration.ofSeconds(1), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public EngineGameCache(EngineClient engineClient,
+                           @Value("${session.engine.cache.enabled:true}") boolean enabled,
+                           @Value("${session.engine.cache.max-age:1s}") Duration maxAge,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this(engineClient, enabled, maxAge, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Returns the game's state, from the cache when it is fresh, otherwise from the engine.
+     * The returned response is shared and must not be modified.
+     */
+    public EngineGameResponse get(String gameId) {
+        reads.incrementAndGet();
+        if (!enabled) {
+            misses.increment();
+            return call(() -> engineClient.getGame(gameId));
+        }
+        Entry entry = entries.computeIfAbsent(GameId.of(gameId), key -> new Entry());
+        Snapshot cached = entry.snapshot.get();
+        if (cached != null && isFresh(cached)) {
+            fresh.increment();
+            return cached.game;
+        }
+
+        CompletableFuture<EngineGameResponse> fetch = new CompletableFuture<>();
+        CompletableFuture<EngineGameResponse> running = entry.inFlight.compareAndExchange(null, fetch);
+        if (running != null) {
+            collapsed.increment();
+            return join(running);
+        }
+        try {
+            EngineGameResponse game = fetch(gameId, entry);
+            fetch.complete(game);
+            return game;
+        } catch (RuntimeException ex) {
+            fetch.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            entry.inFlight.set(null);
+        }
+    }
+
+    /**
+     * Records a state the engine returned to the session service, unless a newer one is cached.
+     * Handing back a state this cache returned does not make it fresh again.
+     */
+    public void update(EngineGameResponse game) {
+        if (!enabled || game == null || game.getGameId() == null) {
+            return;
+        }
+        Entry entry = entries.computeIfAbsent(GameId.of(game.getGameId()), key -> new Entry());
+        Snapshot snapshot = new Snapshot(game, System.nanoTime());
+        entry.snapshot.updateAndGet(current ->
+                current == null || current.game != game && current.game.getVersion() <= game.getVersion()
+                        ? snapshot
+                        : current);
+    }
+
+    /**
+     * Drops the game's cached state, once its session is gone.
+     */
+    public void invalidate(String gameId) {
+        if (gameId != null) {
+            entries.remove(GameId.of(gameId));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Share of reads so far that were answered without an engine call.
+     */
+    public double callReduction() {
+        long total = reads.get();
+        return total == 0 ? 0.0 : 1.0 - (double) calls.get() / total;
+    }
+
+    private EngineGameResponse fetch(String gameId, Entry entry) {
+        // Another reader may have refreshed the entry while this one was deciding to fetch
+        Snapshot cached = entry.snapshot.get();
+        if (cached != null && isFresh(cached)) {
+            fresh.increment();
+            return cached.game;
+        }
+        long started = System.nanoTime();
+        if (cached == null) {
+            misses.increment();
+            return store(entry, call(() -> engineClient.getGame(gameId)), started);
+        }
+        EngineGameResponse game = call(() -> revalidate(gameId, cached.game.getVersion()));
+        if (game == null) {
+            notModified.increment();
+            Snapshot revalidated = new Snapshot(cached.game, started);
+            entry.snapshot.compareAndSet(cached, revalidated);
+            return cached.game;
+        }
+        modified.increment();
+        return store(entry, game, started);
+    }
+
+    private EngineGameResponse revalidate(String gameId, long version) {
+        try {
+            return engineClient.getGameIfNoneMatch(gameId, eTag(version));
+        } catch (FeignException ex) {
+            if (ex.status() == HttpStatus.NOT_MODIFIED.value()) {
+                return null;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Caches a fetched state. It replaces the cached one unless that was put in by a move or
+     * fetch after this fetch started and is newer; an older version is otherwise taken as the
+     * engine's word, e.g. after the game was recreated.
+     */
+    private static EngineGameResponse store(Entry entry, EngineGameResponse game, long started) {
+        if (game == null) {
+            return null;
+        }
+        Snapshot fetched = new Snapshot(game, started);
+        Snapshot current = entry.snapshot.updateAndGet(existing ->
+                existing != null && existing.fetchedAt - started > 0 && existing.game.getVersion() > game.getVersion()
+                        ? existing
+                        : fetched);
+        return current.game;
+    }
+
+    private EngineGameResponse call(Supplier<EngineGameResponse> request) {
+        calls.incrementAndGet();
+        engineCalls.increment();
+        return request.get();
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return System.nanoTime() - snapshot.fetchedAt < maxAgeNanos;
+    }
+
+    private static EngineGameResponse join(CompletableFuture<EngineGameResponse> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * The engine's ETag for a game version.
+     */
+    static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static Counter read(MeterRegistry registry, String result) {
+        return Counter.builder("session.engine.cache.reads")
+                .description("Game reads through the cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static final class Snapshot {
+        final EngineGameResponse game;
+        final long fetchedAt;
+
+        Snapshot(EngineGameResponse game, long fetchedAt) {
+            this.game = game;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    private static final class Entry {
+        final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+        final AtomicReference<CompletableFuture<EngineGameResponse>> inFlight = new AtomicReference<>();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.core.wire.WireFormat;
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulatedMove;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Feign client's side of the engine's compact {@link WireFormat}: writes move requests and
+ * reads game and simulation responses. The engine answers in JSON when it does not speak the
+ * format, and Jackson reads that as before.
+ */
+public class EngineWireMessageConverter extends AbstractHttpMessageConverter<Object> {
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(WireFormat.MEDIA_TYPE);
+
+    public EngineWireMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == EngineMoveRequest.class || EngineGameResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return EngineGameResponse.class.isAssignableFrom(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == EngineMoveRequest.class && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return readGame(new DataInputStream(inputMessage.getBody()),
+                    EngineSimulationResponse.class.isAssignableFrom(clazz));
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Malformed engine response: " + ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputMessage.getBody());
+        writeMove(out, (EngineMoveRequest) body);
+        out.flush();
+    }
+
+    public static void writeMove(DataOutput out, EngineMoveRequest request) throws IOException {
+        WireFormat.writeVersion(out);
+        WireFormat.writePlayer(out, request.getPlayer());
+        out.writeByte(cell(request.getRow()));
+        out.writeByte(cell(request.getColumn()));
+        out.writeBoolean(false);
+    }
+
+    /**
+     * Reads a game response, with the policy and moves of a simulation when {@code simulation} is set.
+     */
+    public static EngineGameResponse readGame(DataInput in, boolean simulation) throws IOException {
+        WireFormat.readVersion(in);
+        EngineGameResponse game = simulation ? new EngineSimulationResponse() : new EngineGameResponse();
+        game.setGameId(WireFormat.readId(in));
+        game.setBoardSize(in.readUnsignedByte());
+        game.setWinLength(in.readUnsignedByte());
+        game.setStatus(WireFormat.readStatus(in));
+        game.setCurrentPlayer(WireFormat.readPlayer(in));
+        game.setVersion(in.readLong());
+        game.setBoard(WireFormat.readBoard(in, game.getBoardSize()));
+        game.setMessage(WireFormat.readText(in));
+        if (game instanceof EngineSimulationResponse response) {
+            response.setPolicy(WireFormat.readText(in));
+            int count = in.readUnsignedShort();
+            List<EngineSimulatedMove> moves = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                EngineSimulatedMove move = new EngineSimulatedMove();
+                move.setMoveNumber(in.readUnsignedShort());
+                move.setPlayer(WireFormat.readPlayer(in));
+                move.setRow(in.readUnsignedByte());
+                move.setColumn(in.readUnsignedByte());
+                move.setStatus(WireFormat.readStatus(in));
+                moves.add(move);
+            }
+            response.setMoves(moves);
+        }
+        return game;
+    }
+
+    private static int cell(Integer index) throws IOException {
+        if (index == null || index < 0 || index > 0xFF) {
+            throw new IOException("Cell index " + index + " has no wire encoding");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.model.GameResult;
+import com.example.tictactoe.engine.api.dto.SimulatedMove;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.simulation.MovePolicy;
+import com.example.tictactoe.engine.simulation.SimulationService;
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulatedMove;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine client for {@code session.engine.mode=colocated}: calls the engine's services in this
+ * JVM instead of going through HTTP and JSON. Answers like {@code GameController} does, except
+ * that a rejected move or a missing game is thrown as an {@link IllegalStateException} where
+ * the remote client would get a 4xx.
+ */
+@Component
+@ConditionalOnProperty(name = "session.engine.mode", havingValue = "colocated")
+public class LocalEngineClient implements EngineClient {
+
+    private final GameSessionService gameSessionService;
+    private final SimulationService simulationService;
+    private final boolean createOnRead;
+
+    public LocalEngineClient(GameSessionService gameSessionService,
+                             SimulationService simulationService,
+                             @Value("${engine.store.create-on-read:true}") boolean createOnRead) {
+        this.gameSessionService = gameSessionService;
+        this.simulationService = simulationService;
+        this.createOnRead = createOnRead;
+    }
+
+    @Override
+    public EngineGameResponse getGame(String gameId) {
+        GameId id = GameId.of(gameId);
+        Game game = createOnRead ? gameSessionService.getOrCreateGameSession(id) : gameSessionService.getGameSession(id);
+        if (game == null) {
+            throw new IllegalStateException("Game not found: " + gameId);
+        }
+        return copy(game, new EngineGameResponse());
+    }
+
+    /**
+     * Returns null when the game is at the tagged version, where the engine would answer 304.
+     */
+    @Override
+    public EngineGameResponse getGameIfNoneMatch(String gameId, String ifNoneMatch) {
+        EngineGameResponse game = getGame(gameId);
+        return EngineGameCache.eTag(game.getVersion()).equals(ifNoneMatch) ? null : game;
+    }
+
+    @Override
+    public EngineGameResponse makeMove(String gameId, EngineMoveRequest request) {
+        char player = request.getPlayer() != null && !request.getPlayer().isEmpty() ? request.getPlayer().charAt(0) : ' ';
+        GameResult result = gameSessionService.processMove(GameId.of(gameId),
+                request.getRow(), request.getColumn(), player);
+        if (!result.isValid()) {
+            throw new IllegalStateException(result.getMessage());
+        }
+        EngineGameResponse response = copy(result.getGame(), new EngineGameResponse());
+        response.setMessage(result.getMessage());
+        return response;
+    }
+
+    @Override
+    public EngineSimulationResponse simulate(String gameId, String policy) {
+        GameId id = GameId.of(gameId);
+        MovePolicy movePolicy = MovePolicy.valueOf(policy);
+        List<SimulatedMove> moves = simulationService.simulate(id, movePolicy);
+
+        EngineSimulationResponse response = copy(gameSessionService.getGameSession(id), new EngineSimulationResponse());
+        response.setPolicy(movePolicy.name());
+        List<EngineSimulatedMove> simulated = new ArrayList<>(moves.size());
+        for (SimulatedMove move : moves) {
+            EngineSimulatedMove copy = new EngineSimulatedMove();
+            copy.setMoveNumber(move.getMoveNumber());
+            copy.setPlayer(move.getPlayer());
+            copy.setRow(move.getRow());
+            copy.setColumn(move.getColumn());
+            copy.setStatus(move.getStatus());
+            simulated.add(copy);
+        }
+        response.setMoves(simulated);
+        return response;
+    }
+
+    /**
+     * Copies the game under its monitor, like the engine's {@code GameResponse}.
+     */
+    private static <T extends EngineGameResponse> T copy(Game game, T response) {
+        synchronized (game) {
+            response.setGameId(game.getGameId());
+            response.setBoardSize(game.getSize());
+            response.setWinLength(game.getWinLength());
+            response.setBoard(game.getBoard());
+            response.setStatus(game.getStatus().name());
+            response.setCurrentPlayer(String.valueOf(game.getCurrentPlayer()));
+            response.setVersion(game.getVersion());
+        }
+        return response;
+    }
+}
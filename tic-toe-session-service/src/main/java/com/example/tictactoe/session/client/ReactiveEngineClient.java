@@ -0,0 +1,20 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EngineClient}: every call returns at once and the answer
+ * arrives on the HTTP client's event loop, so a simulation waiting for the engine holds no thread.
+ * Calls are cold; nothing is sent until the result is subscribed to.
+ */
+public interface ReactiveEngineClient {
+
+    Mono<EngineGameResponse> getGame(String gameId);
+
+    Mono<EngineGameResponse> makeMove(String gameId, EngineMoveRequest request);
+
+    Mono<EngineSimulationResponse> simulate(String gameId, String policy);
+}
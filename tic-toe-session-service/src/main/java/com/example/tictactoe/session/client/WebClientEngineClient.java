@@ -0,0 +1,106 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * {@link ReactiveEngineClient} over WebClient and Reactor Netty, enabled with
+ * {@code session.engine.client=reactive} in the remote engine mode.
+ * Connections are pooled, at most {@code session.engine.reactive.max-connections}, and negotiate
+ * cleartext HTTP/2 so concurrent calls share them as multiplexed streams; engines without HTTP/2
+ * are spoken to over HTTP/1.1. Every call must answer within {@code session.engine.reactive.deadline},
+ * waiting for a connection included, and goes through the {@code engineService} circuit breaker,
+ * configured by the same {@code resilience4j.circuitbreaker.instances.engineService.*} properties
+ * as the blocking client; a timeout counts as a failure.
+ */
+@Component
+@ConditionalOnExpression("'${session.engine.client:blocking}' == 'reactive' and '${session.engine.mode:remote}' == 'remote'")
+public class WebClientEngineClient implements ReactiveEngineClient, DisposableBean {
+    static final String CIRCUIT_BREAKER = "engineService";
+
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final Duration deadline;
+    private final CircuitBreaker circuitBreaker;
+
+    public WebClientEngineClient(WebClient.Builder webClientBuilder, String baseUrl, int maxConnections,
+                                 Duration deadline, CircuitBreaker circuitBreaker) {
+        this.connectionProvider = ConnectionProvider.builder("engine")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(deadline)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .responseTimeout(deadline);
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.deadline = deadline;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Autowired
+    public WebClientEngineClient(WebClient.Builder webClientBuilder,
+                                 @Value("${engine.base-url:http://localhost:8080}") String baseUrl,
+                                 @Value("${session.engine.reactive.max-connections:64}") int maxConnections,
+                                 @Value("${session.engine.reactive.deadline:2s}") Duration deadline,
+                                 ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry) {
+        this(webClientBuilder, baseUrl, maxConnections, deadline,
+                circuitBreakerRegistry.getIfAvailable(CircuitBreakerRegistry::ofDefaults).circuitBreaker(CIRCUIT_BREAKER));
+    }
+
+    @Override
+    public Mono<EngineGameResponse> getGame(String gameId) {
+        return call(webClient.get()
+                .uri("/games/{gameId}", gameId)
+                .retrieve()
+                .bodyToMono(EngineGameResponse.class));
+    }
+
+    @Override
+    public Mono<EngineGameResponse> makeMove(String gameId, EngineMoveRequest request) {
+        return call(webClient.post()
+                .uri("/games/{gameId}/move", gameId)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(EngineGameResponse.class));
+    }
+
+    @Override
+    public Mono<EngineSimulationResponse> simulate(String gameId, String policy) {
+        return call(webClient.post()
+                .uri(uri -> uri.path("/games/{gameId}/simulate").queryParam("policy", policy).build(gameId))
+                .retrieve()
+                .bodyToMono(EngineSimulationResponse.class));
+    }
+
+    private <T> Mono<T> call(Mono<T> response) {
+        return response
+                .timeout(deadline)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+}
@@ -2,9 +2,12 @@ package com.example.tictactoe.session.client.dto;
 
 public class EngineGameResponse {
     private String gameId;
+    private int boardSize;
+    private int winLength;
     private char[][] board;
     private String status;
     private String currentPlayer;
+    private long version;
     private String message;
 
     public EngineGameResponse() {
@@ -18,6 +21,22 @@ public class EngineGameResponse {
         this.gameId = gameId;
     }
 
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public void setBoardSize(int boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public void setWinLength(int winLength) {
+        this.winLength = winLength;
+    }
+
     public char[][] getBoard() {
         return board;
     }
@@ -42,6 +61,14 @@ public class EngineGameResponse {
         this.currentPlayer = currentPlayer;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -0,0 +1,27 @@
+package com.example.tictactoe.session.client.dto;
+
+import java.util.List;
+
+public class EngineSimulationResponse extends EngineGameResponse {
+    private String policy;
+    private List<EngineSimulatedMove> moves;
+
+    public EngineSimulationResponse() {
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(String policy) {
+        this.policy = policy;
+    }
+
+    public List<EngineSimulatedMove> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<EngineSimulatedMove> moves) {
+        this.moves = moves;
+    }
+}
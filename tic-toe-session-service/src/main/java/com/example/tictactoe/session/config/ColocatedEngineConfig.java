@@ -0,0 +1,35 @@
+package com.example.tictactoe.session.config;
+
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.journal.GameJournal;
+import com.example.tictactoe.engine.metrics.EngineMetrics;
+import com.example.tictactoe.engine.session.BatchMoveService;
+import com.example.tictactoe.engine.session.GameSessionService;
+import com.example.tictactoe.engine.simulation.SimulationService;
+import com.example.tictactoe.engine.solver.GameSolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Co-located deployment: the engine's game store, rules, solver, simulation, journal and metrics
+ * run inside the session service and {@code LocalEngineClient} calls them directly. The engine's
+ * controllers, cluster support and Feign clients are left out; its {@code engine.*} properties
+ * apply as in the engine service.
+ */
+@Configuration
+@ConditionalOnProperty(name = "session.engine.mode", havingValue = "colocated")
+@Import(GameEngine.class)
+@ComponentScan(
+        basePackageClasses = {
+                GameSessionService.class,
+                SimulationService.class,
+                GameSolver.class,
+                GameJournal.class,
+                EngineMetrics.class
+        },
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = BatchMoveService.class))
+public class ColocatedEngineConfig {
+}
@@ -0,0 +1,14 @@
+package com.example.tictactoe.session.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Default split deployment: the engine is called over HTTP through the Feign {@code EngineClient}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "session.engine.mode", havingValue = "remote", matchIfMissing = true)
+@EnableFeignClients(basePackages = "com.example.tictactoe.session.client")
+public class RemoteEngineConfig {
+}
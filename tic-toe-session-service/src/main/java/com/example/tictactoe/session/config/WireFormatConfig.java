@@ -0,0 +1,31 @@
+package com.example.tictactoe.session.config;
+
+import com.example.tictactoe.session.client.EngineWireMessageConverter;
+import feign.RequestInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Switches the Feign {@code EngineClient} to the compact binary wire format. The converter is
+ * picked up by Feign's encoder and decoder through the shared message converters; it only handles
+ * the engine DTOs, so the session API itself is unaffected. Responses the engine sends as JSON,
+ * errors included, still go through Jackson. The reactive WebClient keeps using JSON.
+ */
+@Configuration
+@ConditionalOnExpression("'${session.engine.wire-format:json}' == 'binary' and '${session.engine.mode:remote}' == 'remote'")
+public class WireFormatConfig {
+    static final String ACCEPT = EngineWireMessageConverter.MEDIA_TYPE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+
+    @Bean
+    public EngineWireMessageConverter engineWireMessageConverter() {
+        return new EngineWireMessageConverter();
+    }
+
+    @Bean
+    public RequestInterceptor engineWireAcceptInterceptor() {
+        return template -> template.header(HttpHeaders.ACCEPT, ACCEPT);
+    }
+}
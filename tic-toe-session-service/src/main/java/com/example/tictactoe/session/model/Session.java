@@ -3,9 +3,14 @@ package com.example.tictactoe.session.model;
 import com.example.tictactoe.core.dto.ErrorResponse;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Shared by the thread simulating the session, HTTP requests and WebSocket pushes. Accessors are
+ * synchronized and the moves list is copy-on-write; changes spanning several fields hold the
+ * session's monitor, and readers copy the session under the same monitor.
+ */
 public class Session {
     private String sessionId;
     private String gameId;
@@ -18,7 +23,7 @@ public class Session {
     private List<MoveRecord> moves;
 
     public Session() {
-        this.moves = new ArrayList<>();
+        this.moves = new CopyOnWriteArrayList<>();
         this.status = SessionStatus.CREATED;
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
@@ -30,79 +35,79 @@ public class Session {
         this.gameId = gameId;
     }
 
-    public String getSessionId() {
+    public synchronized String getSessionId() {
         return sessionId;
     }
 
-    public void setSessionId(String sessionId) {
+    public synchronized void setSessionId(String sessionId) {
         this.sessionId = sessionId;
     }
 
-    public String getGameId() {
+    public synchronized String getGameId() {
         return gameId;
     }
 
-    public void setGameId(String gameId) {
+    public synchronized void setGameId(String gameId) {
         this.gameId = gameId;
     }
 
-    public SessionStatus getStatus() {
+    public synchronized SessionStatus getStatus() {
         return status;
     }
 
-    public void setStatus(SessionStatus status) {
+    public synchronized void setStatus(SessionStatus status) {
         this.status = status;
     }
 
-    public Instant getCreatedAt() {
+    public synchronized Instant getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(Instant createdAt) {
+    public synchronized void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
 
-    public Instant getUpdatedAt() {
+    public synchronized Instant getUpdatedAt() {
         return updatedAt;
     }
 
-    public void setUpdatedAt(Instant updatedAt) {
+    public synchronized void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
 
-    public char[][] getBoard() {
+    public synchronized char[][] getBoard() {
         return board;
     }
 
-    public void setBoard(char[][] board) {
+    public synchronized void setBoard(char[][] board) {
         this.board = board;
     }
 
-    public String getGameStatus() {
+    public synchronized String getGameStatus() {
         return gameStatus;
     }
 
-    public void setGameStatus(String gameStatus) {
+    public synchronized void setGameStatus(String gameStatus) {
         this.gameStatus = gameStatus;
     }
 
-    public ErrorResponse getError() {
+    public synchronized ErrorResponse getError() {
         return error;
     }
 
-    public void setError(ErrorResponse error) {
+    public synchronized void setError(ErrorResponse error) {
         this.error = error;
     }
 
-    public List<MoveRecord> getMoves() {
+    public synchronized List<MoveRecord> getMoves() {
         return moves;
     }
 
-    public void setMoves(List<MoveRecord> moves) {
-        this.moves = moves;
+    public synchronized void setMoves(List<MoveRecord> moves) {
+        this.moves = new CopyOnWriteArrayList<>(moves);
     }
 
-    public void touch() {
+    public synchronized void touch() {
         this.updatedAt = Instant.now();
     }
 }
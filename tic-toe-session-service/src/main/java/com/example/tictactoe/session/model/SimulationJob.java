@@ -0,0 +1,94 @@
+package com.example.tictactoe.session.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A simulation submitted for a session, run in the background by
+ * {@link com.example.tictactoe.session.service.SimulationJobService}.
+ * Updated by the thread running it and read by API requests, hence the volatile fields.
+ */
+public class SimulationJob {
+    private final String jobId;
+    private final String sessionId;
+    private final Instant submittedAt;
+    private volatile SimulationJobStatus status;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public SimulationJob(String jobId, String sessionId) {
+        this.jobId = jobId;
+        this.sessionId = sessionId;
+        this.submittedAt = Instant.now();
+        this.status = SimulationJobStatus.QUEUED;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public SimulationJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SimulationJobStatus status) {
+        this.status = status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * Time spent waiting for a worker, up to now if the job is still queued.
+     */
+    public Duration getQueuedTime() {
+        Instant started = startedAt;
+        if (started != null) {
+            return Duration.between(submittedAt, started);
+        }
+        Instant finished = finishedAt;
+        return Duration.between(submittedAt, finished != null ? finished : Instant.now());
+    }
+
+    /**
+     * Time spent running, up to now if the job is still running; zero if it never started.
+     */
+    public Duration getRunTime() {
+        Instant started = startedAt;
+        if (started == null) {
+            return Duration.ZERO;
+        }
+        Instant finished = finishedAt;
+        return Duration.between(started, finished != null ? finished : Instant.now());
+    }
+}
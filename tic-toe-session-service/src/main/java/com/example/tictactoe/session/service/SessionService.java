@@ -1,14 +1,55 @@
 package com.example.tictactoe.session.service;
 
+import com.example.tictactoe.core.model.GameId;
 import com.example.tictactoe.session.model.Session;
 import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import reactor.core.publisher.Mono;
 
+/**
+ * Session ids are parsed into a {@link GameId} once, where they enter the service.
+ * The String overloads parse on every call and are meant for tests and tools.
+ */
 public interface SessionService {
     Session createSession();
 
-    Session getSession(String sessionId);
+    Session getSession(GameId sessionId);
 
-    Session simulateSession(String sessionId);
+    /**
+     * Checks whether a session exists, without asking the engine for its game.
+     */
+    boolean hasSession(GameId sessionId);
 
-    EngineGameResponse getEngineGame(String sessionId);
+    /**
+     * Plays the session's game to the end on the calling thread. The API runs it through
+     * {@link SimulationJobService}; an interrupt stops it before the next move and marks the
+     * session {@link com.example.tictactoe.session.model.SessionStatus#CANCELLED}.
+     */
+    Session simulateSession(GameId sessionId);
+
+    /**
+     * Plays the session's game like {@link #simulateSession(GameId)}, as a pipeline that holds no
+     * thread while the engine answers. Empty if the session does not exist; cancelling the
+     * subscription stops the game before its next move and marks the session CANCELLED.
+     * Without the reactive engine client it runs {@link #simulateSession(GameId)} on a worker thread.
+     */
+    Mono<Session> simulateSessionAsync(GameId sessionId);
+
+    /**
+     * Whether {@link #simulateSessionAsync(GameId)} waits for the engine without holding a thread.
+     */
+    boolean isNonBlockingSimulation();
+
+    EngineGameResponse getEngineGame(GameId sessionId);
+
+    default Session getSession(String sessionId) {
+        return getSession(GameId.of(sessionId));
+    }
+
+    default Session simulateSession(String sessionId) {
+        return simulateSession(GameId.of(sessionId));
+    }
+
+    default EngineGameResponse getEngineGame(String sessionId) {
+        return getEngineGame(GameId.of(sessionId));
+    }
 }
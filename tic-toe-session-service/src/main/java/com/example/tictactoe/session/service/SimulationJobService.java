@@ -0,0 +1,32 @@
+package com.example.tictactoe.session.service;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.session.model.SimulationJob;
+
+/**
+ * Runs session simulations in the background, so no request thread waits for a whole game.
+ * Progress reaches clients as session updates over the WebSocket channel.
+ */
+public interface SimulationJobService {
+
+    /**
+     * Queues a simulation of the session. A session has at most one unfinished job; submitting
+     * again returns that job.
+     *
+     * @return the job, or null if the session does not exist
+     * @throws SimulationRejectedException if the queue is full
+     */
+    SimulationJob submit(GameId sessionId);
+
+    /**
+     * Returns a job, or null if it is unknown or expired.
+     */
+    SimulationJob getJob(GameId jobId);
+
+    /**
+     * Cancels a job. A queued job never runs; a running job stops before its next move.
+     *
+     * @return the job, or null if it is unknown or expired
+     */
+    SimulationJob cancel(GameId jobId);
+}
@@ -0,0 +1,15 @@
+package com.example.tictactoe.session.service;
+
+/**
+ * Where a session's simulation loop runs.
+ */
+public enum SimulationMode {
+    /**
+     * The session service drives the game, fetching state and posting every move to the engine.
+     */
+    STEPWISE,
+    /**
+     * The engine plays the whole game in-process and returns the final state and move list at once.
+     */
+    SERVER_SIDE
+}
@@ -0,0 +1,11 @@
+package com.example.tictactoe.session.service;
+
+/**
+ * Thrown when a simulation cannot be queued because the job queue is full.
+ */
+public class SimulationRejectedException extends RuntimeException {
+
+    public SimulationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,44 +1,108 @@
 package com.example.tictactoe.session.service.impl;
 
 import com.example.tictactoe.core.dto.ErrorResponse;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.RandomMoves;
 import com.example.tictactoe.core.util.TicToeConstants;
 import com.example.tictactoe.session.client.EngineClient;
+import com.example.tictactoe.session.client.EngineGameCache;
+import com.example.tictactoe.session.client.ReactiveEngineClient;
 import com.example.tictactoe.session.client.dto.EngineGameResponse;
 import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulatedMove;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
 import com.example.tictactoe.session.model.MoveRecord;
 import com.example.tictactoe.session.model.Session;
 import com.example.tictactoe.session.model.SessionStatus;
 import com.example.tictactoe.session.service.SessionService;
+import com.example.tictactoe.session.service.SimulationMode;
+import com.example.tictactoe.session.store.SessionStore;
 import com.example.tictactoe.session.ws.SessionUpdatePublisher;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 
 @Service
 public class SessionServiceImpl implements SessionService {
     private final EngineClient engineClient;
-    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
-    private final Map<String, Semaphore> simulationLocks = new ConcurrentHashMap<>();
+    private final ReactiveEngineClient reactiveEngineClient;
+    private final SessionStore sessionStore;
+    private final EngineGameCache engineGameCache;
     private final SessionUpdatePublisher updatePublisher;
+    private final SimulationMode simulationMode;
+    private final String simulationPolicy;
 
     public SessionServiceImpl(EngineClient engineClient, SessionUpdatePublisher updatePublisher) {
+        this(engineClient, updatePublisher, SimulationMode.STEPWISE, "RANDOM");
+    }
+
+    public SessionServiceImpl(EngineClient engineClient,
+                              SessionUpdatePublisher updatePublisher,
+                              SimulationMode simulationMode,
+                              String simulationPolicy) {
+        this(engineClient, (ReactiveEngineClient) null, updatePublisher, simulationMode, simulationPolicy);
+    }
+
+    public SessionServiceImpl(EngineClient engineClient,
+                              ReactiveEngineClient reactiveEngineClient,
+                              SessionUpdatePublisher updatePublisher,
+                              SimulationMode simulationMode,
+                              String simulationPolicy) {
+        this(engineClient, reactiveEngineClient, new SessionStore(), updatePublisher, simulationMode, simulationPolicy);
+    }
+
+    public SessionServiceImpl(EngineClient engineClient,
+                              ReactiveEngineClient reactiveEngineClient,
+                              SessionStore sessionStore,
+                              SessionUpdatePublisher updatePublisher,
+                              SimulationMode simulationMode,
+                              String simulationPolicy) {
+        this(engineClient, reactiveEngineClient, sessionStore, new EngineGameCache(engineClient), updatePublisher,
+                simulationMode, simulationPolicy);
+    }
+
+    public SessionServiceImpl(EngineClient engineClient,
+                              ReactiveEngineClient reactiveEngineClient,
+                              SessionStore sessionStore,
+                              EngineGameCache engineGameCache,
+                              SessionUpdatePublisher updatePublisher,
+                              SimulationMode simulationMode,
+                              String simulationPolicy) {
         this.engineClient = engineClient;
+        this.reactiveEngineClient = reactiveEngineClient;
+        this.sessionStore = sessionStore;
+        this.engineGameCache = engineGameCache;
+        sessionStore.onEviction(session -> engineGameCache.invalidate(session.getGameId()));
         this.updatePublisher = updatePublisher;
+        this.simulationMode = simulationMode;
+        this.simulationPolicy = simulationPolicy;
+    }
+
+    @Autowired
+    public SessionServiceImpl(EngineClient engineClient,
+                              ObjectProvider<ReactiveEngineClient> reactiveEngineClient,
+                              SessionStore sessionStore,
+                              EngineGameCache engineGameCache,
+                              SessionUpdatePublisher updatePublisher,
+                              @Value("${session.simulation.mode:STEPWISE}") SimulationMode simulationMode,
+                              @Value("${session.simulation.policy:RANDOM}") String simulationPolicy) {
+        this(engineClient, reactiveEngineClient.getIfAvailable(), sessionStore, engineGameCache, updatePublisher,
+                simulationMode, simulationPolicy);
     }
 
     @Override
     public Session createSession() {
-        String sessionId = UUID.randomUUID().toString();
+        GameId id = GameId.random();
+        String sessionId = id.toString();
         Session session = new Session(sessionId, sessionId);
         session.setStatus(SessionStatus.CREATED);
-        sessions.put(sessionId, session);
+        sessionStore.add(id, session);
 
         try {
             EngineGameResponse game = fetchGame(sessionId);
@@ -47,6 +111,7 @@ public class SessionServiceImpl implements SessionService {
             }
         } catch (Exception ex) {
             failSession(session, "Failed to initialize session: " + ex.getMessage());
+            sessionStore.finished(id);
         }
 
         updatePublisher.publish(session);
@@ -54,14 +119,14 @@ public class SessionServiceImpl implements SessionService {
     }
 
     @Override
-    public Session getSession(String sessionId) {
-        Session session = sessions.get(sessionId);
+    public Session getSession(GameId sessionId) {
+        Session session = sessionStore.get(sessionId);
         if (session == null) {
             return null;
         }
 
         try {
-            EngineGameResponse game = fetchGame(session.getGameId());
+            EngineGameResponse game = engineGameCache.get(session.getGameId());
             if (game != null) {
                 updateFromEngine(session, game);
             }
@@ -73,13 +138,21 @@ public class SessionServiceImpl implements SessionService {
     }
 
     @Override
-    public Session simulateSession(String sessionId) {
-        Session session = sessions.get(sessionId);
+    public boolean hasSession(GameId sessionId) {
+        return sessionStore.contains(sessionId);
+    }
+
+    @Override
+    public Session simulateSession(GameId sessionId) {
+        Session session = sessionStore.get(sessionId);
         if (session == null) {
             return null;
         }
 
-        Semaphore lock = simulationLocks.computeIfAbsent(sessionId, key -> new Semaphore(1));
+        Semaphore lock = sessionStore.simulationLock(sessionId);
+        if (lock == null) {
+            return null;
+        }
         if (!lock.tryAcquire()) {
             return session;
         }
@@ -88,69 +161,208 @@ public class SessionServiceImpl implements SessionService {
             session.setStatus(SessionStatus.IN_PROGRESS);
             updatePublisher.publish(session);
 
-            while (true) {
-                EngineGameResponse current;
-                try {
-                    current = fetchGame(session.getGameId());
-                } catch (Exception ex) {
-                    failSession(session, "Failed to fetch game state: " + ex.getMessage());
-                    break;
-                }
-                if (current == null) {
-                    failSession(session, "Engine returned empty game state");
-                    break;
-                }
-                updateFromEngine(session, current);
+            if (simulationMode == SimulationMode.SERVER_SIDE) {
+                simulateOnEngine(session);
+            } else {
+                simulateStepwise(session);
+            }
+        } finally {
+            lock.release();
+            sessionStore.finished(sessionId);
+        }
+
+        session.touch();
+        return session;
+    }
+
+    private void simulateStepwise(Session session) {
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                cancelSession(session);
+                return;
+            }
+            EngineGameResponse current;
+            try {
+                current = fetchGame(session.getGameId());
+            } catch (Exception ex) {
+                failSession(session, "Failed to fetch game state: " + ex.getMessage());
+                return;
+            }
+            if (current == null) {
+                failSession(session, "Engine returned empty game state");
+                return;
+            }
+            updateFromEngine(session, current);
+            updatePublisher.publish(session);
+
+            if (!TicToeConstants.STATUS_IN_PROGRESS.equalsIgnoreCase(current.getStatus())) {
+                session.setStatus(SessionStatus.COMPLETED);
                 updatePublisher.publish(session);
+                return;
+            }
 
-                if (!TicToeConstants.STATUS_IN_PROGRESS.equalsIgnoreCase(current.getStatus())) {
-                    session.setStatus(SessionStatus.COMPLETED);
-                    updatePublisher.publish(session);
-                    break;
-                }
+            int[] move = RandomMoves.pickEmptyCell(current.getBoard());
+            if (move == null) {
+                session.setStatus(SessionStatus.COMPLETED);
+                updatePublisher.publish(session);
+                return;
+            }
 
-                int[] move = findNextMove(current.getBoard());
-                if (move == null) {
-                    session.setStatus(SessionStatus.COMPLETED);
-                    updatePublisher.publish(session);
-                    break;
-                }
-
-                String currentPlayer = current.getCurrentPlayer();
-                EngineMoveRequest moveRequest = new EngineMoveRequest(currentPlayer, move[0], move[1]);
-                EngineGameResponse moveResult;
-                try {
-                    moveResult = makeMove(session.getGameId(), moveRequest);
-                } catch (Exception ex) {
-                    failSession(session, "Failed to make move: " + ex.getMessage());
-                    break;
-                }
-                if (moveResult == null) {
-                    failSession(session, "Engine returned empty move response");
-                    break;
-                }
-                updateFromEngine(session, moveResult);
-                session.getMoves().add(new MoveRecord(currentPlayer, move[0], move[1]));
+            String currentPlayer = current.getCurrentPlayer();
+            EngineMoveRequest moveRequest = new EngineMoveRequest(currentPlayer, move[0], move[1]);
+            EngineGameResponse moveResult;
+            try {
+                moveResult = makeMove(session.getGameId(), moveRequest);
+            } catch (Exception ex) {
+                failSession(session, "Failed to make move: " + ex.getMessage());
+                return;
+            }
+            if (moveResult == null) {
+                failSession(session, "Engine returned empty move response");
+                return;
+            }
+            updateFromEngine(session, moveResult);
+            session.getMoves().add(new MoveRecord(currentPlayer, move[0], move[1]));
+            updatePublisher.publish(session);
+
+            if (!TicToeConstants.STATUS_IN_PROGRESS.equalsIgnoreCase(moveResult.getStatus())) {
+                session.setStatus(SessionStatus.COMPLETED);
                 updatePublisher.publish(session);
+                return;
+            }
+        }
+    }
 
-                if (!TicToeConstants.STATUS_IN_PROGRESS.equalsIgnoreCase(moveResult.getStatus())) {
-                    session.setStatus(SessionStatus.COMPLETED);
-                    updatePublisher.publish(session);
-                    break;
-                }
+    private void simulateOnEngine(Session session) {
+        if (Thread.currentThread().isInterrupted()) {
+            cancelSession(session);
+            return;
+        }
+        EngineSimulationResponse result;
+        try {
+            result = engineClient.simulate(session.getGameId(), simulationPolicy);
+        } catch (Exception ex) {
+            failSession(session, "Failed to simulate game: " + ex.getMessage());
+            return;
+        }
+        if (result == null) {
+            failSession(session, "Engine returned empty simulation response");
+            return;
+        }
+        applySimulation(session, result);
+    }
 
+    private void applySimulation(Session session, EngineSimulationResponse result) {
+        updateFromEngine(session, result);
+        if (result.getMoves() != null) {
+            for (EngineSimulatedMove move : result.getMoves()) {
+                session.getMoves().add(new MoveRecord(move.getPlayer(), move.getRow(), move.getColumn()));
             }
-        } finally {
-            lock.release();
         }
+        session.setStatus(SessionStatus.COMPLETED);
+        updatePublisher.publish(session);
+    }
 
-        session.touch();
-        return session;
+    @Override
+    public boolean isNonBlockingSimulation() {
+        return reactiveEngineClient != null;
     }
 
     @Override
-    public EngineGameResponse getEngineGame(String sessionId) {
-        Session session = sessions.get(sessionId);
+    public Mono<Session> simulateSessionAsync(GameId sessionId) {
+        if (reactiveEngineClient == null) {
+            return Mono.fromCallable(() -> simulateSession(sessionId)).subscribeOn(Schedulers.boundedElastic());
+        }
+        return Mono.defer(() -> {
+            Session session = sessionStore.get(sessionId);
+            if (session == null) {
+                return Mono.empty();
+            }
+            Semaphore lock = sessionStore.simulationLock(sessionId);
+            if (lock == null) {
+                return Mono.empty();
+            }
+            if (!lock.tryAcquire()) {
+                return Mono.just(session);
+            }
+            session.setStatus(SessionStatus.IN_PROGRESS);
+            updatePublisher.publish(session);
+
+            Mono<Void> game = simulationMode == SimulationMode.SERVER_SIDE
+                    ? simulateOnEngineAsync(session)
+                    : Mono.defer(() -> playMoveAsync(session)).repeat().takeUntil(more -> !more).then();
+            return game
+                    .doOnCancel(() -> cancelSession(session))
+                    .doFinally(signal -> {
+                        lock.release();
+                        sessionStore.finished(sessionId);
+                    })
+                    .then(Mono.fromSupplier(() -> {
+                        session.touch();
+                        return session;
+                    }));
+        });
+    }
+
+    /**
+     * One round of the stepwise loop on the reactive client: reads the game and plays a move.
+     * Emits whether the game goes on; a failure is recorded on the session and ends it.
+     */
+    private Mono<Boolean> playMoveAsync(Session session) {
+        String gameId = session.getGameId();
+        return reactiveEngineClient.getGame(gameId)
+                .flatMap(current -> {
+                    updateFromEngine(session, current);
+                    updatePublisher.publish(session);
+                    int[] move = TicToeConstants.STATUS_IN_PROGRESS.equalsIgnoreCase(current.getStatus())
+                            ? RandomMoves.pickEmptyCell(current.getBoard())
+                            : null;
+                    if (move == null) {
+                        return Mono.just(completeSession(session));
+                    }
+                    String currentPlayer = current.getCurrentPlayer();
+                    return reactiveEngineClient.makeMove(gameId, new EngineMoveRequest(currentPlayer, move[0], move[1]))
+                            .map(moveResult -> {
+                                updateFromEngine(session, moveResult);
+                                session.getMoves().add(new MoveRecord(currentPlayer, move[0], move[1]));
+                                updatePublisher.publish(session);
+                                if (!TicToeConstants.STATUS_IN_PROGRESS.equalsIgnoreCase(moveResult.getStatus())) {
+                                    return completeSession(session);
+                                }
+                                return true;
+                            })
+                            .switchIfEmpty(stopAsync(session, "Engine returned empty move response"))
+                            .onErrorResume(ex -> stopAsync(session, "Failed to make move: " + ex.getMessage()));
+                })
+                .switchIfEmpty(stopAsync(session, "Engine returned empty game state"))
+                .onErrorResume(ex -> stopAsync(session, "Failed to fetch game state: " + ex.getMessage()));
+    }
+
+    private Mono<Void> simulateOnEngineAsync(Session session) {
+        return reactiveEngineClient.simulate(session.getGameId(), simulationPolicy)
+                .doOnNext(result -> applySimulation(session, result))
+                .map(result -> false)
+                .switchIfEmpty(stopAsync(session, "Engine returned empty simulation response"))
+                .onErrorResume(ex -> stopAsync(session, "Failed to simulate game: " + ex.getMessage()))
+                .then();
+    }
+
+    private boolean completeSession(Session session) {
+        session.setStatus(SessionStatus.COMPLETED);
+        updatePublisher.publish(session);
+        return false;
+    }
+
+    private Mono<Boolean> stopAsync(Session session, String message) {
+        return Mono.fromSupplier(() -> {
+            failSession(session, message);
+            return false;
+        });
+    }
+
+    @Override
+    public EngineGameResponse getEngineGame(GameId sessionId) {
+        Session session = sessionStore.get(sessionId);
         if (session == null) {
             return null;
         }
@@ -163,16 +375,29 @@ public class SessionServiceImpl implements SessionService {
     }
 
     private void updateFromEngine(Session session, EngineGameResponse game) {
-        session.setGameId(game.getGameId());
-        session.setBoard(game.getBoard());
-        session.setGameStatus(game.getStatus());
-        session.touch();
+        synchronized (session) {
+            session.setGameId(game.getGameId());
+            session.setBoard(game.getBoard());
+            session.setGameStatus(game.getStatus());
+            session.touch();
+        }
+        engineGameCache.update(game);
     }
 
     private void failSession(Session session, String message) {
-        session.setStatus(SessionStatus.FAILED);
-        session.setError(new ErrorResponse(TicToeConstants.ERROR_SESSION, message, null));
-        session.touch();
+        synchronized (session) {
+            session.setStatus(SessionStatus.FAILED);
+            session.setError(new ErrorResponse(TicToeConstants.ERROR_SESSION, message, null));
+            session.touch();
+        }
+        updatePublisher.publish(session);
+    }
+
+    private void cancelSession(Session session) {
+        synchronized (session) {
+            session.setStatus(SessionStatus.CANCELLED);
+            session.touch();
+        }
         updatePublisher.publish(session);
     }
 
@@ -195,23 +420,4 @@ public class SessionServiceImpl implements SessionService {
     private EngineGameResponse makeMoveFallback(String gameId, EngineMoveRequest request, Throwable throwable) {
         return null;
     }
-
-    private int[] findNextMove(char[][] board) {
-        List<int[]> available = new ArrayList<>();
-        if (board == null) {
-            return null;
-        }
-        for (int row = 0; row < board.length; row++) {
-            for (int col = 0; col < board[row].length; col++) {
-                if (board[row][col] == ' ') {
-                    available.add(new int[]{row, col});
-                }
-            }
-        }
-        if (available.isEmpty()) {
-            return null;
-        }
-        Collections.shuffle(available);
-        return available.get(0);
-    }
 }
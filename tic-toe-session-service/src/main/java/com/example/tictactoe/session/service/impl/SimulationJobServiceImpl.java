@@ -0,0 +1,360 @@
+package com.example.tictactoe.session.service.impl;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.ConcurrentIdMap;
+import com.example.tictactoe.session.model.Session;
+import com.example.tictactoe.session.model.SessionStatus;
+import com.example.tictactoe.session.model.SimulationJob;
+import com.example.tictactoe.session.model.SimulationJobStatus;
+import com.example.tictactoe.session.service.SessionService;
+import com.example.tictactoe.session.service.SimulationJobService;
+import com.example.tictactoe.session.service.SimulationRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs simulations on a dedicated pool of {@code session.simulation.jobs.max-concurrent} workers,
+ * virtual threads when the runtime has them, behind a queue of at most
+ * {@code session.simulation.jobs.max-queued} jobs; submissions beyond that are rejected rather
+ * than piling up. Finished jobs stay readable for {@code session.simulation.jobs.retention}.
+ * Queue wait and run time of every job are recorded as {@code session.simulation.job.wait}
+ * and {@code session.simulation.job.run}, tagged with the job's final status.
+ * <p>
+ * When the session service simulates without blocking (the reactive engine client), no worker
+ * is used: up to {@code max-concurrent} simulations are subscribed to at once, and the rest wait
+ * in the queue until one of them finishes.
+ */
+@Service
+public class SimulationJobServiceImpl implements SimulationJobService, DisposableBean {
+    private final SessionService sessionService;
+    private final boolean nonBlocking;
+    private final int maxConcurrent;
+    private final ThreadPoolExecutor executor;
+    // Admission of non-blocking simulations
+    private final Semaphore permits;
+    private final ArrayBlockingQueue<Job> pending;
+    private final ScheduledExecutorService expiry;
+    private final Duration retention;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejections;
+    private final ConcurrentIdMap<Job> jobs = new ConcurrentIdMap<>();
+    // The unfinished job of each session
+    private final ConcurrentIdMap<Job> activeJobs = new ConcurrentIdMap<>();
+
+    public SimulationJobServiceImpl(SessionService sessionService, int maxConcurrent, int maxQueued,
+                                    boolean virtualThreads, Duration retention, MeterRegistry meterRegistry) {
+        this.sessionService = sessionService;
+        this.nonBlocking = sessionService.isNonBlockingSimulation();
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.pending = new ArrayBlockingQueue<>(maxQueued);
+        this.retention = retention;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), workerFactory(virtualThreads));
+        this.expiry = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "simulation-job-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (meterRegistry != null) {
+            this.rejections = Counter.builder("session.simulation.jobs.rejected")
+                    .description("Simulations rejected because the job queue was full")
+                    .register(meterRegistry);
+            Gauge.builder("session.simulation.jobs.queued", this, SimulationJobServiceImpl::queuedCount)
+                    .description("Simulations waiting for a worker")
+                    .register(meterRegistry);
+            Gauge.builder("session.simulation.jobs.running", this, SimulationJobServiceImpl::runningCount)
+                    .description("Simulations running")
+                    .register(meterRegistry);
+        } else {
+            this.rejections = null;
+        }
+    }
+
+    @Autowired
+    public SimulationJobServiceImpl(SessionService sessionService,
+                                    @Value("${session.simulation.jobs.max-concurrent:16}") int maxConcurrent,
+                                    @Value("${session.simulation.jobs.max-queued:256}") int maxQueued,
+                                    @Value("${session.simulation.jobs.virtual-threads:true}") boolean virtualThreads,
+                                    @Value("${session.simulation.jobs.retention:5m}") Duration retention,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        this(sessionService, maxConcurrent, maxQueued, virtualThreads, retention, meterRegistry.getIfAvailable());
+    }
+
+    @Override
+    public SimulationJob submit(GameId sessionId) {
+        if (!sessionService.hasSession(sessionId)) {
+            return null;
+        }
+        Job job = activeJobs.compute(sessionId, (key, current) -> {
+            if (current != null) {
+                return current;
+            }
+            Job created = new Job(GameId.random(), key);
+            try {
+                if (nonBlocking) {
+                    if (!pending.offer(created)) {
+                        throw new RejectedExecutionException();
+                    }
+                } else {
+                    executor.execute(created.task);
+                }
+            } catch (RejectedExecutionException e) {
+                if (rejections != null) {
+                    rejections.increment();
+                }
+                throw new SimulationRejectedException("Too many simulations are queued, try again later");
+            }
+            jobs.put(created.id, created);
+            return created;
+        });
+        if (nonBlocking) {
+            // Outside compute: a job that finishes at once removes itself from activeJobs
+            startPending();
+        }
+        return job.state;
+    }
+
+    @Override
+    public SimulationJob getJob(GameId jobId) {
+        Job job = jobs.get(jobId);
+        return job != null ? job.state : null;
+    }
+
+    @Override
+    public SimulationJob cancel(GameId jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        boolean released = false;
+        synchronized (job) {
+            SimulationJobStatus status = job.state.getStatus();
+            if (status == SimulationJobStatus.QUEUED) {
+                // Frees the queue slot; the task would not run anyway once cancelled
+                if (nonBlocking) {
+                    pending.remove(job);
+                } else {
+                    job.task.cancel(false);
+                    executor.remove(job.task);
+                }
+                finish(job, SimulationJobStatus.CANCELLED, null);
+            } else if (status == SimulationJobStatus.RUNNING) {
+                if (nonBlocking) {
+                    // Drops the engine call in flight; the session is marked cancelled
+                    job.subscription.dispose();
+                    finish(job, SimulationJobStatus.CANCELLED, null);
+                    released = true;
+                } else {
+                    // Interrupts the worker; the simulation stops before its next move
+                    job.task.cancel(true);
+                }
+            }
+        }
+        if (released) {
+            permits.release();
+            startPending();
+        }
+        return job.state;
+    }
+
+    /**
+     * Subscribes to queued simulations while fewer than {@code maxConcurrent} are running.
+     * Called after every enqueue and every release, so no job is left waiting on a free permit.
+     */
+    private void startPending() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Job next = pending.poll();
+            if (next == null || !start(next)) {
+                permits.release();
+            }
+        }
+    }
+
+    private boolean start(Job job) {
+        synchronized (job) {
+            if (job.state.getStatus() != SimulationJobStatus.QUEUED) {
+                return false;
+            }
+            job.state.setStartedAt(Instant.now());
+            job.state.setStatus(SimulationJobStatus.RUNNING);
+            job.subscription = sessionService.simulateSessionAsync(job.sessionId)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .subscribe(session -> completed(job, session.orElse(null), null),
+                            error -> completed(job, null, error));
+            return true;
+        }
+    }
+
+    private void completed(Job job, Session session, Throwable failure) {
+        synchronized (job) {
+            if (job.state.getStatus() != SimulationJobStatus.RUNNING) {
+                return;
+            }
+            if (failure != null) {
+                finish(job, SimulationJobStatus.FAILED, failure.getMessage());
+            } else {
+                finish(job, outcomeOf(session), errorOf(session));
+            }
+        }
+        permits.release();
+        startPending();
+    }
+
+    private void run(Job job) {
+        synchronized (job) {
+            if (job.state.getStatus() != SimulationJobStatus.QUEUED) {
+                return;
+            }
+            job.state.setStartedAt(Instant.now());
+            job.state.setStatus(SimulationJobStatus.RUNNING);
+        }
+        SimulationJobStatus outcome;
+        String error;
+        try {
+            Session session = sessionService.simulateSession(job.sessionId);
+            outcome = outcomeOf(session);
+            error = errorOf(session);
+        } catch (RuntimeException e) {
+            outcome = SimulationJobStatus.FAILED;
+            error = e.getMessage();
+        }
+        if (job.task.isCancelled()) {
+            // An engine call cut short by the interrupt reports a failure
+            outcome = SimulationJobStatus.CANCELLED;
+            error = null;
+        }
+        synchronized (job) {
+            finish(job, outcome, error);
+        }
+    }
+
+    private static SimulationJobStatus outcomeOf(Session session) {
+        if (session == null || session.getStatus() == SessionStatus.FAILED) {
+            return SimulationJobStatus.FAILED;
+        }
+        return session.getStatus() == SessionStatus.CANCELLED
+                ? SimulationJobStatus.CANCELLED
+                : SimulationJobStatus.COMPLETED;
+    }
+
+    private static String errorOf(Session session) {
+        if (session == null) {
+            return "Session no longer exists";
+        }
+        if (session.getStatus() == SessionStatus.FAILED && session.getError() != null) {
+            return session.getError().getMessage();
+        }
+        return null;
+    }
+
+    private int queuedCount() {
+        return nonBlocking ? pending.size() : executor.getQueue().size();
+    }
+
+    private int runningCount() {
+        return nonBlocking ? maxConcurrent - permits.availablePermits() : executor.getActiveCount();
+    }
+
+    /**
+     * Called with the job's monitor held.
+     */
+    private void finish(Job job, SimulationJobStatus status, String error) {
+        SimulationJob state = job.state;
+        state.setError(error);
+        state.setFinishedAt(Instant.now());
+        state.setStatus(status);
+        activeJobs.remove(job.sessionId, job);
+        if (meterRegistry != null) {
+            String tag = status.name().toLowerCase(Locale.ROOT);
+            Timer.builder("session.simulation.job.wait")
+                    .description("Time simulations waited for a worker")
+                    .tag("status", tag)
+                    .register(meterRegistry)
+                    .record(state.getQueuedTime());
+            Timer.builder("session.simulation.job.run")
+                    .description("Time simulations ran")
+                    .tag("status", tag)
+                    .register(meterRegistry)
+                    .record(state.getRunTime());
+        }
+        expiry.schedule(() -> jobs.remove(job.id, job), retention.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        jobs.forEachValue(job -> {
+            Disposable subscription = job.subscription;
+            if (subscription != null) {
+                subscription.dispose();
+            }
+        });
+        executor.shutdownNow();
+        expiry.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Virtual threads need Java 21; they are looked up reflectively so the service still
+     * builds for and runs on Java 17, with platform threads.
+     */
+    private static ThreadFactory workerFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "simulation-job-", 1L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                // Not available on this runtime
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "simulation-job-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Job {
+        final GameId id;
+        final GameId sessionId;
+        final SimulationJob state;
+        final FutureTask<Void> task;
+        // Set when a non-blocking simulation is subscribed to
+        volatile Disposable subscription;
+
+        Job(GameId id, GameId sessionId) {
+            this.id = id;
+            this.sessionId = sessionId;
+            this.state = new SimulationJob(id.toString(), sessionId.toString());
+            this.task = new FutureTask<>(() -> run(this), null);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.tictactoe.session.store;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.ConcurrentIdMap;
+import com.example.tictactoe.session.model.Session;
+import com.example.tictactoe.session.model.SessionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded store of the sessions, each kept in one entry with the lock that keeps two simulations
+ * of it from running at once, so both are dropped together.
+ * <p>
+ * At most {@code session.store.maximum-size} sessions are held; creating one more throws
+ * {@link SessionStoreFullException}. Sessions in progress expire {@code session.store.idle-timeout}
+ * after their last access, completed, failed and cancelled ones after
+ * {@code session.store.finished-timeout}. Sessions being simulated or watched over a WebSocket
+ * ({@link #pin}) never expire. Expiry runs on a {@link TimingWheel} advanced every
+ * {@code session.store.reaper-tick}: an access only records its time, and the reaper only visits
+ * the entries whose deadline came up, rescheduling those that were used since.
+ * <p>
+ * Publishes {@code session.store.sessions}, {@code session.store.sessions.pinned},
+ * {@code session.store.evictions} tagged {@code cause=idle|finished}, and {@code session.store.rejected}.
+ */
+@Component
+public class SessionStore implements SmartInitializingSingleton, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(SessionStore.class);
+    private static final int WHEEL_SLOTS = 1024;
+
+    private final ConcurrentIdMap<Entry> entries = new ConcurrentIdMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger pinned = new AtomicInteger();
+    private final List<Consumer<Session>> evictionListeners = new CopyOnWriteArrayList<>();
+    private final int maximumSize;
+    private final long idleNanos;
+    private final long finishedNanos;
+    private final Duration reaperTick;
+    private final TimingWheel<Entry> wheel;
+    private final Counter idleEvictions;
+    private final Counter finishedEvictions;
+    private final Counter rejections;
+    private ScheduledExecutorService reaper;
+
+    public SessionStore(int maximumSize, Duration idleTimeout, Duration finishedTimeout, Duration reaperTick,
+                        MeterRegistry meterRegistry) {
+        this.maximumSize = maximumSize;
+        this.idleNanos = idleTimeout.toNanos();
+        this.finishedNanos = finishedTimeout.toNanos();
+        this.reaperTick = reaperTick;
+        this.wheel = new TimingWheel<>(WHEEL_SLOTS, Math.max(1, reaperTick.toNanos()), System.nanoTime());
+        this.idleEvictions = eviction(meterRegistry, "idle");
+        this.finishedEvictions = eviction(meterRegistry, "finished");
+        this.rejections = Counter.builder("session.store.rejected")
+                .description("Sessions not created because the store was full")
+                .register(meterRegistry);
+        Gauge.builder("session.store.sessions", size, AtomicInteger::get)
+                .description("Sessions held by the store")
+                .register(meterRegistry);
+        Gauge.builder("session.store.sessions.pinned", pinned, AtomicInteger::get)
+                .description("Sessions kept from expiring by a WebSocket subscriber")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A store with the default limits whose reaper is not started, for tests and tools.
+     */
+    public SessionStore() {
+        this(100_000, Duration.ofMinutes(30), Duration.ofMinutes(5), Duration.ofSeconds(1), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public SessionStore(@Value("${session.store.maximum-size:100000}") int maximumSize,
+                        @Value("${session.store.idle-timeout:30m}") Duration idleTimeout,
+                        @Value("${session.store.finished-timeout:5m}") Duration finishedTimeout,
+                        @Value("${session.store.reaper-tick:1s}") Duration reaperTick,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this(maximumSize, idleTimeout, finishedTimeout, reaperTick, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Adds a new session.
+     *
+     * @throws SessionStoreFullException if the store holds its maximum number of sessions
+     */
+    public void add(GameId sessionId, Session session) {
+        if (size.incrementAndGet() > maximumSize) {
+            size.decrementAndGet();
+            rejections.increment();
+            throw new SessionStoreFullException("Too many sessions, try again later");
+        }
+        Entry entry = new Entry(sessionId, session, System.nanoTime());
+        if (entries.put(sessionId, entry) != null) {
+            size.decrementAndGet();
+        }
+        wheel.schedule(entry, entry.lastAccess + idleNanos);
+    }
+
+    /**
+     * Returns the session and records the access, or null if it does not exist or expired.
+     */
+    public Session get(GameId sessionId) {
+        Entry entry = entries.get(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.session;
+    }
+
+    public boolean contains(GameId sessionId) {
+        return entries.get(sessionId) != null;
+    }
+
+    /**
+     * Returns the lock a simulation of the session holds while it runs, or null if the session
+     * does not exist. A session whose lock is held does not expire.
+     */
+    public Semaphore simulationLock(GameId sessionId) {
+        Entry entry = entries.get(sessionId);
+        return entry != null ? entry.simulationLock : null;
+    }
+
+    /**
+     * Records that the session reached a final status, so it expires after the finished timeout
+     * instead of waiting for its idle deadline.
+     */
+    public void finished(GameId sessionId) {
+        Entry entry = entries.get(sessionId);
+        if (entry != null) {
+            long now = System.nanoTime();
+            entry.lastAccess = now;
+            wheel.schedule(entry, now + finishedNanos);
+        }
+    }
+
+    /**
+     * Keeps the session from expiring until every pin is released with {@link #unpin}.
+     *
+     * @return false if the session does not exist, in which case it must not be unpinned
+     */
+    public boolean pin(GameId sessionId) {
+        return entries.compute(sessionId, (key, entry) -> {
+            if (entry != null && entry.pins++ == 0) {
+                pinned.incrementAndGet();
+            }
+            return entry;
+        }) != null;
+    }
+
+    /**
+     * Releases one pin. The session's timeout counts from when its last pin was released.
+     */
+    public void unpin(GameId sessionId) {
+        entries.compute(sessionId, (key, entry) -> {
+            if (entry != null && --entry.pins == 0) {
+                pinned.decrementAndGet();
+                entry.lastAccess = System.nanoTime();
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Registers a callback for each session that expires, run on the reaper after its removal.
+     */
+    public void onEviction(Consumer<Session> listener) {
+        evictionListeners.add(listener);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int pinnedCount() {
+        return pinned.get();
+    }
+
+    /**
+     * Expires the sessions whose deadline passed by {@code now}, a {@link System#nanoTime()} reading.
+     * Runs on the reaper only.
+     *
+     * @return the number of sessions removed
+     */
+    public int reap(long now) {
+        int[] expired = new int[1];
+        wheel.advance(now, entry -> {
+            if (expire(entry, now)) {
+                expired[0]++;
+            }
+        });
+        return expired[0];
+    }
+
+    private boolean expire(Entry entry, long now) {
+        boolean[] removed = new boolean[1];
+        entries.compute(entry.id, (key, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            boolean finished = isFinished(entry.session.getStatus());
+            long timeout = finished ? finishedNanos : idleNanos;
+            if (entry.pins > 0 || entry.simulationLock.availablePermits() == 0) {
+                wheel.schedule(entry, now + timeout);
+                return entry;
+            }
+            long deadline = entry.lastAccess + timeout;
+            if (deadline - now > 0) {
+                wheel.schedule(entry, deadline);
+                return entry;
+            }
+            (finished ? finishedEvictions : idleEvictions).increment();
+            removed[0] = true;
+            return null;
+        });
+        if (removed[0]) {
+            size.decrementAndGet();
+            for (Consumer<Session> listener : evictionListeners) {
+                listener.accept(entry.session);
+            }
+        }
+        return removed[0];
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reaper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "session-store-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, reaperTick.toMillis());
+        reaper.scheduleWithFixedDelay(this::scheduledReap, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+    }
+
+    private void scheduledReap() {
+        try {
+            int expired = reap(System.nanoTime());
+            if (expired > 0) {
+                log.debug("Expired {} sessions, {} left", expired, size.get());
+            }
+        } catch (RuntimeException e) {
+            // Entries not visited stay in their slots; the next tick retries
+            log.warn("Could not expire sessions", e);
+        }
+    }
+
+    private static boolean isFinished(SessionStatus status) {
+        return status == SessionStatus.COMPLETED || status == SessionStatus.FAILED || status == SessionStatus.CANCELLED;
+    }
+
+    private static Counter eviction(MeterRegistry registry, String cause) {
+        return Counter.builder("session.store.evictions")
+                .description("Sessions removed after their timeout")
+                .tag("cause", cause)
+                .register(registry);
+    }
+
+    private static final class Entry extends TimingWheel.Node {
+        final GameId id;
+        final Session session;
+        final Semaphore simulationLock = new Semaphore(1);
+        volatile long lastAccess;
+        // Guarded by the entry's map segment
+        int pins;
+
+        Entry(GameId id, Session session, long now) {
+            this.id = id;
+            this.session = session;
+            this.lastAccess = now;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.tictactoe.session.store;
+
+/**
+ * Thrown when a session cannot be created because the store holds its maximum number of sessions.
+ */
+public class SessionStoreFullException extends RuntimeException {
+
+    public SessionStoreFullException(String message) {
+        super(message);
+    }
+}
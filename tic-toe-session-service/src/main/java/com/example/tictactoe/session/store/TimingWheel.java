@@ -0,0 +1,81 @@
+package com.example.tictactoe.session.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of slots, one per tick, each holding the nodes due in that tick.
+ * Scheduling is a queue append from any thread; {@link #advance} is called by a single reaper
+ * and only looks at the slots of the ticks that passed, never at every node.
+ * <p>
+ * A node is due in one tick at a time. Rescheduling a node that is already in the wheel leaves
+ * its old copy behind, which is skipped when its slot comes up. Deadlines further out than one
+ * turn of the wheel are visited within one turn and are expected to be rescheduled. A node
+ * scheduled while its slot is being drained may be visited one turn late, never early.
+ */
+final class TimingWheel<N extends TimingWheel.Node> {
+    private final ConcurrentLinkedQueue<N>[] slots;
+    private final long tickNanos;
+    private final int mask;
+    // Next tick to drain; written by the reaper only
+    private volatile long cursor;
+
+    static class Node {
+        // Tick of the node's current copy in the wheel
+        volatile long tick;
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(int slotCount, long tickNanos, long now) {
+        int size = Integer.highestOneBit(Math.max(2, slotCount - 1)) << 1;
+        this.slots = new ConcurrentLinkedQueue[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.tickNanos = tickNanos;
+        this.mask = size - 1;
+        this.cursor = now / tickNanos;
+    }
+
+    /**
+     * Schedules the node for its deadline, clamped to the ticks the wheel covers.
+     */
+    void schedule(N node, long deadline) {
+        long first = cursor;
+        long tick = Math.min(Math.max(deadline / tickNanos, first), first + mask - 1);
+        node.tick = tick;
+        slots[(int) (tick & mask)].add(node);
+    }
+
+    /**
+     * Hands every node due up to {@code now} to {@code due}, which may reschedule it.
+     */
+    void advance(long now, Consumer<N> due) {
+        long target = now / tickNanos;
+        // After a long pause one turn covers every slot
+        long tick = Math.max(cursor, target - mask);
+        List<N> batch = new ArrayList<>();
+        for (; tick <= target; tick++) {
+            ConcurrentLinkedQueue<N> slot = slots[(int) (tick & mask)];
+            for (N node = slot.poll(); node != null; node = slot.poll()) {
+                batch.add(node);
+            }
+            cursor = tick + 1;
+            for (N node : batch) {
+                long scheduled = node.tick;
+                if ((scheduled & mask) != (tick & mask)) {
+                    // Rescheduled since; its current copy is in another slot
+                    continue;
+                }
+                if (scheduled > tick) {
+                    slot.add(node);
+                } else {
+                    due.accept(node);
+                }
+            }
+            batch.clear();
+        }
+    }
+}
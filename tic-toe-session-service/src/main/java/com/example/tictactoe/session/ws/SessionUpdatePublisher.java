@@ -13,11 +13,17 @@ public class SessionUpdatePublisher {
         this.sessionWebSocketHandler = sessionWebSocketHandler;
     }
 
+    /**
+     * Sends the session's current state. Copying and sending hold the session's monitor, so
+     * updates published from different threads reach clients in the order they were copied.
+     */
     public void publish(Session session) {
         if (session == null || session.getSessionId() == null) {
             return;
         }
-        SessionResponse response = new SessionResponse(session);
-        sessionWebSocketHandler.sendSessionUpdate(session.getSessionId(), response);
+        synchronized (session) {
+            SessionResponse response = new SessionResponse(session);
+            sessionWebSocketHandler.sendSessionUpdate(session.getSessionId(), response);
+        }
     }
 }
@@ -1,11 +1,15 @@
 package com.example.tictactoe.session.ws;
 
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.session.store.SessionStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
 
 import java.io.IOException;
 import java.net.URI;
@@ -16,14 +20,29 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Pushes session updates to the WebSocket clients watching them. A watched session is pinned in
+ * the {@link SessionStore}, so it does not expire while a client is connected.
+ * <p>
+ * Updates of one game come from its simulation and from HTTP requests, so connections are wrapped
+ * in a {@link ConcurrentWebSocketSessionDecorator}: one thread sends while the others buffer, and
+ * a client that falls behind by the time or buffer limit is disconnected.
+ */
 @Component
 public class SessionWebSocketHandler extends TextWebSocketHandler {
 
+    private static final int SEND_TIME_LIMIT_MILLIS = 10_000;
+    private static final int BUFFER_SIZE_LIMIT = 512 * 1024;
+
     private final Map<String, List<WebSocketSession>> sessionsById = new ConcurrentHashMap<>();
+    // The session each connection pinned, if it existed when the connection was opened
+    private final Map<WebSocketSession, GameId> pins = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper;
+    private final SessionStore sessionStore;
 
-    public SessionWebSocketHandler(ObjectMapper objectMapper) {
+    public SessionWebSocketHandler(ObjectMapper objectMapper, SessionStore sessionStore) {
         this.objectMapper = objectMapper;
+        this.sessionStore = sessionStore;
     }
 
     @Override
@@ -33,7 +52,13 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
             session.close(CloseStatus.BAD_DATA);
             return;
         }
-        sessionsById.computeIfAbsent(sessionId, key -> new CopyOnWriteArrayList<>()).add(session);
+        WebSocketSession sender = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MILLIS,
+                BUFFER_SIZE_LIMIT);
+        sessionsById.computeIfAbsent(sessionId, key -> new CopyOnWriteArrayList<>()).add(sender);
+        GameId id = GameId.of(sessionId);
+        if (sessionStore.pin(id)) {
+            pins.put(session, id);
+        }
     }
 
     @Override
@@ -64,15 +89,22 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
             }
             try {
                 session.sendMessage(new TextMessage(json));
-            } catch (IOException ex) {
+            } catch (IOException | RuntimeException ex) {
+                // Closed meanwhile, or over the decorator's limits
                 removeSession(session);
             }
         }
     }
 
     private void removeSession(WebSocketSession session) {
-        sessionsById.values().forEach(list -> list.remove(session));
+        WebSocketSession connection = WebSocketSessionDecorator.unwrap(session);
+        sessionsById.values().forEach(list ->
+                list.removeIf(sender -> WebSocketSessionDecorator.unwrap(sender) == connection));
         sessionsById.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+        GameId pinned = pins.remove(connection);
+        if (pinned != null) {
+            sessionStore.unpin(pinned);
+        }
     }
 
     private String extractSessionId(WebSocketSession session) {
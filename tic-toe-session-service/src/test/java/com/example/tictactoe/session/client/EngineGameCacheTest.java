@@ -0,0 +1,134 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EngineGameCacheTest {
+    private static final String GAME_ID = "3f2b8c1e-5d4a-4e8f-9a6b-7c1d2e3f4a5b";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FakeEngine engine = new FakeEngine();
+
+    @Test
+    void freshReadsAndOwnMovesSkipTheEngine() {
+        EngineGameCache cache = new EngineGameCache(engine, true, Duration.ofMinutes(1), registry);
+
+        EngineGameResponse first = cache.get(GAME_ID);
+        assertSame(first, cache.get(GAME_ID));
+        cache.update(game(4));
+
+        assertEquals(4, cache.get(GAME_ID).getVersion());
+        cache.update(game(2));
+        assertEquals(4, cache.get(GAME_ID).getVersion());
+        assertEquals(1, engine.reads.get());
+        assertEquals(0.75, cache.callReduction(), 1e-9);
+        assertEquals(3.0, registry.get("session.engine.cache.reads").tag("result", "fresh").counter().count());
+    }
+
+    @Test
+    void staleReadsAreRevalidatedByVersion() {
+        EngineGameCache cache = new EngineGameCache(engine, true, Duration.ZERO, registry);
+
+        EngineGameResponse first = cache.get(GAME_ID);
+        assertSame(first, cache.get(GAME_ID));
+        engine.version = 1;
+
+        assertEquals(1, cache.get(GAME_ID).getVersion());
+        assertEquals(1, engine.reads.get());
+        assertEquals(2, engine.revalidations.get());
+        assertEquals(1.0, registry.get("session.engine.cache.reads").tag("result", "not-modified").counter().count());
+    }
+
+    @Test
+    void concurrentReadsShareOneFetch() throws Exception {
+        EngineGameCache cache = new EngineGameCache(engine, true, Duration.ofMinutes(1), registry);
+        engine.release = new CountDownLatch(1);
+        int readers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<EngineGameResponse>> results = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                results.add(executor.submit(() -> cache.get(GAME_ID)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.get("session.engine.cache.reads").tag("result", "collapsed").counter().count() < readers - 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            engine.release.countDown();
+
+            EngineGameResponse fetched = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<EngineGameResponse> result : results) {
+                assertSame(fetched, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, engine.reads.get());
+        assertTrue(cache.callReduction() > 0.8);
+    }
+
+    private static EngineGameResponse game(long version) {
+        EngineGameResponse game = new EngineGameResponse();
+        game.setGameId(GAME_ID);
+        game.setStatus("IN_PROGRESS");
+        game.setVersion(version);
+        return game;
+    }
+
+    /**
+     * Answers like the engine, 304 included, and counts the requests it gets.
+     */
+    private static final class FakeEngine implements EngineClient {
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicInteger revalidations = new AtomicInteger();
+        volatile long version;
+        volatile CountDownLatch release;
+
+        @Override
+        public EngineGameResponse getGame(String gameId) {
+            reads.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return game(version);
+        }
+
+        @Override
+        public EngineGameResponse getGameIfNoneMatch(String gameId, String ifNoneMatch) {
+            revalidations.incrementAndGet();
+            return EngineGameCache.eTag(version).equals(ifNoneMatch) ? null : game(version);
+        }
+
+        @Override
+        public EngineGameResponse makeMove(String gameId, EngineMoveRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EngineSimulationResponse simulate(String gameId, String policy) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
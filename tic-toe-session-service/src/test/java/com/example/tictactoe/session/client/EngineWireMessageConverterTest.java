@@ -0,0 +1,114 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.core.model.Game;
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.core.util.TicToeConstants;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.api.GameWireMessageConverter;
+import com.example.tictactoe.engine.api.dto.GameResponse;
+import com.example.tictactoe.engine.api.dto.MoveRequest;
+import com.example.tictactoe.engine.api.dto.SimulatedMove;
+import com.example.tictactoe.engine.api.dto.SimulationResponse;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EngineWireMessageConverterTest {
+
+    private final GameSessionServiceImpl gameSessionService = new GameSessionServiceImpl(new GameEngine());
+
+    @Test
+    void gameWrittenByTheEngineReadsBackWithBoardAndEnums() throws IOException {
+        String gameId = UUID.randomUUID().toString();
+        Game game = gameSessionService.createGameSession(GameId.of(gameId), TicToeConstants.MAX_BOARD_SIZE, 5);
+        gameSessionService.processMove(GameId.of(gameId), 0, 0, 'X');
+        gameSessionService.processMove(GameId.of(gameId), 18, 18, 'O');
+        gameSessionService.processMove(GameId.of(gameId), 9, 4, 'X');
+        GameResponse sent = new GameResponse(game, "Move applied");
+
+        byte[] bytes = write(sent);
+        EngineGameResponse received = EngineWireMessageConverter.readGame(
+                new DataInputStream(new ByteArrayInputStream(bytes)), false);
+
+        assertEquals(gameId, received.getGameId());
+        assertEquals(TicToeConstants.MAX_BOARD_SIZE, received.getBoardSize());
+        assertEquals(5, received.getWinLength());
+        assertEquals(sent.getStatus(), received.getStatus());
+        assertEquals("O", received.getCurrentPlayer());
+        assertEquals("Move applied", received.getMessage());
+        assertArrayEquals(sent.getBoard(), received.getBoard());
+        // 1 + 17 (id) + 4 + 8 (version) + 2 * 46 (board) + 14 (message)
+        assertEquals(136, bytes.length);
+    }
+
+    @Test
+    void simulationCarriesPolicyAndMovesAndTextIds() throws IOException {
+        Game game = gameSessionService.createGameSession(GameId.of("demo-game"));
+        gameSessionService.processMove(GameId.of("demo-game"), 1, 1, 'X');
+        SimulationResponse sent = new SimulationResponse(game, "OPTIMAL",
+                List.of(new SimulatedMove(1, "X", 1, 1, TicToeConstants.STATUS_IN_PROGRESS)));
+
+        EngineSimulationResponse received = (EngineSimulationResponse) EngineWireMessageConverter.readGame(
+                new DataInputStream(new ByteArrayInputStream(write(sent))), true);
+
+        assertEquals("demo-game", received.getGameId());
+        assertNull(received.getMessage());
+        assertEquals("OPTIMAL", received.getPolicy());
+        assertEquals(1, received.getMoves().size());
+        assertEquals(1, received.getMoves().get(0).getRow());
+        assertEquals("X", received.getMoves().get(0).getPlayer());
+        assertEquals(TicToeConstants.STATUS_IN_PROGRESS, received.getMoves().get(0).getStatus());
+    }
+
+    @Test
+    void moveRequestIsReadByTheEngine() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EngineWireMessageConverter.writeMove(new DataOutputStream(bytes), new EngineMoveRequest("O", 2, 0));
+
+        MoveRequest request = (MoveRequest) new GameWireMessageConverter().read(MoveRequest.class, input(bytes.toByteArray()));
+
+        assertEquals("O", request.getPlayer());
+        assertEquals(Integer.valueOf(2), request.getRow());
+        assertEquals(Integer.valueOf(0), request.getColumn());
+        assertNull(request.getExpectedVersion());
+    }
+
+    private static byte[] write(GameResponse response) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        GameWireMessageConverter.writeGame(out, response);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static HttpInputMessage input(byte[] body) {
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return new HttpHeaders();
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.core.util.TicToeConstants;
+import com.example.tictactoe.engine.GameEngine;
+import com.example.tictactoe.engine.session.impl.GameSessionServiceImpl;
+import com.example.tictactoe.engine.simulation.SimulationService;
+import com.example.tictactoe.engine.solver.GameSolver;
+import com.example.tictactoe.engine.solver.OutcomeTable;
+import com.example.tictactoe.engine.solver.ParallelSearchEngine;
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalEngineClientTest {
+
+    private LocalEngineClient engineClient;
+
+    @BeforeEach
+    void setUp() {
+        GameSessionServiceImpl gameSessionService = new GameSessionServiceImpl(new GameEngine());
+        OutcomeTable outcomeTable = new OutcomeTable(new GameSolver());
+        SimulationService simulationService = new SimulationService(gameSessionService, outcomeTable,
+                new ParallelSearchEngine(1, 10, 50, 10_000), 50);
+        engineClient = new LocalEngineClient(gameSessionService, simulationService, true);
+    }
+
+    @Test
+    void getGameCreatesAndMovesAreApplied() {
+        String gameId = UUID.randomUUID().toString();
+        EngineGameResponse created = engineClient.getGame(gameId);
+        assertEquals(gameId, created.getGameId());
+        assertEquals(TicToeConstants.STATUS_IN_PROGRESS, created.getStatus());
+
+        EngineGameResponse moved = engineClient.makeMove(gameId, new EngineMoveRequest("X", 1, 1));
+        assertEquals('X', moved.getBoard()[1][1]);
+        assertEquals("O", moved.getCurrentPlayer());
+
+        assertThrows(IllegalStateException.class,
+                () -> engineClient.makeMove(gameId, new EngineMoveRequest("O", 1, 1)));
+    }
+
+    @Test
+    void simulatePlaysTheGameToTheEnd() {
+        String gameId = UUID.randomUUID().toString();
+        EngineSimulationResponse result = engineClient.simulate(gameId, "RANDOM");
+
+        assertNotEquals(TicToeConstants.STATUS_IN_PROGRESS, result.getStatus());
+        assertFalse(result.getMoves().isEmpty());
+        assertEquals(result.getMoves().size(), result.getMoves().get(result.getMoves().size() - 1).getMoveNumber());
+        assertEquals("RANDOM", result.getPolicy());
+    }
+}
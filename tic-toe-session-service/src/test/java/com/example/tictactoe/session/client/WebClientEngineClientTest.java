@@ -0,0 +1,108 @@
+package com.example.tictactoe.session.client;
+
+import com.example.tictactoe.session.client.dto.EngineGameResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the client against a stub engine on a local port.
+ */
+class WebClientEngineClientTest {
+    private static final Duration DEADLINE = Duration.ofSeconds(1);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer engine;
+    private CircuitBreaker circuitBreaker;
+    private WebClientEngineClient client;
+
+    @BeforeEach
+    void startEngine() throws IOException {
+        engine = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        engine.createContext("/games/", exchange -> {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            try {
+                if (path.endsWith("/slow")) {
+                    Thread.sleep(DEADLINE.toMillis() * 3);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"gameId\":\"ok\",\"status\":\"IN_PROGRESS\",\"version\":3}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(path.endsWith("/broken") ? 500 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        engine.start();
+
+        circuitBreaker = CircuitBreaker.of(WebClientEngineClient.CIRCUIT_BREAKER, CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        String baseUrl = "http://localhost:" + engine.getAddress().getPort();
+        // The first call loads the HTTP and JSON stacks, which may take longer than the deadline
+        WebClientEngineClient warmUp = new WebClientEngineClient(WebClient.builder(), baseUrl, 1,
+                Duration.ofSeconds(30), CircuitBreaker.ofDefaults("warm-up"));
+        warmUp.getGame("ok").block();
+        warmUp.destroy();
+        requests.set(0);
+
+        client = new WebClientEngineClient(WebClient.builder(), baseUrl, 4, DEADLINE, circuitBreaker);
+    }
+
+    @AfterEach
+    void stopEngine() {
+        client.destroy();
+        engine.stop(0);
+    }
+
+    @Test
+    void answer_isReadThroughTheBreaker() {
+        EngineGameResponse game = client.getGame("ok").block();
+        assertEquals(3, game.getVersion());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void missedDeadline_failsTheCall() {
+        long started = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> client.getGame("slow").block());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        // Answered by the deadline, not by the stub engine
+        assertTrue(System.nanoTime() - started < DEADLINE.multipliedBy(2).toNanos());
+    }
+
+    @Test
+    void failures_openTheBreakerAndStopCalls() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> client.getGame("broken").block());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        int sent = requests.get();
+        assertThrows(CallNotPermittedException.class, () -> client.getGame("ok").block());
+        assertEquals(sent, requests.get());
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.tictactoe.session.service.impl;
 
 import com.example.tictactoe.core.util.TicToeConstants;
+import com.example.tictactoe.session.api.dto.SessionResponse;
 import com.example.tictactoe.session.client.EngineClient;
 import com.example.tictactoe.session.client.dto.EngineGameResponse;
 import com.example.tictactoe.session.client.dto.EngineMoveRequest;
+import com.example.tictactoe.session.client.dto.EngineSimulatedMove;
+import com.example.tictactoe.session.client.dto.EngineSimulationResponse;
+import com.example.tictactoe.session.model.MoveRecord;
 import com.example.tictactoe.session.model.Session;
 import com.example.tictactoe.session.model.SessionStatus;
+import com.example.tictactoe.session.service.SimulationMode;
 import com.example.tictactoe.session.ws.SessionUpdatePublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,11 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,6 +69,55 @@ class SessionServiceImplTest {
         verify(engineClient, times(1)).makeMove(anyString(), any(EngineMoveRequest.class));
     }
 
+    @Test
+    void sessionResponse_copiesMovesWhileTheSimulationAppends() throws Exception {
+        Session session = new Session("s", "s");
+        Thread worker = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                session.getMoves().add(new MoveRecord("X", i % 3, i % 3));
+            }
+        });
+        worker.start();
+        while (worker.isAlive()) {
+            SessionResponse response = new SessionResponse(session);
+            int copied = response.getMoves().size();
+            for (MoveRecord move : response.getMoves()) {
+                assertNotNull(move);
+            }
+            assertEquals(copied, response.getMoves().size());
+        }
+        worker.join();
+        assertEquals(20_000, new SessionResponse(session).getMoves().size());
+    }
+
+    @Test
+    void simulateSession_serverSideFillsMovesFromSingleResponse() {
+        sessionService = new SessionServiceImpl(engineClient, updatePublisher, SimulationMode.SERVER_SIDE, "RANDOM");
+        EngineGameResponse initial = gameResponse("game-1", emptyBoard(),
+                TicToeConstants.STATUS_IN_PROGRESS, String.valueOf(TicToeConstants.PLAYER_X));
+        EngineSimulationResponse simulation = new EngineSimulationResponse();
+        simulation.setGameId("game-1");
+        simulation.setBoard(boardWithMove(0, 0, TicToeConstants.PLAYER_X));
+        simulation.setStatus(TicToeConstants.STATUS_DRAW);
+        simulation.setCurrentPlayer(String.valueOf(TicToeConstants.PLAYER_O));
+        simulation.setMoves(List.of(simulatedMove(1, "X", 0, 0), simulatedMove(2, "O", 1, 1)));
+
+        when(engineClient.getGame(anyString())).thenReturn(initial);
+        when(engineClient.simulate(anyString(), anyString())).thenReturn(simulation);
+
+        Session session = sessionService.createSession();
+        Session simulated = sessionService.simulateSession(session.getSessionId());
+
+        assertEquals(SessionStatus.COMPLETED, simulated.getStatus());
+        assertEquals(TicToeConstants.STATUS_DRAW, simulated.getGameStatus());
+        assertEquals(2, simulated.getMoves().size());
+        assertEquals("O", simulated.getMoves().get(1).getPlayer());
+
+        verify(engineClient, times(1)).getGame(anyString());
+        verify(engineClient, times(1)).simulate(anyString(), anyString());
+        verify(engineClient, never()).makeMove(anyString(), any(EngineMoveRequest.class));
+    }
+
     @Test
     void createSession_marksFailedOnEngineError() {
         when(engineClient.getGame(anyString())).thenThrow(new RuntimeException("engine down"));
@@ -81,6 +138,15 @@ class SessionServiceImplTest {
         return response;
     }
 
+    private EngineSimulatedMove simulatedMove(int moveNumber, String player, int row, int column) {
+        EngineSimulatedMove move = new EngineSimulatedMove();
+        move.setMoveNumber(moveNumber);
+        move.setPlayer(player);
+        move.setRow(row);
+        move.setColumn(column);
+        return move;
+    }
+
     private char[][] emptyBoard() {
         char[][] board = new char[3][3];
         for (int row = 0; row < 3; row++) {
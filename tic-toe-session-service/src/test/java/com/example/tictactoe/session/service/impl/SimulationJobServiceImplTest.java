@@ -0,0 +1,138 @@
+package com.example.tictactoe.session.service.impl;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.session.model.Session;
+import com.example.tictactoe.session.model.SessionStatus;
+import com.example.tictactoe.session.model.SimulationJob;
+import com.example.tictactoe.session.model.SimulationJobStatus;
+import com.example.tictactoe.session.service.SessionService;
+import com.example.tictactoe.session.service.SimulationRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationJobServiceImplTest {
+
+    @Mock
+    private SessionService sessionService;
+
+    private SimulationJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        // One worker and room for one queued job
+        jobService = new SimulationJobServiceImpl(sessionService, 1, 1, false, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.destroy();
+    }
+
+    @Test
+    void submit_queuesBeyondWorkersAndRejectsBeyondQueue() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(sessionService.hasSession(any(GameId.class))).thenReturn(true);
+        when(sessionService.simulateSession(any(GameId.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            Session session = new Session(invocation.getArgument(0).toString(), "game-1");
+            session.setStatus(SessionStatus.COMPLETED);
+            return session;
+        });
+
+        SimulationJob running = jobService.submit(GameId.random());
+        SimulationJob queued = jobService.submit(GameId.random());
+        assertThrows(SimulationRejectedException.class, () -> jobService.submit(GameId.random()));
+        assertSame(running, jobService.submit(GameId.of(running.getSessionId())));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(SimulationJobStatus.RUNNING, running.getStatus());
+        assertEquals(SimulationJobStatus.QUEUED, queued.getStatus());
+
+        jobService.cancel(GameId.of(queued.getJobId()));
+        assertEquals(SimulationJobStatus.CANCELLED, queued.getStatus());
+
+        release.countDown();
+        awaitFinished(running);
+        assertEquals(SimulationJobStatus.COMPLETED, running.getStatus());
+        assertNotNull(running.getStartedAt());
+        assertSame(running, jobService.getJob(GameId.of(running.getJobId())));
+        verify(sessionService, times(1)).simulateSession(any(GameId.class));
+    }
+
+    @Test
+    void cancel_interruptsRunningSimulation() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        when(sessionService.hasSession(any(GameId.class))).thenReturn(true);
+        when(sessionService.simulateSession(any(GameId.class))).thenAnswer(invocation -> {
+            started.countDown();
+            Session session = new Session(invocation.getArgument(0).toString(), "game-1");
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                session.setStatus(SessionStatus.COMPLETED);
+            } catch (InterruptedException e) {
+                session.setStatus(SessionStatus.CANCELLED);
+            }
+            return session;
+        });
+
+        SimulationJob job = jobService.submit(GameId.random());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.cancel(GameId.of(job.getJobId()));
+
+        awaitFinished(job);
+        assertEquals(SimulationJobStatus.CANCELLED, job.getStatus());
+    }
+
+    @Test
+    void nonBlocking_startsQueuedJobWhenSlotFrees() throws InterruptedException {
+        when(sessionService.isNonBlockingSimulation()).thenReturn(true);
+        when(sessionService.hasSession(any(GameId.class))).thenReturn(true);
+        when(sessionService.simulateSessionAsync(any(GameId.class))).thenReturn(Mono.never());
+        SimulationJobServiceImpl nonBlocking = new SimulationJobServiceImpl(sessionService, 1, 1, false,
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+        try {
+            SimulationJob running = nonBlocking.submit(GameId.random());
+            SimulationJob queued = nonBlocking.submit(GameId.random());
+            assertThrows(SimulationRejectedException.class, () -> nonBlocking.submit(GameId.random()));
+            assertEquals(SimulationJobStatus.RUNNING, running.getStatus());
+            assertEquals(SimulationJobStatus.QUEUED, queued.getStatus());
+
+            nonBlocking.cancel(GameId.of(running.getJobId()));
+            assertEquals(SimulationJobStatus.CANCELLED, running.getStatus());
+            assertEquals(SimulationJobStatus.RUNNING, queued.getStatus());
+        } finally {
+            nonBlocking.destroy();
+        }
+    }
+
+    private static void awaitFinished(SimulationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.tictactoe.session.store;
+
+import com.example.tictactoe.core.model.GameId;
+import com.example.tictactoe.session.model.Session;
+import com.example.tictactoe.session.model.SessionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionStoreTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SessionStore store = new SessionStore(3, Duration.ofSeconds(60), Duration.ofSeconds(5),
+            Duration.ofMillis(100), registry);
+
+    @Test
+    void finishedSessionsExpireBeforeIdleOnes() {
+        long start = System.nanoTime();
+        GameId idle = add(SessionStatus.IN_PROGRESS);
+        GameId finished = add(SessionStatus.COMPLETED);
+        store.finished(finished);
+
+        assertEquals(0, store.reap(start + 2 * SECOND));
+        assertEquals(1, store.reap(start + 10 * SECOND));
+        assertNull(store.get(finished));
+        assertNull(store.simulationLock(finished));
+        assertTrue(store.contains(idle));
+
+        assertEquals(1, store.reap(start + 70 * SECOND));
+        assertFalse(store.contains(idle));
+        assertEquals(0, store.size());
+        assertEquals(1.0, registry.get("session.store.evictions").tag("cause", "idle").counter().count());
+        assertEquals(1.0, registry.get("session.store.evictions").tag("cause", "finished").counter().count());
+    }
+
+    @Test
+    void pinnedAndSimulatingSessionsDoNotExpire() {
+        long start = System.nanoTime();
+        GameId watched = add(SessionStatus.COMPLETED);
+        GameId simulating = add(SessionStatus.IN_PROGRESS);
+        assertTrue(store.pin(watched));
+        assertFalse(store.pin(GameId.random()));
+        Semaphore lock = store.simulationLock(simulating);
+        assertTrue(lock.tryAcquire());
+
+        assertEquals(0, store.reap(start + 120 * SECOND));
+        assertEquals(1, store.pinnedCount());
+
+        store.unpin(watched);
+        lock.release();
+        assertEquals(0, store.pinnedCount());
+        assertEquals(2, store.reap(System.nanoTime() + 300 * SECOND));
+    }
+
+    @Test
+    void fullStoreRejectsNewSessions() {
+        add(SessionStatus.CREATED);
+        add(SessionStatus.CREATED);
+        add(SessionStatus.CREATED);
+
+        assertThrows(SessionStoreFullException.class, () -> add(SessionStatus.CREATED));
+        assertEquals(3, store.size());
+        assertEquals(1.0, registry.get("session.store.rejected").counter().count());
+    }
+
+    private GameId add(SessionStatus status) {
+        GameId id = GameId.random();
+        Session session = new Session(id.toString(), id.toString());
+        session.setStatus(status);
+        store.add(id, session);
+        return id;
+    }
+}
@@ -4,6 +4,10 @@ import { MoveRecord } from "./models/move-record.model";
 import { TicToeApiService } from "./services/tic-toe-api.service";
 import "./App.css";
 
+const JOB_POLL_INTERVAL_MS = 500;
+
+const sleep = (ms: number) => new Promise((resolve) => setTimeout(resolve, ms));
+
 const createEmptyBoard = (): string[][] => {
   return Array.from({ length: 3 }, () => Array.from({ length: 3 }, () => " "));
 };
@@ -192,8 +196,16 @@ function App() {
     }
     setIsSimulating(true);
     try {
-      const session = await apiService.current.simulateSession(sessionIdToUse);
-      applySession(session);
+      // The simulation runs in the background; moves arrive over the socket meanwhile
+      let job = await apiService.current.simulateSession(sessionIdToUse);
+      while (job.status === "QUEUED" || job.status === "RUNNING") {
+        await sleep(JOB_POLL_INTERVAL_MS);
+        job = await apiService.current.getSimulationJob(job.jobId);
+      }
+      applySession(await apiService.current.getSession(sessionIdToUse));
+      if (job.status === "FAILED" && job.error) {
+        setErrorMessage(job.error);
+      }
       setIsSimulating(false);
     } catch (err: unknown) {
       setErrorMessage(extractError(err));
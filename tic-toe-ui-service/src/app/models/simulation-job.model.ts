@@ -0,0 +1,11 @@
+export interface SimulationJobResponse {
+  jobId: string;
+  sessionId: string;
+  status: "QUEUED" | "RUNNING" | "COMPLETED" | "FAILED" | "CANCELLED";
+  submittedAt: string;
+  startedAt?: string;
+  finishedAt?: string;
+  queuedMillis: number;
+  runMillis: number;
+  error?: string;
+}
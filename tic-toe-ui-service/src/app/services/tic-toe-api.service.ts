@@ -1,4 +1,5 @@
 import { SessionResponse } from "../models/session-response.model";
+import { SimulationJobResponse } from "../models/simulation-job.model";
 
 export class TicToeApiService {
   private readonly sessionBaseUrl = "http://localhost:8081";
@@ -18,7 +19,7 @@ export class TicToeApiService {
     return response.json();
   }
 
-  async simulateSession(sessionId: string): Promise<SessionResponse> {
+  async simulateSession(sessionId: string): Promise<SimulationJobResponse> {
     const response = await fetch(`${this.sessionBaseUrl}/sessions/${sessionId}/simulate`, {
       method: "POST",
       headers: {
@@ -32,4 +33,22 @@ export class TicToeApiService {
     }
     return response.json();
   }
+
+  async getSimulationJob(jobId: string): Promise<SimulationJobResponse> {
+    const response = await fetch(`${this.sessionBaseUrl}/simulations/${jobId}`);
+    if (!response.ok) {
+      const error = await response.json().catch(() => ({ message: "Failed to read simulation" }));
+      throw error;
+    }
+    return response.json();
+  }
+
+  async getSession(sessionId: string): Promise<SessionResponse> {
+    const response = await fetch(`${this.sessionBaseUrl}/sessions/${sessionId}`);
+    if (!response.ok) {
+      const error = await response.json().catch(() => ({ message: "Failed to load session" }));
+      throw error;
+    }
+    return response.json();
+  }
 }